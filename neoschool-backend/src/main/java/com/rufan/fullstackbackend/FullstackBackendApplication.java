@@ -2,10 +2,10 @@ package com.rufan.fullstackbackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@ComponentScan(basePackages = "com.rufan.fullstackbackend")
+@EnableScheduling
 public class FullstackBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,138 @@
+package com.rufan.fullstackbackend.config;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import com.rufan.fullstackbackend.service.ResultPdfType;
+
+/**
+ * Application meters, exposed with the rest of Micrometer's at
+ * {@code /actuator/prometheus}.
+ *
+ * Meters are registered on Micrometer's global registry, which Spring Boot
+ * backs with its own registry; classes that are also built outside a full
+ * application context (repository slices, benchmarks) record into it
+ * without having a MeterRegistry injected, and record nothing there.
+ */
+public final class AppMetrics {
+
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+
+    // Outcome of a saved mark sheet
+    public enum MarksOutcome { SAVED, CREATED, UPDATED, FAILED }
+
+    // Where a result PDF was rendered: on the request thread or by a background job
+    public enum PdfSource { REQUEST, JOB }
+
+    // How the JWT filter dealt with a request
+    public enum JwtOutcome { AUTHENTICATED, ANONYMOUS, REJECTED }
+
+    private record PdfMeters(Timer render, DistributionSummary size) {
+    }
+
+    private static final LongAdder GRADE_LOOKUPS = new LongAdder();
+
+    // The tag sets are small and fixed, so every meter is registered up front
+    private static final Map<MarksOutcome, Counter> MARKS_SAVED = new EnumMap<>(MarksOutcome.class);
+    private static final Map<ResultPdfType, Map<PdfSource, PdfMeters>> PDF_RENDERED = new EnumMap<>(ResultPdfType.class);
+    private static final Map<JwtOutcome, Timer> JWT_FILTER = new EnumMap<>(JwtOutcome.class);
+
+    private static final Timer GRADE_SCALE_LOAD = Timer.builder("neoschool.grade.scale.load")
+            .description("Loading the grade scale from the grades table")
+            .register(REGISTRY);
+
+    private static final DistributionSummary TABULATION_ROWS = DistributionSummary.builder("neoschool.tabulation.rows")
+            .description("Students on a generated tabulation sheet")
+            .publishPercentileHistogram()
+            .register(REGISTRY);
+
+    static {
+        FunctionCounter.builder("neoschool.grade.lookups", GRADE_LOOKUPS, LongAdder::sum)
+                .description("Grade scale lookups (in-memory binary searches)")
+                .register(REGISTRY);
+
+        for (MarksOutcome outcome : MarksOutcome.values()) {
+            MARKS_SAVED.put(outcome, Counter.builder("neoschool.marks.saved")
+                    .description("Mark sheets saved")
+                    .tag("outcome", tag(outcome))
+                    .register(REGISTRY));
+        }
+        for (ResultPdfType type : ResultPdfType.values()) {
+            Map<PdfSource, PdfMeters> bySource = new EnumMap<>(PdfSource.class);
+            for (PdfSource source : PdfSource.values()) {
+                bySource.put(source, new PdfMeters(
+                        Timer.builder("neoschool.pdf.render")
+                                .description("Rendering a result PDF")
+                                .tag("type", type.name())
+                                .tag("source", tag(source))
+                                .publishPercentileHistogram()
+                                .register(REGISTRY),
+                        DistributionSummary.builder("neoschool.pdf.size")
+                                .description("Size of a rendered result PDF")
+                                .baseUnit("bytes")
+                                .tag("type", type.name())
+                                .tag("source", tag(source))
+                                .publishPercentileHistogram()
+                                .register(REGISTRY)));
+            }
+            PDF_RENDERED.put(type, bySource);
+        }
+        for (JwtOutcome outcome : JwtOutcome.values()) {
+            JWT_FILTER.put(outcome, Timer.builder("neoschool.jwt.filter")
+                    .description("Authenticating a request from its bearer token")
+                    .tag("outcome", tag(outcome))
+                    .publishPercentileHistogram()
+                    .register(REGISTRY));
+        }
+    }
+
+    private AppMetrics() {
+    }
+
+    // Mark sheets saved, counted once the transaction that saved them commits
+    public static void marksSaved(MarksOutcome outcome, int sheets) {
+        MARKS_SAVED.get(outcome).increment(sheets);
+    }
+
+    /*
+     * A lookup is a binary search of a few nanoseconds, cheaper than timing
+     * it; lookups are counted and the loads behind them are timed.
+     */
+    public static void gradeLookup() {
+        GRADE_LOOKUPS.increment();
+    }
+
+    public static void gradeScaleLoaded(long nanos) {
+        GRADE_SCALE_LOAD.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void tabulationRows(int rows) {
+        TABULATION_ROWS.record(rows);
+    }
+
+    // One rendered result PDF, by document type and by where it was rendered
+    public static void pdfRendered(ResultPdfType type, PdfSource source, long nanos, long bytes) {
+        PdfMeters meters = PDF_RENDERED.get(type).get(source);
+        meters.render().record(nanos, TimeUnit.NANOSECONDS);
+        meters.size().record(bytes);
+    }
+
+    // Time spent in the JWT filter before the rest of the chain, by outcome
+    public static void jwtFilter(JwtOutcome outcome, long nanos) {
+        JWT_FILTER.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -11,12 +11,22 @@ public class JwtProperties {
     private long refreshExpiration; // in milliseconds
     private String issuer;
     private String audience;
+    private int verifiedTokenCacheSize; // verified access tokens kept in memory
+    private boolean blacklistBloomFilter; // bloom filter in front of the revoked token lookup
+    private int blacklistExpectedTokens; // revoked tokens the bloom filter is sized for
+    private int revocationSyncBatchSize; // revocations read from the shared store per query
+    private int revocationSyncOverlap; // store sequence numbers re-read on each sync
 
     // Default constructor
     public JwtProperties() {
         // Default values if not specified in application.properties
         this.expiration = 86400000; // 24 hours
         this.refreshExpiration = 604800000; // 7 days
+        this.verifiedTokenCacheSize = 10000;
+        this.blacklistBloomFilter = true;
+        this.blacklistExpectedTokens = 10000;
+        this.revocationSyncBatchSize = 500;
+        this.revocationSyncOverlap = 100;
     }
 
     // Getters and Setters
@@ -59,4 +69,44 @@ public class JwtProperties {
     public void setAudience(String audience) {
         this.audience = audience;
     }
+
+    public int getVerifiedTokenCacheSize() {
+        return verifiedTokenCacheSize;
+    }
+
+    public void setVerifiedTokenCacheSize(int verifiedTokenCacheSize) {
+        this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+    }
+
+    public boolean isBlacklistBloomFilter() {
+        return blacklistBloomFilter;
+    }
+
+    public void setBlacklistBloomFilter(boolean blacklistBloomFilter) {
+        this.blacklistBloomFilter = blacklistBloomFilter;
+    }
+
+    public int getBlacklistExpectedTokens() {
+        return blacklistExpectedTokens;
+    }
+
+    public void setBlacklistExpectedTokens(int blacklistExpectedTokens) {
+        this.blacklistExpectedTokens = blacklistExpectedTokens;
+    }
+
+    public int getRevocationSyncBatchSize() {
+        return revocationSyncBatchSize;
+    }
+
+    public void setRevocationSyncBatchSize(int revocationSyncBatchSize) {
+        this.revocationSyncBatchSize = revocationSyncBatchSize;
+    }
+
+    public int getRevocationSyncOverlap() {
+        return revocationSyncOverlap;
+    }
+
+    public void setRevocationSyncOverlap(int revocationSyncOverlap) {
+        this.revocationSyncOverlap = revocationSyncOverlap;
+    }
 }
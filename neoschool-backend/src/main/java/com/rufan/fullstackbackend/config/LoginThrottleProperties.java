@@ -0,0 +1,29 @@
+package com.rufan.fullstackbackend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Limits on {@code /api/auth/login} ({@code auth.login.*}).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth.login")
+public class LoginThrottleProperties {
+    // Threads checking passwords; BCrypt never runs on more cores than this
+    private int hashThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // Logins allowed to wait for a hashing thread; further ones get a 429
+    private int hashQueueCapacity = 32;
+    // Longest a login waits for its password check
+    private Duration hashTimeout = Duration.ofSeconds(5);
+    // Attempts per username: burst size, then one more every usernameRefillPeriod
+    private int usernameBurst = 5;
+    private Duration usernameRefillPeriod = Duration.ofSeconds(12);
+    // Attempts per client IP: burst size, then one more every ipRefillPeriod
+    private int ipBurst = 20;
+    private Duration ipRefillPeriod = Duration.ofSeconds(3);
+}
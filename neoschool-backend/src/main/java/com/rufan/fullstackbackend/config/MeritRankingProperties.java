@@ -0,0 +1,24 @@
+package com.rufan.fullstackbackend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings of the in-memory merit ranking ({@code merit-ranking.*}) kept by
+ * {@link com.rufan.fullstackbackend.service.MeritRanking}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "merit-ranking")
+public class MeritRankingProperties {
+    // Cohorts kept in memory; least recently used ones are dropped beyond it
+    private int maxCohorts = 200;
+    // A cohort is reloaded from the database once its ranking is older than this
+    private Duration maxAge = Duration.ofMinutes(30);
+    // A cohort is checked against the database at most this often; reads in between are served from memory
+    private Duration revalidateAfter = Duration.ofMinutes(1);
+}
@@ -0,0 +1,22 @@
+package com.rufan.fullstackbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Settings of the in-memory cache of rendered result PDFs ({@code pdf.cache.*}).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pdf.cache")
+public class PdfCacheProperties {
+    // Total size of all cached PDFs; least recently used ones are evicted beyond it
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    // PDFs larger than this are streamed but not cached
+    private DataSize maxEntrySize = DataSize.ofMegabytes(8);
+    // Memory all renders recording a PDF for the cache may hold together; beyond it PDFs are streamed only
+    private DataSize maxRecordingSize = DataSize.ofMegabytes(16);
+}
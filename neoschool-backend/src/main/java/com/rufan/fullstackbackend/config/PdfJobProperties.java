@@ -0,0 +1,25 @@
+package com.rufan.fullstackbackend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings of the background PDF job queue ({@code pdf.jobs.*}).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pdf.jobs")
+public class PdfJobProperties {
+    // Worker threads rendering PDFs
+    private int threads = 2;
+    // Jobs allowed to wait for a worker; further submits are rejected
+    private int queueCapacity = 20;
+    // Directory where finished PDFs are stored
+    private String storageDir = System.getProperty("java.io.tmpdir") + "/neoschool-pdf-jobs";
+    // How long finished jobs and their files are kept
+    private Duration ttl = Duration.ofHours(1);
+}
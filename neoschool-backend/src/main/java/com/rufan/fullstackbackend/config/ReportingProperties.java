@@ -0,0 +1,18 @@
+package com.rufan.fullstackbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Report queries ({@code reporting.*}) run by
+ * {@link com.rufan.fullstackbackend.repository.MarksReportRepository}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "reporting")
+public class ReportingProperties {
+    // JDBC fetch size of scrolled report queries; Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time
+    private int fetchSize = Integer.MIN_VALUE;
+}
@@ -0,0 +1,21 @@
+package com.rufan.fullstackbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Per-request logging context ({@code request-logging.*}): request ids and
+ * the share of requests whose application debug lines are written even
+ * though the logger is at INFO (only honoured by the prod logging setup).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "request-logging")
+public class RequestLoggingProperties {
+    // Request id taken from this header when the client sends one, echoed in the response
+    private String requestIdHeader = "X-Request-Id";
+    // Fraction of requests (0.0 - 1.0) that log at DEBUG
+    private double debugSampleRate = 0.0;
+}
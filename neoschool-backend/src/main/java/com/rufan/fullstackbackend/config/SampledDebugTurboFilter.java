@@ -0,0 +1,34 @@
+package com.rufan.fullstackbackend.config;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import com.rufan.fullstackbackend.filter.RequestLoggingFilter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback turbo filter that lets the DEBUG lines of the application's own
+ * loggers through for requests {@link RequestLoggingFilter} sampled, while
+ * the loggers themselves stay at INFO. Everything else is left to the
+ * logger levels. Configured in {@code logback-spring.xml} (prod profile).
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.rufan.fullstackbackend";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "true".equals(MDC.get(RequestLoggingFilter.DEBUG_SAMPLED)) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
@@ -1,6 +1,9 @@
 package com.rufan.fullstackbackend.config;
 
 import com.rufan.fullstackbackend.security.JwtRequestFilter;
+
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -11,11 +14,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -27,13 +27,16 @@ public class SecurityConfig {
 
     private final JwtRequestFilter jwtRequestFilter;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final UserStoreProperties userStoreProperties;
 
     public SecurityConfig(
         @Lazy JwtRequestFilter jwtRequestFilter,
-        CorsConfigurationSource corsConfigurationSource
+        CorsConfigurationSource corsConfigurationSource,
+        UserStoreProperties userStoreProperties
     ) {
         this.jwtRequestFilter = jwtRequestFilter;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.userStoreProperties = userStoreProperties;
     }
 
 
@@ -44,6 +47,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Streamed PDFs finish on an async dispatch; the request itself was authorized already
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Allow preflight requests
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 // Allow all auth endpoints - must be before any other rules
@@ -53,6 +58,10 @@ public class SecurityConfig {
                 ).permitAll()
                 // Secure endpoints with role-based access
                 .requestMatchers("/api/students/**").hasRole("ADMIN")
+                // User administration (accounts, passwords, roles)
+                .requestMatchers("/user/**", "/users/**").hasRole("ADMIN")
+                // Class / exam name aliases rename stored mark sheets
+                .requestMatchers("/api/name-aliases/**").hasRole("ADMIN")
                 .requestMatchers(
                     "/api/teachers/**",
                     "/api/subjects/**",
@@ -62,6 +71,8 @@ public class SecurityConfig {
                     "/api/grades/**",
                     "/api/results/**"
                 ).hasAnyRole("ADMIN", "TEACHER")
+                // Actuator (Prometheus scrape); the management server only listens on localhost
+                .requestMatchers("/actuator/**").permitAll()
                 // Allow Swagger/OpenAPI (if you're using it)
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 // Everything else needs authentication
@@ -82,33 +93,13 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Hashes of a lower strength are upgraded on the next successful login
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(userStoreProperties.getBcryptStrength());
     }
 
-    @Bean
-    public InMemoryUserDetailsManager userDetailsService() {
-        UserDetails admin = User.builder()
-            .username("admin@gmail.com")
-            .password(passwordEncoder().encode("admin123"))
-            .roles("ADMIN")  
-            .build();
-
-        UserDetails teacher = User.builder()
-            .username("teacher")
-            .password(passwordEncoder().encode("teacher123"))
-            .roles("TEACHER")  
-            .build();
-
-        UserDetails user = User.builder()
-            .username("user")
-            .password(passwordEncoder().encode("user123"))
-            .roles("USER")  
-            .build();
-
-        return new InMemoryUserDetailsManager(admin, teacher, user);
-    }
+    // Users come from the user table (DatabaseUserDetailsService)
 
     // CORS configuration is now handled by the single corsConfigurationSource() method above
 }
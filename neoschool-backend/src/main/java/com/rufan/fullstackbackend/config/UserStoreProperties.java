@@ -0,0 +1,26 @@
+package com.rufan.fullstackbackend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Settings of the database user store ({@code security.users.*}).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.users")
+public class UserStoreProperties {
+    // BCrypt work factor of new and upgraded password hashes (4-31)
+    private int bcryptStrength = 10;
+    // Users whose credentials are kept in memory
+    private int cacheSize = 1000;
+    // How long a cached user is served without reading the users table again
+    private Duration cacheTtl = Duration.ofMinutes(5);
+    // First ADMIN, created at startup while the user table has none; no admin is created when either is blank
+    private String adminUsername;
+    private String adminPassword;
+}
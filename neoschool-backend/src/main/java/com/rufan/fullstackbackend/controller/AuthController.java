@@ -4,6 +4,7 @@ import com.rufan.fullstackbackend.dto.JwtResponse;
 import com.rufan.fullstackbackend.dto.LoginRequest;
 import com.rufan.fullstackbackend.dto.RefreshTokenRequest;
 import com.rufan.fullstackbackend.exception.JwtTokenException;
+import com.rufan.fullstackbackend.exception.LoginThrottledException;
 import com.rufan.fullstackbackend.security.JwtTokenUtil;
 import com.rufan.fullstackbackend.security.TokenBlacklist;
 import com.rufan.fullstackbackend.service.AuthService;
@@ -12,11 +13,14 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/auth")
@@ -37,13 +41,22 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> authenticateUser(
-            @Valid @NotNull @RequestBody LoginRequest loginRequest) {
-        JwtResponse response = authService.authenticateUser(
-            loginRequest.getUsername(),
-            loginRequest.getPassword()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> authenticateUser(
+            @Valid @NotNull @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
+        try {
+            JwtResponse response = authService.authenticateUser(
+                loginRequest.getUsername(),
+                loginRequest.getPassword(),
+                // The client, not the proxy: X-Forwarded-For is applied by Tomcat (server.forward-headers-strategy)
+                request.getRemoteAddr()
+            );
+            return ResponseEntity.ok(response);
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
+        }
     }
 
     @PostMapping("/refresh-token")
@@ -4,16 +4,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Enumeration;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import jakarta.servlet.http.HttpServletRequest; // Assuming you are using Jakarta EE (Spring Boot 3+)
 import com.rufan.fullstackbackend.repository.StudentRepository;
 import com.rufan.fullstackbackend.repository.TeacherRepository;
 
@@ -31,36 +27,7 @@ public class DashboardController {
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        
-     // Cast RequestAttributes to ServletRequestAttributes to get access to the actual request
-     ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
-     HttpServletRequest request = attributes.getRequest();
-     
-     // --- Logging Updates Start ---
-     
-     // Log incoming request (using request details directly)
-     log.info("Received request to {} {}", request.getMethod(), request.getRequestURI());
-     
-     // Log details for debugging
-     log.debug("Client IP: {}", request.getRemoteAddr());
-     log.debug("User-Agent header: {}", request.getHeader("User-Agent"));
-     
-     // Logging ALL headers for comprehensive debugging (optional but useful)
-     if (log.isDebugEnabled()) {
-         Map<String, String> headersMap = new HashMap<>();
-         Enumeration<String> headerNames = request.getHeaderNames();
-         while (headerNames.hasMoreElements()) {
-             String headerName = headerNames.nextElement();
-             headersMap.put(headerName, request.getHeader(headerName));
-         }
-         log.debug("Request Headers: {}", headersMap);
-     }
-     
-     // --- Logging Updates End ---
-
-        
         Map<String, Object> stats = new HashMap<>();
-        long startTime = System.currentTimeMillis();
         
         try {
             // Get total students count
@@ -75,9 +42,7 @@ public class DashboardController {
             stats.put("totalTeachers", totalTeachers);
             stats.put("timestamp", LocalDateTime.now().toString());
             
-            // Log successful response
-            log.info("Request processed successfully in {} ms", 
-                    System.currentTimeMillis() - startTime);
+            // Timing is recorded by the http.server.requests metric
             log.debug("Response data: {}", stats);
             
             return ResponseEntity.ok(stats);
@@ -3,10 +3,14 @@ package com.rufan.fullstackbackend.controller;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.rufan.fullstackbackend.model.Exam;
+import com.rufan.fullstackbackend.repository.ExamRepository.ExamRow;
 import com.rufan.fullstackbackend.service.ExamService;
 
 import java.util.List;
@@ -36,6 +40,14 @@ public class ExamRestController {
         return ResponseEntity.ok(examService.getAllExams());
     }
 
+    // Exams page by page (?page=0&size=20&sort=startDate,asc); count=false leaves out the total and skips its query
+    @GetMapping("/page")
+    public ResponseEntity<Slice<ExamRow>> getExamPage(
+            @PageableDefault(size = 20, sort = { "startDate", "id" }) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(examService.getExamPage(pageable, count));
+    }
+
     // Read by ID
     @GetMapping("/{id}")
     public ResponseEntity<Exam> getExamById(@PathVariable Long id) {
@@ -2,10 +2,14 @@ package com.rufan.fullstackbackend.controller;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.rufan.fullstackbackend.model.Grade;
+import com.rufan.fullstackbackend.repository.GradeRepository.GradeRow;
 import com.rufan.fullstackbackend.service.GradeService;
 
 import java.util.List;
@@ -34,6 +38,14 @@ public class GradeRestController {
         return ResponseEntity.ok(gradeService.getAllGrades());
     }
 
+    // Grades page by page (?page=0&size=20&sort=rangeMin,asc); count=false leaves out the total and skips its query
+    @GetMapping("/page")
+    public ResponseEntity<Slice<GradeRow>> getGradePage(
+            @PageableDefault(size = 20, sort = { "rangeMin", "id" }) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(gradeService.getGradePage(pageable, count));
+    }
+
     // Read by ID
     @GetMapping("/{id}")
     public ResponseEntity<Grade> getGradeById(@PathVariable Long id) {
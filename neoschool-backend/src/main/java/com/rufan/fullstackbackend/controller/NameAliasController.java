@@ -0,0 +1,49 @@
+package com.rufan.fullstackbackend.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rufan.fullstackbackend.model.NameAlias;
+import com.rufan.fullstackbackend.service.NameAliasService;
+
+import lombok.RequiredArgsConstructor;
+
+// Class and exam name aliases (admin only)
+@RestController
+@RequestMapping("/api/name-aliases")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class NameAliasController {
+
+    private final NameAliasService nameAliasService;
+
+    @GetMapping
+    public ResponseEntity<List<NameAlias>> getAllAliases() {
+        return ResponseEntity.ok(nameAliasService.getAllAliases());
+    }
+
+    // Create or replace the alias of a spelling
+    @PostMapping
+    public ResponseEntity<NameAlias> saveAlias(@RequestBody NameAlias alias) {
+        if (alias.getAliasType() == null || alias.getAlias() == null || alias.getAlias().isBlank()
+                || alias.getCanonicalName() == null || alias.getCanonicalName().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(nameAliasService.saveAlias(alias));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAlias(@PathVariable Long id) {
+        nameAliasService.deleteAlias(id);
+        return ResponseEntity.noContent().build();
+    }
+}
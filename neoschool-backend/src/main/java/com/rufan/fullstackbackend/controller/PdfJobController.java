@@ -0,0 +1,101 @@
+package com.rufan.fullstackbackend.controller;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rufan.fullstackbackend.dto.PdfJobDto;
+import com.rufan.fullstackbackend.service.PdfJobService;
+import com.rufan.fullstackbackend.service.ResultPdfType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background rendering of result PDFs: submit a job, poll its status and
+ * download the file once it is DONE. Downloading a job that is still
+ * queued or running is a 409 Conflict, one that failed or expired is
+ * 410 Gone (submit it again) and an unknown job is 404 Not Found.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/results/pdf-jobs")
+@PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+public class PdfJobController {
+
+    private final PdfJobService pdfJobService;
+
+    public PdfJobController(PdfJobService pdfJobService) {
+        this.pdfJobService = pdfJobService;
+    }
+
+    // Submit a job; type is "tabulation" or "merit"
+    @PostMapping("/{type}/{educationYear}/{examName}/{className}")
+    public ResponseEntity<?> submit(
+            @PathVariable String type,
+            @PathVariable String educationYear,
+            @PathVariable String examName,
+            @PathVariable String className) {
+
+        ResultPdfType documentType;
+        try {
+            documentType = ResultPdfType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unknown document type: " + type));
+        }
+
+        try {
+            PdfJobDto job = pdfJobService.submit(documentType, educationYear, examName, className);
+            log.info("PDF job {} {} for {}/{}/{}", job.getJobId(), job.getStatus(), educationYear, examName, className);
+            return ResponseEntity.accepted().body(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("PDF job queue full, rejecting {} {}/{}/{}", type, educationYear, examName, className);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("message", "Too many PDF jobs queued, please try again shortly"));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PdfJobDto> getStatus(@PathVariable String jobId) {
+        return pdfJobService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        Optional<PdfJobDto> job = pdfJobService.getStatus(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> file = pdfJobService.getResult(jobId);
+        if (file.isEmpty()) {
+            // Known job without a file: not there yet, or never again (it may also have expired just now)
+            PdfJobService.Status status = PdfJobService.Status.valueOf(job.get().getStatus());
+            boolean pending = status == PdfJobService.Status.QUEUED || status == PdfJobService.Status.RUNNING;
+            return ResponseEntity.status(pending ? HttpStatus.CONFLICT : HttpStatus.GONE).build();
+        }
+
+        String fileName = job.get().getType().toLowerCase() + "-" + job.get().getEducationYear() + ".pdf";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", fileName);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(file.get()));
+    }
+}
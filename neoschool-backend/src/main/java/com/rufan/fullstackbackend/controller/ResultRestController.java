@@ -1,10 +1,12 @@
 
 package com.rufan.fullstackbackend.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.io.output.CountingOutputStream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,13 +14,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.rufan.fullstackbackend.config.AppMetrics;
+import com.rufan.fullstackbackend.config.AppMetrics.PdfSource;
 import com.rufan.fullstackbackend.dto.MeritListDto;
 import com.rufan.fullstackbackend.dto.ResultCardDto;
 import com.rufan.fullstackbackend.dto.TabulationSheetDto;
 import com.rufan.fullstackbackend.service.GenerateMeritListPdfService;
 import com.rufan.fullstackbackend.service.GeneratePdfService;
+import com.rufan.fullstackbackend.service.ResultPdfCache;
+import com.rufan.fullstackbackend.service.ResultPdfCache.Cohort;
+import com.rufan.fullstackbackend.service.ResultPdfCache.Version;
+import com.rufan.fullstackbackend.service.ResultPdfType;
 import com.rufan.fullstackbackend.service.ResultService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -39,41 +50,59 @@ public class ResultRestController {
 
 	@Autowired
 	private GeneratePdfService pdfGenerationService;
+
+	@Autowired
+	private ResultPdfCache resultPdfCache;
 	
 	@PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
 	@GetMapping(value = "/tabulation-pdf/{educationYear}/{examName}/{className}")
-	public ResponseEntity<byte[]> getTabulationSheetPdf(
+	public ResponseEntity<StreamingResponseBody> getTabulationSheetPdf(
 	        @PathVariable String educationYear,
 	        @PathVariable String examName,
-	        @PathVariable String className) {
+	        @PathVariable String className,
+	        WebRequest webRequest) {
 	    
 	    logger.info("Received PDF generation request - Year: {}, Exam: {}, Class: {}", 
 	            educationYear, examName, className);
 
-	    try {
-	        logger.info("Generating tabulation data...");
-	        List<TabulationSheetDto> tabulationData = resultService.generateTabulationSheet(educationYear, examName, className);
-	        logger.info("Generated tabulation data for {} students", tabulationData.size());
-	        
-	        logger.info("Generating PDF...");
-	        byte[] pdfBytes = pdfGenerationService.generateTabulationSheetPdf(tabulationData);
-	        logger.info("Generated PDF with size: {} bytes", pdfBytes.length);
-
-	        HttpHeaders headers = new HttpHeaders();
-	        headers.setContentType(MediaType.APPLICATION_PDF);
-	        headers.setContentDispositionFormData("attachment", "tabulation-sheet.pdf");
-	        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-	        headers.setContentLength(pdfBytes.length);
-
-	        logger.info("Sending PDF response with headers: {}", headers);
+	    // Revalidation and cache lookup only need the cohort's version stamp
+	    Cohort cohort = resultPdfCache.cohort(className, examName, educationYear);
+	    Version version = resultPdfCache.currentVersion(cohort);
+	    String etag = version.etag(ResultPdfType.TABULATION);
+	    if (webRequest.checkNotModified(etag, lastModified(version))) {
+	        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+	    }
+	    ResultPdfCache.CachedPdf cached = resultPdfCache.get(ResultPdfType.TABULATION, cohort, version);
+	    if (cached != null) {
+	        logger.info("Serving cached tabulation sheet ({} bytes)", cached.size());
 	        return ResponseEntity.ok()
-	                .headers(headers)
-	                .contentType(MediaType.APPLICATION_PDF)
-	                .body(pdfBytes);
-	    } catch (Exception e) {
-	        logger.error("Error generating PDF: {}", e.getMessage(), e);
-	        throw e;
+	                .headers(pdfHeaders("tabulation-sheet.pdf", etag, version))
+	                .contentLength(cached.size())
+	                .body(cached::writeTo);
 	    }
+
+	    // Load the data before the response is committed so errors still get a proper status; the
+	    // read-only transaction ends here, so no pooled connection is held while the PDF renders
+	    List<TabulationSheetDto> tabulationData = resultService.generateTabulationSheet(educationYear, examName, className);
+	    logger.info("Generated tabulation data for {} students", tabulationData.size());
+
+	    // The PDF is written straight to the response (chunked) and kept for the cache
+	    StreamingResponseBody body = out -> {
+	        long start = System.nanoTime();
+	        CountingOutputStream counted = new CountingOutputStream(out);
+	        ResultPdfCache.Recorder recorder = resultPdfCache.record(ResultPdfType.TABULATION, cohort, version, counted);
+	        try {
+	            pdfGenerationService.writeTabulationSheetPdf(tabulationData, recorder);
+	            recorder.commit();
+	        } finally {
+	            recorder.discard();
+	        }
+	        AppMetrics.pdfRendered(ResultPdfType.TABULATION, PdfSource.REQUEST, System.nanoTime() - start, counted.getByteCount());
+	    };
+
+	    return ResponseEntity.ok()
+	            .headers(pdfHeaders("tabulation-sheet.pdf", etag, version))
+	            .body(body);
 	}
 
 	/*-
@@ -88,46 +117,94 @@ public class ResultRestController {
 	
 	@PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
 	@GetMapping(value = "/merit-pdf/{educationYear}/{examName}/{className}")
-	public ResponseEntity<byte[]> getMeritListPdf(
+	public ResponseEntity<?> getMeritListPdf(
 	        @PathVariable String educationYear,
 	        @PathVariable String examName,
-	        @PathVariable String className) {
+	        @PathVariable String className,
+	        WebRequest webRequest) {
 
 	    logger.info("Generating Merit List PDF - Year: {}, Exam: {}, Class: {}", educationYear, examName, className);
 
-	    try {
-	        // Fetch top 10 students' merit list
-	        List<MeritListDto> meritList = resultService.generateMeritList(className, examName, 10);
-	        logger.info("Top {} students fetched", meritList.size());
-
-	        if (meritList == null || meritList.isEmpty()) {
-	            logger.warn("No students found for merit list with class: {}, exam: {}", className, examName);
-	            Map<String, String> errorResponse = new HashMap<>();
-	            errorResponse.put("message", "No students found for the selected criteria. Please check the exam and class selection.");
-	            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-	                    .contentType(MediaType.APPLICATION_JSON)
-	                    .body(errorResponse.toString().getBytes());
-	        }
+	    Cohort cohort = resultPdfCache.cohort(className, examName, educationYear);
+	    Version version = resultPdfCache.currentVersion(cohort);
+	    String etag = version.etag(ResultPdfType.MERIT);
+	    if (webRequest.checkNotModified(etag, lastModified(version))) {
+	        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+	    }
+	    ResultPdfCache.CachedPdf cached = resultPdfCache.get(ResultPdfType.MERIT, cohort, version);
+	    if (cached != null) {
+	        logger.info("Serving cached merit list ({} bytes)", cached.size());
+	        return ResponseEntity.ok()
+	                .headers(pdfHeaders("merit-list.pdf", etag, version))
+	                .contentLength(cached.size())
+	                .body((StreamingResponseBody) cached::writeTo);
+	    }
 
-	        // Generate PDF with exam details
-	        byte[] pdfBytes = generateMeritListPdfService.generateMeritListPdf(meritList, examName, educationYear);
+	    // Top 10 of the maintained merit ranking
+	    List<MeritListDto> meritList = resultService.generateMeritList(className, examName, educationYear, 10);
 
-	        HttpHeaders headers = new HttpHeaders();
-	        headers.setContentType(MediaType.APPLICATION_PDF);
-	        headers.setContentDispositionFormData("attachment", "merit-list.pdf");
-	        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-	        headers.setContentLength(pdfBytes.length);
+	    if (meritList == null || meritList.isEmpty()) {
+	        logger.warn("No students found for merit list with class: {}, exam: {}", className, examName);
+	        Map<String, String> errorResponse = new HashMap<>();
+	        errorResponse.put("message", "No students found for the selected criteria. Please check the exam and class selection.");
+	        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+	                .contentType(MediaType.APPLICATION_JSON)
+	                .body(errorResponse);
+	    }
+	    logger.info("Top {} students fetched", meritList.size());
 
-	        logger.info("PDF generation completed, size: {} bytes", pdfBytes.length);
-	        return ResponseEntity.ok()
-	                .headers(headers)
-	                .contentType(MediaType.APPLICATION_PDF)
-	                .body(pdfBytes);
+	    // Generate PDF with exam details, streamed to the response and kept for the cache
+	    StreamingResponseBody body = out -> {
+	        long start = System.nanoTime();
+	        CountingOutputStream counted = new CountingOutputStream(out);
+	        ResultPdfCache.Recorder recorder = resultPdfCache.record(ResultPdfType.MERIT, cohort, version, counted);
+	        try {
+	            generateMeritListPdfService.writeMeritListPdf(meritList, examName, educationYear, recorder);
+	            recorder.commit();
+	        } catch (IOException e) {
+	            throw e;
+	        } catch (Exception e) {
+	            logger.error("Error generating Merit List PDF", e);
+	            throw new IOException("Error generating Merit List PDF", e);
+	        } finally {
+	            recorder.discard();
+	        }
+	        AppMetrics.pdfRendered(ResultPdfType.MERIT, PdfSource.REQUEST, System.nanoTime() - start, counted.getByteCount());
+	    };
+
+	    return ResponseEntity.ok()
+	            .headers(pdfHeaders("merit-list.pdf", etag, version))
+	            .body(body);
+	}
 
-	    } catch (Exception e) {
-	        logger.error("Error generating Merit List PDF", e);
-	        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+	// Merit position of one student (Student.id) in a class/exam/year
+	@PreAuthorize("hasAnyRole('ADMIN', 'TEACHER')")
+	@GetMapping("/merit-position/{educationYear}/{examName}/{className}/{studentId}")
+	public ResponseEntity<MeritListDto> getMeritPosition(
+	        @PathVariable String educationYear,
+	        @PathVariable String examName,
+	        @PathVariable String className,
+	        @PathVariable Long studentId) {
+	    return resultService.findMeritPosition(className, examName, educationYear, studentId)
+	            .map(ResponseEntity::ok)
+	            .orElse(ResponseEntity.notFound().build());
+	}
+
+	// PDF download headers; the browser may store the file but must revalidate it (ETag / Last-Modified)
+	private static HttpHeaders pdfHeaders(String fileName, String etag, Version version) {
+	    HttpHeaders headers = new HttpHeaders();
+	    headers.setContentType(MediaType.APPLICATION_PDF);
+	    headers.setContentDispositionFormData("attachment", fileName);
+	    headers.setCacheControl(CacheControl.noCache().cachePrivate());
+	    headers.setETag(etag);
+	    if (version.lastModified() > 0) {
+	        headers.setLastModified(version.lastModified());
 	    }
+	    return headers;
+	}
+
+	private static long lastModified(Version version) {
+	    return version.lastModified() > 0 ? version.lastModified() : -1;
 	}
 
 	@GetMapping("/mark-sheet/{studentId}/{examName}")
@@ -1,10 +1,14 @@
 package com.rufan.fullstackbackend.controller;
 
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.rufan.fullstackbackend.model.Student;
+import com.rufan.fullstackbackend.repository.StudentRepository.StudentRow;
 import com.rufan.fullstackbackend.service.StudentService;
 
 import java.util.List;
@@ -26,6 +30,14 @@ public class StudentRestController {
         return studentService.getAllStudents();
     }
 
+    // Students page by page (?page=0&size=20&sort=name,asc); count=false leaves out the total and skips its query
+    @GetMapping("/page")
+    public Slice<StudentRow> getStudentPage(
+            @PageableDefault(size = 20, sort = { "name", "id" }) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return studentService.getStudentPage(pageable, count);
+    }
+
  // Get student by DB id
     @GetMapping("/{id}")
     public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
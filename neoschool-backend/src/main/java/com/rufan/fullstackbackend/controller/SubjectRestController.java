@@ -2,11 +2,15 @@ package com.rufan.fullstackbackend.controller;
 
 
 import com.rufan.fullstackbackend.model.Subject;
+import com.rufan.fullstackbackend.repository.SubjectRepository.SubjectRow;
 import com.rufan.fullstackbackend.model.Subject.ClassLevel;
 import com.rufan.fullstackbackend.model.Subject.SubjectStatus;
 import com.rufan.fullstackbackend.model.Subject.TeacherName;
 import com.rufan.fullstackbackend.service.SubjectService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -32,6 +36,14 @@ public class SubjectRestController {
         return ResponseEntity.ok(subjectService.getAllSubjects());
     }
 
+    // Subjects page by page (?page=0&size=20&sort=code,asc); count=false leaves out the total and skips its query
+    @GetMapping("/page")
+    public ResponseEntity<Slice<SubjectRow>> getSubjectPage(
+            @PageableDefault(size = 20, sort = { "code", "id" }) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(subjectService.getSubjectPage(pageable, count));
+    }
+
     // ✅ Get Subject by ID
     @GetMapping("/{id}")
     public ResponseEntity<Subject> getSubjectById(@PathVariable Long id) {
@@ -2,10 +2,14 @@ package com.rufan.fullstackbackend.controller;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.rufan.fullstackbackend.model.Teacher;
+import com.rufan.fullstackbackend.repository.TeacherRepository.TeacherRow;
 import com.rufan.fullstackbackend.service.TeacherService;
 
 import java.util.List;
@@ -27,6 +31,14 @@ public class TeacherRestController {
         return ResponseEntity.ok(teacherService.getAllTeachers());
     }
 
+    // Teachers page by page (?page=0&size=20&sort=fullName,asc); count=false leaves out the total and skips its query
+    @GetMapping("/page")
+    public ResponseEntity<Slice<TeacherRow>> getTeacherPage(
+            @PageableDefault(size = 20, sort = { "fullName", "id" }) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return ResponseEntity.ok(teacherService.getTeacherPage(pageable, count));
+    }
+
     // Get teacher by numeric ID
     @GetMapping("/{id}")
     public ResponseEntity<Teacher> getTeacherById(@PathVariable Long id) {
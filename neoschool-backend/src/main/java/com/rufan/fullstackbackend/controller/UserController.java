@@ -1,8 +1,11 @@
 package com.rufan.fullstackbackend.controller;
 
 import java.util.List;
+import java.util.Locale;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +15,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.rufan.fullstackbackend.dto.UserRequest;
+import com.rufan.fullstackbackend.exception.InvalidRoleException;
 import com.rufan.fullstackbackend.exception.UserNotFoundException;
+import com.rufan.fullstackbackend.exception.UsernameTakenException;
 import com.rufan.fullstackbackend.model.User;
 import com.rufan.fullstackbackend.repository.UserRepository;
+import com.rufan.fullstackbackend.security.DatabaseUserDetailsService;
+import com.rufan.fullstackbackend.security.TokenBlacklist;
 
+// User administration; SecurityConfig restricts /user/** and /users/** to ADMIN.
+// Disabling, deleting, renaming or changing the role of a user revokes the tokens issued to them.
 @RestController
 @CrossOrigin("http://localhost:3000")
 public class UserController {
@@ -23,9 +33,32 @@ public class UserController {
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private DatabaseUserDetailsService userDetailsService;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private TokenBlacklist tokenBlacklist;
+
 	@PostMapping("/user")
-	User newUser(@RequestBody User newUser) {
-		return userRepository.save(newUser);
+	User newUser(@RequestBody UserRequest request) {
+		checkUsernameFree(request.getUsername(), null);
+		User newUser = new User();
+		newUser.setName(request.getName());
+		newUser.setUsername(request.getUsername());
+		newUser.setEmail(request.getEmail());
+		newUser.setRole(checkedRole(request.getRole()));
+		if (request.getPassword() != null) {
+			newUser.setPassword(passwordEncoder.encode(request.getPassword()));
+		}
+		if (request.getEnabled() != null) {
+			newUser.setEnabled(request.getEnabled());
+		}
+		User saved = saveUnique(newUser);
+		userDetailsService.evict(saved.getUsername());
+		return saved;
 	}
 
 	@GetMapping("/users")
@@ -33,29 +66,94 @@ public class UserController {
 		return userRepository.findAll();
 	}
 
+	@GetMapping("/users/cache-stats")
+	DatabaseUserDetailsService.CacheStats getUserCacheStats() {
+		return userDetailsService.cacheStats();
+	}
+
 	@GetMapping("/user/{id}")
 	User getUserById(@PathVariable Long id) {
 		return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
 	}
 
 	@PutMapping("/user/{id}")
-	User updateUser(@RequestBody User newUser, @PathVariable Long id) {
+	User updateUser(@RequestBody UserRequest newUser, @PathVariable Long id) {
 		return userRepository.findById(id).map(user -> {
+			String oldUsername = user.getUsername();
+			String oldRole = user.getRole();
+			boolean wasEnabled = user.isEnabled();
+			checkUsernameFree(newUser.getUsername(), id);
 			user.setName(newUser.getName());
 			user.setUsername(newUser.getUsername());
 			user.setEmail(newUser.getEmail());
-			return userRepository.save(user);
+			if (newUser.getPassword() != null) {
+				user.setPassword(passwordEncoder.encode(newUser.getPassword()));
+			}
+			if (newUser.getRole() != null) {
+				user.setRole(checkedRole(newUser.getRole()));
+			}
+			// The edit form leaves enabled out: only an explicit value changes it
+			if (newUser.getEnabled() != null) {
+				user.setEnabled(newUser.getEnabled());
+			}
+			User saved = saveUnique(user);
+			userDetailsService.evict(oldUsername);
+			userDetailsService.evict(saved.getUsername());
+			// Tokens carry the username and role they were issued for
+			if (oldUsername != null && (wasEnabled && !saved.isEnabled() || !saved.getRole().equals(oldRole)
+					|| !oldUsername.equals(saved.getUsername()))) {
+				tokenBlacklist.revokeUser(oldUsername);
+			}
+			return saved;
 		}).orElseThrow(() -> new UserNotFoundException(id));
 
 	}
 
 	@DeleteMapping("/user/{id}")
 	String deleteUSer(@PathVariable Long id) {
-		if (!userRepository.existsById(id)) {
-			throw new UserNotFoundException(id);
-		}
+		User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
 		userRepository.deleteById(id);
+		userDetailsService.evict(user.getUsername());
+		if (user.getUsername() != null) {
+			tokenBlacklist.revokeUser(user.getUsername());
+		}
 		return "User with id " + id + " has been deleted successfully!";
 	}
 
+	// Refuses a username that another user (any but id) already has
+	private void checkUsernameFree(String username, Long id) {
+		if (username == null) {
+			return;
+		}
+		userRepository.findByUsername(username)
+				.filter(existing -> !existing.getId().equals(id))
+				.ifPresent(existing -> {
+					throw new UsernameTakenException(username);
+				});
+	}
+
+	// Saves and flushes, so a username taken concurrently fails on uk_user_username here
+	private User saveUnique(User user) {
+		try {
+			return userRepository.saveAndFlush(user);
+		} catch (DataIntegrityViolationException e) {
+			throw new UsernameTakenException(user.getUsername());
+		}
+	}
+
+	// One of User.ROLES, upper case; USER when none is given
+	private static String checkedRole(String role) {
+		if (role == null || role.isBlank()) {
+			return "USER";
+		}
+		String normalized = role.trim().toUpperCase(Locale.ROOT);
+		if (normalized.startsWith("ROLE_")) {
+			normalized = normalized.substring(5);
+		}
+		if (!User.ROLES.contains(normalized)) {
+			throw new InvalidRoleException(role);
+		}
+		return normalized;
+	}
+
 }
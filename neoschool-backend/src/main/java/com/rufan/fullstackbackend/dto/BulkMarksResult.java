@@ -0,0 +1,22 @@
+package com.rufan.fullstackbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-row outcome of a class-level bulk marks upload
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMarksResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String FAILED = "FAILED";
+
+    private int index;          // position of the row in the request array
+    private Long studentId;
+    private String status;      // CREATED, UPDATED or FAILED
+    private Long marksId;
+    private String message;
+}
@@ -0,0 +1,33 @@
+package com.rufan.fullstackbackend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the marks listing: the sheet's cached aggregates without the
+ * subject rows. Built by a JPQL constructor expression in MarksRepository,
+ * so the argument order of the constructor is part of the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksListItem {
+    private Long id;
+    private Long studentId;
+    private String studentName;
+    private String className;
+    private Integer classRoll;
+    private String examName;
+    private LocalDateTime examDate;
+    private String educationYear;
+    private Double totalMarks;
+    private Double obtainedMarks;
+    private BigDecimal marksPercentage;
+    private String gradeLetter;
+    private BigDecimal grandePoint;
+    private String remarks;
+}
@@ -0,0 +1,22 @@
+package com.rufan.fullstackbackend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of the marks listing. Pass nextCursor back as the cursor parameter
+ * to get the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarksPageDto {
+    private List<MarksListItem> items;
+    private String nextCursor;
+    private int size;             // requested page size after capping
+}
@@ -0,0 +1,27 @@
+package com.rufan.fullstackbackend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of a background PDF job as returned by the pdf-jobs endpoints.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfJobDto {
+    private String jobId;
+    private String type;          // TABULATION or MERIT
+    private String educationYear;
+    private String examName;
+    private String className;
+    private String status;        // QUEUED, RUNNING, DONE, FAILED, EXPIRED
+    private String message;       // error message of a failed job
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
@@ -3,6 +3,8 @@ package com.rufan.fullstackbackend.dto;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import com.rufan.fullstackbackend.service.GradeScale;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -46,15 +48,15 @@ public class StudentResultRow {
         private double gradePoint;
         private String remarks;
 
-        public static SubjectMarks of(String subjectName, double caMarks, double aaMarks, double totalMarks) {
+        public static SubjectMarks of(String subjectName, double caMarks, double aaMarks, double totalMarks, GradeScale gradeScale) {
             double percentage = totalMarks > 0 ? (caMarks + aaMarks) / totalMarks * 100 : 0;
             return SubjectMarks.builder()
                     .subjectName(subjectName)
                     .caMarks(caMarks)
                     .aaMarks(aaMarks)
                     .totalMarks(totalMarks)
-                    .grade(TabulationSheetDto.calculateLetterGrade(percentage))
-                    .gradePoint(TabulationSheetDto.calculateGradePoint(percentage))
+                    .grade(gradeScale.letterGrade(percentage))
+                    .gradePoint(gradeScale.gradePoint(percentage))
                     .build();
         }
     }
@@ -4,6 +4,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.rufan.fullstackbackend.service.GradeScale;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -57,7 +59,7 @@ public class TabulationSheetDto {
             private double gradePoint;
             private String remarks;
 
-            public static SubjectMarks of(String subjectName, double caMarks, double aaMarks) {
+            public static SubjectMarks of(String subjectName, double caMarks, double aaMarks, GradeScale.Snapshot gradeScale) {
                 double total = caMarks + aaMarks;
                 double percentage = total; // Since total is out of 100
                 return SubjectMarks.builder()
@@ -65,42 +67,10 @@ public class TabulationSheetDto {
                         .caMarks(caMarks)
                         .aaMarks(aaMarks)
                         .totalMarks(total)
-                        .grade(TabulationSheetDto.calculateLetterGrade(percentage))
-                        .gradePoint(TabulationSheetDto.calculateInterpolatedGradePoint(percentage))
+                        .grade(gradeScale.letterGrade(percentage))
+                        .gradePoint(gradeScale.interpolatedGradePoint(percentage))
                         .build();
             }
         }
     }
-
-    public static String calculateLetterGrade(double percentage) {
-        if (percentage >= 80) return "A+";
-        if (percentage >= 70) return "A";
-        if (percentage >= 60) return "A-";
-        if (percentage >= 50) return "B";
-        if (percentage >= 40) return "C";
-        if (percentage >= 33) return "D";
-        return "F";
-    }
-
-    public static double calculateGradePoint(double percentage) {
-        if (percentage >= 80) return 5.0;
-        if (percentage >= 70) return 4.0;
-        if (percentage >= 60) return 3.5;
-        if (percentage >= 50) return 3.0;
-        if (percentage >= 40) return 2.0;
-        if (percentage >= 33) return 1.0;
-        return 0.0;
-    }
-    
-    // Calculate interpolated grade points for more precise grading
-    public static double calculateInterpolatedGradePoint(double percentage) {
-        // Linear interpolation between grade boundaries
-        if (percentage >= 80) return 5.0;
-        if (percentage >= 70) return 4.0 + (percentage - 70) / 10.0; // 4.0 → 5.0
-        if (percentage >= 60) return 3.5 + (percentage - 60) / 10.0 * 0.5;
-        if (percentage >= 50) return 3.0 + (percentage - 50) / 10.0 * 0.5;
-        if (percentage >= 40) return 2.0 + (percentage - 40) / 10.0 * 1.0;
-        if (percentage >= 33) return 1.0 + (percentage - 33) / 7.0 * 1.0;
-        return 0.0;
-    }
 }
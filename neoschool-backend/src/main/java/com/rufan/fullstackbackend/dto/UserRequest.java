@@ -0,0 +1,18 @@
+package com.rufan.fullstackbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Body of POST /user and PUT /user/{id}; null fields are left as they are (enabled, password, role)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRequest {
+    private String username;
+    private String name;
+    private String email;
+    private String password;
+    private String role;
+    private Boolean enabled;
+}
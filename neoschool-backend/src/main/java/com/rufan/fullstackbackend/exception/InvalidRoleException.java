@@ -0,0 +1,8 @@
+package com.rufan.fullstackbackend.exception;
+
+public class InvalidRoleException extends RuntimeException {
+
+	public InvalidRoleException(String role) {
+		super("Unknown role " + role + ", expected one of ADMIN, TEACHER or USER");
+	}
+}
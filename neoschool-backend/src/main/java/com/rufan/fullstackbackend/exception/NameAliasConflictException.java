@@ -0,0 +1,9 @@
+package com.rufan.fullstackbackend.exception;
+
+public class NameAliasConflictException extends RuntimeException {
+
+	public NameAliasConflictException(String from, String to, long sheets) {
+		super(sheets + " students already have sheets of both exam " + from + " and " + to
+				+ "; merge or delete them before making " + from + " an alias of " + to);
+	}
+}
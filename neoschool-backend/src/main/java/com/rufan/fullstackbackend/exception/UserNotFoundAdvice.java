@@ -20,4 +20,31 @@ public class UserNotFoundAdvice {
 		errorMap.put("errorMessage", exception.getMessage());
 		return errorMap;
 	}
+
+	@ResponseBody
+	@ExceptionHandler(InvalidRoleException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public Map<String, String> invalidRoleHandler(InvalidRoleException exception) {
+		Map<String, String> errorMap = new HashMap<>();
+		errorMap.put("errorMessage", exception.getMessage());
+		return errorMap;
+	}
+
+	@ResponseBody
+	@ExceptionHandler(NameAliasConflictException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public Map<String, String> nameAliasConflictHandler(NameAliasConflictException exception) {
+		Map<String, String> errorMap = new HashMap<>();
+		errorMap.put("errorMessage", exception.getMessage());
+		return errorMap;
+	}
+
+	@ResponseBody
+	@ExceptionHandler(UsernameTakenException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public Map<String, String> usernameTakenHandler(UsernameTakenException exception) {
+		Map<String, String> errorMap = new HashMap<>();
+		errorMap.put("errorMessage", exception.getMessage());
+		return errorMap;
+	}
 }
@@ -0,0 +1,8 @@
+package com.rufan.fullstackbackend.exception;
+
+public class UsernameTakenException extends RuntimeException {
+
+	public UsernameTakenException(String username) {
+		super("Username " + username + " is already taken");
+	}
+}
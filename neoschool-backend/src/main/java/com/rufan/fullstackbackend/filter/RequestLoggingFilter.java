@@ -0,0 +1,61 @@
+package com.rufan.fullstackbackend.filter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.rufan.fullstackbackend.config.RequestLoggingProperties;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Puts the request id into the logging context (MDC) of every request and
+ * marks a sample of requests for debug logging, see
+ * {@link com.rufan.fullstackbackend.config.SampledDebugTurboFilter}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String DEBUG_SAMPLED = "debugSampled";
+
+    private final RequestLoggingProperties properties;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain
+    ) throws ServletException, IOException {
+        String requestId = request.getHeader(properties.getRequestIdHeader());
+        if (requestId == null || requestId.isBlank() || requestId.length() > 64) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(properties.getRequestIdHeader(), requestId);
+
+        MDC.put(REQUEST_ID, requestId);
+        double rate = properties.getDebugSampleRate();
+        if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+            MDC.put(DEBUG_SAMPLED, "true");
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(DEBUG_SAMPLED);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.rufan.fullstackbackend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * Marks of one subject in a mark sheet. The sheet itself ({@link Marks})
+ * holds the student, exam and the cached aggregates.
+ */
+@Entity
+@Table(name = "t_exam_subject_marks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_subject_marks_marks_subject",
+               columnNames = {"marks_id", "subject_code"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExamSubjectMarks {
+
+    // Pooled ids from the t_exam_subject_marks_seq table (next_val): unlike IDENTITY, inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(generator = "t_exam_subject_marks_seq")
+    @GenericGenerator(name = "t_exam_subject_marks_seq", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "t_exam_subject_marks_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.FORCE_TBL_PARAM, value = "true") })
+    private Long id;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "marks_id", nullable = false)
+    private Marks marks;
+
+    // Subject.code, e.g. "bn"
+    @Column(name = "subject_code", nullable = false, length = 20)
+    private String subjectCode;
+
+    @Column(name = "ca")
+    private Double ca;
+
+    @Column(name = "aa")
+    private Double aa;
+
+    @Column(name = "total")
+    private Double total;
+}
@@ -5,24 +5,47 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Entity
-@Table(name = "t_exam_marks")
+@Table(name = "t_exam_marks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_marks_student_exam_year",
+               columnNames = {"student_id", "exam_name", "education_year"}),
+       indexes = {
+           @Index(name = "idx_marks_class_exam_year", columnList = "class_name, exam_name, education_year"),
+           @Index(name = "idx_marks_student_exam_date", columnList = "student_id, exam_date"),
+           @Index(name = "idx_marks_exam_date", columnList = "exam_date, id"),
+           @Index(name = "idx_marks_year_exam_date", columnList = "education_year, exam_date, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Marks {
 
+    // Pooled ids from the t_exam_marks_seq table (next_val): unlike IDENTITY, inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "t_exam_marks_seq")
+    @GenericGenerator(name = "t_exam_marks_seq", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "t_exam_marks_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.FORCE_TBL_PARAM, value = "true") })
     private Long id;
 
+    // Not part of the JSON: the sheet carries the student's id, name and roll itself
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", referencedColumnName = "student_id", insertable = false, updatable = false)
     private Student student;
@@ -42,7 +65,7 @@ public class Marks {
     @Column(name = "exam_name", nullable = false, length = 100)
     private String examName;
     
-    @Column(name = "exam_date", updatable = false)
+    @Column(name = "exam_date", nullable = false, updatable = false)
     @JsonSerialize(using = LocalDateTimeSerializer.class)
     @JsonDeserialize(using = LocalDateTimeDeserializer.class)
     private LocalDateTime examDate;
@@ -50,149 +73,13 @@ public class Marks {
     @Column(name = "education_year", length = 10)
     private String educationYear;
     
-    @Column(name = "bn_sub_code")
-    private String bnSubCode;
-    
-    @Column(name = "bangla_ca")
-    private Double banglaCa;
-    
-    @Column(name = "bangla_aa")
-    private Double banglaAa;
-    
-    @Column(name = "bangla_total")
-    private Double banglaTotal;
-    
-    @Column(name = "en_sub_code")
-    private String enSubCode;
-    
-    @Column(name = "english_ca")
-    private Double englishCa;
-    
-    @Column(name = "english_aa")
-    private Double englishAa;
-    
-    @Column(name = "english_total")
-    private Double englishTotal;
-    
-    @Column(name = "ma_sub_code")
-    private String maSubCode;
-    
-    @Column(name = "math_ca")
-    private Double mathCa;
-    
-    @Column(name = "math_aa")
-    private Double mathAa;
-    
-    @Column(name = "math_total")
-    private Double mathTotal;
-
-    @Column(name = "sc_sub_code")
-    private String scSubCode;
-    
-    @Column(name = "science_ca")
-    private Double scienceCa;
-    
-    @Column(name = "science_aa")
-    private Double scienceAa;
-    
-    @Column(name = "science_total")
-    private Double scienceTotal;
-    
-    @Column(name = "bwp_sub_code")
-    private String bwpSubCode;
-    
-    @Column(name = "bwp_ca")
-    private Double bwpCa;
-    
-    @Column(name = "bwp_aa")
-    private Double bwpAa;
-    
-    @Column(name = "bwp_total")
-    private Double bwpTotal;
-    
-    @Column(name = "ism_sub_code")
-    private String ismSubCode;
-    
-    @Column(name = "islam_ca")
-    private Double islamCa;
-    
-    @Column(name = "islam_aa")
-    private Double islamAa;
-    
-    @Column(name = "islam_total")
-    private Double islamTotal;
-    
-    @Column(name = "hin_sub_code")
-    private String hinSubCode;
-    
-    @Column(name = "hindu_ca")
-    private Double hinduCa;
-    
-    @Column(name = "hindu_aa")
-    private Double hinduAa;
-    
-    @Column(name = "hindu_total")
-    private Double hinduTotal;
-    
-    @Column(name = "sss_sub_code")
-    private String sssSubCode;
-    
-    @Column(name = "sss_ca")
-    private Double sssCa;
-    
-    @Column(name = "sss_aa")
-    private Double sssAa;
-    
-    @Column(name = "sss_total")
-    private Double sssTotal;
-    
-    @Column(name = "mus_sub_code")
-    private String musSubCode;
-    
-    @Column(name = "music_phy_ca")
-    private Double musicPhyCa;
-    
-    @Column(name = "music_phy_aa")
-    private Double musicPhyAa;
-    
-    @Column(name = "music_total")
-    private Double musicTotal;
-    
-    @Column(name = "art_sub_code")
-    private String artSubCode;
-    
-    @Column(name = "art_craft_ca")
-    private Double artCraftCa;
-    
-    @Column(name = "art_craft_aa")
-    private Double artCraftAa;
-    
-    @Column(name = "art_total")
-    private Double artTotal;
-    
-    @Column(name = "fa_sub_code")
-    private String faSubCode;
-    
-    @Column(name = "fine_art_ca")
-    private Double fineArtCa;
-    
-    @Column(name = "fine_art_aa")
-    private Double fineArtAa;
-    
-    @Column(name = "fa_total")
-    private Double faTotal;
-    
-    @Column(name = "phy_sub_code")
-    private String phySubCode;
-    
-    @Column(name = "phy_edu_ca")
-    private Double phyEduCa;
-    
-    @Column(name = "phy_edu_aa")
-    private Double phyEduAa;
-    
-    @Column(name = "phy_total")
-    private Double phyTotal;
+    // Marks per subject code; the columns below are the sheet's cached aggregates
+    @OneToMany(mappedBy = "marks", cascade = CascadeType.ALL, orphanRemoval = true)
+    @MapKey(name = "subjectCode")
+    @BatchSize(size = 100)
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private Map<String, ExamSubjectMarks> subjects = new LinkedHashMap<>();
 
     @Column(name = "total_marks") 
     private Double totalMarks;    
@@ -238,11 +125,55 @@ private LocalDateTime updatedAt;
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        // The marks listing pages on (exam_date, id)
+        if (examDate == null) {
+            examDate = createdAt;
+        }
+        fillEducationYear();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        fillEducationYear();
+    }
+
+    // Marks of a subject, or null if the sheet has none
+    public ExamSubjectMarks getSubject(String subjectCode) {
+        return subjects.get(subjectCode);
+    }
+
+    // Adds the subject's marks or overwrites the existing row
+    public ExamSubjectMarks putSubject(String subjectCode, Double ca, Double aa, Double total) {
+        ExamSubjectMarks subject = subjects.computeIfAbsent(subjectCode,
+                code -> ExamSubjectMarks.builder().marks(this).subjectCode(code).build());
+        subject.setCa(ca);
+        subject.setAa(aa);
+        subject.setTotal(total);
+        return subject;
+    }
+
+    // Old wide-column JSON properties (banglaCa, banglaTotal, ...) still read by the frontend
+    @JsonAnyGetter
+    public Map<String, Object> getLegacySubjectProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (ExamSubjectMarks subject : subjects.values()) {
+            MarksSubject known = MarksSubject.fromCode(subject.getSubjectCode());
+            if (known != null) {
+                properties.put(known.getSubCodeProperty(), subject.getSubjectCode());
+                properties.put(known.getCaProperty(), subject.getCa());
+                properties.put(known.getAaProperty(), subject.getAa());
+                properties.put(known.getTotalProperty(), subject.getTotal());
+            }
+        }
+        return properties;
+    }
+
+    // Result queries filter on education_year, so derive it from the exam date when missing
+    private void fillEducationYear() {
+        if ((educationYear == null || educationYear.isBlank()) && examDate != null) {
+            educationYear = String.valueOf(examDate.getYear());
+        }
     }
 
     @Override
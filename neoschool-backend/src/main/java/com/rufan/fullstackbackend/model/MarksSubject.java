@@ -0,0 +1,103 @@
+package com.rufan.fullstackbackend.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Subjects of the old wide t_exam_marks layout.
+ *
+ * Marks are stored per subject code in {@link ExamSubjectMarks}, so any code
+ * can be recorded without a schema change. This catalog only keeps what the
+ * known codes need beyond the code itself: main / optional, the tabulation
+ * sheet column and the JSON property names the frontend still reads.
+ */
+public enum MarksSubject {
+    BN("bn", "Bangla", "BAN", true, "banglaCa", "banglaAa", "banglaTotal"),
+    EN("en", "English", "ENG", true, "englishCa", "englishAa", "englishTotal"),
+    MA("ma", "Math", "MATH", true, "mathCa", "mathAa", "mathTotal"),
+    SC("sc", "Science", "SCI", true, "scienceCa", "scienceAa", "scienceTotal"),
+    BWP("bwp", "BWP", "BWP", true, "bwpCa", "bwpAa", "bwpTotal"),
+    ISM("ism", "Islam", "ISL", true, "islamCa", "islamAa", "islamTotal"),
+    HIN("hin", "Hindu", "HIN", true, "hinduCa", "hinduAa", "hinduTotal"),
+    SSS("sss", "SSS", "SSS", false, "sssCa", "sssAa", "sssTotal"),
+    MUS("mus", "Music", "MUS", false, "musicPhyCa", "musicPhyAa", "musicTotal"),
+    ART("art", "Art", "ART", false, "artCraftCa", "artCraftAa", "artTotal"),
+    FA("fa", "Fine Art", "FA", false, "fineArtCa", "fineArtAa", "faTotal"),
+    PHY("phy", "Physical Education", "PE", false, "phyEduCa", "phyEduAa", "phyTotal");
+
+    private static final Map<String, MarksSubject> BY_CODE = new HashMap<>();
+
+    static {
+        for (MarksSubject subject : values()) {
+            BY_CODE.put(subject.code, subject);
+        }
+    }
+
+    private final String code;
+    private final String label;
+    private final String tabulationKey;
+    private final boolean main;
+    private final String caProperty;
+    private final String aaProperty;
+    private final String totalProperty;
+
+    MarksSubject(String code, String label, String tabulationKey, boolean main,
+                 String caProperty, String aaProperty, String totalProperty) {
+        this.code = code;
+        this.label = label;
+        this.tabulationKey = tabulationKey;
+        this.main = main;
+        this.caProperty = caProperty;
+        this.aaProperty = aaProperty;
+        this.totalProperty = totalProperty;
+    }
+
+    // Known subject of a code, or null
+    public static MarksSubject fromCode(String code) {
+        return code != null ? BY_CODE.get(code) : null;
+    }
+
+    // Main subjects are marked out of 100, all others are optional (out of 50)
+    public static boolean isMainSubject(String code) {
+        MarksSubject subject = fromCode(code);
+        return subject != null && subject.main;
+    }
+
+    // Tabulation sheet column of a code; unknown codes get their own column
+    public static String tabulationKey(String code) {
+        MarksSubject subject = fromCode(code);
+        return subject != null ? subject.tabulationKey : code.toUpperCase();
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getTabulationKey() {
+        return tabulationKey;
+    }
+
+    public boolean isMain() {
+        return main;
+    }
+
+    public String getSubCodeProperty() {
+        return code + "SubCode";
+    }
+
+    public String getCaProperty() {
+        return caProperty;
+    }
+
+    public String getAaProperty() {
+        return aaProperty;
+    }
+
+    public String getTotalProperty() {
+        return totalProperty;
+    }
+}
@@ -0,0 +1,36 @@
+package com.rufan.fullstackbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Maps an alternative spelling of a class or exam name (e.g. "পঞ্চম",
+ * "Class Five") to the canonical name stored in t_exam_marks.
+ */
+@Entity
+@Table(name = "name_aliases",
+       uniqueConstraints = @UniqueConstraint(name = "uk_name_alias", columnNames = {"alias_type", "alias"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NameAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alias_type", nullable = false, length = 10)
+    private AliasType aliasType;
+
+    @Column(name = "alias", nullable = false, length = 100)
+    private String alias;
+
+    @Column(name = "canonical_name", nullable = false, length = 100)
+    private String canonicalName;
+
+    public enum AliasType {
+        CLASS, EXAM
+    }
+}
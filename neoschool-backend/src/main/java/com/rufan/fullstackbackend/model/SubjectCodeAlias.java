@@ -0,0 +1,40 @@
+package com.rufan.fullstackbackend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Maps a spelling of a subject code or subject name (e.g. "subj_1",
+ * "বাংলা") to the subject code marks are stored under.
+ */
+@Entity
+@Table(name = "subject_code_aliases",
+       uniqueConstraints = @UniqueConstraint(name = "uk_subject_code_alias", columnNames = {"alias", "match_type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubjectCodeAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "alias", nullable = false, length = 100)
+    private String alias;
+
+    @Column(name = "subject_code", nullable = false, length = 20)
+    private String subjectCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_type", nullable = false, length = 10)
+    private MatchType matchType;
+
+    // Lower wins when several CONTAINS aliases occur in one name
+    @Column(name = "priority", nullable = false)
+    private Integer priority;
+
+    public enum MatchType {
+        EXACT, CONTAINS
+    }
+}
@@ -1,18 +1,47 @@
 package com.rufan.fullstackbackend.model;
 
+import java.util.Set;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
 
+// "user" is a reserved word in H2 (and in SQL generally), so the table name is always quoted
 @Entity
+@Table(name = "`user`")
 public class User {
 
+	// Roles a user can be given (Spring Security adds the ROLE_ prefix)
+	public static final Set<String> ROLES = Set.of("ADMIN", "TEACHER", "USER");
+
+	// Pooled ids from the user_seq table (next_val), on MySQL and on the embedded test database alike
 	@Id
-	@GeneratedValue
+	@GeneratedValue(generator = "user_seq")
+	@GenericGenerator(name = "user_seq", type = SequenceStyleGenerator.class, parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "user_seq"),
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+			@Parameter(name = SequenceStyleGenerator.FORCE_TBL_PARAM, value = "true") })
 	private Long id;
 	private String username;
 	private String name;
 	private String email;
+	// BCrypt hash; accepted on create / update, never serialized back
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+	@Column(length = 100)
+	private String password;
+	// ADMIN, TEACHER or USER
+	@Column(nullable = false, length = 20)
+	private String role = "USER";
+	@Column(nullable = false)
+	private boolean enabled = true;
 
 	public Long getId() {
 		return id;
@@ -46,4 +75,28 @@ public class User {
 		this.email = email;
 	}
 
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public String getRole() {
+		return role;
+	}
+
+	public void setRole(String role) {
+		this.role = role;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
 }
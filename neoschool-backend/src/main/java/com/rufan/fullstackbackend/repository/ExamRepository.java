@@ -1,12 +1,33 @@
 package com.rufan.fullstackbackend.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import com.rufan.fullstackbackend.model.Exam;
 
+import java.time.LocalDate;
+
 // Exam Repository
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
     Exam findByExamId(String examId);
+
+    // Columns of the Exams table; closed projection, so only these are selected
+    interface ExamRow {
+        Long getId();
+        String getExamId();
+        String getExamName();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        String getRemarks();
+    }
+
+    // One page of rows plus a count query for the total
+    Page<ExamRow> findAllProjectedBy(Pageable pageable);
+
+    // One page of rows without the count query (one statement)
+    Slice<ExamRow> findSliceProjectedBy(Pageable pageable);
 }
@@ -1,11 +1,15 @@
 package com.rufan.fullstackbackend.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.rufan.fullstackbackend.model.Grade;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +33,21 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     
     // Find all grades ordered by rangeMin in ascending order
     List<Grade> findAllByOrderByRangeMinAsc();
+
+    // Columns of the Grades table; closed projection, so only these are selected
+    interface GradeRow {
+        Long getId();
+        String getGradeId();
+        String getGradeLetter();
+        BigDecimal getGradePoint();
+        Double getRangeMin();
+        Double getRangeMax();
+        String getRemarks();
+    }
+
+    // One page of rows plus a count query for the total
+    Page<GradeRow> findAllProjectedBy(Pageable pageable);
+
+    // One page of rows without the count query (one statement)
+    Slice<GradeRow> findSliceProjectedBy(Pageable pageable);
 }
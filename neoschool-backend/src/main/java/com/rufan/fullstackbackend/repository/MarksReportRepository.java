@@ -0,0 +1,191 @@
+package com.rufan.fullstackbackend.repository;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import com.rufan.fullstackbackend.config.ReportingProperties;
+import com.rufan.fullstackbackend.repository.MarksRepository.TabulationCell;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Read-only report queries over t_exam_marks.
+ *
+ * Queries run in a Hibernate {@link StatelessSession} on the connection of
+ * the caller's transaction (callers use {@code @Transactional(readOnly = true)},
+ * which also sets FlushMode.MANUAL). Rows are plain columns, never managed
+ * entities: nothing enters a persistence context and no dirty-checking
+ * snapshots are kept. Large results are scrolled forward-only with the
+ * configured fetch size, so on MySQL rows are streamed from the server and
+ * only the sheet being mapped is held in memory.
+ */
+@Repository
+public class MarksReportRepository {
+
+    // Sheet header and one subject per row, in sheet order; className null for the whole school
+    private static final String TABULATION_ROWS =
+            "SELECT m.id, st.id, st.name, st.rollNo, st.studentClass, st.section, "
+          + "m.examName, m.educationYear, s.subjectCode, s.ca, s.aa, s.total "
+          + "FROM Marks m JOIN m.student st LEFT JOIN m.subjects s "
+          + "WHERE (:className IS NULL OR m.className = :className) "
+          + "AND m.examName = :examName AND m.educationYear = :educationYear "
+          + "ORDER BY m.id";
+
+    private static final String SHEET_TOTALS =
+            "SELECT m.id, m.studentId, m.studentName, m.className, m.examName, m.examDate, "
+          + "m.obtainedMarks, m.totalMarks FROM Marks m ";
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+    private final ReportingProperties properties;
+
+    public MarksReportRepository(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                 ReportingProperties properties) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    // Totals of one mark sheet
+    public record SheetTotals(Long marksId, Long studentId, String studentName, String className,
+                              String examName, LocalDateTime examDate, Double obtainedMarks, Double totalMarks) {
+    }
+
+    // Total of one subject on a mark sheet
+    public record SubjectTotal(String subjectCode, Double total) {
+    }
+
+    /**
+     * Streams the tabulation cells of every sheet of an exam, one sheet at a
+     * time in sheet order. The cells of a sheet are only valid during the
+     * call; the action must not run queries (a streamed result set keeps the
+     * connection busy until it is read to the end).
+     *
+     * @return the number of sheets
+     */
+    public int forEachTabulationSheet(String className, String examName, String educationYear,
+                                      Consumer<List<TabulationCell>> action) {
+        return inStatelessSession(session -> {
+            int sheets = 0;
+            List<TabulationCell> sheet = new ArrayList<>();
+            try (ScrollableResults<Object[]> rows = session.createSelectionQuery(TABULATION_ROWS, Object[].class)
+                    .setParameter("className", className)
+                    .setParameter("examName", examName)
+                    .setParameter("educationYear", educationYear)
+                    .setReadOnly(true)
+                    .setFetchSize(properties.getFetchSize())
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Cell cell = new Cell(rows.get());
+                    if (!sheet.isEmpty() && !Objects.equals(sheet.get(0).getMarksId(), cell.getMarksId())) {
+                        action.accept(sheet);
+                        sheets++;
+                        sheet = new ArrayList<>();
+                    }
+                    sheet.add(cell);
+                }
+            }
+            if (!sheet.isEmpty()) {
+                action.accept(sheet);
+                sheets++;
+            }
+            return sheets;
+        });
+    }
+
+    // Latest sitting of an exam by a student
+    public Optional<SheetTotals> findLatestSheet(Long studentId, String examName) {
+        return inStatelessSession(session -> session.createSelectionQuery(SHEET_TOTALS
+                        + "WHERE m.studentId = :studentId AND m.examName = :examName "
+                        + "ORDER BY m.examDate DESC, m.id DESC", Object[].class)
+                .setParameter("studentId", studentId)
+                .setParameter("examName", examName)
+                .setReadOnly(true)
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .map(MarksReportRepository::sheetTotals)
+                .findFirst());
+    }
+
+    // Every sheet of a student, oldest exam first (result card history)
+    public List<SheetTotals> findStudentHistory(Long studentId) {
+        return inStatelessSession(session -> session.createSelectionQuery(SHEET_TOTALS
+                        + "WHERE m.studentId = :studentId ORDER BY m.examDate, m.id", Object[].class)
+                .setParameter("studentId", studentId)
+                .setReadOnly(true)
+                .getResultList()
+                .stream()
+                .map(MarksReportRepository::sheetTotals)
+                .toList());
+    }
+
+    public List<SubjectTotal> findSubjectTotals(Long marksId) {
+        return inStatelessSession(session -> session.createSelectionQuery(
+                        "SELECT s.subjectCode, s.total FROM ExamSubjectMarks s WHERE s.marks.id = :marksId "
+                      + "ORDER BY s.id", Object[].class)
+                .setParameter("marksId", marksId)
+                .setReadOnly(true)
+                .getResultList()
+                .stream()
+                .map(row -> new SubjectTotal((String) row[0], (Double) row[1]))
+                .toList());
+    }
+
+    // Runs the work in a stateless session on the current transaction's connection (or a pooled one)
+    private <T> T inStatelessSession(Function<StatelessSession, T> work) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = sessionFactory.withStatelessOptions()
+                .connection(connection)
+                .openStatelessSession()) {
+            return work.apply(session);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static SheetTotals sheetTotals(Object[] row) {
+        return new SheetTotals((Long) row[0], (Long) row[1], (String) row[2], (String) row[3],
+                (String) row[4], (LocalDateTime) row[5], (Double) row[6], (Double) row[7]);
+    }
+
+    // One scrolled tabulation row
+    private record Cell(Long marksId, Long studentId, String studentName, String rollNo, String studentClass,
+                        String section, String examName, String educationYear, String subjectCode,
+                        Double ca, Double aa, Double total) implements TabulationCell {
+
+        Cell(Object[] row) {
+            this((Long) row[0], (Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                    (String) row[5], (String) row[6], (String) row[7], (String) row[8],
+                    (Double) row[9], (Double) row[10], (Double) row[11]);
+        }
+
+        @Override public Long getMarksId() { return marksId; }
+        @Override public Long getStudentId() { return studentId; }
+        @Override public String getStudentName() { return studentName; }
+        @Override public String getRollNo() { return rollNo; }
+        @Override public String getStudentClass() { return studentClass; }
+        @Override public String getSection() { return section; }
+        @Override public String getExamName() { return examName; }
+        @Override public String getEducationYear() { return educationYear; }
+        @Override public String getSubjectCode() { return subjectCode; }
+        @Override public Double getCa() { return ca; }
+        @Override public Double getAa() { return aa; }
+        @Override public Double getTotal() { return total; }
+    }
+}
@@ -1,29 +1,57 @@
 package com.rufan.fullstackbackend.repository;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.rufan.fullstackbackend.dto.MarksListItem;
 import com.rufan.fullstackbackend.model.ExamMarks;
 import com.rufan.fullstackbackend.model.Marks;
 
 @Repository
 public interface MarksRepository extends JpaRepository<Marks, Long> {
 
+    // Mark sheets returned as JSON or edited after the transaction come with
+    // their subject rows, fetched in the same query (open-in-view is off)
+
+    @Override
+    @EntityGraph(attributePaths = "subjects")
+    List<Marks> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "subjects")
+    Optional<Marks> findById(Long id);
+
     // Get all marks for a specific student
+    @EntityGraph(attributePaths = "subjects")
     List<Marks> findByStudentId(Long studentId);
+    @EntityGraph(attributePaths = "subjects")
     List<Marks> findByClassName(String className);
+    @EntityGraph(attributePaths = "subjects")
     List<Marks> findByExamName(String examName);
 
-    @Query("SELECT m FROM Marks m WHERE m.studentId = :studentId AND m.examName = :examName")
-    Optional<Marks> findByStudentIdAndExamName(@Param("studentId") Long studentId, @Param("examName") String examName);
+    // One row per student, exam and education year (uk_marks_student_exam_year)
+    @EntityGraph(attributePaths = "subjects")
+    Optional<Marks> findByStudentIdAndExamNameAndEducationYear(Long studentId, String examName, String educationYear);
+
+    // Latest sitting of an exam for a student (result card)
+    Optional<Marks> findFirstByStudentIdAndExamNameOrderByExamDateDesc(Long studentId, String examName);
 
     List<Marks> findByClassNameAndExamName(String className, String examName);
+
+    // Existing marks of a batch of students for one exam (bulk upload)
+    List<Marks> findByExamNameAndStudentIdIn(String examName, Collection<Long> studentIds);
+
     List<Marks> findAllByClassNameAndExamNameOrderByObtainedMarksDesc(String className, String examName);
     List<Marks> findAllByStudentIdOrderByExamDateAsc(Long studentId);
     List<Marks> findAllByClassNameAndExamNameOrderByClassRollAsc(String className, String examName);
@@ -32,44 +60,104 @@ public interface MarksRepository extends JpaRepository<Marks, Long> {
     @Query("SELECT m FROM Marks m WHERE LOWER(m.className) LIKE LOWER(concat('%', :className, '%'))")
     List<Marks> findByClassNameContaining(@Param("className") String className);
     
-    // Flexible search methods
-    @Query("SELECT m FROM Marks m WHERE LOWER(m.className) LIKE LOWER(concat('%', :className, '%')) AND m.examName = :examName")
-    List<Marks> findByClassNameContainingAndExamName(@Param("className") String className, @Param("examName") String examName);
-    
-    @Query("SELECT m FROM Marks m WHERE LOWER(m.className) LIKE LOWER(concat('%', :className, '%')) AND LOWER(m.examName) LIKE LOWER(concat('%', :examName, '%'))")
-    List<Marks> findByClassNameContainingAndExamNameContaining(
-        @Param("className") String className, 
-        @Param("examName") String examName
-    );
-    
     @Query("SELECT DISTINCT m.className FROM Marks m WHERE LOWER(m.className) LIKE LOWER(concat('%', :query, '%'))")
     List<String> findDistinctClassNames(@Param("query") String query);
     
     @Query("SELECT DISTINCT m.examName FROM Marks m WHERE LOWER(m.examName) LIKE LOWER(concat('%', :query, '%'))")
     List<String> findDistinctExamNames(@Param("query") String query);
-    
-    // Find by class name, exam name and year from examDate
-    @Query("SELECT m FROM Marks m WHERE m.className = :className AND m.examName = :examName AND YEAR(m.examDate) = :year")
-    List<Marks> findByClassNameAndExamNameAndYear(
-        @Param("className") String className, 
-        @Param("examName") String examName, 
-        @Param("year") int year
+
+    // Marks listing, newest first: the rows after (afterDate, afterId), or the first page when they are null.
+    // Filters are optional; page with Pageable.ofSize so no count query runs. The keyset condition is
+    // written as a plain examDate range plus a tie-break so the (exam_date, id) indexes can seek to it.
+    @Query(LISTING_SELECT
+         + "AND (:afterDate IS NULL OR (m.examDate <= :afterDate AND (m.examDate < :afterDate OR m.id < :afterId))) "
+         + "ORDER BY m.examDate DESC, m.id DESC")
+    List<MarksListItem> findListingPageDesc(
+        @Param("className") String className,
+        @Param("examName") String examName,
+        @Param("educationYear") String educationYear,
+        @Param("studentId") Long studentId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable page
     );
-    
-    // Find by class name (containing), exam name and year from examDate
-    @Query("SELECT m FROM Marks m WHERE LOWER(m.className) LIKE LOWER(concat('%', :className, '%')) AND m.examName = :examName AND YEAR(m.examDate) = :year")
-    List<Marks> findByClassNameContainingAndExamNameAndYear(
-        @Param("className") String className, 
+
+    // Marks listing, oldest first
+    @Query(LISTING_SELECT
+         + "AND (:afterDate IS NULL OR (m.examDate >= :afterDate AND (m.examDate > :afterDate OR m.id > :afterId))) "
+         + "ORDER BY m.examDate ASC, m.id ASC")
+    List<MarksListItem> findListingPageAsc(
+        @Param("className") String className,
         @Param("examName") String examName,
-        @Param("year") int year
+        @Param("educationYear") String educationYear,
+        @Param("studentId") Long studentId,
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        Pageable page
     );
-    
-    // Find by class name (containing), exam name (containing) and year from examDate
-    @Query("SELECT m FROM Marks m WHERE LOWER(m.className) LIKE LOWER(concat('%', :className, '%')) AND LOWER(m.examName) LIKE LOWER(concat('%', :examName, '%')) AND YEAR(m.examDate) = :year")
-    List<Marks> findByClassNameContainingAndExamNameContainingAndYear(
-        @Param("className") String className, 
+
+    String LISTING_SELECT = "SELECT new com.rufan.fullstackbackend.dto.MarksListItem("
+         + "m.id, m.studentId, m.studentName, m.className, m.classRoll, m.examName, m.examDate, "
+         + "m.educationYear, m.totalMarks, m.obtainedMarks, m.marksPercentage, m.gradeLetter, "
+         + "m.grandePoint, m.remarks) "
+         + "FROM Marks m "
+         + "WHERE (:className IS NULL OR m.className = :className) "
+         + "AND (:examName IS NULL OR m.examName = :examName) "
+         + "AND (:educationYear IS NULL OR m.educationYear = :educationYear) "
+         + "AND (:studentId IS NULL OR m.studentId = :studentId) ";
+
+    // One subject of one student on the tabulation sheet
+    interface TabulationCell {
+        Long getMarksId();
+        Long getStudentId();
+        String getStudentName();
+        String getRollNo();
+        String getStudentClass();
+        String getSection();
+        String getExamName();
+        String getEducationYear();
+        String getSubjectCode(); // null for a sheet without subject rows
+        Double getCa();
+        Double getAa();
+        Double getTotal();
+    }
+
+    // Tabulation of one class/exam/year as flat scalar rows: one scan, no entity hydration
+    @Query("SELECT m.id AS marksId, st.id AS studentId, st.name AS studentName, st.rollNo AS rollNo, "
+         + "st.studentClass AS studentClass, st.section AS section, "
+         + "m.examName AS examName, m.educationYear AS educationYear, "
+         + "s.subjectCode AS subjectCode, s.ca AS ca, s.aa AS aa, s.total AS total "
+         + "FROM Marks m JOIN m.student st LEFT JOIN m.subjects s "
+         + "WHERE m.className = :className AND m.examName = :examName AND m.educationYear = :educationYear "
+         + "ORDER BY m.id")
+    List<TabulationCell> findTabulationCells(
+        @Param("className") String className,
         @Param("examName") String examName,
-        @Param("year") int year
+        @Param("educationYear") String educationYear
     );
-}
 
+    // Version stamp of a cohort: latest update time and number of rows
+    @Query("SELECT MAX(m.updatedAt), COUNT(m) FROM Marks m "
+         + "WHERE m.className = :className AND m.examName = :examName AND m.educationYear = :educationYear")
+    List<Object[]> findCohortVersion(
+        @Param("className") String className,
+        @Param("examName") String examName,
+        @Param("educationYear") String educationYear
+    );
+
+    // Moves every sheet of a class to another class name (alias merges); bumps updatedAt so cohort versions change
+    @Modifying
+    @Query("UPDATE Marks m SET m.className = :to, m.updatedAt = CURRENT_TIMESTAMP WHERE m.className = :from")
+    int renameClass(@Param("from") String from, @Param("to") String to);
+
+    // Moves every sheet of an exam to another exam name (alias merges); bumps updatedAt so cohort versions change
+    @Modifying
+    @Query("UPDATE Marks m SET m.examName = :to, m.updatedAt = CURRENT_TIMESTAMP WHERE m.examName = :from")
+    int renameExam(@Param("from") String from, @Param("to") String to);
+
+    // Sheets of exam :from whose student already has a sheet of exam :to in the same year
+    @Query("SELECT COUNT(m) FROM Marks m WHERE m.examName = :from AND EXISTS ("
+         + "SELECT o.id FROM Marks o WHERE o.examName = :to "
+         + "AND o.studentId = m.studentId AND o.educationYear = m.educationYear)")
+    long countExamRenameConflicts(@Param("from") String from, @Param("to") String to);
+}
@@ -0,0 +1,23 @@
+package com.rufan.fullstackbackend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rufan.fullstackbackend.model.NameAlias;
+import com.rufan.fullstackbackend.model.NameAlias.AliasType;
+
+@Repository
+public interface NameAliasRepository extends JpaRepository<NameAlias, Long> {
+
+    List<NameAlias> findByAliasType(AliasType aliasType);
+
+    // Points the aliases of one canonical name at another
+    @Modifying
+    @Query("UPDATE NameAlias a SET a.canonicalName = :to WHERE a.aliasType = :type AND a.canonicalName = :from")
+    int redirect(@Param("type") AliasType type, @Param("from") String from, @Param("to") String to);
+}
@@ -1,10 +1,16 @@
 package com.rufan.fullstackbackend.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import com.rufan.fullstackbackend.model.Student;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,7 +18,30 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     Optional<Student> findByStudentId(Long studentId);
 
+    List<Student> findByStudentIdIn(Collection<Long> studentIds);
+
     Optional<Student> findByRollNo(String rollNo);
 
     Optional<Student> findByBrnNo(String brnNo);
+
+    // Columns of the Students table; closed projection, so only these are selected
+    interface StudentRow {
+        Long getId();
+        Long getStudentId();
+        String getRollNo();
+        String getName();
+        String getStudentClass();
+        String getSection();
+        Student.Gender getGender();
+        LocalDate getDob();
+        String getBrnNo();
+        Student.StipendStatus getStipend();
+        Student.Status getStatus();
+    }
+
+    // One page of rows plus a count query for the total
+    Page<StudentRow> findAllProjectedBy(Pageable pageable);
+
+    // One page of rows without the count query (one statement)
+    Slice<StudentRow> findSliceProjectedBy(Pageable pageable);
 }
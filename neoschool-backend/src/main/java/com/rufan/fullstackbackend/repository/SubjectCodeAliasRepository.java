@@ -0,0 +1,10 @@
+package com.rufan.fullstackbackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.rufan.fullstackbackend.model.SubjectCodeAlias;
+
+@Repository
+public interface SubjectCodeAliasRepository extends JpaRepository<SubjectCodeAlias, Long> {
+}
@@ -1,6 +1,9 @@
 package com.rufan.fullstackbackend.repository;
 
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import com.rufan.fullstackbackend.model.Subject;
 import com.rufan.fullstackbackend.model.Subject.ClassLevel;
 import com.rufan.fullstackbackend.model.Subject.SubjectStatus;
@@ -27,4 +30,22 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
     // Search subjects by name (case-insensitive contains)
     List<Subject> findByNameContainingIgnoreCase(String name);
+
+    // Columns of the Subjects table; closed projection, so only these are selected
+    interface SubjectRow {
+        Long getId();
+        String getName();
+        String getCode();
+        ClassLevel getClassLevel();
+        Integer getMarks();
+        Subject.TeacherName getTeacher();
+        SubjectStatus getStatus();
+        String getDescription();
+    }
+
+    // One page of rows plus a count query for the total
+    Page<SubjectRow> findAllProjectedBy(Pageable pageable);
+
+    // One page of rows without the count query (one statement)
+    Slice<SubjectRow> findSliceProjectedBy(Pageable pageable);
 }
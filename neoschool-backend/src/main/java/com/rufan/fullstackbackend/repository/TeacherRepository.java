@@ -1,6 +1,10 @@
 package com.rufan.fullstackbackend.repository;
 
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +16,23 @@ import java.util.Optional;
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
 
+    // The finders returning teachers fetch the subjects collection in the same
+    // query, so serializing them needs no query per teacher and no open session
+
+    @Override
+    @EntityGraph(attributePaths = "subjects")
+    List<Teacher> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "subjects")
+    Optional<Teacher> findById(Long id);
+
     // Find teacher by auto-generated string ID
+    @EntityGraph(attributePaths = "subjects")
     Optional<Teacher> findByTeacherId(String teacherId);
 
     // Find teacher by email
+    @EntityGraph(attributePaths = "subjects")
     Optional<Teacher> findByEmail(String email);
 
     // Check if email exists
@@ -25,5 +42,25 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     boolean existsByTeacherId(String teacherId);
 
     // Optional: find teachers by section
+    @EntityGraph(attributePaths = "subjects")
     List<Teacher> findBySection(String section);
+
+    // Columns of the Teachers table (without the subjects collection); closed projection, so only these are selected
+    interface TeacherRow {
+        Long getId();
+        String getTeacherId();
+        String getFullName();
+        String getSection();
+        String getGender();
+        String getPosition();
+        String getStatus();
+        String getEmail();
+        String getPhoneNumber();
+    }
+
+    // One page of rows plus a count query for the total
+    Page<TeacherRow> findAllProjectedBy(Pageable pageable);
+
+    // One page of rows without the count query (one statement)
+    Slice<TeacherRow> findSliceProjectedBy(Pageable pageable);
 }
@@ -1,9 +1,16 @@
 package com.rufan.fullstackbackend.repository;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.rufan.fullstackbackend.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+	// Usernames are unique (uk_user_username)
+	Optional<User> findByUsername(String username);
+
+	boolean existsByRoleAndEnabledTrue(String role);
+
 }
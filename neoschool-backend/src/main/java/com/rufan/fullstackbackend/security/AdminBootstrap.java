@@ -0,0 +1,53 @@
+package com.rufan.fullstackbackend.security;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.rufan.fullstackbackend.config.UserStoreProperties;
+import com.rufan.fullstackbackend.model.User;
+import com.rufan.fullstackbackend.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the first administrator from {@code security.users.admin-username}
+ * and {@code security.users.admin-password} (normally set through the
+ * environment) when the user table has no enabled ADMIN. The migrations seed
+ * no accounts, so a new database is only reachable this way.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdminBootstrap implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserStoreProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String username = properties.getAdminUsername();
+        String password = properties.getAdminPassword();
+        if (userRepository.existsByRoleAndEnabledTrue("ADMIN")) {
+            return;
+        }
+        if (username == null || username.isBlank() || password == null || password.isBlank()) {
+            log.warn("No enabled ADMIN user exists; set security.users.admin-username and admin-password to create one");
+            return;
+        }
+        if (userRepository.findByUsername(username).isPresent()) {
+            log.warn("Not creating ADMIN {}: a user with that name exists", username);
+            return;
+        }
+        User admin = new User();
+        admin.setUsername(username);
+        admin.setName("Administrator");
+        admin.setPassword(passwordEncoder.encode(password));
+        admin.setRole("ADMIN");
+        userRepository.save(admin);
+        log.info("Created ADMIN user {}", username);
+    }
+}
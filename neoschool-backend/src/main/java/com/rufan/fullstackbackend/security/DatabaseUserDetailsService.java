@@ -0,0 +1,125 @@
+package com.rufan.fullstackbackend.security;
+
+import com.rufan.fullstackbackend.config.UserStoreProperties;
+import com.rufan.fullstackbackend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users of the {@code user} table, for login and token refresh.
+ *
+ * Loaded credentials are cached for {@code security.users.cache-ttl}, at
+ * most {@code security.users.cache-size} of them, so a burst of logins does
+ * not read the table for every attempt. {@code UserController} evicts a
+ * user whenever it is created, changed or deleted.
+ *
+ * Every lookup returns a new {@link UserDetails}: the authentication manager
+ * erases the password of the one it authenticated.
+ */
+@Slf4j
+@Service
+public class DatabaseUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    // What is cached of a user; immutable, unlike UserDetails
+    private record Credentials(String username, String password, String role, boolean enabled, long loadedAtMillis) {
+
+        UserDetails toUserDetails() {
+            return User.withUsername(username)
+                    .password(password)
+                    .roles(role)
+                    .disabled(!enabled)
+                    .build();
+        }
+    }
+
+    // Hit / miss counters of the credential cache
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+    }
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, Credentials> cache = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DatabaseUserDetailsService(UserRepository userRepository, UserStoreProperties properties) {
+        this.userRepository = userRepository;
+        this.maxSize = properties.getCacheSize();
+        this.ttlMillis = properties.getCacheTtl().toMillis();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        Credentials cached = cache.get(username);
+        if (cached != null && now - cached.loadedAtMillis() < ttlMillis) {
+            hits.incrementAndGet();
+            return cached.toUserDetails();
+        }
+        misses.incrementAndGet();
+
+        com.rufan.fullstackbackend.model.User user = userRepository.findByUsername(username)
+                .filter(u -> u.getPassword() != null)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        Credentials credentials = new Credentials(user.getUsername(), user.getPassword(),
+                role(user.getRole()), user.isEnabled(), now);
+        if (cache.size() >= maxSize) {
+            evict(now);
+        }
+        cache.put(username, credentials);
+        return credentials.toUserDetails();
+    }
+
+    // Stores a rehashed password, e.g. after security.users.bcrypt-strength was raised
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(entity -> {
+            entity.setPassword(newPassword);
+            userRepository.save(entity);
+            log.info("Upgraded password hash of user {}", user.getUsername());
+        });
+        evict(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    // Forgets a user after a change in the user table
+    public void evict(String username) {
+        if (username != null && cache.remove(username) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    public CacheStats cacheStats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), cache.size());
+    }
+
+    // Role name without the ROLE_ prefix, which User.roles adds
+    private static String role(String role) {
+        if (role == null || role.isBlank()) {
+            return "USER";
+        }
+        return role.startsWith("ROLE_") ? role.substring(5) : role;
+    }
+
+    private void evict(long now) {
+        cache.values().removeIf(c -> now - c.loadedAtMillis() >= ttlMillis);
+        Iterator<String> it = cache.keySet().iterator();
+        while (cache.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rufan.fullstackbackend.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revocations kept in this JVM only ({@code jwt.revocation-store=memory}),
+ * for a single node without a shared database; they are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation-store", havingValue = "memory")
+public class InMemoryRevocationStore implements RevocationStore {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, Revocation> revocations = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void save(String key, long expiresAtMillis) {
+        long seq = sequence.incrementAndGet();
+        revocations.put(seq, new Revocation(seq, key, expiresAtMillis));
+    }
+
+    @Override
+    public List<Revocation> findAfter(long after, long nowMillis, int limit) {
+        List<Revocation> result = new ArrayList<>();
+        for (Revocation revocation : revocations.tailMap(after, false).values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (revocation.expiresAtMillis() > nowMillis) {
+                result.add(revocation);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int deleteExpired(long nowMillis) {
+        int before = revocations.size();
+        revocations.values().removeIf(r -> r.expiresAtMillis() <= nowMillis);
+        return before - revocations.size();
+    }
+}
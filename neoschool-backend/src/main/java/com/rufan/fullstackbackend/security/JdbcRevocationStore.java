@@ -0,0 +1,47 @@
+package com.rufan.fullstackbackend.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Revocations in the t_token_revocation table of the application database,
+ * shared by every node. The seq column is the sync position of the nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation-store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcRevocationStore implements RevocationStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRevocationStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(String key, long expiresAtMillis) {
+        try {
+            jdbcTemplate.update("INSERT INTO t_token_revocation (revocation_key, expires_at) VALUES (?, ?)",
+                    key, expiresAtMillis);
+        } catch (DuplicateKeyException e) {
+            // Already revoked, e.g. a repeated logout; a token's expiry never changes
+        }
+    }
+
+    @Override
+    public List<Revocation> findAfter(long sequence, long nowMillis, int limit) {
+        return jdbcTemplate.query(
+                "SELECT seq, revocation_key, expires_at FROM t_token_revocation "
+                        + "WHERE seq > ? AND expires_at > ? ORDER BY seq LIMIT ?",
+                (rs, rowNum) -> new Revocation(rs.getLong("seq"), rs.getString("revocation_key"), rs.getLong("expires_at")),
+                sequence, nowMillis, limit);
+    }
+
+    @Override
+    public int deleteExpired(long nowMillis) {
+        return jdbcTemplate.update("DELETE FROM t_token_revocation WHERE expires_at <= ?", nowMillis);
+    }
+}
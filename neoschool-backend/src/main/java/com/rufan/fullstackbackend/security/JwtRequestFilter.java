@@ -1,9 +1,13 @@
 package com.rufan.fullstackbackend.security;
 
+import com.rufan.fullstackbackend.config.AppMetrics;
+import com.rufan.fullstackbackend.config.AppMetrics.JwtOutcome;
 import com.rufan.fullstackbackend.exception.JwtTokenException;
+import com.rufan.fullstackbackend.security.VerifiedTokenCache.VerifiedToken;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,9 +17,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -31,8 +34,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     public static final String BEARER_PREFIX = "Bearer ";
     public static final String TOKEN_EXPIRED_HEADER = "Token-Expired";
 
-    private final UserDetailsService userDetailsService;
-    private final JwtTokenUtil jwtTokenUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final TokenBlacklist tokenBlacklist;
 
     @Override
@@ -51,6 +53,19 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         log.debug("Processing request to: {}", requestPath);
 
+        long start = System.nanoTime();
+        JwtOutcome outcome = authenticate(request, response);
+        AppMetrics.jwtFilter(outcome, System.nanoTime() - start);
+        if (outcome == JwtOutcome.REJECTED) {
+            return; // the error has been sent
+        }
+
+        // Continue the filter chain
+        chain.doFilter(request, response);
+    }
+
+    // Authenticates the request from its bearer token; returns the outcome, REJECTED once an error was sent
+    private JwtOutcome authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
         // Get token from Authorization header
         String requestTokenHeader = request.getHeader(AUTHORIZATION_HEADER);
 
@@ -58,77 +73,63 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             String jwtToken = requestTokenHeader.substring(BEARER_PREFIX.length());
 
             try {
-                // Check if token is blacklisted (user logged out)
-                if (tokenBlacklist.isBlacklisted(jwtToken)) {
+                // Verify the token once per lifetime; roles come from its claims, not the user store
+                VerifiedToken verified = verifiedTokenCache.verify(jwtToken);
+                String username = verified.username();
+
+                // Check if token is blacklisted (user logged out, or was disabled, deleted or given another role)
+                if (tokenBlacklist.isRevoked(verified)) {
                     log.warn("Attempted to use blacklisted token");
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been invalidated");
-                    return;
+                    return JwtOutcome.REJECTED;
                 }
 
-                // Extract username from token
-                String username = jwtTokenUtil.extractUsername(jwtToken);
-
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                    // Validate token and set authentication if valid
-                    if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities()
-                        );
-                        authentication.setDetails(
-                                new WebAuthenticationDetailsSource().buildDetails(request)
-                        );
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("Authenticated user: {}", username);
-
-                        // Debug: Verify the authentication was set correctly
-                        if (log.isDebugEnabled()) {
-                            log.debug("Current authentication in context: {}", 
-                                    SecurityContextHolder.getContext().getAuthentication());
-                            log.debug("Current authorities: {}", 
-                                    SecurityContextHolder.getContext().getAuthentication().getAuthorities());
-                        }
-                    } else {
-                        log.warn("JWT Token validation failed for user: {}", username);
-                    }
+                    UserDetails userDetails = new User(username, "", verified.authorities());
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities()
+                    );
+                    authentication.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Authenticated user: {} with authorities {}", username, userDetails.getAuthorities());
                 }
             } catch (ExpiredJwtException ex) {
                 log.warn("JWT Token has expired: {}", ex.getMessage());
                 response.setHeader(TOKEN_EXPIRED_HEADER, "true");
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "JWT Token has expired");
-                return;
+                return JwtOutcome.REJECTED;
             } catch (MalformedJwtException ex) {
                 log.error("Invalid JWT token: {}", ex.getMessage());
                 response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid JWT token");
-                return;
+                return JwtOutcome.REJECTED;
             } catch (UnsupportedJwtException ex) {
                 log.error("Unsupported JWT token: {}", ex.getMessage());
                 response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported JWT token");
-                return;
+                return JwtOutcome.REJECTED;
             } catch (IllegalArgumentException ex) {
                 log.error("JWT claims string is empty: {}", ex.getMessage());
                 response.sendError(HttpServletResponse.SC_BAD_REQUEST, "JWT claims string is empty");
-                return;
+                return JwtOutcome.REJECTED;
             } catch (JwtTokenException ex) {
                 log.error("JWT Token validation failed: {}", ex.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, ex.getMessage());
-                return;
-            } catch (UsernameNotFoundException ex) {
-                log.error("User not found: {}", ex.getMessage());
-                response.sendError(HttpServletResponse.SC_NOT_FOUND, "User not found");
-                return;
+                return JwtOutcome.REJECTED;
+            } catch (SignatureException ex) {
+                log.error("Invalid JWT signature: {}", ex.getMessage());
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT signature");
+                return JwtOutcome.REJECTED;
             } catch (Exception ex) {
                 log.error("Authentication error: {}", ex.getMessage(), ex);
                 response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Authentication error");
-                return;
+                return JwtOutcome.REJECTED;
             }
+            return JwtOutcome.AUTHENTICATED;
         } else if (!request.getMethod().equals("OPTIONS")) {
             // Don't log for OPTIONS requests (preflight CORS)
             log.debug("No JWT token found in request headers");
         }
-
-        // Continue the filter chain
-        chain.doFilter(request, response);
+        return JwtOutcome.ANONYMOUS;
     }
 }
@@ -0,0 +1,130 @@
+package com.rufan.fullstackbackend.security;
+
+import com.rufan.fullstackbackend.config.LoginThrottleProperties;
+import com.rufan.fullstackbackend.exception.LoginThrottledException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps logins from starving the rest of the API.
+ *
+ * Every attempt first takes a token from the bucket of its client IP and of
+ * its username ({@code auth.login.*}); an empty bucket means an immediate
+ * 429. Password checks (BCrypt) then run on a small fixed pool with a
+ * bounded queue instead of on the request thread, so a login storm costs at
+ * most {@code auth.login.hash-threads} cores; when the queue is full the
+ * login is refused with a 429 as well.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 16;
+
+    private final TokenBucketLimiter byUsername;
+    private final TokenBucketLimiter byIp;
+    private final long hashTimeoutMillis;
+    private final ThreadPoolExecutor hashExecutor;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LoginThrottle(LoginThrottleProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    // Buckets refill by the given clock (System.nanoTime, or a test's own)
+    LoginThrottle(LoginThrottleProperties properties, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.byUsername = new TokenBucketLimiter(properties.getUsernameBurst(),
+                properties.getUsernameRefillPeriod().toNanos(), STRIPES);
+        this.byIp = new TokenBucketLimiter(properties.getIpBurst(),
+                properties.getIpRefillPeriod().toNanos(), STRIPES);
+        this.hashTimeoutMillis = properties.getHashTimeout().toMillis();
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.hashExecutor = new ThreadPoolExecutor(
+                properties.getHashThreads(), properties.getHashThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getHashQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "login-hash-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Takes a login attempt of the username from the client address.
+     * @throws LoginThrottledException if either has no attempts left
+     */
+    public void acquire(String username, String clientIp) {
+        long now = nanoClock.getAsLong();
+        long ipWait = byIp.tryAcquire(clientIp != null ? clientIp : "unknown", now);
+        if (ipWait > 0) {
+            log.warn("Login rate limit hit for client {}", clientIp);
+            throw new LoginThrottledException("Too many login attempts, please try again later", seconds(ipWait));
+        }
+        String user = username != null ? username.trim().toLowerCase(Locale.ROOT) : "";
+        long userWait = byUsername.tryAcquire(user, now);
+        if (userWait > 0) {
+            log.warn("Login rate limit hit for user {}", username);
+            throw new LoginThrottledException("Too many login attempts, please try again later", seconds(userWait));
+        }
+    }
+
+    /**
+     * Runs a password check on the hashing pool and waits for it.
+     * @throws LoginThrottledException if the pool is saturated
+     */
+    public <T> T check(Callable<T> passwordCheck) throws Exception {
+        Future<T> result;
+        try {
+            result = hashExecutor.submit(passwordCheck);
+        } catch (RejectedExecutionException e) {
+            log.warn("Login hashing queue full, rejecting login");
+            throw new LoginThrottledException("Too many logins in progress, please try again shortly", 1);
+        }
+        try {
+            return result.get(hashTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new LoginThrottledException("Too many logins in progress, please try again shortly", 1);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    // Forgets buckets that have refilled, so the maps only hold recent attempts
+    @Scheduled(fixedDelayString = "${auth.login.bucket-sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        int removed = byUsername.evictFull(now) + byIp.evictFull(now);
+        if (removed > 0) {
+            log.debug("Dropped {} idle login rate limit buckets", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+}
@@ -0,0 +1,27 @@
+package com.rufan.fullstackbackend.security;
+
+import java.util.List;
+
+/**
+ * Shared storage of token revocations, so that a logout on one node is seen
+ * by every node and survives restarts.
+ *
+ * Every saved revocation gets an increasing sequence number; nodes keep
+ * their own in-memory view ({@link TokenBlacklist}) and pull what is new
+ * with {@link #findAfter}. Selected with {@code jwt.revocation-store}.
+ */
+public interface RevocationStore {
+
+    // A stored revocation of the token with the given revocation key until it expires
+    record Revocation(long sequence, String key, long expiresAtMillis) {
+    }
+
+    // Stores a revocation; storing a key that is already revoked does nothing
+    void save(String key, long expiresAtMillis);
+
+    // Revocations that have not expired at nowMillis and come after the sequence, in sequence order
+    List<Revocation> findAfter(long sequence, long nowMillis, int limit);
+
+    // Deletes the revocations that expired before nowMillis; returns how many
+    int deleteExpired(long nowMillis);
+}
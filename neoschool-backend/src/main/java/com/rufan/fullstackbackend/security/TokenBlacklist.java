@@ -1,29 +1,255 @@
 package com.rufan.fullstackbackend.security;
 
+import com.rufan.fullstackbackend.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Revoked (logged out or rotated) tokens.
+ *
+ * A token is identified by its {@code jti}, or by the SHA-256 of the token
+ * for tokens issued without one, and stays revoked exactly until its own
+ * {@code exp}; after that the signature check rejects it anyway. A
+ * scheduled sweep drops expired entries in expiry order, so memory is
+ * proportional to the revoked tokens that are still alive.
+ *
+ * Lookups on the request path go through an optional Bloom filter first
+ * ({@code jwt.blacklist-bloom-filter}), so a token that was never revoked
+ * does not touch the revocation map.
+ *
+ * Revocations are written through to the shared {@link RevocationStore} and
+ * every node pulls the ones made elsewhere every
+ * {@code jwt.revocation-sync-interval-ms}, by sequence number. Each poll
+ * re-reads the last {@code jwt.revocation-sync-overlap} sequence numbers, as
+ * a concurrent insert may commit after a higher sequence was already read.
+ *
+ * Disabling, deleting or changing the role of a user revokes every token of
+ * that user issued until then ({@link #revokeUser}): the revocation carries
+ * the time and is kept as long as a token issued before it can live. Token
+ * {@code iat} has second precision, so tokens issued in the same second as
+ * the revocation are revoked too.
+ */
+@Slf4j
 @Component
 public class TokenBlacklist {
-    private final Set<String> blacklistedTokens = new HashSet<>();
-    private final long TOKEN_VALIDITY_MS = TimeUnit.DAYS.toMillis(1); // 24 hours
 
+    private record Expiry(String key, long expiresAtMillis) {
+    }
+
+    // Revocation of all tokens of a user, keyed "user:<revokedAtMillis>:<username>"
+    private record UserRevocation(String username, long revokedAtMillis) {
+
+        private static final String PREFIX = "user:";
+
+        static boolean isUserKey(String key) {
+            return key.startsWith(PREFIX);
+        }
+
+        static UserRevocation parse(String key) {
+            int separator = key.indexOf(':', PREFIX.length());
+            return new UserRevocation(key.substring(separator + 1),
+                    Long.parseLong(key.substring(PREFIX.length(), separator)));
+        }
+
+        String key() {
+            return PREFIX + revokedAtMillis + ":" + username;
+        }
+    }
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final RevocationStore revocationStore;
+    private final int syncBatchSize;
+    private final int syncOverlap;
+    private final boolean bloomFilterEnabled;
+    private final int expectedTokens;
+    private final long maxTokenLifetimeMillis;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Username -> tokens issued up to this time (epoch millis) are revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    // Guarded by this, together with bloom filter rebuilds
+    private final PriorityQueue<Expiry> expiries = new PriorityQueue<>(
+            (a, b) -> Long.compare(a.expiresAtMillis(), b.expiresAtMillis()));
+    private volatile RevocationBloomFilter bloomFilter;
+    private int bloomFilterCapacity;
+    // Highest store sequence applied; only the sync task moves it
+    private volatile long syncedSequence;
+
+    public TokenBlacklist(JwtTokenUtil jwtTokenUtil, RevocationStore revocationStore, JwtProperties jwtProperties) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.revocationStore = revocationStore;
+        this.syncBatchSize = jwtProperties.getRevocationSyncBatchSize();
+        this.syncOverlap = jwtProperties.getRevocationSyncOverlap();
+        this.bloomFilterEnabled = jwtProperties.isBlacklistBloomFilter();
+        this.expectedTokens = jwtProperties.getBlacklistExpectedTokens();
+        this.maxTokenLifetimeMillis = Math.max(jwtProperties.getExpiration(), jwtProperties.getRefreshExpiration());
+        this.bloomFilterCapacity = expectedTokens;
+        this.bloomFilter = bloomFilterEnabled ? new RevocationBloomFilter(expectedTokens) : null;
+    }
+
+    // Revocation key of a token: its jti, or the SHA-256 of the token
+    public static String revocationKey(Claims claims, String tokenHash) {
+        String jti = claims.getId();
+        return jti != null && !jti.isBlank() ? "jti:" + jti : "sha256:" + tokenHash;
+    }
+
+    // Revokes a token on every node until it expires; expired or invalid tokens are ignored
     public void addToBlacklist(String token) {
-        blacklistedTokens.add(token);
+        Claims claims;
+        try {
+            claims = jwtTokenUtil.extractAllClaims(token);
+        } catch (ExpiredJwtException e) {
+            return; // nothing to revoke
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Not revoking an invalid token: {}", e.getMessage());
+            return;
+        }
+        String key = revocationKey(claims, VerifiedTokenCache.hash(token));
+        long expiresAtMillis = claims.getExpiration().getTime();
+        // Locally first, so this node rejects the token even if the store is down
+        revoke(key, expiresAtMillis);
+        revocationStore.save(key, expiresAtMillis);
+    }
+
+    // Revokes every access and refresh token of the user issued until now, on every node
+    public void revokeUser(String username) {
+        long now = System.currentTimeMillis();
+        String key = new UserRevocation(username, now).key();
+        long expiresAtMillis = now + maxTokenLifetimeMillis;
+        revoke(key, expiresAtMillis);
+        revocationStore.save(key, expiresAtMillis);
+        log.info("Revoked the tokens of user {}", username);
     }
 
+    // Revokes a key on this node only
+    public synchronized void revoke(String key, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (UserRevocation.isUserKey(key)) {
+            revokeUserTokens(key, expiresAtMillis);
+            return;
+        }
+        Long known = revoked.get(key);
+        if (known != null && known >= expiresAtMillis) {
+            return; // e.g. re-read by an overlapping sync
+        }
+        revoked.put(key, expiresAtMillis);
+        expiries.add(new Expiry(key, expiresAtMillis));
+        if (bloomFilter != null) {
+            bloomFilter.put(key);
+        }
+    }
+
+    private void revokeUserTokens(String key, long expiresAtMillis) {
+        UserRevocation revocation = UserRevocation.parse(key);
+        Long known = revokedBefore.get(revocation.username());
+        if (known != null && known >= revocation.revokedAtMillis()) {
+            return; // e.g. re-read by an overlapping sync
+        }
+        revokedBefore.put(revocation.username(), revocation.revokedAtMillis());
+        expiries.add(new Expiry(key, expiresAtMillis));
+    }
+
+    // Whether the token is revoked; parses it, so an expired or invalid token throws
     public boolean isBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+        Claims claims = jwtTokenUtil.extractAllClaims(token);
+        return isRevoked(revocationKey(claims, VerifiedTokenCache.hash(token)))
+                || isRevokedForUser(claims.getSubject(), claims.getIssuedAt());
+    }
+
+    // Request path check on an already verified token: revoked itself or with all tokens of its user
+    public boolean isRevoked(VerifiedTokenCache.VerifiedToken token) {
+        return isRevoked(token.revocationKey()) || isRevokedForUser(token.username(), token.claims().getIssuedAt());
+    }
+
+    // Whether the token with this revocation key is revoked
+    public boolean isRevoked(String key) {
+        RevocationBloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(key)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(key);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
     }
 
-    @Scheduled(fixedRate = 24 * 60 * 60 * 1000) // Run once per day
+    // Tokens without iat count as issued before any revocation
+    private boolean isRevokedForUser(String username, Date issuedAt) {
+        if (revokedBefore.isEmpty() || username == null) {
+            return false;
+        }
+        Long before = revokedBefore.get(username);
+        return before != null && (issuedAt == null || issuedAt.getTime() <= before);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Applies the revocations other nodes stored since the last sync
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-interval-ms:2000}")
+    public void syncRevocations() {
+        try {
+            long now = System.currentTimeMillis();
+            long from = Math.max(0, syncedSequence - syncOverlap);
+            List<RevocationStore.Revocation> batch;
+            do {
+                batch = revocationStore.findAfter(from, now, syncBatchSize);
+                for (RevocationStore.Revocation revocation : batch) {
+                    revoke(revocation.key(), revocation.expiresAtMillis());
+                    from = revocation.sequence();
+                }
+                syncedSequence = Math.max(syncedSequence, from);
+            } while (batch.size() == syncBatchSize);
+        } catch (RuntimeException e) {
+            // Keep serving from the local view; the next sync catches up
+            log.warn("Could not sync token revocations: {}", e.getMessage());
+        }
+    }
+
+    // Drops revocations whose token has expired, here and in the store
+    @Scheduled(fixedDelayString = "${jwt.blacklist-sweep-interval-ms:60000}")
     public void cleanupExpiredTokens() {
-        // In a production environment, you might want to implement actual token expiration checking
-        // For this implementation, we'll just clear the set periodically
-        blacklistedTokens.clear();
+        sweep();
+        try {
+            revocationStore.deleteExpired(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Could not delete expired token revocations: {}", e.getMessage());
+        }
+    }
+
+    // Drops expired revocations, oldest first, and rebuilds the bloom filter
+    private synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        while (!expiries.isEmpty() && expiries.peek().expiresAtMillis() <= now) {
+            Expiry expiry = expiries.poll();
+            if (UserRevocation.isUserKey(expiry.key())) {
+                UserRevocation revocation = UserRevocation.parse(expiry.key());
+                revokedBefore.remove(revocation.username(), revocation.revokedAtMillis());
+            } else if (revoked.remove(expiry.key(), expiry.expiresAtMillis())) {
+                removed++;
+            }
+        }
+        // Swept keys stay set in the filter, and a filter past its capacity loses precision
+        if (bloomFilterEnabled && (removed > 0 || revoked.size() > bloomFilterCapacity)) {
+            bloomFilterCapacity = Math.max(expectedTokens, revoked.size() * 2);
+            RevocationBloomFilter rebuilt = new RevocationBloomFilter(bloomFilterCapacity);
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+        if (removed > 0) {
+            log.debug("Swept {} expired revocations, {} left", removed, revoked.size());
+        }
     }
 }
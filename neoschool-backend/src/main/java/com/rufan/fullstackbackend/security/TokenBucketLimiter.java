@@ -0,0 +1,95 @@
+package com.rufan.fullstackbackend.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One token bucket per key (a username, an IP address). A bucket holds up
+ * to {@code burst} tokens and gains one every {@code refillNanos}; each
+ * attempt takes a token.
+ *
+ * Buckets live in a fixed number of independent maps chosen by the key's
+ * hash, so a flood of distinct keys (e.g. a brute force over usernames)
+ * spreads its contention and the idle sweep only ever walks one small map
+ * at a time.
+ */
+final class TokenBucketLimiter {
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedNanos;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updatedNanos = now;
+        }
+    }
+
+    private final int burst;
+    private final long refillNanos;
+    private final Map<String, Bucket>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    TokenBucketLimiter(int burst, long refillNanos, int stripeCount) {
+        this.burst = burst;
+        this.refillNanos = refillNanos;
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Takes a token for the key; returns 0 if one was available, otherwise
+     * the nanoseconds until the next one.
+     */
+    long tryAcquire(String key, long now) {
+        Bucket bucket = stripe(key).computeIfAbsent(key, k -> new Bucket(burst, now));
+        synchronized (bucket) {
+            refill(bucket, now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) ((1 - bucket.tokens) * refillNanos);
+        }
+    }
+
+    // Drops buckets that have refilled completely; they behave like new ones
+    int evictFull(long now) {
+        int removed = 0;
+        for (Map<String, Bucket> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(bucket -> {
+                synchronized (bucket) {
+                    refill(bucket, now);
+                    return bucket.tokens >= burst;
+                }
+            });
+            removed += before - stripe.size();
+        }
+        return removed;
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<String, Bucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private void refill(Bucket bucket, long now) {
+        long elapsed = now - bucket.updatedNanos;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(burst, bucket.tokens + (double) elapsed / refillNanos);
+            bucket.updatedNanos = now;
+        }
+    }
+
+    private Map<String, Bucket> stripe(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return stripes[Math.floorMod(h, stripes.length)];
+    }
+}
@@ -0,0 +1,127 @@
+package com.rufan.fullstackbackend.security;
+
+import com.rufan.fullstackbackend.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens whose signature has already been checked.
+ *
+ * A token is parsed and verified once; its claims and the authorities of its
+ * {@code roles} claim are then kept, keyed by the SHA-256 of the token, until
+ * the token expires. Later requests with the same token cost a hash and a
+ * map lookup instead of an HS512 verification and a user store lookup.
+ *
+ * The cache holds at most {@code jwt.verified-token-cache-size} tokens; when
+ * full, expired entries are dropped first, then arbitrary ones (they are
+ * simply verified again on their next use).
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    // Claims of a verified token with the authorities of its roles claim
+    public record VerifiedToken(String username, List<GrantedAuthority> authorities, Claims claims,
+                                String revocationKey, long expiresAtMillis) {
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final int maxSize;
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(JwtTokenUtil jwtTokenUtil, JwtProperties jwtProperties) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.maxSize = jwtProperties.getVerifiedTokenCacheSize();
+    }
+
+    /**
+     * Verified claims of the token, parsing it only if it is not cached yet.
+     * Throws the jjwt exceptions of {@link JwtTokenUtil#extractAllClaims}
+     * for a token that is invalid or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = tokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            tokens.remove(key, cached);
+        }
+
+        // Throws ExpiredJwtException for an expired token, as before
+        Claims claims = jwtTokenUtil.extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                authorities(claims),
+                claims,
+                TokenBlacklist.revocationKey(claims, key),
+                expiration != null ? expiration.getTime() : now);
+        if (expiration != null) {
+            if (tokens.size() >= maxSize) {
+                evict(now);
+            }
+            tokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    // Forgets a token, e.g. when it is revoked
+    public void invalidate(String token) {
+        tokens.remove(hash(token));
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private void evict(long now) {
+        tokens.values().removeIf(t -> t.isExpired(now));
+        Iterator<String> it = tokens.keySet().iterator();
+        while (tokens.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        log.debug("Verified token cache full, {} tokens left after eviction", tokens.size());
+    }
+
+    private static List<GrantedAuthority> authorities(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?> names)) {
+            return List.of();
+        }
+        return names.stream()
+                .map(String::valueOf)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rufan.fullstackbackend.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output of a PDF being rendered straight to a response or file.
+ *
+ * If rendering fails, {@link #abort()} cuts it off from the target before
+ * the iText document is closed: closing still releases the document, but
+ * its buffered pages, cross-reference table and {@code %%EOF} trailer are
+ * discarded, so the client never gets a truncated PDF that looks complete.
+ */
+final class AbortableOutputStream extends FilterOutputStream {
+
+    private boolean aborted;
+
+    AbortableOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    // Discards everything written from now on
+    void abort() {
+        aborted = true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!aborted) {
+            out.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (!aborted) {
+            out.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!aborted) {
+            out.flush();
+        }
+    }
+}
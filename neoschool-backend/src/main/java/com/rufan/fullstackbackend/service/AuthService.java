@@ -2,8 +2,11 @@ package com.rufan.fullstackbackend.service;
 
 import com.rufan.fullstackbackend.dto.JwtResponse;
 import com.rufan.fullstackbackend.exception.JwtTokenException;
+import com.rufan.fullstackbackend.exception.LoginThrottledException;
 import com.rufan.fullstackbackend.security.JwtTokenUtil;
+import com.rufan.fullstackbackend.security.LoginThrottle;
 import com.rufan.fullstackbackend.security.TokenBlacklist;
+import com.rufan.fullstackbackend.security.VerifiedTokenCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -26,24 +29,35 @@ public class AuthService {
     private final JwtTokenUtil jwtTokenUtil;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklist tokenBlacklist;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final LoginThrottle loginThrottle;
 
     public AuthService(AuthenticationManager authenticationManager,
                      JwtTokenUtil jwtTokenUtil,
                      UserDetailsService userDetailsService,
-                     TokenBlacklist tokenBlacklist) {
+                     TokenBlacklist tokenBlacklist,
+                     VerifiedTokenCache verifiedTokenCache,
+                     LoginThrottle loginThrottle) {
         this.authenticationManager = authenticationManager;
         this.jwtTokenUtil = jwtTokenUtil;
         this.userDetailsService = userDetailsService;
         this.tokenBlacklist = tokenBlacklist;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.loginThrottle = loginThrottle;
     }
 
-    @Transactional
-    public JwtResponse authenticateUser(String username, String password) {
+    /**
+     * Checks the credentials and issues tokens.
+     * @throws LoginThrottledException if the client or the username is over its
+     *         login rate, or too many password checks are already queued
+     */
+    public JwtResponse authenticateUser(String username, String password, String clientIp) {
+        loginThrottle.acquire(username, clientIp);
         try {
-            // Authenticate the user
-            Authentication authentication = authenticationManager.authenticate(
+            // Authenticate the user; BCrypt runs on the login hashing pool
+            Authentication authentication = loginThrottle.check(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(username, password)
-            );
+            ));
 
             // Get user details
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -69,6 +83,8 @@ public class AuthService {
                 roles.isEmpty() ? List.of("ROLE_USER") : roles,
                 expiresIn
             );
+        } catch (LoginThrottledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Authentication failed for user: {}", username, e);
             throw new UsernameNotFoundException("Invalid username or password");
@@ -135,6 +151,7 @@ public class AuthService {
     public void logout(String token) {
         // Add token to blacklist
         tokenBlacklist.addToBlacklist(token);
+        verifiedTokenCache.invalidate(token);
         log.info("User logged out. Token invalidated.");
     }
 }
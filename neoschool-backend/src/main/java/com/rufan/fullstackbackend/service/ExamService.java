@@ -6,7 +6,10 @@ import java.util.Optional;
 
 import com.rufan.fullstackbackend.model.Exam;
 import com.rufan.fullstackbackend.repository.ExamRepository;
+import com.rufan.fullstackbackend.repository.ExamRepository.ExamRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 
@@ -24,6 +27,13 @@ public class ExamService {
         return examRepository.findAll();
     }
 
+    // One page of the exams table; withCount=false skips the count query
+    public Slice<ExamRow> getExamPage(Pageable pageable, boolean withCount) {
+        return withCount
+                ? examRepository.findAllProjectedBy(pageable)
+                : examRepository.findSliceProjectedBy(pageable);
+    }
+
     public Optional<Exam> getExamById(Long id) {
         return examRepository.findById(id);
     }
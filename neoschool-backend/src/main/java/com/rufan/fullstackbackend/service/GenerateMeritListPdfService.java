@@ -1,6 +1,5 @@
 package com.rufan.fullstackbackend.service;
 
-import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
@@ -15,7 +14,6 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.image.ImageData;
-import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.borders.Border;
 import com.rufan.fullstackbackend.dto.MeritListDto;
@@ -23,26 +21,32 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
 import java.util.List;
-import java.io.IOException;
-import java.io.InputStream;
 
 @Service
 public class GenerateMeritListPdfService {
     private static final Logger logger = LoggerFactory.getLogger(GenerateMeritListPdfService.class);
-    private static final String FONT_PATH = "fonts/NotoSansBengali-Regular.ttf";
-    private static final String LOGO_GOVT = "/static/images/bd_govt.png";
-    private static final String LOGO_DPE = "/static/images/bd_dpe.png";
-    private PdfFont bengaliFont;
+    // Rows laid out before the large table is flushed to the writer
+    private static final int FLUSH_EVERY_ROWS = 50;
+
+    private final PdfAssets pdfAssets;
+
+    public GenerateMeritListPdfService(PdfAssets pdfAssets) {
+        this.pdfAssets = pdfAssets;
+    }
     
     private void addLogos(PdfDocument pdfDoc, Document document) {
+        ImageData govtLogoData = pdfAssets.govtLogo();
+        ImageData dpeLogoData = pdfAssets.dpeLogo();
+        if (govtLogoData == null || dpeLogoData == null) {
+            throw new RuntimeException("Failed to load logo images");
+        }
         try {
-            // Load left logo
-            ImageData govtLogoData = ImageDataFactory.create(getClass().getResourceAsStream(LOGO_GOVT).readAllBytes());
+            // Left logo
             Image govtLogo = new Image(govtLogoData).scaleAbsolute(64, 64);
             
-            // Load right logo
-            ImageData dpeLogoData = ImageDataFactory.create(getClass().getResourceAsStream(LOGO_DPE).readAllBytes());
+            // Right logo
             Image dpeLogo = new Image(dpeLogoData).scaleAbsolute(64, 64);
             
             // Position the logos
@@ -68,39 +72,16 @@ public class GenerateMeritListPdfService {
     }
     
     public byte[] generateMeritListPdf(List<MeritListDto> meritList, String examName, String examYear) throws Exception {
-        // Load the Bengali font
-        try {
-            // Try to load the font from classpath resources
-            try (var fontStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(FONT_PATH)) {
-                if (fontStream == null) {
-                    throw new IOException("Font file not found in classpath: " + FONT_PATH);
-                }
-                byte[] fontData = fontStream.readAllBytes();
-                bengaliFont = PdfFontFactory.createFont(
-                    fontData,
-                    PdfEncodings.IDENTITY_H,
-                    PdfFontFactory.EmbeddingStrategy.PREFER_EMBEDDED
-                );
-                logger.info("Successfully loaded Bengali font from classpath: " + FONT_PATH);
-            } catch (Exception fontError) {
-                logger.warn("Error loading font with context classloader, trying direct path", fontError);
-                // Try direct path as fallback
-                bengaliFont = PdfFontFactory.createFont(
-                    "src/main/resources/" + FONT_PATH,
-                    PdfEncodings.IDENTITY_H,
-                    PdfFontFactory.EmbeddingStrategy.PREFER_EMBEDDED
-                );
-            }
-        } catch (Exception e) {
-            logger.error("Error loading Bengali font, falling back to default font", e);
-            try {
-                bengaliFont = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-                logger.info("Using default font: " + StandardFonts.HELVETICA);
-            } catch (Exception ex) {
-                logger.error("Failed to load default font", ex);
-                throw new RuntimeException("Failed to load any font", ex);
-            }
-        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeMeritListPdf(meritList, examName, examYear, baos);
+        return baos.toByteArray();
+    }
+
+    // Writes the merit list straight to out; the stream is flushed but not closed, and gets no trailer if rendering fails
+    public void writeMeritListPdf(List<MeritListDto> meritList, String examName, String examYear,
+                                  OutputStream out) throws Exception {
+        // Per-document font (iText fonts cannot be shared between documents)
+        PdfFont bengaliFont = pdfAssets.regularFont();
         
         if (meritList == null || meritList.isEmpty()) {
             throw new IllegalArgumentException("Merit list cannot be empty");
@@ -131,96 +112,120 @@ public class GenerateMeritListPdfService {
               .add("Year: ").setFont(bengaliFont)
               .add(examYear != null ? examYear : "N/A");
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = null;
+        Document document = null;
+        AbortableOutputStream target = new AbortableOutputStream(out);
+        boolean completed = false;
 
-        // iText PDF Document
-        PdfWriter writer = new PdfWriter(baos);
-        PdfDocument pdfDoc = new PdfDocument(writer);
-        Document document = new Document(pdfDoc, PageSize.LEGAL.rotate()); // Legal, landscape
-        
-        // Add logos at the top of the document
-        addLogos(pdfDoc, document);
-        document.setMargins(10, 10, 10, 10); // Minimum margins
-
-        // Add header to document
-        document.add(header);
-
-        // School Info
-        Paragraph schoolInfo = new Paragraph()
-                .add("Kagapasha Government Primary School\n")
-                .add("Kagapasha-3350, Baniyachong, Habiganj\n")
-                .add("EMIS Code: 603040601 | Phone: 01717020632\n")
-                .setTextAlignment(TextAlignment.CENTER)
-                .setFontSize(10)
-                .setMarginBottom(10);
-        document.add(schoolInfo);
-
-        // Exam Details
-        Paragraph examInfo = new Paragraph()
-                .add("Exam: " + examName + "  |  ")
-                .add("Year: " + examYear + "  |  ")
-                .add("Class: " + className)
-                .add(sectionName != null && !sectionName.isEmpty() ? " (" + sectionName + ")" : "")
-                .setTextAlignment(TextAlignment.CENTER)
-                .setFontSize(11)
-                .setBold()
-                .setMarginBottom(15);
-        document.add(examInfo);
-
-        // Table columns - adjusted widths for better fit
-        float[] columnWidths = {25f, 150f, 40f, 50f, 60f, 50f, 50f, 40f, 40f};
-        Table table = new Table(columnWidths);
-        table.setWidth(UnitValue.createPercentValue(100));
-        table.setFontSize(10); // Slightly smaller font for better fit
-
-        // Table header with styling
-        String[] headerTitles = {"SL#", "Student Name", "Roll", "Total", "Obtained", "%", "GPA", "Grade", "Pos."};
-        for (String title : headerTitles) {
-            Cell headerCell = new Cell()
-                .add(new Paragraph(title).setBold())
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(3);
-            table.addHeaderCell(headerCell);
-        }
+        try {
+            // iText PDF Document
+            PdfWriter writer = new PdfWriter(target);
+            writer.setCloseStream(false);
+            pdfDoc = new PdfDocument(writer);
+            document = new Document(pdfDoc, PageSize.LEGAL.rotate()); // Legal, landscape
 
-        // Table rows
-        int sl = 1;
-        for (MeritListDto dto : meritList) {
-            if (dto.getStudentName() == null || dto.getStudentName().trim().isEmpty()) {
-                logger.warn("Skipping student with null or empty name");
-                continue;
+            // Add logos at the top of the document
+            addLogos(pdfDoc, document);
+            document.setMargins(10, 10, 10, 10); // Minimum margins
+
+            // Add header to document
+            document.add(header);
+
+            // School Info
+            Paragraph schoolInfo = new Paragraph()
+                    .add("Kagapasha Government Primary School\n")
+                    .add("Kagapasha-3350, Baniyachong, Habiganj\n")
+                    .add("EMIS Code: 603040601 | Phone: 01717020632\n")
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setFontSize(10)
+                    .setMarginBottom(10);
+            document.add(schoolInfo);
+
+            // Exam Details
+            Paragraph examInfo = new Paragraph()
+                    .add("Exam: " + examName + "  |  ")
+                    .add("Year: " + examYear + "  |  ")
+                    .add("Class: " + className)
+                    .add(sectionName != null && !sectionName.isEmpty() ? " (" + sectionName + ")" : "")
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setFontSize(11)
+                    .setBold()
+                    .setMarginBottom(15);
+            document.add(examInfo);
+
+            // Table columns - adjusted widths for better fit
+            float[] columnWidths = {25f, 150f, 40f, 50f, 60f, 50f, 50f, 40f, 40f};
+            Table table = new Table(UnitValue.createPointArray(columnWidths), true);
+            table.setWidth(UnitValue.createPercentValue(100));
+            table.setFontSize(10); // Slightly smaller font for better fit
+
+            // Table header with styling
+            String[] headerTitles = {"SL#", "Student Name", "Roll", "Total", "Obtained", "%", "GPA", "Grade", "Pos."};
+            for (String title : headerTitles) {
+                Cell headerCell = new Cell()
+                    .add(new Paragraph(title).setBold())
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setPadding(3);
+                table.addHeaderCell(headerCell);
             }
-            
-            // SL#
-            table.addCell(new Cell().add(new Paragraph(String.valueOf(sl++))).setTextAlignment(TextAlignment.CENTER));
-            // Student Name (ensure non-null and trim any whitespace)
-            String studentName = dto.getStudentName() != null ? dto.getStudentName().trim() : "";
-            table.addCell(new Cell()
-                .add(new Paragraph()
-                    .setFont(bengaliFont)
-                    .add(studentName))
-                .setPaddingLeft(5));
-            // Roll No.
-            table.addCell(new Cell().add(new Paragraph(dto.getRollNo() != null ? dto.getRollNo().toString() : "")).setTextAlignment(TextAlignment.CENTER));
-            // Total Possible Marks (sum of all subject marks)
-            double totalPossibleMarks = dto.getTotalMarks() != null ? dto.getTotalMarks() : 0.0;
-            table.addCell(new Cell().add(new Paragraph(String.format("%.0f", totalPossibleMarks))).setTextAlignment(TextAlignment.CENTER));
-            // Obtained Marks (calculated from individual subjects)
-            double obtainedMarks = dto.getObtainedMarks() != null ? dto.getObtainedMarks() : 0.0;
-            table.addCell(new Cell().add(new Paragraph(String.format("%.0f", obtainedMarks))).setTextAlignment(TextAlignment.CENTER));
-            // Percentage
-            table.addCell(new Cell().add(new Paragraph(String.format("%.1f%%", dto.getPercentage()))).setTextAlignment(TextAlignment.CENTER));
-            // GPA
-            table.addCell(new Cell().add(new Paragraph(String.format("%.2f", dto.getGradePoint()))).setTextAlignment(TextAlignment.CENTER));
-            // Grade
-            table.addCell(new Cell().add(new Paragraph(dto.getLetterGrade() != null ? dto.getLetterGrade() : "")).setTextAlignment(TextAlignment.CENTER));
-            // Position
-            table.addCell(new Cell().add(new Paragraph(dto.getPosition() != null ? dto.getPosition().toString() : "")).setTextAlignment(TextAlignment.CENTER));
-        }
+            document.add(table);
 
-        document.add(table);
-        document.close();
+            // Table rows
+            int sl = 1;
+            for (MeritListDto dto : meritList) {
+                if (dto.getStudentName() == null || dto.getStudentName().trim().isEmpty()) {
+                    logger.warn("Skipping student with null or empty name");
+                    continue;
+                }
 
-        return baos.toByteArray();
+                // SL#
+                table.addCell(new Cell().add(new Paragraph(String.valueOf(sl++))).setTextAlignment(TextAlignment.CENTER));
+                // Student Name (ensure non-null and trim any whitespace)
+                String studentName = dto.getStudentName() != null ? dto.getStudentName().trim() : "";
+                table.addCell(new Cell()
+                    .add(new Paragraph()
+                        .setFont(bengaliFont)
+                        .add(studentName))
+                    .setPaddingLeft(5));
+                // Roll No.
+                table.addCell(new Cell().add(new Paragraph(dto.getRollNo() != null ? dto.getRollNo().toString() : "")).setTextAlignment(TextAlignment.CENTER));
+                // Total Possible Marks (sum of all subject marks)
+                double totalPossibleMarks = dto.getTotalMarks() != null ? dto.getTotalMarks() : 0.0;
+                table.addCell(new Cell().add(new Paragraph(String.format("%.0f", totalPossibleMarks))).setTextAlignment(TextAlignment.CENTER));
+                // Obtained Marks (calculated from individual subjects)
+                double obtainedMarks = dto.getObtainedMarks() != null ? dto.getObtainedMarks() : 0.0;
+                table.addCell(new Cell().add(new Paragraph(String.format("%.0f", obtainedMarks))).setTextAlignment(TextAlignment.CENTER));
+                // Percentage
+                table.addCell(new Cell().add(new Paragraph(String.format("%.1f%%", dto.getPercentage()))).setTextAlignment(TextAlignment.CENTER));
+                // GPA
+                table.addCell(new Cell().add(new Paragraph(String.format("%.2f", dto.getGradePoint()))).setTextAlignment(TextAlignment.CENTER));
+                // Grade
+                table.addCell(new Cell().add(new Paragraph(dto.getLetterGrade() != null ? dto.getLetterGrade() : "")).setTextAlignment(TextAlignment.CENTER));
+                // Position
+                table.addCell(new Cell().add(new Paragraph(dto.getPosition() != null ? dto.getPosition().toString() : "")).setTextAlignment(TextAlignment.CENTER));
+
+                // Write out finished rows so they can be garbage collected
+                if (sl % FLUSH_EVERY_ROWS == 0) {
+                    table.flush();
+                }
+            }
+
+            table.complete();
+            completed = true;
+        } finally {
+            // Close the writer and the partly written table even if rendering fails, discarding what they still write
+            if (!completed) {
+                target.abort();
+            }
+            try {
+                if (document != null && !document.getPdfDocument().isClosed()) {
+                    document.close();
+                } else if (pdfDoc != null && !pdfDoc.isClosed()) {
+                    pdfDoc.close();
+                }
+            } catch (Exception e) {
+                logger.warn("Error closing PDF resources: {}", e.getMessage());
+            }
+        }
     }
 }
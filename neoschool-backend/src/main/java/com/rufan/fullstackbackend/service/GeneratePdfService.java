@@ -1,6 +1,6 @@
 package com.rufan.fullstackbackend.service;
 
-import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -10,11 +10,9 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -25,10 +23,8 @@ import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.io.font.constants.StandardFonts;
 import java.util.Map;
 import com.itextpdf.io.image.ImageData;
-import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.borders.Border;
 import com.rufan.fullstackbackend.dto.TabulationSheetDto;
@@ -37,12 +33,10 @@ import com.rufan.fullstackbackend.dto.TabulationSheetDto.StudentResultRow.Subjec
 @Service
 public class GeneratePdfService {
     private static final Logger logger = LoggerFactory.getLogger(GeneratePdfService.class);
-    private static final String FONT_REGULAR = "/fonts/NotoSansBengali-Regular.ttf";
-    private static final String FONT_BOLD = "/fonts/NotoSansBengali-Bold.ttf";
-    private static final String LOGO_GOVT = "/static/images/bd_govt.png";
-    private static final String LOGO_DPE = "/static/images/bd_dpe.png";
-    //private static final String FONT_REGULAR = "/fonts/SolaimanLipi.ttf";
-    
+
+    // Student rows laid out before the large table is flushed to the writer
+    private static final int FLUSH_EVERY_ROWS = 50;
+
     private static final Map<String, String> ALL_SUBJECTS = Map.ofEntries(
         Map.entry("BAN", "বাংলা"),
         Map.entry("ENG", "ইংরেজি"),
@@ -58,14 +52,41 @@ public class GeneratePdfService {
         Map.entry("PE", "শারীরিক শিক্ষা ও মানসিক স্বাস্থ্য সুরক্ষা")
     );
     
+    private final PdfAssets pdfAssets;
+
+    public GeneratePdfService(PdfAssets pdfAssets) {
+        this.pdfAssets = pdfAssets;
+    }
+
     public byte[] generateTabulationSheetPdf(List<TabulationSheetDto> tabulationDataList) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeTabulationSheetPdf(tabulationDataList, baos);
+        byte[] pdfBytes = baos.toByteArray();
+
+        if (pdfBytes.length < 200) { // PDF header is usually more than 200 bytes
+            logger.warn("Generated PDF is suspiciously small. Size: {} bytes", pdfBytes.length);
+            logger.warn("First 100 bytes: {}", Arrays.toString(Arrays.copyOfRange(pdfBytes, 0, Math.min(100, pdfBytes.length))));
+        }
+        return pdfBytes;
+    }
+
+    /**
+     * Writes the tabulation sheet straight to {@code out} (e.g. the servlet
+     * response stream). The stream is flushed but not closed. The student
+     * table is a large table that is flushed every {@value #FLUSH_EVERY_ROWS}
+     * rows, so memory stays bounded however many students are printed. If
+     * rendering fails, the document is released without its trailer, so
+     * {@code out} never ends in a PDF that looks complete.
+     */
+    public void writeTabulationSheetPdf(List<TabulationSheetDto> tabulationDataList, OutputStream out) {
         if (tabulationDataList == null || tabulationDataList.isEmpty()) {
             throw new IllegalArgumentException("Tabulation data list cannot be null or empty");
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
         PdfDocument pdfDoc = null;
         Document document = null;
+        AbortableOutputStream target = new AbortableOutputStream(out);
+        boolean completed = false;
         
         try {
             logger.info("Starting PDF generation for {} tabulation records", tabulationDataList.size());
@@ -76,20 +97,13 @@ public class GeneratePdfService {
                 firstRecord.getClassName(), 
                 firstRecord.getExamName());
             
-            // Initialize font with fallback to standard font if custom font fails
-            PdfFont fontRegular;
-            PdfFont fontBold;
-            try {
-                fontRegular = PdfFontFactory.createFont(FONT_REGULAR, PdfEncodings.IDENTITY_H);
-                fontBold = PdfFontFactory.createFont(FONT_BOLD, PdfEncodings.IDENTITY_H);
-            } catch (Exception e) {
-                logger.warn("Using fallback font as Bengali font could not be loaded: {}", e.getMessage());
-                fontRegular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-                fontBold = PdfFontFactory.createFont(FONT_BOLD, StandardFonts.HELVETICA);
-            }
+            // Per-document fonts built from the preloaded font programs
+            PdfFont fontRegular = pdfAssets.regularFont();
+            PdfFont fontBold = pdfAssets.boldFont();
             
             // Initialize PDF document with landscape orientation
-            PdfWriter writer = new PdfWriter(baos);
+            PdfWriter writer = new PdfWriter(target);
+            writer.setCloseStream(false);
             pdfDoc = new PdfDocument(writer);
             document = new Document(pdfDoc, PageSize.LEGAL.rotate());
             
@@ -97,48 +111,37 @@ public class GeneratePdfService {
             document.setMargins(10, 10, 10, 10);
             
             // Add main title and header (only once)
-            if (!tabulationDataList.isEmpty()) {
-                TabulationSheetDto firstData = tabulationDataList.get(0);
-                document.add(new Paragraph("Tabulation Sheet")
-                    .setFont(fontBold)
-                    .setFontSize(12)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setMarginBottom(5));
-                
-                // Add header info (school name, exam info, etc.)
-                addHeader(document, firstData, fontBold, pdfDoc);
-                
-                // Create a single table for all students
-                createUnifiedStudentTable(document, tabulationDataList, fontRegular);
-            }
+            document.add(new Paragraph("Tabulation Sheet")
+                .setFont(fontBold)
+                .setFontSize(12)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMarginBottom(5));
             
-            // Close the document to ensure all content is written
-            if (document != null) {
-                document.close();
-            }
+            // Add header info (school name, exam info, etc.)
+            addHeader(document, firstRecord, fontRegular, fontBold, pdfDoc);
             
-            byte[] pdfBytes = baos.toByteArray();
-            logger.info("Successfully generated PDF. Size: {} bytes", pdfBytes.length);
+            // Create a single table for all students
+            createUnifiedStudentTable(document, tabulationDataList, fontRegular);
             
-            if (pdfBytes.length < 200) { // PDF header is usually more than 200 bytes
-                logger.warn("Generated PDF is suspiciously small. Size: {} bytes", pdfBytes.length);
-                logger.warn("First 100 bytes: {}", Arrays.toString(Arrays.copyOfRange(pdfBytes, 0, Math.min(100, pdfBytes.length))));
-            }
-            
-            return pdfBytes;
+            // Close the document to ensure all content is written
+            document.close();
+            completed = true;
+            logger.info("Successfully generated PDF. Size: {} bytes", writer.getCurrentPos());
             
         } catch (Exception e) {
             logger.error("Error generating PDF: {}", e.getMessage(), e);
             throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
         } finally {
-            // Ensure resources are properly closed even if an exception occurs
+            // Release the document even if an exception occurs, without finishing it into out
+            if (!completed) {
+                target.abort();
+            }
             try {
                 if (document != null && !document.getPdfDocument().isClosed()) {
                     document.close();
                 } else if (pdfDoc != null && !pdfDoc.isClosed()) {
                     pdfDoc.close();
                 }
-                baos.close();
             } catch (Exception e) {
                 logger.warn("Error closing PDF resources: {}", e.getMessage());
             }
@@ -146,15 +149,19 @@ public class GeneratePdfService {
     }
 
     private void addLogos(PdfDocument pdfDoc, Document document) {
+        ImageData govtLogoData = pdfAssets.govtLogo();
+        ImageData dpeLogoData = pdfAssets.dpeLogo();
+        if (govtLogoData == null || dpeLogoData == null) {
+            logger.warn("Logo images not available, skipping logos");
+            return;
+        }
         try {
-            // Load left logo
-            ImageData govtLogoData = ImageDataFactory.create(getClass().getResource(LOGO_GOVT));
+            // Left logo
             Image govtLogo = new Image(govtLogoData).scaleAbsolute(64, 64);
             govtLogo.setFixedPosition(pdfDoc.getNumberOfPages(), 36, 
                 pdfDoc.getDefaultPageSize().getTop() - 72); // left margin, top offset
     
-            // Load right logo
-            ImageData dpeLogoData = ImageDataFactory.create(getClass().getResource(LOGO_DPE));
+            // Right logo
             Image dpeLogo = new Image(dpeLogoData).scaleAbsolute(64, 64);
             dpeLogo.setFixedPosition(pdfDoc.getNumberOfPages(), 
                 pdfDoc.getDefaultPageSize().getWidth() - 100, 
@@ -170,16 +177,10 @@ public class GeneratePdfService {
     }
     
     
-    private void addHeader(Document document, TabulationSheetDto data, PdfFont fontBold, PdfDocument pdfDoc) throws IOException {
+    private void addHeader(Document document, TabulationSheetDto data, PdfFont fontRegular, PdfFont fontBold,
+                           PdfDocument pdfDoc) {
         // Add logos at the top
         addLogos(pdfDoc, document);
-        // Create regular font
-        PdfFont fontRegular;
-        try {
-            fontRegular = PdfFontFactory.createFont(FONT_REGULAR, PdfEncodings.IDENTITY_H);
-        } catch (Exception e) {
-            fontRegular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-        }
 
         // School header
         document.add(new Paragraph(data.getSchoolName())
@@ -359,8 +360,8 @@ public class GeneratePdfService {
         columnWidths[6 + subjectCount] = 5;  // Position
 
         
-        // Create the main table
-        Table table = new Table(UnitValue.createPercentArray(columnWidths));
+        // Create the main table (large table: rows are laid out and written as they are added)
+        Table table = new Table(UnitValue.createPercentArray(columnWidths), true);
         table.setWidth(UnitValue.createPercentValue(100));
         table.setFixedLayout();
         table.setMarginTop(10);
@@ -380,6 +381,7 @@ public class GeneratePdfService {
         table.addHeaderCell(createHeaderCell("Grade Point", fontRegular));
         table.addHeaderCell(createHeaderCell("Grade", fontRegular));
         table.addHeaderCell(createHeaderCell("Position", fontRegular));
+        document.add(table);
 
         
         // Add all students from all classes
@@ -452,11 +454,16 @@ public class GeneratePdfService {
                     }
                 }
                 table.addCell(createCell(formattedPosition, fontRegular));
+
+                // Write out finished rows so they can be garbage collected
+                if (slNo % FLUSH_EVERY_ROWS == 0) {
+                    table.flush();
+                }
             }
         }
         
-        // Add the table to the document
-        document.add(table);
+        // Write the remaining rows and close the table
+        table.complete();
     }
     
     // addStudentTable method has been removed as we're using createUnifiedStudentTable
@@ -0,0 +1,197 @@
+package com.rufan.fullstackbackend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.rufan.fullstackbackend.config.AppMetrics;
+import com.rufan.fullstackbackend.model.Grade;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the {@code grades} table.
+ *
+ * The scale is loaded once into parallel primitive arrays sorted by
+ * {@code range_min} and every lookup is a binary search, so grading a
+ * student no longer costs any SQL round-trips. The scale is loaded when the
+ * application is ready and {@link GradeService} calls {@link #reload()}
+ * whenever the table changes; readers always see either the old or the new
+ * snapshot, never a half-built one.
+ *
+ * When the table is empty the default primary-school scale is used.
+ */
+@Slf4j
+@Component
+public class GradeScale {
+
+    // Default scale (used until grades are configured in the database)
+    private static final Snapshot DEFAULT_SCALE = new Snapshot(
+            new double[]{0, 33, 40, 50, 60, 70, 80},
+            new double[]{33, 40, 50, 60, 70, 80, 100},
+            new double[]{0.0, 1.0, 2.0, 3.0, 3.5, 4.0, 5.0},
+            new String[]{"F", "D", "C", "B", "A-", "A", "A+"},
+            new String[]{"", "", "", "", "", "", ""});
+
+    private final GradeRepository gradeRepository;
+
+    private volatile Snapshot snapshot;
+
+    public GradeScale(GradeRepository gradeRepository) {
+        this.gradeRepository = gradeRepository;
+    }
+
+    // Letter grade for a percentage, or "" if no band covers it
+    public String letterGrade(double percentage) {
+        return current().letterGrade(percentage);
+    }
+
+    // Remarks of the band covering a percentage, or "" if none
+    public String remarks(double percentage) {
+        return current().remarks(percentage);
+    }
+
+    // Grade point of the band covering a percentage (no interpolation)
+    public double gradePoint(double percentage) {
+        return current().gradePoint(percentage);
+    }
+
+    // Interpolated grade point of a percentage, see Snapshot#interpolatedGradePoint
+    public double interpolatedGradePoint(double percentage) {
+        return current().interpolatedGradePoint(percentage);
+    }
+
+    /**
+     * The scale as it is now, loading it first if needed. Callers that grade
+     * while a streamed result set holds their connection take the snapshot
+     * before opening it, so grading never has to query.
+     */
+    public Snapshot snapshot() {
+        return current();
+    }
+
+    // Re-read the grades table and swap in the new scale
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        long start = System.nanoTime();
+        List<Grade> grades = gradeRepository.findAllByOrderByRangeMinAsc();
+        snapshot = grades.isEmpty() ? DEFAULT_SCALE : Snapshot.of(grades);
+        AppMetrics.gradeScaleLoaded(System.nanoTime() - start);
+        log.info("Grade scale loaded with {} bands", snapshot.size());
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    // Immutable, sorted view of the grade bands
+    public static final class Snapshot {
+        private final double[] rangeMin;
+        private final double[] rangeMax;
+        private final double[] gradePoints;
+        private final String[] letters;
+        private final String[] remarks;
+
+        private Snapshot(double[] rangeMin, double[] rangeMax, double[] gradePoints,
+                         String[] letters, String[] remarks) {
+            this.rangeMin = rangeMin;
+            this.rangeMax = rangeMax;
+            this.gradePoints = gradePoints;
+            this.letters = letters;
+            this.remarks = remarks;
+        }
+
+        private static Snapshot of(List<Grade> grades) {
+            int n = grades.size();
+            double[] min = new double[n];
+            double[] max = new double[n];
+            double[] gp = new double[n];
+            String[] letters = new String[n];
+            String[] remarks = new String[n];
+            for (int i = 0; i < n; i++) {
+                Grade g = grades.get(i);
+                min[i] = g.getRangeMin();
+                max[i] = g.getRangeMax();
+                gp[i] = g.getGradePoint() != null ? g.getGradePoint().doubleValue() : 0.0;
+                letters[i] = g.getGradeLetter() != null ? g.getGradeLetter() : "";
+                remarks[i] = g.getRemarks() != null ? g.getRemarks() : "";
+            }
+            return new Snapshot(min, max, gp, letters, remarks);
+        }
+
+        // Letter grade for a percentage, or "" if no band covers it
+        public String letterGrade(double percentage) {
+            int i = indexOf(percentage);
+            return i < 0 ? "" : letters[i];
+        }
+
+        // Remarks of the band covering a percentage, or "" if none
+        public String remarks(double percentage) {
+            int i = indexOf(percentage);
+            return i < 0 ? "" : remarks[i];
+        }
+
+        // Grade point of the band covering a percentage (no interpolation)
+        public double gradePoint(double percentage) {
+            int i = indexOf(percentage);
+            return i < 0 ? 0.0 : gradePoints[i];
+        }
+
+        /**
+         * Calculates the interpolated grade point based on percentage.
+         * The GP moves proportionally from the band's own grade point towards
+         * the grade point of the next higher band.
+         * @param percentage The percentage to calculate grade point for
+         * @return Interpolated grade point rounded to 2 decimal places
+         */
+        public double interpolatedGradePoint(double percentage) {
+            int i = indexOf(percentage);
+            if (i < 0) return 0.0;
+
+            double minPercent = rangeMin[i];
+            double maxPercent = rangeMax[i];
+            double minGP = gradePoints[i];
+            double maxGP = i + 1 < size() ? gradePoints[i + 1] : minGP;
+            if (maxPercent <= minPercent) return minGP;
+
+            double gp = minGP + ((percentage - minPercent) / (maxPercent - minPercent)) * (maxGP - minGP);
+            return BigDecimal.valueOf(gp).setScale(2, RoundingMode.HALF_UP).doubleValue();
+        }
+
+        private int size() {
+            return rangeMin.length;
+        }
+
+        // Highest band with rangeMin <= percentage, if the percentage is also within its rangeMax
+        private int indexOf(double percentage) {
+            AppMetrics.gradeLookup();
+            int lo = 0;
+            int hi = rangeMin.length - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (rangeMin[mid] <= percentage) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found >= 0 && percentage <= rangeMax[found] ? found : -1;
+        }
+    }
+}
@@ -2,27 +2,40 @@ package com.rufan.fullstackbackend.service;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import com.rufan.fullstackbackend.model.Grade;
 import lombok.RequiredArgsConstructor;
 import com.rufan.fullstackbackend.repository.GradeRepository;
+import com.rufan.fullstackbackend.repository.GradeRepository.GradeRow;
 
 @Service
 @RequiredArgsConstructor
 public class GradeService {
 
     private final GradeRepository gradeRepository;
+    private final GradeScale gradeScale;
+    private final ResultPdfCache resultPdfCache;
 
     // Save a grade
     public Grade saveGrade(Grade grade) {
-        return gradeRepository.save(grade);
+        Grade saved = gradeRepository.save(grade);
+        gradeScale.reload();
+        resultPdfCache.referenceDataChanged();
+        return saved;
     }
 
     // Get all grades
     public List<Grade> getAllGrades() {
-        List<Grade> grades = gradeRepository.findAll();
-        System.out.println("Returning grades: " + grades);
-        return grades;
+        return gradeRepository.findAll();
+    }
+
+    // One page of the grades table; withCount=false skips the count query
+    public Slice<GradeRow> getGradePage(Pageable pageable, boolean withCount) {
+        return withCount
+                ? gradeRepository.findAllProjectedBy(pageable)
+                : gradeRepository.findSliceProjectedBy(pageable);
     }
 
     // Get grade by database ID
@@ -43,11 +56,16 @@ public class GradeService {
     // Update a grade
     public Grade updateGrade(Long id, Grade grade) {
         grade.setId(id);
-        return gradeRepository.save(grade);
+        Grade saved = gradeRepository.save(grade);
+        gradeScale.reload();
+        resultPdfCache.referenceDataChanged();
+        return saved;
     }
 
     // Delete a grade
     public void deleteGrade(Long id) {
         gradeRepository.deleteById(id);
+        gradeScale.reload();
+        resultPdfCache.referenceDataChanged();
     }
 }
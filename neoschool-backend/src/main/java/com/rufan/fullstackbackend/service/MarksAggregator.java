@@ -0,0 +1,120 @@
+package com.rufan.fullstackbackend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.rufan.fullstackbackend.model.ExamSubjectMarks;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.MarksSubject;
+
+/**
+ * Computes the aggregates of a mark sheet: subject totals, the best main
+ * subjects (out of 100 each), the best three optional subjects (out of 50
+ * each), percentage, average, grade point, letter grade and remarks.
+ *
+ * The subjects are walked once. The best main and optional totals are kept
+ * in two small primitive arrays sorted while they are filled, so no
+ * boxing, sorting or intermediate lists are needed. Used by
+ * {@link MarksService} for single and bulk saves.
+ */
+public class MarksAggregator {
+
+    // Optional subjects counted towards the total, out of 50 marks each
+    public static final int OPTIONAL_SUBJECTS = 3;
+    private static final double MAIN_FULL_MARKS = 100.0;
+    private static final double OPTIONAL_FULL_MARKS = 50.0;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final GradeScale gradeScale;
+
+    public MarksAggregator(GradeScale gradeScale) {
+        this.gradeScale = gradeScale;
+    }
+
+    // Sets the subject totals and every aggregate of the sheet
+    public Summary aggregate(Marks marks, int mainSubjectCount) {
+        int mainSubjects = Math.max(mainSubjectCount, 0);
+        double[] topMain = new double[mainSubjects];
+        double[] topOptional = new double[OPTIONAL_SUBJECTS];
+        int mainTaken = 0;
+        int optionalTaken = 0;
+
+        for (ExamSubjectMarks subject : marks.getSubjects().values()) {
+            double total = 0.0;
+            if (subject.getCa() != null) total += subject.getCa();
+            if (subject.getAa() != null) total += subject.getAa();
+            subject.setTotal(total > 0 ? total : null);
+
+            if (MarksSubject.isMainSubject(subject.getSubjectCode())) {
+                // Main subjects without marks do not count
+                if (total > 0) {
+                    mainTaken = offer(topMain, mainTaken, total);
+                }
+            } else {
+                optionalTaken = offer(topOptional, optionalTaken, total > 0 ? total : 0.0);
+            }
+        }
+
+        double mainObtained = 0.0;
+        for (int i = 0; i < mainTaken; i++) {
+            mainObtained += topMain[i];
+        }
+        // Missing optional subjects count as 0
+        double optionalObtained = 0.0;
+        for (int i = 0; i < optionalTaken; i++) {
+            optionalObtained += topOptional[i];
+        }
+
+        double mainTotal = mainSubjects * MAIN_FULL_MARKS;
+        double totalMarks = mainTotal + OPTIONAL_SUBJECTS * OPTIONAL_FULL_MARKS;
+        double obtained = mainObtained + optionalObtained;
+
+        BigDecimal percentage = totalMarks > 0
+                ? BigDecimal.valueOf(obtained)
+                        .divide(BigDecimal.valueOf(totalMarks), 4, RoundingMode.HALF_UP)
+                        .multiply(HUNDRED)
+                        .setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        double percent = percentage.doubleValue();
+        double gradePoint = gradeScale.interpolatedGradePoint(percent);
+
+        marks.setObtainedMarks(obtained);
+        marks.setMainSubjectTotal(mainTotal);
+        marks.setMainSubjectObtained(mainObtained);
+        marks.setTotalMarks(totalMarks);
+        marks.setMarksPercentage(percentage);
+        marks.setAverageMarks(mainSubjects > 0
+                ? BigDecimal.valueOf(mainObtained / mainSubjects).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        marks.setGrandePoint(BigDecimal.valueOf(gradePoint));
+        marks.setGradeLetter(gradeScale.letterGrade(percent));
+        marks.setRemarks(gradeScale.remarks(percent));
+
+        return new Summary(mainTaken, mainObtained, mainTotal, optionalObtained, obtained, totalMarks, percent, gradePoint);
+    }
+
+    // Keeps the largest values in top[0..size) in descending order; returns the new size
+    private static int offer(double[] top, int size, double value) {
+        int i;
+        if (size < top.length) {
+            i = size++;
+        } else if (size > 0 && value > top[size - 1]) {
+            i = size - 1;
+        } else {
+            return size;
+        }
+        while (i > 0 && top[i - 1] < value) {
+            top[i] = top[i - 1];
+            i--;
+        }
+        top[i] = value;
+        return size;
+    }
+
+    // What the sheet was graded on, for logging
+    public record Summary(int mainSubjectsCounted, double mainObtained, double mainTotal,
+                          double optionalObtained, double obtained, double total,
+                          double percentage, double gradePoint) {
+    }
+}
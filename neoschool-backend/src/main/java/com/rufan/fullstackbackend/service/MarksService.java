@@ -1,27 +1,40 @@
 package com.rufan.fullstackbackend.service;
 
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
-import com.rufan.fullstackbackend.model.Grade;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rufan.fullstackbackend.config.AppMetrics;
+import com.rufan.fullstackbackend.config.AppMetrics.MarksOutcome;
+import com.rufan.fullstackbackend.dto.BulkMarksResult;
+import com.rufan.fullstackbackend.dto.ExamMarksRequest;
+import com.rufan.fullstackbackend.dto.MarksListItem;
+import com.rufan.fullstackbackend.dto.MarksPageDto;
+import com.rufan.fullstackbackend.dto.SubjectMarksDto;
 import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.MarksSubject;
 import com.rufan.fullstackbackend.model.Student;
-import com.rufan.fullstackbackend.repository.GradeRepository;
 import com.rufan.fullstackbackend.repository.MarksRepository;
 import com.rufan.fullstackbackend.repository.StudentRepository;
+import com.rufan.fullstackbackend.service.SubjectCodeResolver.ResolvedSubject;
 
-import jakarta.transaction.Transactional;
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -31,246 +44,219 @@ import lombok.extern.slf4j.Slf4j;
 public class MarksService {
 
     private final MarksRepository marksRepository;
-    private final GradeRepository gradeRepository;
+    private final GradeScale gradeScale;
     private final StudentRepository studentRepository;
+    private final ResultPdfCache resultPdfCache;
+    private final MeritRanking meritRanking;
+    private final SubjectCodeResolver subjectCodeResolver;
+    private final MarksAggregator marksAggregator;
+    private final NameAliasResolver nameAliasResolver;
 
     public MarksService(MarksRepository marksRepository, 
-                       GradeRepository gradeRepository,
-                       StudentRepository studentRepository) {
+                       GradeScale gradeScale,
+                       StudentRepository studentRepository,
+                       ResultPdfCache resultPdfCache,
+                       MeritRanking meritRanking,
+                       SubjectCodeResolver subjectCodeResolver,
+                       NameAliasResolver nameAliasResolver) {
         this.marksRepository = marksRepository;
-        this.gradeRepository = gradeRepository;
+        this.gradeScale = gradeScale;
+        this.marksAggregator = new MarksAggregator(gradeScale);
         this.studentRepository = studentRepository;
+        this.resultPdfCache = resultPdfCache;
+        this.meritRanking = meritRanking;
+        this.subjectCodeResolver = subjectCodeResolver;
+        this.nameAliasResolver = nameAliasResolver;
     }
 
-    public Optional<Marks> findByStudentAndExam(Long studentId, String examName) {
-        return marksRepository.findByStudentIdAndExamName(studentId, examName);
+    @Transactional(readOnly = true)
+    public Optional<Marks> findByStudentAndExam(Long studentId, String examName, String educationYear) {
+        return marksRepository.findByStudentIdAndExamNameAndEducationYear(
+                studentId, nameAliasResolver.resolveExam(examName), educationYear);
     }
     
     @Transactional
     public Marks saveExamMarks(Marks marks) {
-        log.info("📝 Saving marks for student {} | Exam: {}", marks.getStudentId(), marks.getExamName());
-
-        // 1. Calculate per-subject totals
-        marks.setBanglaTotal(sum(marks.getBanglaCa(), marks.getBanglaAa()));
-        marks.setEnglishTotal(sum(marks.getEnglishCa(), marks.getEnglishAa()));
-        marks.setMathTotal(sum(marks.getMathCa(), marks.getMathAa()));
-        marks.setScienceTotal(sum(marks.getScienceCa(), marks.getScienceAa()));
-        marks.setBwpTotal(sum(marks.getBwpCa(), marks.getBwpAa()));
-        marks.setIslamTotal(sum(marks.getIslamCa(), marks.getIslamAa()));
-        marks.setHinduTotal(sum(marks.getHinduCa(), marks.getHinduAa()));
-        marks.setSssTotal(sum(marks.getSssCa(), marks.getSssAa()));
-        marks.setMusicTotal(sum(marks.getMusicPhyCa(), marks.getMusicPhyAa()));
-        marks.setArtTotal(sum(marks.getArtCraftCa(), marks.getArtCraftAa()));
-        marks.setFaTotal(sum(marks.getFineArtCa(), marks.getFineArtAa()));
-        
-        // Ensure Physical Education marks are calculated and included
-        Double phyTotal = sum(marks.getPhyEduCa(), marks.getPhyEduAa());
-        marks.setPhyTotal(phyTotal);
-        
-        // If Physical Education marks are not set, initialize them to 0
-        if (marks.getPhyEduCa() == null) marks.setPhyEduCa(0.0);
-        if (marks.getPhyEduAa() == null) marks.setPhyEduAa(0.0);
+        return save(marks, studentRepository.findByStudentId(marks.getStudentId()).orElse(null));
+    }
 
-        // 2. Get student's main subject count
-        Optional<Student> studentOpt = studentRepository.findById(marks.getStudentId());
-        int mainSubjectCount = studentOpt.map(Student::getMainSubject).orElse(6); // Default to 6 if not found
-        
-        // List to track main subjects with their marks and names for debugging
-        List<SubjectMark> mainSubjects = new ArrayList<>();
-        
-        // Add all main subjects to the list with their actual marks
-        addSubjectMark(mainSubjects, "Bangla", marks.getBanglaTotal(), marks.getBanglaCa(), marks.getBanglaAa());
-        addSubjectMark(mainSubjects, "English", marks.getEnglishTotal(), marks.getEnglishCa(), marks.getEnglishAa());
-        addSubjectMark(mainSubjects, "Math", marks.getMathTotal(), marks.getMathCa(), marks.getMathAa());
-        addSubjectMark(mainSubjects, "Science", marks.getScienceTotal(), marks.getScienceCa(), marks.getScienceAa());
-        addSubjectMark(mainSubjects, "BWP", marks.getBwpTotal(), marks.getBwpCa(), marks.getBwpAa());
-        addSubjectMark(mainSubjects, "Islam", marks.getIslamTotal(), marks.getIslamCa(), marks.getIslamAa());
-        addSubjectMark(mainSubjects, "Hindu", marks.getHinduTotal(), marks.getHinduCa(), marks.getHinduAa());
-        
-        // Filter out subjects with 0 or null marks
-        List<SubjectMark> validMainSubjects = mainSubjects.stream()
-                .filter(subj -> subj.totalMarks != null && subj.totalMarks > 0)
-                .sorted((a, b) -> Double.compare(b.totalMarks, a.totalMarks)) // Sort descending by marks
-                .collect(Collectors.toList());
-                
-        // Log the subjects being considered as main
-        log.info("All main subjects with marks: {}", validMainSubjects);
-        
-        // Take top N main subjects based on student's class
-        List<SubjectMark> topMainSubjects = validMainSubjects.stream()
-                .limit(mainSubjectCount)
-                .collect(Collectors.toList());
-        
-        // Log the selected main subjects
-        log.info("Selected top {} main subjects: {}", mainSubjectCount, topMainSubjects);
-        
-        // Calculate main subjects obtained marks and total
-        double mainSubjectsObtained = topMainSubjects.stream()
-                .mapToDouble(subj -> subj.totalMarks)
-                .sum();
-                
-        double mainSubjectTotal = mainSubjectCount * 100.0;
-        
-        log.info("Main subjects calculation - Obtained: {}, Total: {}, Count: {}", 
-                mainSubjectsObtained, mainSubjectTotal, mainSubjectCount);
+    // Saves marks of a student the caller already loaded
+    @Transactional
+    public Marks saveExamMarks(Marks marks, Student student) {
+        return save(marks, student);
+    }
 
-        // 3. Calculate total marks based on student's class
-        double optionalSubjectTotal = 3 * 50.0;  // 3 optional subjects × 50 marks each
-        double totalMarks = mainSubjectTotal + optionalSubjectTotal;
-        
-        // 4. Process optional subjects
-        List<Double> optionalMarks = new ArrayList<>();
-        
-        // Add all optional subjects including Physical Education
-        // Ensure we include all optional subjects even if marks are 0
-        addIfValid(optionalMarks, marks.getSssTotal());
-        addIfValid(optionalMarks, marks.getMusicTotal());
-        addIfValid(optionalMarks, marks.getArtTotal());
-        addIfValid(optionalMarks, marks.getFaTotal());
-        
-        // Handle Physical Education marks
-        double phyMarks = 0.0;
-        if (marks.getPhyTotal() != null) {
-            phyMarks = marks.getPhyTotal();
-        } else if (marks.getPhyEduCa() != null || marks.getPhyEduAa() != null) {
-            // If phyTotal is null but we have CA/AA marks, calculate the total
-            phyMarks = sum(marks.getPhyEduCa(), marks.getPhyEduAa());
-            marks.setPhyTotal(phyMarks);
-        }
-        optionalMarks.add(phyMarks);
-        
-        // Ensure we have at least 3 optional subjects for calculation
-        while (optionalMarks.size() < 3) {
-            optionalMarks.add(0.0);
-        }
+    private Marks save(Marks marks, Student student) {
+        log.debug("Saving marks for student {} | Exam: {}", marks.getStudentId(), marks.getExamName());
 
-        // Sort in descending order and take top 3
-        optionalMarks.sort(Collections.reverseOrder());
-        List<Double> topOptionalSubjects = optionalMarks.stream()
-                .limit(3)  // Always take top 3 optional subjects
-                .collect(Collectors.toList());
+        // Store canonical names, so result queries find the sheet by exact name
+        marks.setClassName(nameAliasResolver.resolveClass(marks.getClassName()));
+        marks.setExamName(nameAliasResolver.resolveExam(marks.getExamName()));
 
-        // Calculate optional subjects obtained marks
-        double optionalSubjectsObtained = topOptionalSubjects.stream()
-                .mapToDouble(Double::doubleValue)
-                .sum();
-        
-        // Calculate total obtained marks
-        double obtainedMarks = mainSubjectsObtained + optionalSubjectsObtained;
-                
-        log.info("All optional subjects marks: {}", optionalMarks);
-        log.info("Top 3 optional subjects: {}", topOptionalSubjects);
-        log.info("Physical Education marks - CA: {}, AA: {}, Total: {}", 
-                marks.getPhyEduCa(), marks.getPhyEduAa(), phyMarks);
-                
-        // Log the calculated values for debugging
-        log.info("Main subjects obtained: {} / {}", mainSubjectsObtained, mainSubjectTotal);
-        log.info("Optional subjects obtained: {} / 150.0", optionalSubjectsObtained);
-        log.info("Total obtained: {} / {}", obtainedMarks, totalMarks);
-
-        // 5. Calculate percentage
-        BigDecimal percentage = totalMarks > 0
-                ? BigDecimal.valueOf(obtainedMarks)
-                        .divide(BigDecimal.valueOf(totalMarks), 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100))
-                        .setScale(2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        // Get student's main subject count
+        int mainSubjectCount = student != null && student.getMainSubject() != null
+                ? student.getMainSubject() : 6; // Default to 6 if not found
 
-        // 6. Get grade and remarks
-        double gradePoint = calculateInterpolatedGradePoint(percentage.doubleValue());
-        Optional<Grade> gradeOpt = gradeRepository.findByPercentage(percentage.doubleValue());
-        String gradeLetter = gradeOpt.map(Grade::getGradeLetter).orElse("");
-        String remarks = gradeOpt.map(Grade::getRemarks).orElse("");
+        calculateTotals(marks, mainSubjectCount);
 
-        // 7. Update marks entity
-        marks.setObtainedMarks(obtainedMarks);
-        marks.setMainSubjectTotal(mainSubjectTotal);
-        marks.setMainSubjectObtained(mainSubjectsObtained);
-        marks.setTotalMarks(totalMarks);
-        marks.setMarksPercentage(percentage);
-        marks.setAverageMarks(mainSubjectCount > 0 
-                ? BigDecimal.valueOf(mainSubjectsObtained / mainSubjectCount).setScale(2, RoundingMode.HALF_UP) 
-                : BigDecimal.ZERO);
-        marks.setGrandePoint(BigDecimal.valueOf(gradePoint));
-        marks.setGradeLetter(gradeLetter);
-        marks.setRemarks(remarks);
-
-        // 8. Set timestamps
+        // Set timestamps
         if (marks.getCreatedAt() == null) {
             marks.setCreatedAt(LocalDateTime.now());
         }
         marks.setUpdatedAt(LocalDateTime.now());
 
-        return marksRepository.save(marks);
+        Marks saved = marksRepository.save(marks);
+        invalidateResultPdfs(saved);
+        meritRanking.update(saved, student);
+        afterCommit(() -> AppMetrics.marksSaved(MarksOutcome.SAVED, 1));
+        return saved;
     }
 
-    @Data
-    private static class SubjectMark {
-        private final String subjectName;
-        private final Double totalMarks;
-        private final Double caMarks;
-        private final Double aaMarks;
-
-        @Override
-        public String toString() {
-            return String.format("%s (CA: %s, AA: %s, Total: %s)", 
-                subjectName, 
-                caMarks != null ? String.format("%.2f", caMarks) : "N/A",
-                aaMarks != null ? String.format("%.2f", aaMarks) : "N/A",
-                totalMarks != null ? String.format("%.2f", totalMarks) : "N/A");
+    /**
+     * Saves the mark sheets of a whole class in one transaction.
+     * Students and existing marks are prefetched with one IN query each,
+     * totals are computed in memory and all rows are written with JDBC
+     * batching. Invalid rows are reported and skipped; they do not abort
+     * the rest of the batch.
+     */
+    @Transactional
+    public List<BulkMarksResult> saveExamMarksBatch(List<ExamMarksRequest> requests) {
+        long start = System.currentTimeMillis();
+        List<BulkMarksResult> results = new ArrayList<>(requests.size());
+
+        // 1. Prefetch all students of the batch
+        Set<Long> studentIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(ExamMarksRequest::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Student> students = studentRepository.findByStudentIdIn(studentIds).stream()
+                .collect(Collectors.toMap(Student::getStudentId, Function.identity(), (a, b) -> a));
+
+        // 2. Prefetch existing marks (one query per exam in the batch, normally just one)
+        Map<String, Marks> existingMarks = new HashMap<>();
+        requests.stream()
+                .filter(Objects::nonNull)
+                .map(ExamMarksRequest::getExamName)
+                .filter(Objects::nonNull)
+                .map(nameAliasResolver::resolveExam)
+                .distinct()
+                .forEach(examName -> marksRepository.findByExamNameAndStudentIdIn(examName, studentIds)
+                        .forEach(m -> existingMarks.put(batchKey(m.getStudentId(), examName, m.getEducationYear()), m)));
+
+        // 3. Build and calculate every row in memory
+        List<Marks> toSave = new ArrayList<>(requests.size());
+        List<BulkMarksResult> savedRows = new ArrayList<>(requests.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            ExamMarksRequest request = requests.get(i);
+            if (request == null || request.getStudentId() == null || request.getExamName() == null) {
+                results.add(new BulkMarksResult(i, request != null ? request.getStudentId() : null,
+                        BulkMarksResult.FAILED, null, "studentId and examName are required"));
+                continue;
+            }
+            Student student = students.get(request.getStudentId());
+            if (student == null) {
+                results.add(new BulkMarksResult(i, request.getStudentId(),
+                        BulkMarksResult.FAILED, null, "Student not found"));
+                continue;
+            }
+
+            LocalDateTime examDate = request.getExamDate() != null ? request.getExamDate().toLocalDateTime() : now;
+            String educationYear = String.valueOf(examDate.getYear());
+            String examName = nameAliasResolver.resolveExam(request.getExamName());
+            String key = batchKey(student.getStudentId(), examName, educationYear);
+            Marks marks = existingMarks.get(key);
+            boolean created = marks == null;
+            if (created) {
+                marks = new Marks();
+                marks.setCreatedAt(now);
+                existingMarks.put(key, marks);
+            }
+
+            marks.setStudentId(student.getStudentId());
+            marks.setStudentName(student.getName());
+            marks.setClassName(nameAliasResolver.resolveClass(request.getClassName()));
+            marks.setClassRoll(request.getClassRoll());
+            marks.setExamName(examName);
+            marks.setExamDate(examDate);
+            marks.setEducationYear(educationYear);
+            applySubjectMarks(marks, subjectCodeResolver.resolveAll(request.getSubjects()));
+
+            int mainSubjectCount = student.getMainSubject() != null ? student.getMainSubject() : 6;
+            calculateTotals(marks, mainSubjectCount);
+            marks.setUpdatedAt(now);
+
+            toSave.add(marks);
+            BulkMarksResult row = new BulkMarksResult(i, student.getStudentId(),
+                    created ? BulkMarksResult.CREATED : BulkMarksResult.UPDATED, null, null);
+            savedRows.add(row);
+            results.add(row);
         }
-    }
 
-    private void addSubjectMark(List<SubjectMark> list, String subjectName, Double totalMarks, Double caMarks, Double aaMarks) {
-        // Include subject if either CA or AA marks are present and greater than 0
-        boolean hasCaMarks = caMarks != null && caMarks > 0;
-        boolean hasAaMarks = aaMarks != null && aaMarks > 0;
-        
-        if (hasCaMarks || hasAaMarks) {
-            // Calculate total if not provided
-            double calculatedTotal = (caMarks != null ? caMarks : 0) + (aaMarks != null ? aaMarks : 0);
-            list.add(new SubjectMark(
-                subjectName,
-                totalMarks != null ? totalMarks : calculatedTotal,
-                hasCaMarks ? caMarks : 0.0,
-                hasAaMarks ? aaMarks : 0.0
-            ));
-            
-            log.debug("Added subject {} with CA: {}, AA: {}, Total: {}", 
-                subjectName, 
-                hasCaMarks ? caMarks : 0.0,
-                hasAaMarks ? aaMarks : 0.0,
-                totalMarks != null ? totalMarks : calculatedTotal);
+        // 4. Persist everything in JDBC batches
+        List<Marks> saved = marksRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            savedRows.get(i).setMarksId(saved.get(i).getId());
+            meritRanking.update(saved.get(i), students.get(saved.get(i).getStudentId()));
         }
+        saved.stream()
+                .map(m -> resultPdfCache.cohort(m.getClassName(), m.getExamName(), m.getEducationYear()))
+                .distinct()
+                .forEach(c -> resultPdfCache.invalidate(c.className(), c.examName(), c.educationYear()));
+        Map<String, Long> outcomes = results.stream()
+                .collect(Collectors.groupingBy(BulkMarksResult::getStatus, Collectors.counting()));
+        afterCommit(() -> outcomes.forEach((status, count) ->
+                AppMetrics.marksSaved(MarksOutcome.valueOf(status), count.intValue())));
+
+        log.info("Bulk saved {} of {} mark sheets in {} ms",
+                saved.size(), requests.size(), System.currentTimeMillis() - start);
+        return results;
     }
 
-    // Keep the old method for backward compatibility
-    private void addIfValid(List<Double> list, Double value) {
-        if (value != null && value >= 0) {
-            list.add(value);
+    // Copies resolved subject marks onto the sheet's per-subject rows
+    public void applySubjectMarks(Marks marks, List<ResolvedSubject> subjects) {
+        for (ResolvedSubject resolved : subjects) {
+            SubjectMarksDto subject = resolved.marks();
+            String subjectCode = resolved.code();
+
+            double subjectTotal = subject.getTotalMarks() != null ? subject.getTotalMarks() : 0.0;
+        
+            // Get CA and AA marks with null checks and default to 0.0
+            Double caMarks = subject.getCaMarks() != null ? subject.getCaMarks() : 0.0;
+            Double aaMarks = subject.getAaMarks() != null ? subject.getAaMarks() : 0.0;
+        
+            // Ensure subjectTotal is the sum of CA and AA marks if not provided
+            if (subjectTotal == 0.0) {
+                subjectTotal = caMarks + aaMarks;
+            }
+        
+            log.debug("Processing subject - Name: {}, Code: {}, CA: {}, AA: {}, Total: {}", 
+                subject.getSubjectName(), subjectCode, caMarks, aaMarks, subjectTotal);
+        
+            // One row per subject code; codes without a column of their own need no schema change
+            if (MarksSubject.fromCode(subjectCode) == null) {
+                log.debug("Storing marks of subject code {} outside the known subjects", subjectCode);
+            }
+            marks.putSubject(subjectCode, caMarks, aaMarks, subjectTotal);
         }
     }
 
-    public double calculateInterpolatedGradePoint(double percentage) {
-        Optional<Grade> gradeOpt = gradeRepository.findByPercentage(percentage);
-        if (gradeOpt.isEmpty()) return 0.0;
-
-        Grade grade = gradeOpt.get();
-        double minPercent = grade.getRangeMin();
-        double maxPercent = grade.getRangeMax();
-        double minGP = grade.getGradePoint().doubleValue();
-
-        // Next higher grade GP
-        Optional<Grade> nextGradeOpt = gradeRepository
-                .findByRangeMinGreaterThanOrderByRangeMinAsc(minPercent)
-                .stream()
-                .findFirst();
+    private static String batchKey(Long studentId, String examName, String educationYear) {
+        return studentId + "|" + examName + "|" + educationYear;
+    }
 
-        double maxGP = nextGradeOpt.map(g -> g.getGradePoint().doubleValue()).orElse(minGP);
+    // Calculates subject totals, aggregates, percentage and grade in memory
+    private void calculateTotals(Marks marks, int mainSubjectCount) {
+        MarksAggregator.Summary summary = marksAggregator.aggregate(marks, mainSubjectCount);
+        log.debug("Graded student {}: main {} / {} ({} subjects), optional {} / 150, total {} / {}, {}%, GP {}",
+                marks.getStudentId(), summary.mainObtained(), summary.mainTotal(), summary.mainSubjectsCounted(),
+                summary.optionalObtained(), summary.obtained(), summary.total(), summary.percentage(),
+                summary.gradePoint());
+    }
 
-        // Proportional interpolation
-        double gp = minGP + ((percentage - minPercent) / (maxPercent - minPercent)) * (maxGP - minGP);
-        return BigDecimal.valueOf(gp).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    public double calculateInterpolatedGradePoint(double percentage) {
+        return gradeScale.interpolatedGradePoint(percentage);
     }
 
 	/* - 
@@ -346,41 +332,125 @@ public class MarksService {
         return marksRepository.save(marks);
     }
 */
+    @Transactional(readOnly = true)
     public List<Marks> getAllExamMarks() {
         return marksRepository.findAll();
     }
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // A page of the marks listing, continuing after the cursor of the previous page (null for the first).
+    // Blank filters are ignored. Throws IllegalArgumentException for a malformed cursor.
+    @Transactional(readOnly = true)
+    public MarksPageDto getExamMarksPage(String className, String examName, String educationYear,
+                                         Long studentId, boolean ascending, Integer size, String cursor) {
+        int pageSize = size == null || size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Object[] position = decodeCursor(cursor);
+            afterDate = (LocalDateTime) position[0];
+            afterId = (Long) position[1];
+        }
+
+        // Sheets are stored under the canonical class and exam names
+        String classKey = nameAliasResolver.resolveClass(blankToNull(className));
+        String examKey = nameAliasResolver.resolveExam(blankToNull(examName));
+
+        // One extra row tells whether another page follows
+        Pageable limit = Pageable.ofSize(pageSize + 1);
+        List<MarksListItem> rows = ascending
+                ? marksRepository.findListingPageAsc(classKey, examKey,
+                        blankToNull(educationYear), studentId, afterDate, afterId, limit)
+                : marksRepository.findListingPageDesc(classKey, examKey,
+                        blankToNull(educationYear), studentId, afterDate, afterId, limit);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            MarksListItem last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getExamDate(), last.getId());
+        }
+        return MarksPageDto.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .size(pageSize)
+                .build();
+    }
+
+    // The cursor is the (exam_date, id) of the last row of a page, opaque to clients
+    private static String encodeCursor(LocalDateTime examDate, Long id) {
+        String position = examDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Object[] {
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)) };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Marks> getExamMarksById(Long id) {
         return marksRepository.findById(id);
     }
 
+    @Transactional
     public void deleteExamMarks(Long id) {
-        marksRepository.deleteById(id);
+        marksRepository.findById(id).ifPresent(marks -> {
+            marksRepository.delete(marks);
+            invalidateResultPdfs(marks);
+            meritRanking.remove(marks);
+        });
         log.info("🗑 Deleted marks with id {}", id);
     }
 
+    // Cached tabulation / merit PDFs of the row's class, exam and year are stale now
+    private void invalidateResultPdfs(Marks marks) {
+        resultPdfCache.invalidate(marks.getClassName(), marks.getExamName(), marks.getEducationYear());
+    }
+
+    // Runs the action once the current transaction commits (at once without one); rolled back saves are not counted
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     // Custom Finders
+    @Transactional(readOnly = true)
     public List<Marks> findByStudentId(Long studentId) {
         return marksRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<Marks> getByClassName(String className) {
         return marksRepository.findByClassName(className);
     }
 
+    @Transactional(readOnly = true)
     public List<Marks> getByExamName(String examName) {
         return marksRepository.findByExamName(examName);
     }
-
-    // --- helpers ---
-    private Double sum(Double ca, Double aa) {
-        double total = 0.0;
-        if (ca != null) total += ca;
-        if (aa != null) total += aa;
-        return total > 0 ? total : null;
-    }
-
-    private double nullSafe(Double val) {
-        return (val != null) ? val : 0.0;
-    }
 }
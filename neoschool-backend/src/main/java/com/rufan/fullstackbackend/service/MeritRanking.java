@@ -0,0 +1,354 @@
+package com.rufan.fullstackbackend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rufan.fullstackbackend.config.MeritRankingProperties;
+import com.rufan.fullstackbackend.model.ExamSubjectMarks;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.Student;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository.TabulationCell;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Merit ranking of recently used (class, exam, year) cohorts kept in memory.
+ *
+ * Each cohort has an {@link OrderStatisticTree} of student standings ordered
+ * by percentage (highest first), then roll number. The top N and the
+ * position of any student are answered in O(log n) without loading the
+ * marks, and {@link MarksService} moves a single standing in O(log n)
+ * after each save or delete commits.
+ *
+ * A cohort is loaded from the database the first time it is asked for and
+ * stamped with the version of its marks (latest {@code updatedAt} and row
+ * count, as for {@link ResultPdfCache}). Reads are answered from memory
+ * alone: saves and deletes through {@link MarksService} are written through,
+ * and student or alias changes drop every cohort ({@link #clear()}), as
+ * names, rolls and sections are part of the standings. Only once a cohort
+ * was last checked more than {@code merit-ranking.revalidate-after} ago
+ * does a read compare its stamp with one indexed aggregate query, and
+ * reload it if its marks were changed without going through
+ * {@link MarksService}.
+ *
+ * Trade-off: a cohort written through since its last check takes the
+ * version found at the next check as its own, so a change made elsewhere
+ * in the same interval is only picked up when the cohort reaches
+ * {@code merit-ranking.max-age} and is reloaded regardless. At most
+ * {@code merit-ranking.max-cohorts} cohorts are kept (least recently used
+ * ones are dropped).
+ */
+@Slf4j
+@Component
+public class MeritRanking {
+
+    // Marks of one student in a cohort, as ranked on the merit list
+    public record Standing(Long marksId, Long studentId, String studentName, Integer rollNo,
+                           String sectionName, double obtainedMarks, double totalMarks, double percentage) {
+    }
+
+    // A standing with its 1-based merit position
+    public record Ranked(Standing standing, int position) {
+    }
+
+    private record Key(String className, String examName, String educationYear) {
+    }
+
+    // Latest update and row count of a cohort's marks
+    private record Version(LocalDateTime lastModified, long rows) {
+    }
+
+    private static final Comparator<Standing> MERIT_ORDER = Comparator
+            .comparingDouble(Standing::percentage).reversed()
+            .thenComparing(Standing::rollNo, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Standing::marksId);
+
+    private final MarksRepository marksRepository;
+    private final NameAliasResolver nameAliasResolver;
+    private final int maxCohorts;
+    private final long maxAgeMillis;
+    private final long revalidateAfterMillis;
+    private final LongSupplier clock;
+
+    // Access-ordered; boards and boardOfSheet are guarded by this
+    private final LinkedHashMap<Key, Board> boards = new LinkedHashMap<>(16, 0.75f, true);
+    // Cohort whose board holds a mark sheet, so a save touches only that board
+    private final Map<Long, Key> boardOfSheet = new HashMap<>();
+
+    @Autowired
+    public MeritRanking(MarksRepository marksRepository, NameAliasResolver nameAliasResolver,
+                        MeritRankingProperties properties) {
+        this(marksRepository, nameAliasResolver, properties, System::currentTimeMillis);
+    }
+
+    // Clock in milliseconds, replaceable in tests
+    MeritRanking(MarksRepository marksRepository, NameAliasResolver nameAliasResolver,
+                 MeritRankingProperties properties, LongSupplier clock) {
+        this.marksRepository = marksRepository;
+        this.nameAliasResolver = nameAliasResolver;
+        this.maxCohorts = properties.getMaxCohorts();
+        this.maxAgeMillis = properties.getMaxAge().toMillis();
+        this.revalidateAfterMillis = properties.getRevalidateAfter().toMillis();
+        this.clock = clock;
+    }
+
+    // The first n standings of a cohort
+    public List<Ranked> top(String className, String examName, String educationYear, int n) {
+        return board(key(className, examName, educationYear)).top(n);
+    }
+
+    // Standing and position of one student (Student.id) in a cohort
+    public Optional<Ranked> position(String className, String examName, String educationYear, Long studentId) {
+        return board(key(className, examName, educationYear)).position(studentId);
+    }
+
+    /**
+     * Re-ranks a saved mark sheet once the current transaction commits.
+     * A sheet whose student is unknown drops off the merit list.
+     */
+    public void update(Marks marks, Student student) {
+        Key key = key(marks.getClassName(), marks.getExamName(), marks.getEducationYear());
+        Standing standing = student != null ? standing(marks, student, key) : null;
+        Long marksId = marks.getId();
+        afterCommit(() -> {
+            synchronized (this) {
+                // The sheet may have moved to another class
+                detach(marksId);
+                Board board = boards.get(key);
+                if (board != null) {
+                    board.writtenThrough = true;
+                    if (standing != null) {
+                        board.put(standing);
+                        boardOfSheet.put(marksId, key);
+                    }
+                }
+            }
+        });
+    }
+
+    // Takes a deleted mark sheet off the merit list once the current transaction commits
+    public void remove(Marks marks) {
+        Long marksId = marks.getId();
+        afterCommit(() -> {
+            synchronized (this) {
+                detach(marksId);
+            }
+        });
+    }
+
+    // Drops every ranking, e.g. after student names, rolls or sections changed
+    public synchronized void clear() {
+        boards.clear();
+        boardOfSheet.clear();
+    }
+
+    /**
+     * The cohort's board. It is served as it is until it is due for a check;
+     * then it is kept if its marks are unchanged (or were only changed
+     * through {@link MarksService}) and reloaded otherwise, or once it is
+     * too old.
+     */
+    private Board board(Key key) {
+        Board board;
+        synchronized (this) {
+            board = boards.get(key);
+        }
+        long now = clock.getAsLong();
+        boolean fresh = board != null && now - board.loadedAt < maxAgeMillis;
+        if (fresh && now - board.checkedAt < revalidateAfterMillis) {
+            return board;
+        }
+        Version version = currentVersion(key);
+        if (fresh) {
+            synchronized (this) {
+                if (boards.get(key) == board && (board.writtenThrough || board.version.equals(version))) {
+                    // A save committed after the query leaves a newer version: reloaded at the next check
+                    board.version = version;
+                    board.writtenThrough = false;
+                    board.checkedAt = now;
+                    return board;
+                }
+            }
+        }
+        Board loaded = load(key, version, now);
+        synchronized (this) {
+            drop(key);
+            boards.put(key, loaded);
+            loaded.marksIds().forEach(marksId -> boardOfSheet.put(marksId, key));
+
+            // Drop least recently used cohorts beyond the limit
+            Iterator<Map.Entry<Key, Board>> it = boards.entrySet().iterator();
+            while (boards.size() > maxCohorts && it.hasNext()) {
+                Map.Entry<Key, Board> eldest = it.next();
+                unindex(eldest.getKey(), eldest.getValue());
+                it.remove();
+            }
+        }
+        return loaded;
+    }
+
+    // Builds a cohort's ranking from one scan of its mark sheets
+    private Board load(Key key, Version version, long now) {
+        long start = System.currentTimeMillis();
+        Map<Long, List<TabulationCell>> sheets = new LinkedHashMap<>();
+        for (TabulationCell cell : marksRepository.findTabulationCells(key.className(), key.examName(), key.educationYear())) {
+            sheets.computeIfAbsent(cell.getMarksId(), id -> new ArrayList<>()).add(cell);
+        }
+        Board board = new Board(version, now);
+        for (List<TabulationCell> sheet : sheets.values()) {
+            TabulationCell header = sheet.get(0);
+            List<Double> totals = sheet.stream().map(TabulationCell::getTotal).toList();
+            board.put(standing(header.getMarksId(), header.getStudentId(), header.getStudentName(),
+                    header.getRollNo(), header.getSection(), key.className(), totals));
+        }
+        log.info("Loaded merit ranking of {} with {} students in {} ms",
+                key, sheets.size(), System.currentTimeMillis() - start);
+        return board;
+    }
+
+    private Version currentVersion(Key key) {
+        List<Object[]> rows = marksRepository.findCohortVersion(key.className(), key.examName(), key.educationYear());
+        Object[] row = rows.isEmpty() ? new Object[2] : rows.get(0);
+        return new Version((LocalDateTime) row[0], row[1] != null ? ((Number) row[1]).longValue() : 0);
+    }
+
+    // Takes a sheet off the board holding it. Guarded by this.
+    private void detach(Long marksId) {
+        Key key = boardOfSheet.remove(marksId);
+        Board board = key != null ? boards.get(key) : null;
+        if (board != null) {
+            board.remove(marksId);
+            board.writtenThrough = true;
+        }
+    }
+
+    // Guarded by this
+    private void drop(Key key) {
+        Board old = boards.remove(key);
+        if (old != null) {
+            unindex(key, old);
+        }
+    }
+
+    // Guarded by this
+    private void unindex(Key key, Board board) {
+        board.marksIds().forEach(marksId -> boardOfSheet.remove(marksId, key));
+    }
+
+    private static Standing standing(Marks marks, Student student, Key key) {
+        List<Double> totals = marks.getSubjects().values().stream().map(ExamSubjectMarks::getTotal).toList();
+        return standing(marks.getId(), student.getId(), student.getName(), student.getRollNo(),
+                student.getSection(), key.className(), totals);
+    }
+
+    private static Standing standing(Long marksId, Long studentId, String studentName, String rollNo,
+                                     String sectionName, String className, List<Double> subjectTotals) {
+        double obtained = subjectTotals.stream().filter(Objects::nonNull).mapToDouble(Double::doubleValue).sum();
+        double fullMarks;
+        if (className != null && (className.contains("Third") || className.contains("Fourth") || className.contains("Fifth"))) {
+            // For Third, Fourth, Fifth: 6 main subjects (100 each) + 3 optional (50 each) = 750
+            fullMarks = 750.0;
+        } else {
+            // For other classes, 100 per subject with marks
+            fullMarks = subjectTotals.stream().filter(Objects::nonNull).count() * 100.0;
+        }
+        double percentage = fullMarks > 0 ? (obtained / fullMarks) * 100 : 0;
+        return new Standing(marksId, studentId, studentName, parseRoll(rollNo), sectionName,
+                obtained, fullMarks, percentage);
+    }
+
+    private static Integer parseRoll(String rollNo) {
+        try {
+            return rollNo != null ? Integer.parseInt(rollNo.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Key key(String className, String examName, String educationYear) {
+        return new Key(nameAliasResolver.resolveClass(className), nameAliasResolver.resolveExam(examName),
+                educationYear != null ? educationYear.trim() : "");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Ranking of one cohort
+    private static final class Board {
+        private final OrderStatisticTree<Standing> ranking = new OrderStatisticTree<>(MERIT_ORDER);
+        private final Map<Long, Standing> byMarksId = new HashMap<>();
+        private final Map<Long, Standing> byStudentId = new HashMap<>();
+        private final long loadedAt;
+        // Version and writtenThrough are guarded by MeritRanking.this, which checkedAt is written under
+        private Version version;
+        private volatile long checkedAt;
+        // Saved or deleted sheets were applied since the last check
+        private boolean writtenThrough;
+
+        Board(Version version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.checkedAt = loadedAt;
+        }
+
+        synchronized void put(Standing standing) {
+            remove(standing.marksId());
+            ranking.add(standing);
+            byMarksId.put(standing.marksId(), standing);
+            byStudentId.put(standing.studentId(), standing);
+        }
+
+        synchronized void remove(Long marksId) {
+            Standing old = byMarksId.remove(marksId);
+            if (old != null) {
+                ranking.remove(old);
+                byStudentId.remove(old.studentId(), old);
+            }
+        }
+
+        synchronized List<Long> marksIds() {
+            return new ArrayList<>(byMarksId.keySet());
+        }
+
+        synchronized List<Ranked> top(int n) {
+            List<Standing> head = ranking.head(n);
+            List<Ranked> result = new ArrayList<>(head.size());
+            for (int i = 0; i < head.size(); i++) {
+                result.add(new Ranked(head.get(i), i + 1));
+            }
+            return result;
+        }
+
+        synchronized Optional<Ranked> position(Long studentId) {
+            Standing standing = byStudentId.get(studentId);
+            return standing != null
+                    ? Optional.of(new Ranked(standing, ranking.indexOf(standing) + 1))
+                    : Optional.empty();
+        }
+    }
+}
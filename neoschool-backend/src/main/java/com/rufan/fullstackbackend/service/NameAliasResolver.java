@@ -0,0 +1,88 @@
+package com.rufan.fullstackbackend.service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.rufan.fullstackbackend.model.NameAlias;
+import com.rufan.fullstackbackend.model.NameAlias.AliasType;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cached copy of the {@code name_aliases} table.
+ *
+ * Result queries look marks up by exact class and exam name so they can use
+ * the (class_name, exam_name, education_year) index. Alternative spellings
+ * that teachers type are resolved here to the stored name instead of being
+ * matched with LIKE at query time; {@link MarksService} stores the resolved
+ * names on save. {@link NameAliasService} reloads the cache after every
+ * alias write.
+ */
+@Slf4j
+@Component
+public class NameAliasResolver {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final NameAliasRepository nameAliasRepository;
+
+    private volatile Map<String, String> aliases;
+
+    public NameAliasResolver(NameAliasRepository nameAliasRepository) {
+        this.nameAliasRepository = nameAliasRepository;
+    }
+
+    // Canonical class name for a requested class name
+    public String resolveClass(String className) {
+        return resolve(AliasType.CLASS, className);
+    }
+
+    // Canonical exam name for a requested exam name
+    public String resolveExam(String examName) {
+        return resolve(AliasType.EXAM, examName);
+    }
+
+    // Re-read the alias table
+    public void reload() {
+        Map<String, String> loaded = new HashMap<>();
+        for (NameAlias alias : nameAliasRepository.findAll()) {
+            loaded.put(key(alias.getAliasType(), alias.getAlias()), alias.getCanonicalName());
+        }
+        aliases = loaded;
+        log.info("Loaded {} class/exam name aliases", loaded.size());
+    }
+
+    private String resolve(AliasType type, String name) {
+        if (name == null) return null;
+        String canonical = current().get(key(type, name));
+        return canonical != null ? canonical : name.trim();
+    }
+
+    private Map<String, String> current() {
+        Map<String, String> map = aliases;
+        if (map == null) {
+            synchronized (this) {
+                if (aliases == null) {
+                    reload();
+                }
+                map = aliases;
+            }
+        }
+        return map;
+    }
+
+    // Trimmed, whitespace-collapsed, lower-cased form under which spellings of a name are the same
+    public static String normalize(String name) {
+        return WHITESPACE.matcher(name.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // Type-qualified lookup key
+    private static String key(AliasType type, String name) {
+        return type + ":" + normalize(name);
+    }
+}
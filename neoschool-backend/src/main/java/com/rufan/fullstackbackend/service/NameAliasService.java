@@ -0,0 +1,104 @@
+package com.rufan.fullstackbackend.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rufan.fullstackbackend.exception.NameAliasConflictException;
+import com.rufan.fullstackbackend.model.NameAlias;
+import com.rufan.fullstackbackend.model.NameAlias.AliasType;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes class and exam name aliases.
+ *
+ * Mark sheets are stored under canonical names, so making a name that
+ * stood for itself an alias of another name merges the two: its sheets are
+ * renamed and aliases pointing at it are redirected. An exam merge that would give a student two sheets of one
+ * exam and year is refused. Once the change commits, the
+ * {@link NameAliasResolver} cache is reloaded and the result caches keyed
+ * by canonical names are dropped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NameAliasService {
+
+    private final NameAliasRepository nameAliasRepository;
+    private final MarksRepository marksRepository;
+    private final NameAliasResolver nameAliasResolver;
+    private final ResultPdfCache resultPdfCache;
+    private final MeritRanking meritRanking;
+
+    public List<NameAlias> getAllAliases() {
+        return nameAliasRepository.findAll();
+    }
+
+    // Maps alias.alias to alias.canonicalName, replacing an alias of the same spelling
+    @Transactional
+    public NameAlias saveAlias(NameAlias alias) {
+        AliasType type = alias.getAliasType();
+        String spelling = alias.getAlias().trim();
+        // A target that is itself an alias stands for its canonical name, so aliases never chain
+        String canonical = resolve(type, alias.getCanonicalName());
+        String previous = resolve(type, spelling);
+
+        // The spelling was a name of its own: its sheets and aliases move to the new canonical name
+        if (!previous.equals(canonical)
+                && NameAliasResolver.normalize(previous).equals(NameAliasResolver.normalize(spelling))) {
+            int sheets;
+            if (type == AliasType.CLASS) {
+                sheets = marksRepository.renameClass(previous, canonical);
+            } else {
+                long conflicts = marksRepository.countExamRenameConflicts(previous, canonical);
+                if (conflicts > 0) {
+                    throw new NameAliasConflictException(previous, canonical, conflicts);
+                }
+                sheets = marksRepository.renameExam(previous, canonical);
+            }
+            nameAliasRepository.redirect(type, previous, canonical);
+            log.info("Merged {} name '{}' into '{}' ({} mark sheets renamed)", type, previous, canonical, sheets);
+        }
+
+        // One alias per spelling, as the resolver compares them
+        NameAlias saved = nameAliasRepository.findByAliasType(type).stream()
+                .filter(a -> NameAliasResolver.normalize(a.getAlias()).equals(NameAliasResolver.normalize(spelling)))
+                .findFirst()
+                .orElseGet(NameAlias::new);
+        saved.setAliasType(type);
+        saved.setAlias(spelling);
+        saved.setCanonicalName(canonical);
+        saved = nameAliasRepository.save(saved);
+        aliasesChanged();
+        return saved;
+    }
+
+    // Removes an alias; sheets keep their (canonical) names
+    @Transactional
+    public void deleteAlias(Long id) {
+        nameAliasRepository.deleteById(id);
+        aliasesChanged();
+    }
+
+    private String resolve(AliasType type, String name) {
+        return type == AliasType.CLASS ? nameAliasResolver.resolveClass(name) : nameAliasResolver.resolveExam(name);
+    }
+
+    private void aliasesChanged() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                nameAliasResolver.reload();
+                resultPdfCache.referenceDataChanged();
+                meritRanking.clear();
+            }
+        });
+    }
+}
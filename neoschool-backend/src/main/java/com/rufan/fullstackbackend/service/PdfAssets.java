@@ -0,0 +1,109 @@
+package com.rufan.fullstackbackend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fonts and logos shared by the PDF services.
+ *
+ * The Bengali TTF files are parsed and the logos decoded once at startup.
+ * iText needs its own {@link PdfFont} per document, so the font methods
+ * return a fresh instance built from the already parsed font program;
+ * that is cheap compared to reading and parsing the TTF again. The image
+ * data is immutable and can be wrapped in a new {@code Image} per document.
+ *
+ * If an asset cannot be loaded the PDFs fall back to Helvetica / no logo.
+ */
+@Slf4j
+@Component
+public class PdfAssets {
+
+    private static final String FONT_REGULAR = "/fonts/NotoSansBengali-Regular.ttf";
+    private static final String FONT_BOLD = "/fonts/NotoSansBengali-Bold.ttf";
+    private static final String LOGO_GOVT = "/static/images/bd_govt.png";
+    private static final String LOGO_DPE = "/static/images/bd_dpe.png";
+
+    private FontProgram regularProgram;
+    private FontProgram boldProgram;
+    private ImageData govtLogo;
+    private ImageData dpeLogo;
+
+    @PostConstruct
+    public void load() {
+        long start = System.nanoTime();
+        regularProgram = loadFont(FONT_REGULAR);
+        boldProgram = loadFont(FONT_BOLD);
+        govtLogo = loadImage(LOGO_GOVT);
+        dpeLogo = loadImage(LOGO_DPE);
+        log.info("PDF fonts and logos loaded in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // New Bengali regular font for one document
+    public PdfFont regularFont() throws IOException {
+        return newFont(regularProgram, StandardFonts.HELVETICA);
+    }
+
+    // New Bengali bold font for one document
+    public PdfFont boldFont() throws IOException {
+        return newFont(boldProgram, StandardFonts.HELVETICA_BOLD);
+    }
+
+    // Government logo, or null if it could not be loaded
+    public ImageData govtLogo() {
+        return govtLogo;
+    }
+
+    // DPE logo, or null if it could not be loaded
+    public ImageData dpeLogo() {
+        return dpeLogo;
+    }
+
+    private static PdfFont newFont(FontProgram program, String fallback) throws IOException {
+        if (program == null) {
+            return PdfFontFactory.createFont(fallback);
+        }
+        return PdfFontFactory.createFont(program, PdfEncodings.IDENTITY_H,
+                PdfFontFactory.EmbeddingStrategy.PREFER_EMBEDDED);
+    }
+
+    private FontProgram loadFont(String path) {
+        try {
+            return FontProgramFactory.createFont(readResource(path), false);
+        } catch (Exception e) {
+            log.warn("Could not load font {}, Helvetica will be used: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private ImageData loadImage(String path) {
+        try {
+            return ImageDataFactory.create(readResource(path));
+        } catch (Exception e) {
+            log.warn("Could not load image {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] readResource(String path) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Resource not found in classpath: " + path);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
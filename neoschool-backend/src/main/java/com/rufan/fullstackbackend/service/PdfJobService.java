@@ -0,0 +1,266 @@
+package com.rufan.fullstackbackend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.rufan.fullstackbackend.config.AppMetrics;
+import com.rufan.fullstackbackend.config.AppMetrics.PdfSource;
+import com.rufan.fullstackbackend.config.PdfJobProperties;
+import com.rufan.fullstackbackend.dto.MeritListDto;
+import com.rufan.fullstackbackend.dto.PdfJobDto;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders tabulation and merit list PDFs on a small, bounded worker pool
+ * instead of on Tomcat request threads.
+ *
+ * A job is identified by type and cohort (year and canonical exam and class
+ * names). Submitting a job that is already queued, running or finished (and
+ * not expired) returns the existing job, so a crowd of teachers downloading
+ * the same sheet costs one rendering, unless the cohort's marks changed
+ * since it was submitted. When the queue is full {@link #submit} throws
+ * {@link RejectedExecutionException}.
+ *
+ * Finished PDFs are written to {@code pdf.jobs.storage-dir} and removed
+ * once they are older than {@code pdf.jobs.ttl}; the job is then reported
+ * as EXPIRED for another TTL before it is forgotten.
+ * Job files are named {@code pdf-job-<uuid>.pdf}; on startup only files
+ * with that name (or its {@code .part} file) are deleted, anything else in
+ * the directory is left alone.
+ */
+@Slf4j
+@Service
+public class PdfJobService {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED, EXPIRED }
+
+    private static final int MERIT_LIST_SIZE = 10;
+    private static final String FILE_PREFIX = "pdf-job-";
+    // Names of the files this service writes: finished PDFs and PDFs being rendered
+    private static final Pattern JOB_FILE = Pattern.compile(
+            Pattern.quote(FILE_PREFIX) + "[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}\\.pdf(\\.part)?");
+
+    private final ResultService resultService;
+    private final GeneratePdfService generatePdfService;
+    private final GenerateMeritListPdfService generateMeritListPdfService;
+    private final ResultPdfCache resultPdfCache;
+    private final Path storageDir;
+    private final long ttlMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, PdfJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, PdfJob> jobsByKey = new ConcurrentHashMap<>();
+
+    public PdfJobService(ResultService resultService,
+                         GeneratePdfService generatePdfService,
+                         GenerateMeritListPdfService generateMeritListPdfService,
+                         ResultPdfCache resultPdfCache,
+                         PdfJobProperties properties) throws IOException {
+        this.resultService = resultService;
+        this.generatePdfService = generatePdfService;
+        this.generateMeritListPdfService = generateMeritListPdfService;
+        this.resultPdfCache = resultPdfCache;
+        this.storageDir = Paths.get(properties.getStorageDir());
+        this.ttlMillis = properties.getTtl().toMillis();
+
+        Files.createDirectories(storageDir);
+        deleteJobFiles(); // jobs do not survive a restart
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "pdf-job-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues a PDF job, or returns the identical job that is already queued,
+     * running or finished.
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public PdfJobDto submit(ResultPdfType type, String educationYear, String examName, String className) {
+        // Spellings of one cohort share a job; one rendered before the cohort's marks changed is not reused
+        ResultPdfCache.Cohort cohort = resultPdfCache.cohort(className, examName, educationYear);
+        String key = type + "|" + cohort.educationYear() + "|" + cohort.examName() + "|" + cohort.className();
+        ResultPdfCache.Version version = resultPdfCache.currentVersion(cohort);
+        PdfJob job = jobsByKey.compute(key, (k, existing) -> {
+            if (existing != null && existing.status != Status.FAILED && !isExpired(existing)
+                    && existing.version.equals(version)) {
+                return existing;
+            }
+            PdfJob created = new PdfJob(k, type, cohort.educationYear(), cohort.examName(), cohort.className(),
+                    version);
+            executor.execute(() -> run(created)); // throws when the queue is full
+            jobs.put(created.id, created);
+            return created;
+        });
+        return job.toDto();
+    }
+
+    public Optional<PdfJobDto> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(PdfJob::toDto);
+    }
+
+    // File of a finished job, empty if the job is unknown, expired or not finished yet
+    public Optional<Path> getResult(String jobId) {
+        PdfJob job = jobs.get(jobId);
+        if (job == null || job.status != Status.DONE || isExpired(job)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.file);
+    }
+
+    // Deletes the files of finished jobs past their TTL, and forgets the jobs one TTL later
+    @Scheduled(fixedDelayString = "${pdf.jobs.cleanup-interval-ms:300000}")
+    public void removeExpiredJobs() {
+        jobs.values().removeIf(job -> {
+            if (!isExpired(job)) {
+                return false;
+            }
+            jobsByKey.remove(job.key, job);
+            deleteQuietly(job.file);
+            // Until then the job is known, so downloading it is Gone rather than Not Found
+            return System.currentTimeMillis() - job.finishedAtMillis > 2 * ttlMillis;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(PdfJob job) {
+        job.status = Status.RUNNING;
+        long start = System.currentTimeMillis();
+        Path part = job.file.resolveSibling(job.file.getFileName() + ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(part)) {
+                render(job, out);
+            }
+            AppMetrics.pdfRendered(job.type, PdfSource.JOB, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - start),
+                    Files.size(part));
+            Files.move(part, job.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.finish(Status.DONE, null);
+            log.info("PDF job {} ({}) finished in {} ms", job.id, job.key, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("PDF job {} ({}) failed: {}", job.id, job.key, e.getMessage(), e);
+            deleteQuietly(part);
+            job.finish(Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void render(PdfJob job, OutputStream out) throws Exception {
+        switch (job.type) {
+            case TABULATION -> {
+                List<TabulationSheetDto> data = resultService.generateTabulationSheet(
+                        job.educationYear, job.examName, job.className);
+                generatePdfService.writeTabulationSheetPdf(data, out);
+            }
+            case MERIT -> {
+                List<MeritListDto> meritList = resultService.generateMeritList(
+                        job.className, job.examName, job.educationYear, MERIT_LIST_SIZE);
+                if (meritList.isEmpty()) {
+                    throw new IllegalStateException("No students found for the selected criteria");
+                }
+                generateMeritListPdfService.writeMeritListPdf(meritList, job.examName, job.educationYear, out);
+            }
+        }
+    }
+
+    private boolean isExpired(PdfJob job) {
+        return job.finishedAtMillis > 0 && System.currentTimeMillis() - job.finishedAtMillis > ttlMillis;
+    }
+
+    // Files left by jobs of an earlier run; the directory may be shared, so nothing else is touched
+    private void deleteJobFiles() throws IOException {
+        try (Stream<Path> files = Files.list(storageDir)) {
+            files.filter(file -> JOB_FILE.matcher(file.getFileName().toString()).matches())
+                    .filter(Files::isRegularFile)
+                    .forEach(PdfJobService::deleteQuietly);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private final class PdfJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String key;
+        private final ResultPdfType type;
+        private final String educationYear;
+        private final String examName;
+        private final String className;
+        private final ResultPdfCache.Version version;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile Status status = Status.QUEUED;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedAtMillis;
+
+        private PdfJob(String key, ResultPdfType type, String educationYear, String examName, String className,
+                       ResultPdfCache.Version version) {
+            this.key = key;
+            this.version = version;
+            this.type = type;
+            this.educationYear = educationYear;
+            this.examName = examName;
+            this.className = className;
+            this.file = storageDir.resolve(FILE_PREFIX + id + ".pdf");
+        }
+
+        private void finish(Status status, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.finishedAtMillis = System.currentTimeMillis();
+            this.status = status;
+        }
+
+        private PdfJobDto toDto() {
+            return PdfJobDto.builder()
+                    .jobId(id)
+                    .type(type.name())
+                    .educationYear(educationYear)
+                    .examName(examName)
+                    .className(className)
+                    .status((isExpired(this) ? Status.EXPIRED : status).name())
+                    .message(message)
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.rufan.fullstackbackend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.rufan.fullstackbackend.config.PdfCacheProperties;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded LRU cache of rendered result PDFs.
+ *
+ * Entries are keyed by document type and cohort (class, exam, year) and
+ * stamped with the cohort {@link Version}: the latest {@code updatedAt}
+ * and the row count of its marks, plus the generation of the reference
+ * data every PDF is printed with (grade scale, student names, rolls and
+ * sections, school header). A lookup only hits when the stamp is still
+ * current, so a stale PDF is never served even if a marks write bypassed
+ * {@link MarksService}; {@link #invalidate} frees the memory right away.
+ * The same stamp is used as the HTTP ETag / Last-Modified of the PDF.
+ *
+ * The reference generation starts at the startup time and is bumped by
+ * {@link #referenceDataChanged()} ({@link GradeService},
+ * {@link StudentService}). Changes made outside the application (the
+ * school row has no write endpoint) are picked up on the next restart.
+ *
+ * PDFs are recorded in fixed-size chunks while they stream to the client.
+ * All recordings in progress share one budget
+ * ({@code pdf.cache.max-recording-size}); a render that would exceed it,
+ * or whose PDF grows beyond {@code pdf.cache.max-entry-size}, stops
+ * recording and is only streamed. A cached PDF keeps its chunks, so it is
+ * never copied into a second array.
+ *
+ * Class and exam names are resolved through {@link NameAliasResolver}, so
+ * aliases of a cohort share one entry.
+ */
+@Slf4j
+@Component
+public class ResultPdfCache {
+
+    // Class, exam and education year of a set of mark sheets, with canonical names
+    public record Cohort(String className, String examName, String educationYear) {
+    }
+
+    // Version stamp of a cohort's marks and of the reference data printed with them
+    public record Version(long lastModified, long rows, long generation) {
+
+        public String etag(ResultPdfType type) {
+            return "\"" + type.name().toLowerCase() + "-" + lastModified + "-" + rows + "-" + generation + "\"";
+        }
+    }
+
+    // A cached PDF, kept in the chunks it was recorded in
+    public record CachedPdf(List<byte[]> chunks, long size) {
+
+        public void writeTo(OutputStream out) throws IOException {
+            long left = size;
+            for (byte[] chunk : chunks) {
+                int len = (int) Math.min(chunk.length, left);
+                out.write(chunk, 0, len);
+                left -= len;
+            }
+        }
+    }
+
+    private record Key(ResultPdfType type, Cohort cohort) {
+    }
+
+    private record Entry(Version version, CachedPdf pdf) {
+    }
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final MarksRepository marksRepository;
+    private final NameAliasResolver nameAliasResolver;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long maxRecordingBytes;
+
+    // Bytes held by recordings in progress, across all renders
+    private final AtomicLong recordingBytes = new AtomicLong();
+    // Reference data generation; never repeats across restarts, so neither do ETags
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+    // Access-ordered, guarded by this
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ResultPdfCache(MarksRepository marksRepository,
+                          NameAliasResolver nameAliasResolver,
+                          PdfCacheProperties properties) {
+        this.marksRepository = marksRepository;
+        this.nameAliasResolver = nameAliasResolver;
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.maxEntryBytes = properties.getMaxEntrySize().toBytes();
+        this.maxRecordingBytes = properties.getMaxRecordingSize().toBytes();
+    }
+
+    public Cohort cohort(String className, String examName, String educationYear) {
+        return new Cohort(
+                nameAliasResolver.resolveClass(className),
+                nameAliasResolver.resolveExam(examName),
+                educationYear != null ? educationYear.trim() : "");
+    }
+
+    // Current version stamp of a cohort (one indexed aggregate query)
+    public Version currentVersion(Cohort cohort) {
+        List<Object[]> rows = marksRepository.findCohortVersion(
+                cohort.className(), cohort.examName(), cohort.educationYear());
+        Object[] row = rows.isEmpty() ? new Object[2] : rows.get(0);
+        LocalDateTime updatedAt = (LocalDateTime) row[0];
+        long count = row[1] != null ? ((Number) row[1]).longValue() : 0;
+        long lastModified = updatedAt != null
+                ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+        return new Version(lastModified, count, generation.get());
+    }
+
+    // Cached PDF rendered at the given version, or null
+    public synchronized CachedPdf get(ResultPdfType type, Cohort cohort, Version version) {
+        Key key = new Key(type, cohort);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.version().equals(version)) {
+            remove(key);
+            return null;
+        }
+        return entry.pdf();
+    }
+
+    /**
+     * Wraps the response stream so the PDF written to it is also kept for
+     * the cache. Call {@link Recorder#commit()} once the PDF is complete,
+     * and {@link Recorder#discard()} when rendering ends either way; an
+     * incomplete or oversized PDF is never cached.
+     */
+    public Recorder record(ResultPdfType type, Cohort cohort, Version version, OutputStream out) {
+        return new Recorder(new Key(type, cohort), version, out);
+    }
+
+    /**
+     * Grade scale, student or school data changed: every PDF printed with
+     * the old data gets a new version (and ETag) and the cache is emptied.
+     */
+    public void referenceDataChanged() {
+        generation.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+            totalBytes = 0;
+        }
+        log.debug("Reference data changed, cached PDFs dropped");
+    }
+
+    // Drops every cached PDF of a cohort after its marks changed
+    public void invalidate(String className, String examName, String educationYear) {
+        Cohort cohort = cohort(className, examName, educationYear);
+        synchronized (this) {
+            entries.entrySet().removeIf(e -> {
+                if (!e.getKey().cohort().equals(cohort)) {
+                    return false;
+                }
+                totalBytes -= e.getValue().pdf().size();
+                return true;
+            });
+        }
+        log.debug("Invalidated cached PDFs of {}", cohort);
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        remove(key);
+        entries.put(key, entry);
+        totalBytes += entry.pdf().size();
+
+        // Evict least recently used entries beyond the size limit
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Key, Entry> eldest = it.next();
+            totalBytes -= eldest.getValue().pdf().size();
+            it.remove();
+        }
+    }
+
+    private void remove(Key key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            totalBytes -= old.pdf().size();
+        }
+    }
+
+    // Tee of the response stream into chunks reserved from the shared recording budget
+    public final class Recorder extends OutputStream {
+        private final Key key;
+        private final Version version;
+        private final OutputStream out;
+        private List<byte[]> chunks = new ArrayList<>();
+        private long size;
+        private long reserved;
+
+        private Recorder(Key key, Version version, OutputStream out) {
+            this.key = key;
+            this.version = version;
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (chunks != null && room(1)) {
+                chunks.get(chunks.size() - 1)[(int) (size++ % CHUNK_SIZE)] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            while (len > 0 && chunks != null && room(len)) {
+                int pos = (int) (size % CHUNK_SIZE);
+                int n = Math.min(len, CHUNK_SIZE - pos);
+                System.arraycopy(b, off, chunks.get(chunks.size() - 1), pos, n);
+                size += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        // Caches the recorded PDF, unless recording was given up
+        public void commit() {
+            if (chunks != null) {
+                put(key, new Entry(version, new CachedPdf(List.copyOf(chunks), size)));
+                chunks = null;
+                release();
+            }
+        }
+
+        // Drops an uncommitted recording and returns its memory; a no-op after commit
+        public void discard() {
+            chunks = null;
+            release();
+        }
+
+        // Makes sure the current chunk has space, reserving a new one if needed; false gives up recording
+        private boolean room(int len) {
+            if (size + len > maxEntryBytes) {
+                discard(); // too large to cache, keep streaming only
+                return false;
+            }
+            if (size < (long) chunks.size() * CHUNK_SIZE) {
+                return true;
+            }
+            if (recordingBytes.addAndGet(CHUNK_SIZE) > maxRecordingBytes) {
+                recordingBytes.addAndGet(-CHUNK_SIZE);
+                discard(); // other renders use the budget, keep streaming only
+                return false;
+            }
+            reserved += CHUNK_SIZE;
+            chunks.add(new byte[CHUNK_SIZE]);
+            return true;
+        }
+
+        private void release() {
+            if (reserved > 0) {
+                recordingBytes.addAndGet(-reserved);
+                reserved = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.rufan.fullstackbackend.service;
+
+// Result documents rendered as PDF
+public enum ResultPdfType {
+    TABULATION,
+    MERIT
+}
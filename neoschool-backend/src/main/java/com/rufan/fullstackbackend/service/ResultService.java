@@ -1,25 +1,30 @@
 
 package com.rufan.fullstackbackend.service;
 
+import com.rufan.fullstackbackend.config.AppMetrics;
 import com.rufan.fullstackbackend.model.School;
 import com.rufan.fullstackbackend.repository.SchoolRepository;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.time.LocalDate;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.rufan.fullstackbackend.dto.*;
 import com.rufan.fullstackbackend.dto.TabulationSheetDto.StudentResultRow;
-import com.rufan.fullstackbackend.model.Marks;
-import com.rufan.fullstackbackend.model.Student;
-import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.model.MarksSubject;
+import com.rufan.fullstackbackend.repository.MarksReportRepository;
+import com.rufan.fullstackbackend.repository.MarksReportRepository.SheetTotals;
+import com.rufan.fullstackbackend.repository.MarksReportRepository.SubjectTotal;
+import com.rufan.fullstackbackend.repository.MarksRepository.TabulationCell;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -27,74 +32,78 @@ import lombok.RequiredArgsConstructor;
 public class ResultService {
     private static final Logger logger = LoggerFactory.getLogger(ResultService.class);
 
-    private final MarksRepository marksRepository;
+    private final MarksReportRepository marksReportRepository;
+    private final GradeScale gradeScale;
+    private final NameAliasResolver nameAliasResolver;
+    private final MeritRanking meritRanking;
     
     @Autowired(required = false) // Make this optional
     private SchoolRepository schoolRepository;
 
     // -------------------- RESULT CARD --------------------
+    @Transactional(readOnly = true)
     public ResultCardDto generateResultCard(Long studentId, String examName) {
-        Marks currentMarks = marksRepository.findByStudentIdAndExamName(studentId, examName)
+        SheetTotals currentMarks = marksReportRepository.findLatestSheet(studentId, nameAliasResolver.resolveExam(examName))
                 .orElseThrow(() -> new RuntimeException("Marks not found"));
 
-        List<Marks> previousExams = marksRepository.findAllByStudentIdOrderByExamDateAsc(studentId);
+        List<SubjectTotal> subjects = marksReportRepository.findSubjectTotals(currentMarks.marksId());
+        List<SheetTotals> previousExams = marksReportRepository.findStudentHistory(studentId);
 
-        return mapToResultCardDto(currentMarks, previousExams);
+        return mapToResultCardDto(currentMarks, subjects, previousExams);
     }
 
-    private ResultCardDto mapToResultCardDto(Marks current, List<Marks> previous) {
+    private ResultCardDto mapToResultCardDto(SheetTotals current, List<SubjectTotal> subjects, List<SheetTotals> previous) {
         ResultCardDto dto = new ResultCardDto();
 
         // Basic info
-        dto.setStudentId(current.getStudentId());
-        dto.setStudentName(current.getStudentName());
-        dto.setClassName(current.getClassName());
-        dto.setExamName(current.getExamName());
+        dto.setStudentId(current.studentId());
+        dto.setStudentName(current.studentName());
+        dto.setClassName(current.className());
+        dto.setExamName(current.examName());
 
         // Current Exam Totals
-        double obtained = current.getObtainedMarks();
-        double fullMarks = current.getTotalMarks();
+        double obtained = current.obtainedMarks();
+        double fullMarks = current.totalMarks();
         double percentage = (fullMarks > 0) ? (obtained / fullMarks) * 100 : 0;
 
         // Map individual subject fields to SubjectResult map
         Map<String, ResultCardDto.SubjectResult> subjectResults = new HashMap<>();
         
         // Add each subject with its marks if they exist
-        if (current.getBanglaTotal() != null) {
-            ResultCardDto.SubjectResult bangla = new ResultCardDto.SubjectResult();
-            bangla.subjectName = "Bangla";
-            bangla.marksObtained = current.getBanglaTotal();
-            bangla.fullMarks = 100.0; // Adjust full marks as needed
-            bangla.letterGrade = calculateLetterGrade((current.getBanglaTotal() / 100) * 100);
-            bangla.gradePoint = calculateGradePoint((current.getBanglaTotal() / 100) * 100);
-            subjectResults.put("BANGLA", bangla);
+        for (SubjectTotal subject : subjects) {
+            if (subject.total() == null) continue;
+            MarksSubject known = MarksSubject.fromCode(subject.subjectCode());
+            ResultCardDto.SubjectResult result = new ResultCardDto.SubjectResult();
+            result.subjectName = known != null ? known.getLabel() : subject.subjectCode();
+            result.marksObtained = subject.total();
+            result.fullMarks = MarksSubject.isMainSubject(subject.subjectCode()) ? 100.0 : 50.0;
+            double subjectPercentage = (subject.total() / result.fullMarks) * 100;
+            result.letterGrade = gradeScale.letterGrade(subjectPercentage);
+            result.gradePoint = gradeScale.gradePoint(subjectPercentage);
+            subjectResults.put(result.subjectName.toUpperCase(), result);
         }
         
-        // Add other subjects similarly
-        // Example for English:
-        // if (current.getEnglishTotal() != null) { ... }
-        
         dto.setSubjectResults(subjectResults);
         dto.setTotalMarks(obtained);
         dto.setFullMarks(fullMarks);
         dto.setPercentage(percentage);
 
-        dto.setLetterGrade(calculateLetterGrade(percentage));
-        dto.setGradePoint(calculateGradePoint(percentage));
+        dto.setLetterGrade(gradeScale.letterGrade(percentage));
+        dto.setGradePoint(gradeScale.gradePoint(percentage));
 
         // Previous Exam History
         List<ResultCardDto.PreviousExamSummary> history = previous.stream()
-                .filter(m -> !m.getExamName().equals(current.getExamName()))
+                .filter(m -> !m.examName().equals(current.examName()))
                 .map(m -> {
-                    double prevObt = m.getObtainedMarks();
-                    double prevFull = m.getTotalMarks();
+                    double prevObt = m.obtainedMarks();
+                    double prevFull = m.totalMarks();
                     double prevPct = (prevFull > 0) ? (prevObt / prevFull) * 100 : 0;
                     ResultCardDto.PreviousExamSummary summary = new ResultCardDto.PreviousExamSummary();
-                    summary.setExamName(m.getExamName());
+                    summary.setExamName(m.examName());
                     summary.setTotalMarks(prevObt);
                     summary.setPercentage(prevPct);
-                    summary.setLetterGrade(calculateLetterGrade(prevPct));
-                    summary.setGradePoint(calculateGradePoint(prevPct));
+                    summary.setLetterGrade(gradeScale.letterGrade(prevPct));
+                    summary.setGradePoint(gradeScale.gradePoint(prevPct));
                     return summary;
                 })
                 .toList();
@@ -105,97 +114,41 @@ public class ResultService {
     }
 
     // -------------------- MERIT LIST --------------------
-    public List<MeritListDto> generateMeritList(String className, String examName, int topN) {
-        List<Marks> marksList = marksRepository.findByClassNameAndExamName(className, examName);
-
-        List<MeritListDto> result = marksList.stream()
-                .filter(m -> m.getStudent() != null) // Ensure student is loaded
-                .collect(Collectors.groupingBy(Marks::getStudentId))
-                .entrySet()
-                .stream()
-                .map(entry -> {
-                    // Get the first marks entry to access student info
-                    Marks firstMark = entry.getValue().get(0);
-                    Student student = firstMark.getStudent();
-                    
-                    if (student == null) {
-                        throw new IllegalStateException("Student not loaded for marks with ID: " + firstMark.getId());
-                    }
+    // Top N of the maintained ranking; loads the cohort from the database on first use
+    @Transactional(readOnly = true)
+    public List<MeritListDto> generateMeritList(String className, String examName, String educationYear, int topN) {
+        return meritRanking.top(className, examName, educationYear, topN).stream()
+                .map(ranked -> toMeritListDto(ranked, className))
+                .collect(Collectors.toList());
+    }
 
-                    // Calculate total obtained marks
-                    double totalObtained = entry.getValue().stream()
-                            .mapToDouble(m -> {
-                                double sum = 0.0;
-                                // Main subjects (100 marks each)
-                                if (m.getBanglaTotal() != null) sum += m.getBanglaTotal();
-                                if (m.getEnglishTotal() != null) sum += m.getEnglishTotal();
-                                if (m.getMathTotal() != null) sum += m.getMathTotal();
-                                if (m.getScienceTotal() != null) sum += m.getScienceTotal();
-                                if (m.getBwpTotal() != null) sum += m.getBwpTotal();
-                                if (m.getIslamTotal() != null) sum += m.getIslamTotal();
-                                if (m.getHinduTotal() != null) sum += m.getHinduTotal();
-                                // Optional subjects (50 marks each)
-                                if (m.getSssTotal() != null) sum += m.getSssTotal();
-                                if (m.getMusicTotal() != null) sum += m.getMusicTotal();
-                                if (m.getArtTotal() != null) sum += m.getArtTotal();
-                                if (m.getFaTotal() != null) sum += m.getFaTotal();
-                                if (m.getPhyTotal() != null) sum += m.getPhyTotal();
-                                return sum;
-                            })
-                            .sum();
-                    
-                    // Calculate total full marks based on class
-                    double totalFullMarks;
-                    if (className != null && (className.contains("Third") || className.contains("Fourth") || className.contains("Fifth"))) {
-                        // For Third, Fourth, Fifth: 6 main subjects (100 each) + 3 optional (50 each) = 750
-                        totalFullMarks = 750.0;
-                    } else {
-                        // For other classes, calculate based on available subjects (default to 100 per subject)
-                        int subjectCount = (int) entry.getValue().stream()
-                                .flatMap(m -> List.of(
-                                    m.getBanglaTotal(), m.getEnglishTotal(), m.getMathTotal(),
-                                    m.getScienceTotal(), m.getBwpTotal(), m.getIslamTotal(),
-                                    m.getSssTotal(), m.getMusicTotal(), m.getArtTotal()
-                                ).stream())
-                                .filter(Objects::nonNull)
-                                .count();
-                        totalFullMarks = subjectCount * 100.0; // Default to 100 per subject if not primary class
-                    }
-                    
-                    double percentage = (totalFullMarks > 0) ? (totalObtained / totalFullMarks) * 100 : 0;
+    // Merit position of one student (Student.id)
+    @Transactional(readOnly = true)
+    public Optional<MeritListDto> findMeritPosition(String className, String examName, String educationYear, Long studentId) {
+        return meritRanking.position(className, examName, educationYear, studentId)
+                .map(ranked -> toMeritListDto(ranked, className));
+    }
 
-                    MeritListDto dto = new MeritListDto();
-                    dto.setStudentId(student.getId());
-                    dto.setStudentName(student.getName());
-                    // Convert rollNo from String to Integer safely
-                    try {
-                        dto.setRollNo(Integer.parseInt(student.getRollNo()));
-                    } catch (NumberFormatException e) {
-                        dto.setRollNo(null); // or set a default value if needed
-                    }
-                    dto.setClassName(className); 
-                    dto.setSectionName(student.getSection()); 
-                    dto.setTotalMarks(totalFullMarks);
-                    dto.setObtainedMarks(totalObtained);
-                    dto.setPercentage(percentage);
-                    // Use the same calculation methods as in TabulationSheetDto for consistency
-                    dto.setLetterGrade(TabulationSheetDto.calculateLetterGrade(percentage));
-                    dto.setGradePoint(TabulationSheetDto.calculateInterpolatedGradePoint(percentage));
-                    return dto;
-                })
-                .sorted(Comparator.comparingDouble(MeritListDto::getPercentage).reversed())
-                .limit(topN)
-                .collect(Collectors.toList());
-                
-        // Set positions after sorting
-        for (int i = 0; i < result.size(); i++) {
-            result.get(i).setPosition(i + 1);
-        }
-        
-        return result;
+    private MeritListDto toMeritListDto(MeritRanking.Ranked ranked, String className) {
+        MeritRanking.Standing standing = ranked.standing();
+        MeritListDto dto = new MeritListDto();
+        dto.setStudentId(standing.studentId());
+        dto.setStudentName(standing.studentName());
+        dto.setRollNo(standing.rollNo());
+        dto.setClassName(className);
+        dto.setSectionName(standing.sectionName());
+        dto.setTotalMarks(standing.totalMarks());
+        dto.setObtainedMarks(standing.obtainedMarks());
+        dto.setPercentage(standing.percentage());
+        // Use the same grade scale as the tabulation sheet for consistency
+        dto.setLetterGrade(gradeScale.letterGrade(standing.percentage()));
+        dto.setGradePoint(gradeScale.interpolatedGradePoint(standing.percentage()));
+        dto.setPosition(ranked.position());
+        return dto;
     }
 
     // -------------------- TABULATION SHEET --------------------
+    @Transactional(readOnly = true)
     public List<TabulationSheetDto> generateTabulationSheet(String educationYear, String examName, String className) {
         logger.info("Searching for marks - Class: '{}', Exam: '{}', Year: {}", className, examName, educationYear);
         
@@ -211,82 +164,42 @@ public class ResultService {
             year = LocalDate.now().getYear();
         }
         
-        // Try exact match first with year
-        List<Marks> marksList = marksRepository.findByClassNameAndExamNameAndYear(className, examName, year);
-        logger.debug("Exact match with year results: {}", marksList.size());
-        
-        // If no results, try without year filter (backward compatibility)
-        if (marksList.isEmpty()) {
-            logger.info("No results with year filter, trying without year");
-            marksList = marksRepository.findByClassNameAndExamName(className, examName);
-            logger.debug("Exact match results (no year): {}", marksList.size());
-        }
-        
-        // If still no results, try with just the class name part (e.g., "পঞ্চম" instead of "পঞ্চম শ্রেণি")
-        if (marksList.isEmpty() && className.contains(" ")) {
-            String shortClassName = className.split(" ")[0];
-            logger.info("No results with full class name, trying with: {}", shortClassName);
-            marksList = marksRepository.findByClassNameContainingAndExamNameAndYear(shortClassName, examName, year);
-            if (marksList.isEmpty()) {
-                marksList = marksRepository.findByClassNameContainingAndExamName(shortClassName, examName);
-            }
-            logger.debug("Partial class name match results: {}", marksList.size());
-        }
-        
-        // If still no results, try with just the exam name part
-        if (marksList.isEmpty() && examName.contains(" ")) {
-            String shortExamName = examName.split(" ")[0];
-            logger.info("No results with full exam name, trying with: {}", shortExamName);
-            String searchClassName = className.contains(" ") ? className.split(" ")[0] : className;
-            marksList = marksRepository.findByClassNameContainingAndExamNameContainingAndYear(searchClassName, shortExamName, year);
-            if (marksList.isEmpty()) {
-                marksList = marksRepository.findByClassNameContainingAndExamNameContaining(searchClassName, shortExamName);
-            }
-            logger.debug("Partial exam name match results: {}", marksList.size());
-        }
-        
-        if (marksList.isEmpty()) {
+        // Single indexed scan on the canonical class/exam names, streamed one mark sheet at a time.
+        // Everything the mapping needs is read before the scroll opens: no query may run while it streams.
+        String classKey = nameAliasResolver.resolveClass(className);
+        String examKey = nameAliasResolver.resolveExam(examName);
+        GradeScale.Snapshot grades = gradeScale.snapshot();
+        List<TabulationSheetDto> sheets = new ArrayList<>();
+        int found = marksReportRepository.forEachTabulationSheet(classKey, examKey, String.valueOf(year),
+                sheet -> sheets.add(mapToTabulationDto(sheet, school, grades)));
+
+        if (found == 0) {
             logger.warn("No marks found for Class: '{}', Exam: '{}', Year: {}", className, examName, educationYear);
         } else {
             logger.info("Found {} matching records for Class: '{}', Exam: '{}'", 
-                marksList.size(), className, examName);
-            
-            // Log some sample data for debugging
-            marksList.stream().limit(3).forEach(mark -> 
-                logger.debug("Sample mark - ID: {}, Student: {}, Class: {}, Exam: {}", 
-                    mark.getId(), 
-                    mark.getStudent() != null ? mark.getStudent().getName() : "null", 
-                    mark.getClassName(), 
-                    mark.getExamName())
-            );
+                found, className, examName);
         }
+        AppMetrics.tabulationRows(found);
 
-        return marksList.stream()
-                .filter(m -> m.getStudent() != null) // Ensure student is loaded
-                .collect(Collectors.groupingBy(Marks::getStudentId))
-                .entrySet()
-                .stream()
-                .map(entry -> {
-                    Marks firstMark = entry.getValue().get(0);
-                    return mapToTabulationDto(firstMark.getStudent(), entry.getValue(), school);
-                })
-                .sorted(Comparator.comparingDouble((TabulationSheetDto dto) -> 
+        sheets.sort(Comparator.comparingDouble((TabulationSheetDto dto) -> 
                         dto.getStudentResults().stream()
                         .mapToDouble(StudentResultRow::getPercentage)
                         .average()
                         .orElse(0.0))
-                        .reversed())
-                .toList();
+                        .reversed());
+        return sheets;
     }
 
-    private TabulationSheetDto mapToTabulationDto(Student student, List<Marks> studentMarks, School school) {
-        logger.info("Mapping student to tabulation DTO - Student: {}, Roll: {}, Marks count: {}", 
-            student.getName(), student.getRollNo(), studentMarks.size());
+    private TabulationSheetDto mapToTabulationDto(List<TabulationCell> sheet, School school,
+                                                  GradeScale.Snapshot grades) {
+        TabulationCell header = sheet.get(0);
+        logger.debug("Mapping student to tabulation DTO - Student: {}, Roll: {}, Subjects: {}", 
+            header.getStudentName(), header.getRollNo(), sheet.size());
             
         TabulationSheetDto.StudentResultRow resultRow = TabulationSheetDto.StudentResultRow.builder()
-                .studentId(student.getId())
-                .studentName(student.getName())
-                .rollNo(student.getRollNo())
+                .studentId(header.getStudentId())
+                .studentName(header.getStudentName())
+                .rollNo(header.getRollNo())
                 .subjectsMap(new LinkedHashMap<>())
                 .build();
 
@@ -294,55 +207,32 @@ public class ResultService {
         double totalFull = 0;
         
         // Check if this is Third, Fourth, or Fifth class
-        boolean isPrimaryClass = student.getStudentClass() != null && 
-                              (student.getStudentClass().contains("Third") || 
-                               student.getStudentClass().contains("Fourth") || 
-                               student.getStudentClass().contains("Fifth"));
-
-        if (!studentMarks.isEmpty()) {
-            Marks marks = studentMarks.get(0);
-            logger.debug("Processing marks for student: {}, Class: {}, Exam: {}", 
-                student.getName(), marks.getClassName(), marks.getExamName());
-
-            // List of subjects and their getter lambdas for CA, AA, Total
-            // Using subject codes that match the ALL_SUBJECTS map
-            Map<String, Double[]> subjects = Map.ofEntries(
-            	    Map.entry("BAN", new Double[]{marks.getBanglaCa(), marks.getBanglaAa(), marks.getBanglaTotal()}),
-            	    Map.entry("ENG", new Double[]{marks.getEnglishCa(), marks.getEnglishAa(), marks.getEnglishTotal()}),
-            	    Map.entry("MATH", new Double[]{marks.getMathCa(), marks.getMathAa(), marks.getMathTotal()}),
-            	    Map.entry("SCI", new Double[]{marks.getScienceCa(), marks.getScienceAa(), marks.getScienceTotal()}),
-            	    Map.entry("BWP", new Double[]{marks.getBwpCa(), marks.getBwpAa(), marks.getBwpTotal()}),
-            	    Map.entry("ISL", new Double[]{marks.getIslamCa(), marks.getIslamAa(), marks.getIslamTotal()}),
-            	    Map.entry("HIN", new Double[]{marks.getHinduCa(), marks.getHinduAa(), marks.getHinduTotal()}),
-            	    Map.entry("SSS", new Double[]{marks.getSssCa(), marks.getSssAa(), marks.getSssTotal()}),
-            	    Map.entry("MUS", new Double[]{marks.getMusicPhyCa(), marks.getMusicPhyAa(), marks.getMusicTotal()}),
-            	    Map.entry("ART", new Double[]{marks.getArtCraftCa(), marks.getArtCraftAa(), marks.getArtTotal()}),
-            	    Map.entry("FA", new Double[]{marks.getFineArtCa(), marks.getFineArtAa(), marks.getFaTotal()}),
-            	    Map.entry("PE", new Double[]{marks.getPhyEduCa(), marks.getPhyEduAa(), marks.getPhyTotal()})
-            	);
-
-
-            for (Map.Entry<String, Double[]> entry : subjects.entrySet()) {
-                String subj = entry.getKey();
-                Double ca = entry.getValue()[0] != null ? entry.getValue()[0] : 0;
-                Double aa = entry.getValue()[1] != null ? entry.getValue()[1] : 0;
-                Double total = entry.getValue()[2] != null ? entry.getValue()[2] : 0;
-
-                if (total > 0) {
-                    resultRow.getSubjectsMap().put(subj, TabulationSheetDto.StudentResultRow.SubjectMarks.of(subj, ca, aa));
-                    totalObtained += total;
-                    // For primary classes (Third, Fourth, Fifth), first 6 subjects are 100 marks each, rest are 50
-                    if (isPrimaryClass) {
-                        if (resultRow.getSubjectsMap().size() <= 6) {
-                            totalFull = 600; // First 6 subjects * 100 = 600
-                        } else {
-                            // Optional subjects (7th onwards) are 50 marks each
-                            // We already have 600 for main subjects, now add 50 for each optional subject
-                            totalFull = 600 + ((resultRow.getSubjectsMap().size() - 6) * 50);
-                        }
+        boolean isPrimaryClass = header.getStudentClass() != null && 
+                              (header.getStudentClass().contains("Third") || 
+                               header.getStudentClass().contains("Fourth") || 
+                               header.getStudentClass().contains("Fifth"));
+
+        for (TabulationCell cell : sheet) {
+            if (cell.getSubjectCode() == null) continue; // sheet without subject rows
+            String subj = MarksSubject.tabulationKey(cell.getSubjectCode());
+            double ca = cell.getCa() != null ? cell.getCa() : 0;
+            double aa = cell.getAa() != null ? cell.getAa() : 0;
+            double total = cell.getTotal() != null ? cell.getTotal() : 0;
+
+            if (total > 0) {
+                resultRow.getSubjectsMap().put(subj, TabulationSheetDto.StudentResultRow.SubjectMarks.of(subj, ca, aa, grades));
+                totalObtained += total;
+                // For primary classes (Third, Fourth, Fifth), first 6 subjects are 100 marks each, rest are 50
+                if (isPrimaryClass) {
+                    if (resultRow.getSubjectsMap().size() <= 6) {
+                        totalFull = 600; // First 6 subjects * 100 = 600
                     } else {
-                        totalFull += 100; // For non-primary classes, assume 100 marks per subject
+                        // Optional subjects (7th onwards) are 50 marks each
+                        // We already have 600 for main subjects, now add 50 for each optional subject
+                        totalFull = 600 + ((resultRow.getSubjectsMap().size() - 6) * 50);
                     }
+                } else {
+                    totalFull += 100; // For non-primary classes, assume 100 marks per subject
                 }
             }
         }
@@ -351,43 +241,24 @@ public class ResultService {
         resultRow.setTotalObtainedMarks(totalObtained);
         resultRow.setTotalFullMarks(totalFull);
         resultRow.setPercentage(percentage);
-        resultRow.setLetterGrade(TabulationSheetDto.calculateLetterGrade(percentage));
+        resultRow.setLetterGrade(grades.letterGrade(percentage));
         // Use interpolated grade point for more accurate calculation
-        resultRow.setGradePoint(TabulationSheetDto.calculateInterpolatedGradePoint(percentage));
+        resultRow.setGradePoint(grades.interpolatedGradePoint(percentage));
 
         return TabulationSheetDto.builder()
                 .schoolName(school.getName())
                 .schoolAddress(school.getAddress())
                 .emisCode(school.getEmisCode())
-                .className(student.getStudentClass())
-                .sectionName(student.getSection())
-                .examName(studentMarks.isEmpty() ? "" : studentMarks.get(0).getExamName())
-                .examYear(studentMarks.isEmpty() ? "" : String.valueOf(studentMarks.get(0).getExamDate().getYear()))
+                .className(header.getStudentClass())
+                .sectionName(header.getSection())
+                .examName(header.getExamName())
+                .examYear(header.getEducationYear())
                 .studentResults(List.of(resultRow))
                 .build();
     }
 
 
     // -------------------- HELPERS --------------------
-    private String calculateLetterGrade(double percentage) {
-        if (percentage >= 80) return "A+";
-        if (percentage >= 70) return "A";
-        if (percentage >= 60) return "A-";
-        if (percentage >= 50) return "B";
-        if (percentage >= 40) return "C";
-        if (percentage >= 33) return "D";
-        return "F";
-    }
-
-    private double calculateGradePoint(double percentage) {
-        if (percentage >= 80) return 5.0;
-        if (percentage >= 70) return 4.0;
-        if (percentage >= 60) return 3.5;
-        if (percentage >= 50) return 3.0;
-        if (percentage >= 33) return 2.0;  // Changed from 40% to 33% for passing grade
-        return 0.0;  // Failing grade
-    }
-
     private School createDefaultSchool() {
         return School.builder()
             .name("Kagapasha Government Primary School")
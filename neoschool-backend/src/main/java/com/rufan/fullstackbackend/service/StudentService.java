@@ -1,11 +1,14 @@
 package com.rufan.fullstackbackend.service;
 
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import com.rufan.fullstackbackend.model.Student;
 import com.rufan.fullstackbackend.model.Subject;
 import com.rufan.fullstackbackend.repository.StudentRepository;
+import com.rufan.fullstackbackend.repository.StudentRepository.StudentRow;
 
 import java.util.HashSet;
 import java.util.List;
@@ -16,14 +19,29 @@ import java.util.Set;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final ResultPdfCache resultPdfCache;
+    private final MeritRanking meritRanking;
 
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository, ResultPdfCache resultPdfCache,
+                          MeritRanking meritRanking) {
         this.studentRepository = studentRepository;
+        this.resultPdfCache = resultPdfCache;
+        this.meritRanking = meritRanking;
     }
 
-    // Create or Update Student
+    // Create or Update Student; names, rolls and sections are printed on result PDFs and merit lists
     public Student saveStudent(Student student) {
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        resultPdfCache.referenceDataChanged();
+        meritRanking.clear();
+        return saved;
+    }
+
+    // One page of the students table; withCount=false skips the count query
+    public Slice<StudentRow> getStudentPage(Pageable pageable, boolean withCount) {
+        return withCount
+                ? studentRepository.findAllProjectedBy(pageable)
+                : studentRepository.findSliceProjectedBy(pageable);
     }
 
     // Get All Students
@@ -55,6 +73,8 @@ public class StudentService {
     // Delete Student by ID (primary key)
     public void deleteStudent(Long id) {
         studentRepository.deleteById(id);
+        resultPdfCache.referenceDataChanged();
+        meritRanking.clear();
     }
     
     
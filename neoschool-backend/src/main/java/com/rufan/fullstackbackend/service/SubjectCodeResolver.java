@@ -0,0 +1,240 @@
+package com.rufan.fullstackbackend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.rufan.fullstackbackend.dto.SubjectMarksDto;
+import com.rufan.fullstackbackend.model.MarksSubject;
+import com.rufan.fullstackbackend.model.Subject;
+import com.rufan.fullstackbackend.model.SubjectCodeAlias;
+import com.rufan.fullstackbackend.model.SubjectCodeAlias.MatchType;
+import com.rufan.fullstackbackend.repository.SubjectCodeAliasRepository;
+import com.rufan.fullstackbackend.repository.SubjectRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves the subject codes and names of a marks upload to the subject
+ * code the marks are stored under.
+ *
+ * Built once from the known subject codes, the {@code subjects} table and
+ * the {@code subject_code_aliases} table: whole inputs are looked up in a
+ * hash map, subject names that only contain a known fragment ("প্রাথমিক
+ * গণিত") fall back to a trie of the normalised fragments. Every resolved
+ * input is memoised, so an upload sending the same few spellings for each
+ * student does the work once. {@link SubjectService} calls {@link #reload()}
+ * whenever the subjects change.
+ */
+@Slf4j
+@Component
+public class SubjectCodeResolver {
+
+    // Distinct spellings memoised per snapshot; uploads only use a handful
+    private static final int MEMO_LIMIT = 10_000;
+
+    private final SubjectCodeAliasRepository aliasRepository;
+    private final SubjectRepository subjectRepository;
+
+    private volatile Snapshot snapshot;
+
+    public SubjectCodeResolver(SubjectCodeAliasRepository aliasRepository, SubjectRepository subjectRepository) {
+        this.aliasRepository = aliasRepository;
+        this.subjectRepository = subjectRepository;
+    }
+
+    /**
+     * Subject code of a code or subject name ("3", "subj_3", "MA",
+     * "গণিত", "Mathematics"), or "" if it matches no subject.
+     */
+    public String resolve(String codeOrName) {
+        if (codeOrName == null || codeOrName.isBlank()) {
+            return "";
+        }
+        Snapshot s = current();
+        String code = s.resolved.get(codeOrName);
+        if (code == null) {
+            code = s.resolve(normalize(codeOrName));
+            if (code.isEmpty()) {
+                log.warn("Could not map subject code: {}", codeOrName);
+            }
+            s.remember(s.resolved, codeOrName, code);
+        }
+        return code;
+    }
+
+    /**
+     * Subject code of one subject of an upload. A code that was sent is
+     * only translated when it is a known spelling, any other code is kept
+     * as sent; without a code the subject name is resolved. "" if neither
+     * gives a code.
+     */
+    public String resolve(SubjectMarksDto subject) {
+        String code = subject.getSubjectCode() != null ? subject.getSubjectCode().trim() : "";
+        if (code.isEmpty()) {
+            return resolve(subject.getSubjectName());
+        }
+        Snapshot s = current();
+        String known = s.codes.get(code);
+        if (known == null) {
+            known = s.exact.getOrDefault(normalize(code), code);
+            s.remember(s.codes, code, known);
+        }
+        return known;
+    }
+
+    // Resolves every subject of an upload once; subjects without a code are skipped
+    public List<ResolvedSubject> resolveAll(List<SubjectMarksDto> subjects) {
+        if (subjects == null || subjects.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ResolvedSubject> resolved = new ArrayList<>(subjects.size());
+        for (SubjectMarksDto subject : subjects) {
+            if (subject == null) continue;
+            String code = resolve(subject);
+            if (code.isEmpty()) {
+                log.warn("Skipping subject with empty code and unmappable name: {}", subject.getSubjectName());
+                continue;
+            }
+            resolved.add(new ResolvedSubject(code, subject));
+        }
+        return resolved;
+    }
+
+    // Re-read the subjects and alias tables and start with an empty memo
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Snapshot s = new Snapshot();
+        for (MarksSubject subject : MarksSubject.values()) {
+            s.exact.put(subject.getCode(), subject.getCode());
+            s.exact.putIfAbsent(normalize(subject.getLabel()), subject.getCode());
+        }
+        int aliases = 0;
+        for (SubjectCodeAlias alias : aliasRepository.findAll()) {
+            String key = normalize(alias.getAlias());
+            if (key.isEmpty()) continue;
+            if (alias.getMatchType() == MatchType.CONTAINS) {
+                s.fragments.insert(key, alias.getSubjectCode(), alias.getPriority() != null ? alias.getPriority() : 0);
+            } else {
+                s.exact.put(key, alias.getSubjectCode());
+            }
+            aliases++;
+        }
+        // Subjects of the table resolve to the known code they stand for, otherwise to their own code
+        List<Subject> subjects = subjectRepository.findAll();
+        for (Subject subject : subjects) {
+            if (subject.getCode() == null || subject.getCode().isBlank()) continue;
+            String code = s.resolve(normalize(subject.getCode()));
+            if (code.isEmpty() && subject.getName() != null) {
+                code = s.resolve(normalize(subject.getName()));
+            }
+            if (code.isEmpty()) {
+                code = subject.getCode().trim();
+            }
+            s.exact.putIfAbsent(normalize(subject.getCode()), code);
+            if (subject.getName() != null && !subject.getName().isBlank()) {
+                s.exact.putIfAbsent(normalize(subject.getName()), code);
+            }
+        }
+        snapshot = s;
+        log.info("Subject code resolver loaded with {} subjects and {} aliases", subjects.size(), aliases);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    // NFC, lower-cased, without whitespace ("Bangladesh and Global Studies" -> "bangladeshandglobalstudies")
+    static String normalize(String input) {
+        String s = Normalizer.normalize(input, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // A subject of an upload together with the code it resolved to
+    public record ResolvedSubject(String code, SubjectMarksDto marks) {
+    }
+
+    // Lookup tables of one load; only the memos change after it is published
+    private static final class Snapshot {
+        private final Map<String, String> exact = new HashMap<>();
+        private final Trie fragments = new Trie();
+        private final Map<String, String> resolved = new ConcurrentHashMap<>();
+        private final Map<String, String> codes = new ConcurrentHashMap<>();
+
+        private String resolve(String key) {
+            String code = exact.get(key);
+            return code != null ? code : fragments.find(key);
+        }
+
+        private void remember(Map<String, String> memo, String input, String code) {
+            if (memo.size() < MEMO_LIMIT) {
+                memo.put(input, code);
+            }
+        }
+    }
+
+    // Fragments of subject names; find() reports the best fragment occurring anywhere in a key
+    private static final class Trie {
+        private final Node root = new Node();
+
+        private void insert(String fragment, String code, int priority) {
+            Node node = root;
+            for (int i = 0; i < fragment.length(); i++) {
+                node = node.children.computeIfAbsent(fragment.charAt(i), c -> new Node());
+            }
+            if (node.code == null || priority < node.priority) {
+                node.code = code;
+                node.priority = priority;
+            }
+        }
+
+        // Code of the lowest-priority fragment in the key, the leftmost one on ties; "" if none
+        private String find(String key) {
+            String best = "";
+            int bestPriority = Integer.MAX_VALUE;
+            for (int start = 0; start < key.length(); start++) {
+                Node node = root;
+                for (int i = start; i < key.length(); i++) {
+                    node = node.children.get(key.charAt(i));
+                    if (node == null) break;
+                    if (node.code != null && node.priority < bestPriority) {
+                        best = node.code;
+                        bestPriority = node.priority;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private String code;
+        private int priority;
+    }
+}
@@ -6,7 +6,10 @@ import com.rufan.fullstackbackend.model.Subject.ClassLevel;
 import com.rufan.fullstackbackend.model.Subject.SubjectStatus;
 import com.rufan.fullstackbackend.model.Subject.TeacherName;
 import com.rufan.fullstackbackend.repository.SubjectRepository;
+import com.rufan.fullstackbackend.repository.SubjectRepository.SubjectRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,10 +20,13 @@ import java.util.Optional;
 public class SubjectService {
 
     private final SubjectRepository subjectRepository;
+    private final SubjectCodeResolver subjectCodeResolver;
 
     // ✅ Create / Update Subject
     public Subject saveSubject(Subject subject) {
-        return subjectRepository.save(subject);
+        Subject saved = subjectRepository.save(subject);
+        subjectCodeResolver.reload();
+        return saved;
     }
 
     // ✅ Get All Subjects
@@ -28,6 +34,13 @@ public class SubjectService {
         return subjectRepository.findAll();
     }
 
+    // One page of the subjects table; withCount=false skips the count query
+    public Slice<SubjectRow> getSubjectPage(Pageable pageable, boolean withCount) {
+        return withCount
+                ? subjectRepository.findAllProjectedBy(pageable)
+                : subjectRepository.findSliceProjectedBy(pageable);
+    }
+
     // ✅ Get Subject by ID
     public Optional<Subject> getSubjectById(Long id) {
         return subjectRepository.findById(id);
@@ -36,6 +49,7 @@ public class SubjectService {
     // ✅ Delete Subject
     public void deleteSubject(Long id) {
         subjectRepository.deleteById(id);
+        subjectCodeResolver.reload();
     }
 
     // ✅ Find by Code
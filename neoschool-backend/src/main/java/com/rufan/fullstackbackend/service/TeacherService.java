@@ -2,10 +2,13 @@ package com.rufan.fullstackbackend.service;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import com.rufan.fullstackbackend.model.Teacher;
 import com.rufan.fullstackbackend.repository.TeacherRepository;
+import com.rufan.fullstackbackend.repository.TeacherRepository.TeacherRow;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +28,13 @@ public class TeacherService {
         return teacherRepository.save(teacher);
     }
 
+    // One page of the teachers table; withCount=false skips the count query
+    public Slice<TeacherRow> getTeacherPage(Pageable pageable, boolean withCount) {
+        return withCount
+                ? teacherRepository.findAllProjectedBy(pageable)
+                : teacherRepository.findSliceProjectedBy(pageable);
+    }
+
     // Get all teachers
     public List<Teacher> getAllTeachers() {
         return teacherRepository.findAll();
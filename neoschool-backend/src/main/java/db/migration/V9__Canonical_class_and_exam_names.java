@@ -0,0 +1,148 @@
+package db.migration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Canonical class and exam names for mark sheets saved before
+ * {@code MarksService} resolved names on save.
+ *
+ * Spellings are grouped the way {@code NameAliasResolver} compared them when
+ * this migration was written (trimmed, whitespace collapsed, lower-cased).
+ * The rules are copied here, not called: a migration must keep doing what it
+ * did, whatever the application code becomes. A group already covered by
+ * name_aliases keeps that canonical name; any other group takes its most
+ * used spelling (trimmed, as the resolver returns unknown names), which is
+ * seeded into name_aliases so later requests resolve to it. Every other spelling in t_exam_marks is then rewritten.
+ *
+ * Renaming an exam must not put two sheets of one student and year under
+ * the same name (uk_marks_student_exam_year). Such sheets are listed and
+ * the migration fails before changing anything; merge or delete them and
+ * start the application again.
+ */
+public class V9__Canonical_class_and_exam_names extends BaseJavaMigration {
+
+    private static final int LISTED_CONFLICTS = 10;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // name_aliases.alias_type values
+    private static final String CLASS = "CLASS";
+    private static final String EXAM = "EXAM";
+
+    private record Spelling(String name, long uses) {
+    }
+
+    // Spelling -> canonical name of every spelling that is rewritten, plus the aliases to seed
+    private record Plan(Map<String, String> renames, List<String> seeds) {
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        Plan classes = plan(jdbc, CLASS, "class_name");
+        Plan exams = plan(jdbc, EXAM, "exam_name");
+        checkExamConflicts(jdbc, exams.renames());
+
+        seed(jdbc, CLASS, classes.seeds());
+        seed(jdbc, EXAM, exams.seeds());
+        rename(jdbc, "class_name", classes.renames());
+        rename(jdbc, "exam_name", exams.renames());
+    }
+
+    private static Plan plan(JdbcTemplate jdbc, String type, String column) {
+        Map<String, String> aliases = new HashMap<>();
+        jdbc.query("SELECT alias, canonical_name FROM name_aliases WHERE alias_type = ?",
+                rs -> { aliases.put(normalize(rs.getString(1)), rs.getString(2)); },
+                type);
+
+        Map<String, List<Spelling>> groups = new LinkedHashMap<>();
+        jdbc.query("SELECT " + column + ", COUNT(*) FROM t_exam_marks WHERE " + column + " IS NOT NULL "
+                + "GROUP BY " + column + " ORDER BY " + column,
+                rs -> {
+                    String name = rs.getString(1);
+                    if (!name.isBlank()) {
+                        groups.computeIfAbsent(normalize(name), k -> new ArrayList<>())
+                                .add(new Spelling(name, rs.getLong(2)));
+                    }
+                });
+
+        Map<String, String> renames = new LinkedHashMap<>();
+        List<String> seeds = new ArrayList<>();
+        groups.forEach((key, spellings) -> {
+            String canonical = aliases.get(key);
+            if (canonical == null) {
+                canonical = spellings.stream()
+                        .reduce((a, b) -> b.uses() > a.uses() ? b : a)
+                        .orElseThrow().name().trim();
+                seeds.add(canonical);
+            }
+            for (Spelling spelling : spellings) {
+                if (!spelling.name().equals(canonical)) {
+                    renames.put(spelling.name(), canonical);
+                }
+            }
+        });
+        return new Plan(renames, seeds);
+    }
+
+    private static void checkExamConflicts(JdbcTemplate jdbc, Map<String, String> renames) {
+        if (renames.isEmpty()) {
+            return;
+        }
+        // Sheets per student, year and exam name after the rename
+        Map<String, List<String>> sheets = new HashMap<>();
+        jdbc.query("SELECT student_id, education_year, exam_name FROM t_exam_marks WHERE exam_name IS NOT NULL",
+                rs -> {
+                    String exam = rs.getString(3);
+                    String canonical = renames.getOrDefault(exam, exam);
+                    String key = "student " + rs.getLong(1) + ", year " + rs.getString(2) + ", exam '" + canonical + "'";
+                    sheets.computeIfAbsent(key, k -> new ArrayList<>()).add("'" + exam + "'");
+                });
+
+        List<String> conflicts = sheets.entrySet().stream()
+                .filter(e -> e.getValue().size() > 1)
+                .map(e -> e.getKey() + " (" + String.join(", ", e.getValue()) + ")")
+                .sorted()
+                .toList();
+        if (!conflicts.isEmpty()) {
+            throw new FlywayException("Exam names cannot be made canonical while students have several sheets "
+                    + "of one exam under different spellings; merge or delete them (" + conflicts.size() + "): "
+                    + String.join("; ", conflicts.subList(0, Math.min(LISTED_CONFLICTS, conflicts.size())))
+                    + (conflicts.size() > LISTED_CONFLICTS ? "; ..." : ""));
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc, String type, List<String> names) {
+        for (String name : names) {
+            jdbc.update("INSERT INTO name_aliases (alias_type, alias, canonical_name) "
+                    + "SELECT ?, ?, ? FROM DUAL "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM name_aliases WHERE alias_type = ? AND alias = ?)",
+                    type, name, name, type, name);
+        }
+    }
+
+    private static void rename(JdbcTemplate jdbc, String column, Map<String, String> renames) {
+        List<Object[]> args = renames.entrySet().stream()
+                .map(e -> new Object[] { e.getValue(), e.getKey() })
+                .toList();
+        if (!args.isEmpty()) {
+            jdbc.batchUpdate("UPDATE t_exam_marks SET " + column + " = ? WHERE " + column + " = ?", args);
+        }
+    }
+
+    // Trimmed, whitespace-collapsed, lower-cased form under which spellings of a name are the same
+    private static String normalize(String name) {
+        return WHITESPACE.matcher(name.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,10 @@
+-- Logins look a user up by username, so a username must name one row.
+-- Duplicates keep the name on their oldest row (lowest id); the others are
+-- renamed to "<username>#<id>" for an admin to sort out.
+
+UPDATE `user` SET username = CONCAT(username, '#', id)
+ WHERE username IS NOT NULL
+   AND id NOT IN (SELECT keep_id FROM (SELECT MIN(id) AS keep_id FROM `user` GROUP BY username) kept);
+
+DROP INDEX idx_user_username ON `user`;
+CREATE UNIQUE INDEX uk_user_username ON `user` (username);
@@ -0,0 +1,4 @@
+-- Revocations of all tokens of a user are keyed "user:<revoked at millis>:<username>",
+-- and usernames are up to 255 characters.
+
+ALTER TABLE t_token_revocation MODIFY COLUMN revocation_key VARCHAR(300) NOT NULL;
@@ -0,0 +1,14 @@
+-- Mark sheet and subject marks ids come from pooled sequence tables (like user_seq)
+-- instead of AUTO_INCREMENT, so Hibernate can batch their inserts. AUTO_INCREMENT
+-- stays on the columns for rows inserted in plain SQL.
+
+CREATE TABLE t_exam_marks_seq (
+    next_val       BIGINT
+);
+-- Pooled, 50 ids per fetch: start past the existing rows
+INSERT INTO t_exam_marks_seq SELECT COALESCE(MAX(id), 0) + 51 FROM t_exam_marks;
+
+CREATE TABLE t_exam_subject_marks_seq (
+    next_val       BIGINT
+);
+INSERT INTO t_exam_subject_marks_seq SELECT COALESCE(MAX(id), 0) + 51 FROM t_exam_subject_marks;
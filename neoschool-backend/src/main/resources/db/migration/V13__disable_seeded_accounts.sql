@@ -0,0 +1,8 @@
+-- Databases migrated with an earlier V6 got three accounts with publicly known
+-- passwords. Disable them while they still have those passwords; an admin can
+-- set a new password and enable them again.
+
+UPDATE `user` SET enabled = 0
+ WHERE password IN ('$2a$10$R4fKk/Et.Ps2/p6GetrbCeTFTBC8LO5qiuh2/FMkWwwfkxd5lim16',
+                    '$2a$10$esTAGqG5l7r1ppvYII18BussHRIjtEWtFcJp7cg35qgZzZr9oX.Nm',
+                    '$2a$10$7ZYKTLYVV9OhX7DO19mij.9tCH.yv1gmr/pXRSMcoA6MU3.UY58Ny');
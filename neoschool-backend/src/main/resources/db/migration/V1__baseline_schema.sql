@@ -0,0 +1,206 @@
+-- Baseline schema, as previously generated by hibernate.ddl-auto=update.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate)
+-- and skip this script; empty databases are created from it.
+
+CREATE TABLE students (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    student_id     BIGINT NOT NULL,
+    roll_no        VARCHAR(255) NOT NULL,
+    name           VARCHAR(255) NOT NULL,
+    student_class  VARCHAR(255) NOT NULL,
+    section        VARCHAR(255),
+    main_subject   INT NOT NULL,
+    gender         ENUM('MALE','FEMALE','OTHER'),
+    religion       ENUM('Islam','Hindu','Other'),
+    status         ENUM('ACTIVE','INACTIVE'),
+    dob            DATE,
+    brn_no         VARCHAR(255),
+    phone          VARCHAR(255),
+    stipend        ENUM('APPROVED','REJECTED','PENDING'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_students_student_id UNIQUE (student_id),
+    CONSTRAINT uk_students_roll_no UNIQUE (roll_no),
+    CONSTRAINT uk_students_brn_no UNIQUE (brn_no)
+);
+
+CREATE TABLE teachers (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    teacher_id     VARCHAR(255) NOT NULL,
+    full_name      VARCHAR(255) NOT NULL,
+    position       VARCHAR(255) NOT NULL,
+    email          VARCHAR(255) NOT NULL,
+    phone_number   VARCHAR(255),
+    date_of_birth  DATE,
+    gender         VARCHAR(255),
+    hire_date      DATE,
+    address        VARCHAR(255),
+    section        VARCHAR(255),
+    status         VARCHAR(255),
+    created_at     DATETIME(6) NOT NULL,
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_teachers_teacher_id UNIQUE (teacher_id),
+    CONSTRAINT uk_teachers_email UNIQUE (email),
+    CONSTRAINT uk_teachers_phone_number UNIQUE (phone_number)
+);
+
+CREATE TABLE teacher_subjects (
+    teacher_id     BIGINT NOT NULL,
+    subject        VARCHAR(255),
+    CONSTRAINT fk_teacher_subjects_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (id)
+);
+
+CREATE TABLE subjects (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255) NOT NULL,
+    code           VARCHAR(255) NOT NULL,
+    class_level    ENUM('CLASS_ONE','CLASS_TWO','CLASS_THREE','CLASS_FOUR','CLASS_FIVE') NOT NULL,
+    marks          INT,
+    teacher        ENUM('MAHFUJ_KHAN','SHEIKH_HASINA_BEGUM','PARTHA_SAROTHI_DAS','SABBYSACHI_ROY','SUPTI_TALUKDER','ARIFUZZAMAN_KHAN'),
+    status         ENUM('MAIN','SUB') NOT NULL,
+    description    TEXT,
+    created_at     DATETIME(6),
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_subjects_code UNIQUE (code)
+);
+
+CREATE TABLE exams (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    exam_id        VARCHAR(255) NOT NULL,
+    exam_name      VARCHAR(255) NOT NULL,
+    start_date     DATE NOT NULL,
+    end_date       DATE NOT NULL,
+    remarks        VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_exams_exam_id UNIQUE (exam_id)
+);
+
+CREATE TABLE grades (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    grade_id       VARCHAR(20) NOT NULL,
+    grade_letter   VARCHAR(5) NOT NULL,
+    grade_point    DECIMAL(3,2) NOT NULL,
+    range_min      DOUBLE NOT NULL,
+    range_max      DOUBLE NOT NULL,
+    remarks        VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_grades_grade_id UNIQUE (grade_id)
+);
+
+CREATE TABLE school (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255),
+    address        VARCHAR(255),
+    emis_code      VARCHAR(255),
+    phone          VARCHAR(255),
+    email          VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE `user` (
+    id             BIGINT NOT NULL,
+    username       VARCHAR(255),
+    name           VARCHAR(255),
+    email          VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+-- Sequence table used by the User id generator
+CREATE TABLE user_seq (
+    next_val       BIGINT
+);
+INSERT INTO user_seq VALUES (1);
+
+CREATE TABLE exam_marks (
+    id                           BIGINT NOT NULL AUTO_INCREMENT,
+    student_id                   BIGINT NOT NULL,
+    student_name                 VARCHAR(100) NOT NULL,
+    class_name                   VARCHAR(50) NOT NULL,
+    class_roll                   INT NOT NULL,
+    subject_id                   BIGINT NOT NULL,
+    subject_name                 VARCHAR(100) NOT NULL,
+    subject_marks                DOUBLE,
+    exam_name                    VARCHAR(100) NOT NULL,
+    continuous_assessment_marks  DOUBLE,
+    aggregate_assessment_marks   DOUBLE,
+    total_marks                  DOUBLE,
+    marks_percentage             DOUBLE,
+    exam_date                    DATETIME(6),
+    remarks                      VARCHAR(255),
+    created_at                   DATETIME(6),
+    updated_at                   DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE t_exam_marks (
+    id                     BIGINT NOT NULL AUTO_INCREMENT,
+    student_id             BIGINT NOT NULL,
+    student_name           VARCHAR(100) NOT NULL,
+    class_name             VARCHAR(50) NOT NULL,
+    class_roll             INT NOT NULL,
+    exam_name              VARCHAR(100) NOT NULL,
+    exam_date              DATETIME(6),
+    education_year         VARCHAR(10),
+    bn_sub_code            VARCHAR(255),
+    bangla_ca              DOUBLE,
+    bangla_aa              DOUBLE,
+    bangla_total           DOUBLE,
+    en_sub_code            VARCHAR(255),
+    english_ca             DOUBLE,
+    english_aa             DOUBLE,
+    english_total          DOUBLE,
+    ma_sub_code            VARCHAR(255),
+    math_ca                DOUBLE,
+    math_aa                DOUBLE,
+    math_total             DOUBLE,
+    sc_sub_code            VARCHAR(255),
+    science_ca             DOUBLE,
+    science_aa             DOUBLE,
+    science_total          DOUBLE,
+    bwp_sub_code           VARCHAR(255),
+    bwp_ca                 DOUBLE,
+    bwp_aa                 DOUBLE,
+    bwp_total              DOUBLE,
+    ism_sub_code           VARCHAR(255),
+    islam_ca               DOUBLE,
+    islam_aa               DOUBLE,
+    islam_total            DOUBLE,
+    hin_sub_code           VARCHAR(255),
+    hindu_ca               DOUBLE,
+    hindu_aa               DOUBLE,
+    hindu_total            DOUBLE,
+    sss_sub_code           VARCHAR(255),
+    sss_ca                 DOUBLE,
+    sss_aa                 DOUBLE,
+    sss_total              DOUBLE,
+    mus_sub_code           VARCHAR(255),
+    music_phy_ca           DOUBLE,
+    music_phy_aa           DOUBLE,
+    music_total            DOUBLE,
+    art_sub_code           VARCHAR(255),
+    art_craft_ca           DOUBLE,
+    art_craft_aa           DOUBLE,
+    art_total              DOUBLE,
+    fa_sub_code            VARCHAR(255),
+    fine_art_ca            DOUBLE,
+    fine_art_aa            DOUBLE,
+    fa_total               DOUBLE,
+    phy_sub_code           VARCHAR(255),
+    phy_edu_ca             DOUBLE,
+    phy_edu_aa             DOUBLE,
+    phy_total              DOUBLE,
+    total_marks            DOUBLE,
+    obtained_marks         DOUBLE,
+    main_subject_total     DOUBLE,
+    main_subject_obtained  DOUBLE,
+    marks_percentage       DECIMAL(38,2),
+    average_marks          DECIMAL(38,2),
+    grade_point            DECIMAL(38,2),
+    grade_letter           VARCHAR(255),
+    remarks                VARCHAR(255),
+    created_at             DATETIME(6),
+    updated_at             DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_t_exam_marks_student FOREIGN KEY (student_id) REFERENCES students (student_id)
+);
@@ -0,0 +1,42 @@
+-- Indexes for the hot t_exam_marks queries:
+--   tabulation / merit list   WHERE class_name = ? AND exam_name = ? AND education_year = ?
+--   marks upsert              WHERE student_id = ? AND exam_name = ? AND education_year = ?
+--   result card history       WHERE student_id = ? ORDER BY exam_date
+
+-- Backfill education_year for rows written before it was filled on save
+UPDATE t_exam_marks
+   SET education_year = CAST(YEAR(exam_date) AS CHAR)
+ WHERE (education_year IS NULL OR education_year = '')
+   AND exam_date IS NOT NULL;
+
+-- The unique key below allows one sheet per student, exam and year. Duplicated sheets are
+-- copied to t_exam_marks_duplicates (whole rows, with the time they were archived) and only
+-- then removed, keeping the latest row of each group. Reconcile from the archive table if a
+-- removed row was the one that should have been kept; it is not read by the application.
+CREATE TABLE t_exam_marks_duplicates AS
+SELECT m.*, CURRENT_TIMESTAMP AS archived_at
+  FROM t_exam_marks m
+ WHERE m.id NOT IN (
+       SELECT keep_id FROM (
+              SELECT MAX(id) AS keep_id
+                FROM t_exam_marks
+               GROUP BY student_id, exam_name, education_year
+       ) latest
+ );
+
+DELETE FROM t_exam_marks
+ WHERE id IN (SELECT id FROM t_exam_marks_duplicates);
+
+CREATE INDEX idx_marks_class_exam_year ON t_exam_marks (class_name, exam_name, education_year);
+CREATE UNIQUE INDEX uk_marks_student_exam_year ON t_exam_marks (student_id, exam_name, education_year);
+CREATE INDEX idx_marks_student_exam_date ON t_exam_marks (student_id, exam_date);
+
+-- Class / exam name aliases (tabulation lookups); may already exist from ddl-auto=update
+CREATE TABLE IF NOT EXISTS name_aliases (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    alias_type      ENUM('CLASS','EXAM') NOT NULL,
+    alias           VARCHAR(100) NOT NULL,
+    canonical_name  VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_name_alias UNIQUE (alias_type, alias)
+);
@@ -0,0 +1,114 @@
+-- Per-subject marks rows replacing the twelve subject column groups of t_exam_marks.
+-- t_exam_marks keeps the student / exam header and the cached aggregates;
+-- a new subject only needs a new subject_code, not a new column.
+
+CREATE TABLE t_exam_subject_marks (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    marks_id      BIGINT NOT NULL,
+    subject_code  VARCHAR(20) NOT NULL,
+    ca            DOUBLE,
+    aa            DOUBLE,
+    total         DOUBLE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_subject_marks_marks_subject UNIQUE (marks_id, subject_code),
+    CONSTRAINT fk_subject_marks_marks FOREIGN KEY (marks_id) REFERENCES t_exam_marks (id) ON DELETE CASCADE
+);
+
+-- Copy every subject that has marks; empty column groups are not carried over
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'bn', bangla_ca, bangla_aa, bangla_total FROM t_exam_marks
+ WHERE bangla_ca IS NOT NULL OR bangla_aa IS NOT NULL OR bangla_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'en', english_ca, english_aa, english_total FROM t_exam_marks
+ WHERE english_ca IS NOT NULL OR english_aa IS NOT NULL OR english_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'ma', math_ca, math_aa, math_total FROM t_exam_marks
+ WHERE math_ca IS NOT NULL OR math_aa IS NOT NULL OR math_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'sc', science_ca, science_aa, science_total FROM t_exam_marks
+ WHERE science_ca IS NOT NULL OR science_aa IS NOT NULL OR science_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'bwp', bwp_ca, bwp_aa, bwp_total FROM t_exam_marks
+ WHERE bwp_ca IS NOT NULL OR bwp_aa IS NOT NULL OR bwp_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'ism', islam_ca, islam_aa, islam_total FROM t_exam_marks
+ WHERE islam_ca IS NOT NULL OR islam_aa IS NOT NULL OR islam_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'hin', hindu_ca, hindu_aa, hindu_total FROM t_exam_marks
+ WHERE hindu_ca IS NOT NULL OR hindu_aa IS NOT NULL OR hindu_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'sss', sss_ca, sss_aa, sss_total FROM t_exam_marks
+ WHERE sss_ca IS NOT NULL OR sss_aa IS NOT NULL OR sss_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'mus', music_phy_ca, music_phy_aa, music_total FROM t_exam_marks
+ WHERE music_phy_ca IS NOT NULL OR music_phy_aa IS NOT NULL OR music_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'art', art_craft_ca, art_craft_aa, art_total FROM t_exam_marks
+ WHERE art_craft_ca IS NOT NULL OR art_craft_aa IS NOT NULL OR art_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'fa', fine_art_ca, fine_art_aa, fa_total FROM t_exam_marks
+ WHERE fine_art_ca IS NOT NULL OR fine_art_aa IS NOT NULL OR fa_total IS NOT NULL;
+
+INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total)
+SELECT id, 'phy', phy_edu_ca, phy_edu_aa, phy_total FROM t_exam_marks
+ WHERE phy_edu_ca IS NOT NULL OR phy_edu_aa IS NOT NULL OR phy_total IS NOT NULL;
+
+-- Drop the wide subject columns (one statement each, MySQL and H2 alike)
+ALTER TABLE t_exam_marks DROP COLUMN bn_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN bangla_ca;
+ALTER TABLE t_exam_marks DROP COLUMN bangla_aa;
+ALTER TABLE t_exam_marks DROP COLUMN bangla_total;
+ALTER TABLE t_exam_marks DROP COLUMN en_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN english_ca;
+ALTER TABLE t_exam_marks DROP COLUMN english_aa;
+ALTER TABLE t_exam_marks DROP COLUMN english_total;
+ALTER TABLE t_exam_marks DROP COLUMN ma_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN math_ca;
+ALTER TABLE t_exam_marks DROP COLUMN math_aa;
+ALTER TABLE t_exam_marks DROP COLUMN math_total;
+ALTER TABLE t_exam_marks DROP COLUMN sc_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN science_ca;
+ALTER TABLE t_exam_marks DROP COLUMN science_aa;
+ALTER TABLE t_exam_marks DROP COLUMN science_total;
+ALTER TABLE t_exam_marks DROP COLUMN bwp_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN bwp_ca;
+ALTER TABLE t_exam_marks DROP COLUMN bwp_aa;
+ALTER TABLE t_exam_marks DROP COLUMN bwp_total;
+ALTER TABLE t_exam_marks DROP COLUMN ism_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN islam_ca;
+ALTER TABLE t_exam_marks DROP COLUMN islam_aa;
+ALTER TABLE t_exam_marks DROP COLUMN islam_total;
+ALTER TABLE t_exam_marks DROP COLUMN hin_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN hindu_ca;
+ALTER TABLE t_exam_marks DROP COLUMN hindu_aa;
+ALTER TABLE t_exam_marks DROP COLUMN hindu_total;
+ALTER TABLE t_exam_marks DROP COLUMN sss_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN sss_ca;
+ALTER TABLE t_exam_marks DROP COLUMN sss_aa;
+ALTER TABLE t_exam_marks DROP COLUMN sss_total;
+ALTER TABLE t_exam_marks DROP COLUMN mus_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN music_phy_ca;
+ALTER TABLE t_exam_marks DROP COLUMN music_phy_aa;
+ALTER TABLE t_exam_marks DROP COLUMN music_total;
+ALTER TABLE t_exam_marks DROP COLUMN art_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN art_craft_ca;
+ALTER TABLE t_exam_marks DROP COLUMN art_craft_aa;
+ALTER TABLE t_exam_marks DROP COLUMN art_total;
+ALTER TABLE t_exam_marks DROP COLUMN fa_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN fine_art_ca;
+ALTER TABLE t_exam_marks DROP COLUMN fine_art_aa;
+ALTER TABLE t_exam_marks DROP COLUMN fa_total;
+ALTER TABLE t_exam_marks DROP COLUMN phy_sub_code;
+ALTER TABLE t_exam_marks DROP COLUMN phy_edu_ca;
+ALTER TABLE t_exam_marks DROP COLUMN phy_edu_aa;
+ALTER TABLE t_exam_marks DROP COLUMN phy_total;
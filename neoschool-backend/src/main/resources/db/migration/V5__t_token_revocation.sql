@@ -0,0 +1,14 @@
+-- Revoked (logged out / rotated) tokens shared by all backend nodes.
+-- Each node polls rows with seq greater than the last one it has applied;
+-- rows are deleted once the token has expired (expires_at, epoch millis).
+
+CREATE TABLE t_token_revocation (
+    seq             BIGINT NOT NULL AUTO_INCREMENT,
+    revocation_key  VARCHAR(100) NOT NULL,
+    expires_at      BIGINT NOT NULL,
+    revoked_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (seq),
+    CONSTRAINT uk_token_revocation_key UNIQUE (revocation_key)
+);
+
+CREATE INDEX idx_token_revocation_expires ON t_token_revocation (expires_at);
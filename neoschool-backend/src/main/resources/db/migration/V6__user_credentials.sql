@@ -0,0 +1,10 @@
+-- Credentials and role on the user table, which now backs authentication
+-- instead of the users hardcoded in SecurityConfig.
+
+ALTER TABLE `user` ADD COLUMN password VARCHAR(100);
+ALTER TABLE `user` ADD COLUMN role VARCHAR(20) NOT NULL DEFAULT 'USER';
+ALTER TABLE `user` ADD COLUMN enabled BIT(1) NOT NULL DEFAULT 1; -- Hibernate maps boolean to bit
+
+CREATE INDEX idx_user_username ON `user` (username);
+
+-- No accounts are seeded: the first ADMIN comes from configuration (AdminBootstrap)
@@ -0,0 +1,69 @@
+-- Spellings of subject codes and names sent by the marks upload forms.
+-- EXACT aliases must match the whole (normalised) input; CONTAINS aliases
+-- may occur anywhere in a subject name, the lowest priority wins when
+-- several of them occur. Normalisation lower-cases and drops whitespace,
+-- so aliases are stored without spaces.
+
+CREATE TABLE subject_code_aliases (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    alias           VARCHAR(100) NOT NULL,
+    subject_code    VARCHAR(20) NOT NULL,
+    match_type      ENUM('EXACT','CONTAINS') NOT NULL,
+    priority        INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_subject_code_alias UNIQUE (alias, match_type)
+);
+
+-- Numeric and subj_* codes of the old upload forms
+INSERT INTO subject_code_aliases (alias, subject_code, match_type, priority) VALUES
+    ('1', 'bn', 'EXACT', 0),   ('subj_1', 'bn', 'EXACT', 0),
+    ('2', 'en', 'EXACT', 0),   ('subj_2', 'en', 'EXACT', 0),
+    ('3', 'ma', 'EXACT', 0),   ('subj_3', 'ma', 'EXACT', 0),
+    ('4', 'sc', 'EXACT', 0),   ('subj_4', 'sc', 'EXACT', 0),
+    ('5', 'bwp', 'EXACT', 0),  ('subj_5', 'bwp', 'EXACT', 0),
+    ('6', 'ism', 'EXACT', 0),  ('subj_6', 'ism', 'EXACT', 0),
+    ('7', 'hin', 'EXACT', 0),  ('subj_7', 'hin', 'EXACT', 0),
+    ('8', 'sss', 'EXACT', 0),  ('subj_8', 'sss', 'EXACT', 0),
+    ('9', 'mus', 'EXACT', 0),  ('subj_9', 'mus', 'EXACT', 0),
+    ('10', 'art', 'EXACT', 0), ('subj_10', 'art', 'EXACT', 0),
+    ('11', 'fa', 'EXACT', 0),  ('subj_11', 'fa', 'EXACT', 0),
+    ('12', 'phy', 'EXACT', 0), ('subj_12', 'phy', 'EXACT', 0);
+
+-- Name fragments, in the order the old string scan tested them
+INSERT INTO subject_code_aliases (alias, subject_code, match_type, priority) VALUES
+    ('বিশ্বপরিচয়', 'bwp', 'CONTAINS', 10),
+    ('bwp', 'bwp', 'CONTAINS', 10),
+    ('bishwo', 'bwp', 'CONTAINS', 10),
+    ('porichoy', 'bwp', 'CONTAINS', 10),
+    ('globalstudies', 'bwp', 'CONTAINS', 10),
+    ('বাংলা', 'bn', 'CONTAINS', 20),
+    ('bangla', 'bn', 'CONTAINS', 20),
+    ('ইংরেজি', 'en', 'CONTAINS', 30),
+    ('english', 'en', 'CONTAINS', 30),
+    ('ingreji', 'en', 'CONTAINS', 30),
+    ('গণিত', 'ma', 'CONTAINS', 40),
+    ('math', 'ma', 'CONTAINS', 40),
+    ('সামাজিক', 'sss', 'CONTAINS', 45),
+    ('social', 'sss', 'CONTAINS', 45),
+    ('somajik', 'sss', 'CONTAINS', 45),
+    ('বিজ্ঞান', 'sc', 'CONTAINS', 50),
+    ('science', 'sc', 'CONTAINS', 50),
+    ('ইসলাম', 'ism', 'CONTAINS', 60),
+    ('islam', 'ism', 'CONTAINS', 60),
+    ('হিন্দু', 'hin', 'CONTAINS', 70),
+    ('hindu', 'hin', 'CONTAINS', 70),
+    ('সংগীত', 'mus', 'CONTAINS', 80),
+    ('music', 'mus', 'CONTAINS', 80),
+    ('sangeet', 'mus', 'CONTAINS', 80),
+    ('fineart', 'fa', 'CONTAINS', 85),
+    ('চারু', 'art', 'CONTAINS', 90),
+    ('কারুকলা', 'art', 'CONTAINS', 90),
+    ('art', 'art', 'CONTAINS', 90),
+    ('charu', 'art', 'CONTAINS', 90),
+    ('শিল্প', 'fa', 'CONTAINS', 100),
+    ('shilpo', 'fa', 'CONTAINS', 100),
+    ('শারীরিক', 'phy', 'CONTAINS', 110),
+    ('physical', 'phy', 'CONTAINS', 110),
+    ('sharirik', 'phy', 'CONTAINS', 110),
+    ('শিক্ষা', 'phy', 'CONTAINS', 110),
+    ('shikkha', 'phy', 'CONTAINS', 110);
@@ -0,0 +1,14 @@
+-- Keyset pagination of the marks listing (GET /api/exam-marks/page):
+--   all marks                 ORDER BY exam_date, id
+--   marks of one year         WHERE education_year = ? ORDER BY exam_date, id
+-- A page continues after the (exam_date, id) of the previous page's last row,
+-- so exam_date may not be NULL.
+
+UPDATE t_exam_marks
+   SET exam_date = COALESCE(created_at, updated_at, CURRENT_TIMESTAMP)
+ WHERE exam_date IS NULL;
+
+ALTER TABLE t_exam_marks MODIFY exam_date DATETIME(6) NOT NULL;
+
+CREATE INDEX idx_marks_exam_date ON t_exam_marks (exam_date, id);
+CREATE INDEX idx_marks_year_exam_date ON t_exam_marks (education_year, exam_date, id);
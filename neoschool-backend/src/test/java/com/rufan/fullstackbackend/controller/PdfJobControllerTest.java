@@ -0,0 +1,75 @@
+package com.rufan.fullstackbackend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.rufan.fullstackbackend.dto.PdfJobDto;
+import com.rufan.fullstackbackend.service.PdfJobService;
+import com.rufan.fullstackbackend.service.PdfJobService.Status;
+
+/**
+ * A download is 200 with the file of a finished job, 409 while the job is
+ * still pending, 410 once it failed or expired and 404 for unknown jobs.
+ */
+class PdfJobControllerTest {
+
+	private PdfJobService pdfJobService;
+	private PdfJobController controller;
+
+	@BeforeEach
+	void setUp() {
+		pdfJobService = mock(PdfJobService.class);
+		controller = new PdfJobController(pdfJobService);
+	}
+
+	@Test
+	void finishedJobIsDownloaded() {
+		job("done", Status.DONE);
+		when(pdfJobService.getResult("done")).thenReturn(Optional.of(Path.of("pdf-job-done.pdf")));
+
+		assertEquals(HttpStatus.OK, controller.download("done").getStatusCode());
+	}
+
+	@Test
+	void pendingJobsConflict() {
+		job("queued", Status.QUEUED);
+		job("running", Status.RUNNING);
+
+		assertEquals(HttpStatus.CONFLICT, controller.download("queued").getStatusCode());
+		assertEquals(HttpStatus.CONFLICT, controller.download("running").getStatusCode());
+	}
+
+	@Test
+	void expiredAndFailedJobsAreGone() {
+		job("expired", Status.EXPIRED);
+		job("failed", Status.FAILED);
+		// Expired between the status and the file lookup
+		job("just-expired", Status.DONE);
+
+		assertEquals(HttpStatus.GONE, controller.download("expired").getStatusCode());
+		assertEquals(HttpStatus.GONE, controller.download("failed").getStatusCode());
+		assertEquals(HttpStatus.GONE, controller.download("just-expired").getStatusCode());
+	}
+
+	@Test
+	void unknownJobIsNotFound() {
+		when(pdfJobService.getStatus("unknown")).thenReturn(Optional.empty());
+
+		assertEquals(HttpStatus.NOT_FOUND, controller.download("unknown").getStatusCode());
+	}
+
+	private void job(String jobId, Status status) {
+		PdfJobDto job = PdfJobDto.builder().jobId(jobId).type("TABULATION").educationYear("2025")
+				.status(status.name()).build();
+		when(pdfJobService.getStatus(jobId)).thenReturn(Optional.of(job));
+		when(pdfJobService.getResult(jobId)).thenReturn(Optional.empty());
+	}
+}
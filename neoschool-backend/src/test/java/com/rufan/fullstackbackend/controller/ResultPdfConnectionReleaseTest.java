@@ -0,0 +1,145 @@
+package com.rufan.fullstackbackend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rufan.fullstackbackend.repository.MarksIdRange;
+import com.rufan.fullstackbackend.service.GeneratePdfService;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * With open-in-view off, the tabulation PDF is rendered after the data has
+ * been loaded and the connection returned: the pool has no active
+ * connection while the renderer runs. Mark sheets, whose subject rows are
+ * lazy, still serialize to JSON without an open session, and a merit list
+ * with no students is a JSON 404.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResultPdfConnectionReleaseTest {
+
+	private static final String[] SUBJECTS = { "bn", "en", "ma", "sc", "bwp", "ism", "mus", "art" };
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@SpyBean
+	private GeneratePdfService generatePdfService;
+
+	@BeforeEach
+	void seed() {
+		Integer existing = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM t_exam_marks WHERE exam_name = 'Release Annual'", Integer.class);
+		if (existing != null && existing > 0) {
+			return;
+		}
+		MarksIdRange.reserve(jdbcTemplate);
+		List<Object[]> students = new ArrayList<>();
+		List<Object[]> marks = new ArrayList<>();
+		for (int i = 1; i <= 40; i++) {
+			long studentId = 510000L + i;
+			students.add(new Object[] { studentId, "REL-" + i, "Student " + i });
+			marks.add(new Object[] { studentId, "Student " + i, i });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (?, ?, ?, 'Fifth', 6)", students);
+		jdbcTemplate.batchUpdate("INSERT INTO t_exam_marks (student_id, student_name, class_name, class_roll, "
+				+ "exam_name, exam_date, education_year) "
+				+ "VALUES (?, ?, 'Fifth', ?, 'Release Annual', TIMESTAMP '2025-11-20 10:00:00', '2025')", marks);
+		for (String subject : SUBJECTS) {
+			jdbcTemplate.update("INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total) "
+					+ "SELECT id, ?, 15, 45, 60 FROM t_exam_marks WHERE exam_name = 'Release Annual'", subject);
+		}
+	}
+
+	@Test
+	void noConnectionIsHeldWhileTheTabulationSheetRenders() throws Exception {
+		HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+		AtomicInteger activeWhileRendering = new AtomicInteger(-1);
+		doAnswer(invocation -> {
+			activeWhileRendering.set(pool.getHikariPoolMXBean().getActiveConnections());
+			return invocation.callRealMethod();
+		}).when(generatePdfService).writeTabulationSheetPdf(any(), any());
+
+		HttpResponse<byte[]> response = get("/api/results/tabulation-pdf/2025/Release%20Annual/Fifth",
+				HttpResponse.BodyHandlers.ofByteArray());
+
+		assertEquals(200, response.statusCode());
+		assertTrue(response.body().length > 0);
+		assertEquals(0, activeWhileRendering.get(), "Active pool connections while rendering");
+	}
+
+	@Test
+	void markSheetsSerializeWithTheirSubjects() throws Exception {
+		Long marksId = jdbcTemplate.queryForObject(
+				"SELECT MIN(id) FROM t_exam_marks WHERE exam_name = 'Release Annual'", Long.class);
+
+		HttpResponse<String> response = get("/api/exam-marks/" + marksId, HttpResponse.BodyHandlers.ofString());
+
+		assertEquals(200, response.statusCode());
+		JsonNode sheet = objectMapper.readTree(response.body());
+		assertEquals(60.0, sheet.path("banglaTotal").asDouble());
+		assertEquals(SUBJECTS.length, sheet.path("subjects").size());
+	}
+
+	@Test
+	void meritListWithoutStudentsIsAJsonNotFound() throws Exception {
+		HttpResponse<String> response = get("/api/results/merit-pdf/2025/Release%20Annual/Nowhere",
+				HttpResponse.BodyHandlers.ofString());
+
+		assertEquals(404, response.statusCode());
+		assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+		assertTrue(objectMapper.readTree(response.body()).path("message").asText().startsWith("No students found"));
+	}
+
+	private <T> HttpResponse<T> get(String path, HttpResponse.BodyHandler<T> handler) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Authorization", "Bearer " + login())
+				.GET()
+				.build();
+		return client.send(request, handler);
+	}
+
+	private String login() throws Exception {
+		JsonNode body = objectMapper.createObjectNode().put("username", "teacher").put("password", "teacher123");
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build();
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode());
+		return objectMapper.readTree(response.body()).path("token").asText();
+	}
+}
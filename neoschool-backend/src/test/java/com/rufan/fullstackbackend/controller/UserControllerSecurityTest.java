@@ -0,0 +1,129 @@
+package com.rufan.fullstackbackend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * User administration is for ADMIN only, accepts only the known roles and
+ * unused usernames, and never returns password hashes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UserControllerSecurityTest {
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void teachersCannotListOrCreateUsers() throws Exception {
+		String token = login("teacher", "teacher123");
+
+		assertEquals(403, send(token, "GET", "/users", null).statusCode());
+		assertEquals(403, send(token, "POST", "/user", user("np-admin", "ADMIN")).statusCode());
+		assertEquals(403, send(token, "DELETE", "/user/1", null).statusCode());
+	}
+
+	@Test
+	void adminListsUsersWithoutPasswordHashes() throws Exception {
+		HttpResponse<String> response = send(login("admin@gmail.com", "admin123"), "GET", "/users", null);
+
+		assertEquals(200, response.statusCode());
+		JsonNode users = objectMapper.readTree(response.body());
+		assertTrue(users.size() >= 3);
+		for (JsonNode user : users) {
+			assertFalse(user.has("password"), () -> "Password returned for " + user.path("username"));
+		}
+	}
+
+	@Test
+	void unknownRolesAreRejected() throws Exception {
+		String token = login("admin@gmail.com", "admin123");
+
+		HttpResponse<String> rejected = send(token, "POST", "/user", user("np-root", "SUPERUSER"));
+		HttpResponse<String> created = send(token, "POST", "/user", user("np-teacher", "teacher"));
+
+		assertEquals(400, rejected.statusCode());
+		assertEquals(200, created.statusCode());
+		JsonNode saved = objectMapper.readTree(created.body());
+		assertEquals("TEACHER", saved.path("role").asText());
+		assertFalse(saved.has("password"));
+	}
+
+	@Test
+	void takenUsernamesAreRefused() throws Exception {
+		String token = login("admin@gmail.com", "admin123");
+
+		HttpResponse<String> created = send(token, "POST", "/user", user("np-unique", "USER"));
+		HttpResponse<String> other = send(token, "POST", "/user", user("np-other", "USER"));
+		long otherId = objectMapper.readTree(other.body()).path("id").asLong();
+
+		assertEquals(200, created.statusCode());
+		assertEquals(409, send(token, "POST", "/user", user("np-unique", "TEACHER")).statusCode());
+		assertEquals(409, send(token, "PUT", "/user/" + otherId, user("np-unique", "USER")).statusCode());
+		assertEquals(200, send(token, "PUT", "/user/" + otherId, user("np-other", "TEACHER")).statusCode());
+	}
+
+	@Test
+	void editsWithoutEnabledKeepADisabledUserDisabled() throws Exception {
+		String token = login("admin@gmail.com", "admin123");
+		long id = objectMapper.readTree(send(token, "POST", "/user", user("np-disabled", "USER")).body())
+				.path("id").asLong();
+
+		String disable = objectMapper.createObjectNode().put("username", "np-disabled").put("enabled", false).toString();
+		String edit = objectMapper.createObjectNode().put("username", "np-disabled").put("name", "Renamed").toString();
+		assertEquals(200, send(token, "PUT", "/user/" + id, disable).statusCode());
+		HttpResponse<String> edited = send(token, "PUT", "/user/" + id, edit);
+
+		assertEquals(200, edited.statusCode());
+		JsonNode saved = objectMapper.readTree(edited.body());
+		assertEquals("Renamed", saved.path("name").asText());
+		assertFalse(saved.path("enabled").asBoolean());
+	}
+
+	private String user(String username, String role) {
+		return objectMapper.createObjectNode()
+				.put("username", username)
+				.put("name", username)
+				.put("password", "secret123")
+				.put("role", role)
+				.put("enabled", true)
+				.toString();
+	}
+
+	private HttpResponse<String> send(String token, String method, String path, String body) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Authorization", "Bearer " + token)
+				.header("Content-Type", "application/json")
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private String login(String username, String password) throws Exception {
+		JsonNode body = objectMapper.createObjectNode().put("username", username).put("password", password);
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build();
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode());
+		return objectMapper.readTree(response.body()).path("token").asText();
+	}
+}
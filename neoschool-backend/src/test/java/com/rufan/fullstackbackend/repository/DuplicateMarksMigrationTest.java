@@ -0,0 +1,44 @@
+package com.rufan.fullstackbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Migrates a database holding duplicated mark sheets to V3 and checks that
+ * the sheets dropped for the unique key are kept in t_exam_marks_duplicates.
+ */
+class DuplicateMarksMigrationTest {
+
+	@Test
+	void duplicatedSheetsAreArchivedBeforeTheUniqueKey() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:duplicate_marks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+		Flyway.configure().dataSource(dataSource).target("2").load().migrate();
+		jdbcTemplate.update("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (1001, 'R1', 'Student', 'Five', 6), (1002, 'R2', 'Student', 'Five', 6)");
+		String insert = "INSERT INTO t_exam_marks (student_id, student_name, class_name, class_roll, exam_name, "
+				+ "education_year, obtained_marks) VALUES (?, 'Student', 'Five', 1, 'Annual', '2025', ?)";
+		jdbcTemplate.update(insert, 1001L, 310.0);
+		jdbcTemplate.update(insert, 1001L, 320.0);
+		jdbcTemplate.update(insert, 1001L, 330.0);
+		jdbcTemplate.update(insert, 1002L, 400.0);
+
+		Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+
+		List<Double> kept = jdbcTemplate.queryForList(
+				"SELECT obtained_marks FROM t_exam_marks ORDER BY student_id", Double.class);
+		List<Double> archived = jdbcTemplate.queryForList(
+				"SELECT obtained_marks FROM t_exam_marks_duplicates WHERE archived_at IS NOT NULL ORDER BY id",
+				Double.class);
+		assertEquals(List.of(330.0, 400.0), kept);
+		assertEquals(List.of(310.0, 320.0), archived);
+	}
+}
@@ -0,0 +1,123 @@
+package com.rufan.fullstackbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements behind one page of each list endpoint: a page
+ * with its total costs two statements and a slice one, whichever page is
+ * read and however many rows the table holds.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ListPageQueryCountTest {
+
+	private static final int ROWS = 120;
+	private static final int PAGE_SIZE = 20;
+
+	@Autowired
+	private StudentRepository studentRepository;
+	@Autowired
+	private TeacherRepository teacherRepository;
+	@Autowired
+	private SubjectRepository subjectRepository;
+	@Autowired
+	private ExamRepository examRepository;
+	@Autowired
+	private GradeRepository gradeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		List<Object[]> students = new ArrayList<>();
+		List<Object[]> teachers = new ArrayList<>();
+		List<Object[]> subjects = new ArrayList<>();
+		List<Object[]> exams = new ArrayList<>();
+		List<Object[]> grades = new ArrayList<>();
+		for (int i = 1; i <= ROWS; i++) {
+			students.add(new Object[] { 900000L + i, "QC-" + i, "Student " + i, "Five" });
+			teachers.add(new Object[] { "QC-T" + i, "Teacher " + i, "Teacher", "qc" + i + "@school.test" });
+			subjects.add(new Object[] { "Subject " + i, "qc" + i });
+			exams.add(new Object[] { "QC-E" + i, "Exam " + i });
+			grades.add(new Object[] { "QC-G" + i, i * 0.5, i * 0.5 + 0.49 });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (?, ?, ?, ?, 6)", students);
+		jdbcTemplate.batchUpdate("INSERT INTO teachers (teacher_id, full_name, position, email, created_at) "
+				+ "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)", teachers);
+		jdbcTemplate.update("INSERT INTO teacher_subjects (teacher_id, subject) "
+				+ "SELECT id, 'Mathematics' FROM teachers WHERE teacher_id LIKE 'QC-T%'");
+		jdbcTemplate.batchUpdate("INSERT INTO subjects (name, code, class_level, status) "
+				+ "VALUES (?, ?, 'CLASS_FIVE', 'MAIN')", subjects);
+		jdbcTemplate.batchUpdate("INSERT INTO exams (exam_id, exam_name, start_date, end_date) "
+				+ "VALUES (?, ?, DATE '2025-06-01', DATE '2025-06-10')", exams);
+		jdbcTemplate.batchUpdate("INSERT INTO grades (grade_id, grade_letter, grade_point, range_min, range_max) "
+				+ "VALUES (?, 'QC', 1.00, ?, ?)", grades);
+	}
+
+	@Test
+	void students() {
+		assertStatementsPerPage(studentRepository::findAllProjectedBy, studentRepository::findSliceProjectedBy, "name");
+	}
+
+	@Test
+	void teachers() {
+		assertStatementsPerPage(teacherRepository::findAllProjectedBy, teacherRepository::findSliceProjectedBy, "fullName");
+	}
+
+	@Test
+	void subjects() {
+		assertStatementsPerPage(subjectRepository::findAllProjectedBy, subjectRepository::findSliceProjectedBy, "code");
+	}
+
+	@Test
+	void exams() {
+		assertStatementsPerPage(examRepository::findAllProjectedBy, examRepository::findSliceProjectedBy, "startDate");
+	}
+
+	@Test
+	void grades() {
+		assertStatementsPerPage(gradeRepository::findAllProjectedBy, gradeRepository::findSliceProjectedBy, "rangeMin");
+	}
+
+	private void assertStatementsPerPage(Function<Pageable, ? extends Slice<?>> page,
+			Function<Pageable, ? extends Slice<?>> slice, String sortProperty) {
+		Sort sort = Sort.by(sortProperty, "id");
+		for (int pageNumber : new int[] { 0, 1, ROWS / PAGE_SIZE - 2 }) {
+			Pageable pageable = PageRequest.of(pageNumber, PAGE_SIZE, sort);
+
+			statistics.clear();
+			assertEquals(PAGE_SIZE, page.apply(pageable).getNumberOfElements());
+			assertEquals(2, statistics.getPrepareStatementCount(), "page " + pageNumber + " with count");
+
+			statistics.clear();
+			assertEquals(PAGE_SIZE, slice.apply(pageable).getNumberOfElements());
+			assertEquals(1, statistics.getPrepareStatementCount(), "slice " + pageNumber);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.rufan.fullstackbackend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Ids for mark sheets and subject rows that a test inserts in plain SQL.
+ *
+ * Hibernate takes these ids in blocks of 50 from the t_exam_marks_seq and
+ * t_exam_subject_marks_seq tables (V12), while plain inserts take the
+ * column's AUTO_INCREMENT. All tests share one embedded database, so a
+ * seed could get ids of a block Hibernate still holds. {@link #reserve}
+ * moves both sequence tables {@value #RESERVED} ids ahead and starts
+ * AUTO_INCREMENT at the old value, so the seed's rows lie between every
+ * block handed out before and after it.
+ */
+public final class MarksIdRange {
+
+	// More rows than any seed inserts into one table
+	private static final long RESERVED = 100_000;
+
+	private MarksIdRange() {
+	}
+
+	/**
+	 * Call before seeding. The ALTER TABLE commits in H2, so call it before
+	 * anything else in the test's transaction.
+	 */
+	public static void reserve(JdbcTemplate jdbcTemplate) {
+		for (String table : new String[] { "t_exam_marks", "t_exam_subject_marks" }) {
+			Long next = jdbcTemplate.queryForObject("SELECT next_val FROM " + table + "_seq", Long.class);
+			jdbcTemplate.update("UPDATE " + table + "_seq SET next_val = ?", next + RESERVED);
+			jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.rufan.fullstackbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rufan.fullstackbackend.config.ReportingProperties;
+import com.rufan.fullstackbackend.repository.MarksReportRepository.SheetTotals;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Scrolls a whole-school tabulation through {@link MarksReportRepository}
+ * and checks that the sheets come out grouped, in one statement, without
+ * a single entity being loaded into a persistence context.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class MarksReportRepositoryTest {
+
+	// Other tests may leave committed marks behind, so every query filters on this exam
+	private static final String EXAM = "Report Annual";
+	private static final String[] CLASSES = { "Three", "Four", "Five" };
+	private static final String[] SUBJECTS = { "bn", "en", "ma", "sc" };
+	private static final int SHEETS_PER_CLASS = 40;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private MarksReportRepository reportRepository;
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		ReportingProperties properties = new ReportingProperties();
+		properties.setFetchSize(50);
+		reportRepository = new MarksReportRepository(entityManagerFactory, dataSource, properties);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		MarksIdRange.reserve(jdbcTemplate);
+		List<Object[]> students = new ArrayList<>();
+		List<Object[]> marks = new ArrayList<>();
+		for (int c = 0; c < CLASSES.length; c++) {
+			for (int i = 1; i <= SHEETS_PER_CLASS; i++) {
+				long studentId = 8000 + c * 100 + i;
+				students.add(new Object[] { studentId, "R" + studentId, "Student " + studentId, CLASSES[c] });
+				marks.add(new Object[] { studentId, "Student " + studentId, CLASSES[c], i, EXAM });
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (?, ?, ?, ?, 6)", students);
+		jdbcTemplate.batchUpdate("INSERT INTO t_exam_marks (student_id, student_name, class_name, class_roll, "
+				+ "exam_name, exam_date, education_year, obtained_marks, total_marks) "
+				+ "VALUES (?, ?, ?, ?, ?, '2025-11-01 10:00:00', '2025', 300, 450)", marks);
+		for (String subject : SUBJECTS) {
+			jdbcTemplate.update("INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total) "
+					+ "SELECT id, ?, 15, 60, 75 FROM t_exam_marks WHERE exam_name = ?", subject, EXAM);
+		}
+		statistics.clear();
+	}
+
+	@Test
+	void scrollsWholeSchoolSheetBySheetWithoutEntities() {
+		Set<Long> sheetIds = new HashSet<>();
+		int sheets = reportRepository.forEachTabulationSheet(null, EXAM, "2025", cells -> {
+			assertEquals(SUBJECTS.length, cells.size());
+			Long marksId = cells.get(0).getMarksId();
+			assertTrue(cells.stream().allMatch(cell -> marksId.equals(cell.getMarksId())));
+			assertTrue(sheetIds.add(marksId), () -> "Sheet split across groups: " + marksId);
+		});
+
+		assertEquals(CLASSES.length * SHEETS_PER_CLASS, sheets);
+		assertEquals(sheets, sheetIds.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void filtersOneClass() {
+		int sheets = reportRepository.forEachTabulationSheet("Four", EXAM, "2025",
+				cells -> assertEquals("Four", cells.get(0).getStudentClass()));
+
+		assertEquals(SHEETS_PER_CLASS, sheets);
+	}
+
+	@Test
+	void readsSheetTotalsAndSubjects() {
+		SheetTotals sheet = reportRepository.findLatestSheet(8001L, EXAM).orElseThrow();
+
+		assertEquals("Three", sheet.className());
+		assertEquals(300.0, sheet.obtainedMarks());
+		assertEquals(SUBJECTS.length, reportRepository.findSubjectTotals(sheet.marksId()).size());
+		assertEquals(1, reportRepository.findStudentHistory(8001L).stream()
+				.filter(history -> EXAM.equals(history.examName())).count());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+}
@@ -0,0 +1,140 @@
+package com.rufan.fullstackbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs EXPLAIN on the SQL behind the hot {@link MarksRepository} finders
+ * against the Flyway-migrated embedded database and checks that each one
+ * is served by its t_exam_marks / t_exam_subject_marks index instead of a
+ * table scan.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class MarksRepositoryIndexTest {
+
+	private static final String[] CLASSES = { "One", "Two", "Three", "Four", "Five" };
+	private static final String[] EXAMS = { "Half Yearly", "Annual" };
+	private static final String[] YEARS = { "2024", "2025" };
+	private static final int STUDENTS_PER_CLASS = 40;
+	private static final String[] SUBJECTS = { "bn", "en", "ma", "sc", "bwp", "ism", "sss", "mus", "art", "phy" };
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seed() {
+		// ANALYZE commits in H2, so the data may survive from an earlier test
+		Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_exam_marks", Integer.class);
+		if (existing != null && existing > 0) {
+			return;
+		}
+		MarksIdRange.reserve(jdbcTemplate);
+		List<Object[]> students = new ArrayList<>();
+		List<Object[]> marks = new ArrayList<>();
+		long studentId = 1000;
+		for (String className : CLASSES) {
+			for (int roll = 1; roll <= STUDENTS_PER_CLASS; roll++) {
+				studentId++;
+				students.add(new Object[] { studentId, className + "-" + roll, "Student " + studentId, className });
+				for (String year : YEARS) {
+					for (String exam : EXAMS) {
+						marks.add(new Object[] { studentId, "Student " + studentId, className, roll, exam,
+								year + "-06-01 10:00:00", year });
+					}
+				}
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (?, ?, ?, ?, 6)", students);
+		jdbcTemplate.batchUpdate("INSERT INTO t_exam_marks (student_id, student_name, class_name, class_roll, "
+				+ "exam_name, exam_date, education_year) VALUES (?, ?, ?, ?, ?, ?, ?)", marks);
+		for (String subject : SUBJECTS) {
+			jdbcTemplate.update("INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total) "
+					+ "SELECT id, ?, 15, 45, 60 FROM t_exam_marks", subject);
+		}
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	// findTabulationCells
+	@Test
+	void tabulationCellsUseClassExamYearIndexAndSubjectKey() {
+		String sql = "SELECT m.id, s.name, sm.subject_code, sm.ca, sm.aa, sm.total FROM t_exam_marks m "
+				+ "JOIN students s ON s.student_id = m.student_id "
+				+ "LEFT JOIN t_exam_subject_marks sm ON sm.marks_id = m.id "
+				+ "WHERE m.class_name = 'Five' AND m.exam_name = 'Annual' AND m.education_year = '2025'";
+		assertUsesIndex("idx_marks_class_exam_year", sql);
+		// H2 reads the subjects through its own foreign key index, MySQL through the unique key prefix
+		assertUsesIndex("marks_id = m.id", sql);
+	}
+
+	// findByClassNameAndExamName (merit list)
+	@Test
+	void meritListUsesClassExamYearIndexPrefix() {
+		assertUsesIndex("idx_marks_class_exam_year",
+				"SELECT * FROM t_exam_marks m WHERE m.class_name = 'Five' AND m.exam_name = 'Annual'");
+	}
+
+	// findByStudentIdAndExamNameAndEducationYear (marks upsert)
+	@Test
+	void upsertLookupUsesUniqueKey() {
+		assertUsesIndex("uk_marks_student_exam_year",
+				"SELECT * FROM t_exam_marks m "
+						+ "WHERE m.student_id = 1001 AND m.exam_name = 'Annual' AND m.education_year = '2025'");
+	}
+
+	// findByExamNameAndStudentIdIn (class bulk upload)
+	@Test
+	void bulkPrefetchIsNotATableScan() {
+		assertNoTableScan(explain("SELECT * FROM t_exam_marks m "
+				+ "WHERE m.exam_name = 'Annual' AND m.student_id IN (1001, 1002, 1003)"));
+	}
+
+	// findAllByStudentIdOrderByExamDateAsc (result card history)
+	@Test
+	void studentHistoryIsNotATableScan() {
+		assertNoTableScan(explain("SELECT * FROM t_exam_marks m WHERE m.student_id = 1001 ORDER BY m.exam_date"));
+	}
+
+	// findListingPageDesc (marks listing, all years)
+	@Test
+	void listingPageUsesExamDateIndex() {
+		assertUsesIndex("idx_marks_exam_date", "SELECT * FROM t_exam_marks m "
+				+ "WHERE m.exam_date <= '2025-06-01 10:00:00' "
+				+ "AND (m.exam_date < '2025-06-01 10:00:00' OR m.id < 500) "
+				+ "ORDER BY m.exam_date DESC, m.id DESC LIMIT 51");
+	}
+
+	// findListingPageDesc (marks listing of one year)
+	@Test
+	void yearListingPageUsesYearExamDateIndex() {
+		assertUsesIndex("idx_marks_year_exam_date", "SELECT * FROM t_exam_marks m "
+				+ "WHERE m.education_year = '2025' ORDER BY m.exam_date DESC, m.id DESC LIMIT 51");
+	}
+
+	private void assertUsesIndex(String index, String sql) {
+		String plan = explain(sql);
+		assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+		assertNoTableScan(plan);
+	}
+
+	private void assertNoTableScan(String plan) {
+		assertFalse(plan.contains("t_exam_marks.tablescan"), () -> "Table scan on t_exam_marks:\n" + plan);
+		assertFalse(plan.contains("t_exam_subject_marks.tablescan"),
+				() -> "Table scan on t_exam_subject_marks:\n" + plan);
+	}
+
+	private String explain(String sql) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toLowerCase();
+	}
+}
@@ -0,0 +1,102 @@
+package com.rufan.fullstackbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rufan.fullstackbackend.dto.MarksListItem;
+
+/**
+ * Walks the keyset-paginated marks listing page by page and checks that the
+ * pages join up without gaps or repeats, including rows sharing an exam
+ * date, and that the filters apply.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class MarksRepositoryListingTest {
+
+	// Other tests may leave committed marks behind, so every query filters on this exam
+	private static final String EXAM = "Listing Annual";
+	private static final int PAGE = 7;
+
+	@Autowired
+	private MarksRepository marksRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seed() {
+		MarksIdRange.reserve(jdbcTemplate);
+		List<Object[]> students = new ArrayList<>();
+		List<Object[]> marks = new ArrayList<>();
+		for (int i = 1; i <= 30; i++) {
+			long studentId = 7000 + i;
+			String className = i % 2 == 0 ? "Five" : "Four";
+			students.add(new Object[] { studentId, "R" + i, "Student " + i, className });
+			// Three exam dates shared by ten sheets each
+			for (String year : new String[] { "2024", "2025" }) {
+				marks.add(new Object[] { studentId, "Student " + i, className, i, EXAM,
+						year + "-11-0" + (i % 3 + 1) + " 10:00:00", year });
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (?, ?, ?, ?, 6)", students);
+		jdbcTemplate.batchUpdate("INSERT INTO t_exam_marks (student_id, student_name, class_name, class_roll, "
+				+ "exam_name, exam_date, education_year) VALUES (?, ?, ?, ?, ?, ?, ?)", marks);
+	}
+
+	@Test
+	void descendingPagesJoinUp() {
+		List<MarksListItem> all = new ArrayList<>();
+		LocalDateTime afterDate = null;
+		Long afterId = null;
+		while (true) {
+			List<MarksListItem> page = marksRepository.findListingPageDesc(null, EXAM, null, null,
+					afterDate, afterId, Pageable.ofSize(PAGE));
+			all.addAll(page);
+			if (page.size() < PAGE) {
+				break;
+			}
+			MarksListItem last = page.get(page.size() - 1);
+			afterDate = last.getExamDate();
+			afterId = last.getId();
+		}
+
+		assertEquals(60, all.size());
+		assertEquals(60, all.stream().map(MarksListItem::getId).distinct().count());
+		for (int i = 1; i < all.size(); i++) {
+			MarksListItem previous = all.get(i - 1);
+			MarksListItem current = all.get(i);
+			int byDate = current.getExamDate().compareTo(previous.getExamDate());
+			assertTrue(byDate < 0 || (byDate == 0 && current.getId() < previous.getId()),
+					() -> "Out of order: " + previous + " then " + current);
+		}
+	}
+
+	@Test
+	void filtersByClassYearAndStudent() {
+		List<MarksListItem> fiveOf2025 = marksRepository.findListingPageAsc("Five", EXAM, "2025", null,
+				null, null, Pageable.ofSize(100));
+		assertEquals(15, fiveOf2025.size());
+		assertTrue(fiveOf2025.stream().allMatch(m -> "Five".equals(m.getClassName())
+				&& "2025".equals(m.getEducationYear())));
+
+		List<MarksListItem> student = marksRepository.findListingPageAsc(null, EXAM, null, 7001L,
+				null, null, Pageable.ofSize(100));
+		assertEquals(2, student.size());
+		assertEquals("2024", student.get(0).getEducationYear());
+		assertEquals("2025", student.get(1).getEducationYear());
+	}
+}
@@ -0,0 +1,84 @@
+package com.rufan.fullstackbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Migrates mark sheets saved under several spellings of a class or exam to
+ * V9 and checks that they end up under one canonical name with the aliases
+ * seeded, or that the migration stops when two sheets would collide.
+ */
+class NameAliasMigrationTest {
+
+	private static final String INSERT_MARKS = "INSERT INTO t_exam_marks (student_id, student_name, class_name, "
+			+ "class_roll, exam_name, exam_date, education_year, obtained_marks) "
+			+ "VALUES (?, 'Student', ?, 1, ?, '2025-11-01 10:00:00', '2025', 300)";
+
+	@Test
+	void spellingsAreRewrittenToCanonicalNames() {
+		JdbcTemplate jdbcTemplate = migratedTo8("name_alias_canonical");
+		jdbcTemplate.update("INSERT INTO name_aliases (alias_type, alias, canonical_name) VALUES ('CLASS', 'পঞ্চম', 'Five')");
+		jdbcTemplate.update(INSERT_MARKS, 1001L, "Five", "Annual");
+		jdbcTemplate.update(INSERT_MARKS, 1002L, " five", "annual ");
+		jdbcTemplate.update(INSERT_MARKS, 1003L, "পঞ্চম", "Annual");
+		jdbcTemplate.update(INSERT_MARKS, 1004L, "Five", "Annual");
+		jdbcTemplate.update(INSERT_MARKS, 1005L, "Class  Six", "Half Yearly");
+		jdbcTemplate.update(INSERT_MARKS, 1006L, "class six ", "half yearly");
+
+		migrate(jdbcTemplate, "9");
+
+		assertEquals(List.of("Five", "Five", "Five", "Five", "Class  Six", "Class  Six"), jdbcTemplate.queryForList(
+				"SELECT class_name FROM t_exam_marks ORDER BY student_id", String.class));
+		assertEquals(List.of("Annual", "Annual", "Annual", "Annual", "Half Yearly", "Half Yearly"),
+				jdbcTemplate.queryForList("SELECT exam_name FROM t_exam_marks ORDER BY student_id", String.class));
+		List<String> aliases = jdbcTemplate.queryForList(
+				"SELECT CONCAT(alias_type, ':', alias, '=', canonical_name) FROM name_aliases ORDER BY id", String.class);
+		assertEquals(List.of("CLASS:পঞ্চম=Five", "CLASS:Five=Five", "CLASS:Class  Six=Class  Six",
+				"EXAM:Annual=Annual", "EXAM:Half Yearly=Half Yearly"), aliases);
+	}
+
+	@Test
+	void collidingSheetsStopTheMigration() {
+		JdbcTemplate jdbcTemplate = migratedTo8("name_alias_conflict");
+		jdbcTemplate.update(INSERT_MARKS, 1001L, "Five", "Annual");
+		jdbcTemplate.update(INSERT_MARKS, 1001L, "Five", "annual");
+		jdbcTemplate.update(INSERT_MARKS, 1002L, "Five", "Annual");
+
+		FlywayException failure = assertThrows(FlywayException.class, () -> migrate(jdbcTemplate, "9"));
+
+		// Flyway reports "Migration failed"; the migration's own exception is the root cause
+		Throwable reason = failure;
+		while (reason.getCause() != null) {
+			reason = reason.getCause();
+		}
+		assertTrue(reason.getMessage().contains("student 1001, year 2025, exam 'Annual'"), reason.getMessage());
+		assertEquals(List.of("Annual", "annual", "Annual"), jdbcTemplate.queryForList(
+				"SELECT exam_name FROM t_exam_marks ORDER BY id", String.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM name_aliases", Integer.class));
+	}
+
+	private static JdbcTemplate migratedTo8(String database) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		migrate(jdbcTemplate, "8");
+		jdbcTemplate.update("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) VALUES "
+				+ "(1001, 'R1', 'Student', 'Five', 6), (1002, 'R2', 'Student', 'Five', 6), "
+				+ "(1003, 'R3', 'Student', 'Five', 6), (1004, 'R4', 'Student', 'Six', 6), "
+				+ "(1005, 'R5', 'Student', 'Six', 6), (1006, 'R6', 'Student', 'Six', 6)");
+		return jdbcTemplate;
+	}
+
+	private static void migrate(JdbcTemplate jdbcTemplate, String target) {
+		Flyway.configure().dataSource(jdbcTemplate.getDataSource()).target(target).load().migrate();
+	}
+}
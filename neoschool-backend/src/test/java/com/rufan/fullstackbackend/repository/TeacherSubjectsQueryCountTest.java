@@ -0,0 +1,105 @@
+package com.rufan.fullstackbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rufan.fullstackbackend.model.Teacher;
+import com.rufan.fullstackbackend.service.TeacherService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Serializes the teacher listing and lookups the way the REST controller
+ * does and counts the SQL statements: the subjects collection must come
+ * with the teachers, not with one query per teacher.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TeacherSubjectsQueryCountTest {
+
+	private static final int TEACHERS = 500;
+	private static final String[] SUBJECTS = { "Bangla", "English", "Mathematics" };
+
+	@Autowired
+	private TeacherRepository teacherRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private TeacherService teacherService;
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		teacherService = new TeacherService(teacherRepository);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		List<Object[]> teachers = new ArrayList<>();
+		for (int i = 1; i <= TEACHERS; i++) {
+			teachers.add(new Object[] { "NP-T" + i, "Teacher " + i, "Teacher", "np" + i + "@school.test", i % 3 == 0 ? "A" : "B" });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO teachers (teacher_id, full_name, position, email, section, created_at) "
+				+ "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", teachers);
+		for (String subject : SUBJECTS) {
+			jdbcTemplate.update("INSERT INTO teacher_subjects (teacher_id, subject) "
+					+ "SELECT id, ? FROM teachers WHERE teacher_id LIKE 'NP-T%'", subject);
+		}
+		entityManager.clear();
+		statistics.clear();
+	}
+
+	@Test
+	void listingLoadsSubjectsWithTheTeachers() throws Exception {
+		List<Teacher> teachers = teacherService.getAllTeachers();
+		JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(teachers));
+
+		long seeded = 0;
+		for (JsonNode teacher : json) {
+			if (teacher.path("teacherId").asText().startsWith("NP-T")) {
+				seeded++;
+				assertEquals(SUBJECTS.length, teacher.path("subjects").size());
+			}
+		}
+		assertEquals(TEACHERS, seeded);
+		assertTrue(statistics.getPrepareStatementCount() <= 2,
+				() -> statistics.getPrepareStatementCount() + " statements for " + TEACHERS + " teachers");
+	}
+
+	@Test
+	void lookupsLoadSubjectsInOneStatement() throws Exception {
+		Teacher teacher = teacherService.getTeacherByTeacherId("NP-T7").orElseThrow();
+		objectMapper.writeValueAsString(teacher);
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		entityManager.clear();
+		statistics.clear();
+		objectMapper.writeValueAsString(teacherService.getTeacherById(teacher.getId()).orElseThrow());
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		entityManager.clear();
+		statistics.clear();
+		List<Teacher> sectionA = teacherService.getTeachersBySection("A");
+		objectMapper.writeValueAsString(sectionA);
+		assertEquals(TEACHERS / 3, sectionA.stream().filter(t -> t.getTeacherId().startsWith("NP-T")).count());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+}
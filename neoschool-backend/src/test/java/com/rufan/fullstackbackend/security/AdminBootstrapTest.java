@@ -0,0 +1,67 @@
+package com.rufan.fullstackbackend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import com.rufan.fullstackbackend.config.UserStoreProperties;
+import com.rufan.fullstackbackend.model.User;
+import com.rufan.fullstackbackend.repository.UserRepository;
+
+class AdminBootstrapTest {
+
+	private UserRepository userRepository;
+	private UserStoreProperties properties;
+	private AdminBootstrap bootstrap;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		when(userRepository.findByUsername("root@example.com")).thenReturn(Optional.empty());
+		properties = new UserStoreProperties();
+		properties.setAdminUsername("root@example.com");
+		properties.setAdminPassword("s3cret-from-env");
+		bootstrap = new AdminBootstrap(userRepository, NoOpPasswordEncoder.getInstance(), properties);
+	}
+
+	@Test
+	void createsTheConfiguredAdminWhenThereIsNone() {
+		bootstrap.run(null);
+
+		ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+		verify(userRepository).save(saved.capture());
+		assertEquals("root@example.com", saved.getValue().getUsername());
+		assertEquals("s3cret-from-env", saved.getValue().getPassword());
+		assertEquals("ADMIN", saved.getValue().getRole());
+		assertTrue(saved.getValue().isEnabled());
+	}
+
+	@Test
+	void createsNothingWhenAnAdminExists() {
+		when(userRepository.existsByRoleAndEnabledTrue("ADMIN")).thenReturn(true);
+
+		bootstrap.run(null);
+
+		verify(userRepository, never()).save(any());
+	}
+
+	@Test
+	void createsNothingWithoutConfiguredCredentials() {
+		properties.setAdminPassword("");
+
+		bootstrap.run(null);
+
+		verify(userRepository, never()).save(any());
+	}
+}
@@ -0,0 +1,66 @@
+package com.rufan.fullstackbackend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.rufan.fullstackbackend.config.UserStoreProperties;
+import com.rufan.fullstackbackend.model.User;
+import com.rufan.fullstackbackend.repository.UserRepository;
+
+class DatabaseUserDetailsServiceTest {
+
+	private UserRepository userRepository;
+	private DatabaseUserDetailsService service;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		User teacher = new User();
+		teacher.setUsername("teacher");
+		teacher.setPassword("{noop}teacher123");
+		teacher.setRole("TEACHER");
+		when(userRepository.findByUsername("teacher")).thenReturn(Optional.of(teacher));
+		when(userRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+		service = new DatabaseUserDetailsService(userRepository, new UserStoreProperties());
+	}
+
+	@Test
+	void repeatedLookupsAreServedFromCache() {
+		UserDetails first = service.loadUserByUsername("teacher");
+		// The authentication manager erases the password of the user it authenticated
+		((CredentialsContainer) first).eraseCredentials();
+		UserDetails second = service.loadUserByUsername("teacher");
+
+		assertEquals("{noop}teacher123", second.getPassword());
+		assertEquals("ROLE_TEACHER", second.getAuthorities().iterator().next().getAuthority());
+		verify(userRepository, times(1)).findByUsername("teacher");
+		assertEquals(1, service.cacheStats().hits());
+		assertEquals(1, service.cacheStats().misses());
+	}
+
+	@Test
+	void evictedUserIsReadAgain() {
+		service.loadUserByUsername("teacher");
+		service.evict("teacher");
+		service.loadUserByUsername("teacher");
+
+		verify(userRepository, times(2)).findByUsername("teacher");
+	}
+
+	@Test
+	void unknownUserIsNotFound() {
+		assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nobody"));
+	}
+}
@@ -0,0 +1,97 @@
+package com.rufan.fullstackbackend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rufan.fullstackbackend.config.JwtProperties;
+
+/**
+ * Revocations written by one node through the Flyway-migrated
+ * t_token_revocation table reach the blacklist of another node on its
+ * next sync, and so do revocations of all tokens of a user.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JdbcRevocationStore.class)
+class JdbcRevocationStoreTest {
+
+	@Autowired
+	private JdbcRevocationStore store;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Web tests on the same database commit revocations; the delete is rolled back with each test
+	@BeforeEach
+	void clearRevocations() {
+		jdbcTemplate.update("DELETE FROM t_token_revocation");
+	}
+
+	@Test
+	void revocationReachesOtherNodeOnSync() {
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret("revocationTestSecretKeyForHS512Algorithm1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZabcdef");
+		JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(properties);
+		TokenBlacklist nodeA = new TokenBlacklist(jwtTokenUtil, store, properties);
+		TokenBlacklist nodeB = new TokenBlacklist(jwtTokenUtil, store, properties);
+
+		long expiresAt = System.currentTimeMillis() + 60_000;
+		nodeA.revoke("jti:a", expiresAt);
+		store.save("jti:a", expiresAt);
+		assertFalse(nodeB.isRevoked("jti:a"));
+
+		nodeB.syncRevocations();
+		assertTrue(nodeB.isRevoked("jti:a"));
+		assertFalse(nodeB.isRevoked("jti:b"));
+	}
+
+	@Test
+	void expiredRevocationsAreNotSyncedAndGetDeleted() {
+		long now = System.currentTimeMillis();
+		store.save("jti:live", now + 60_000);
+		store.save("jti:expired", now - 1);
+		store.save("jti:live", now + 60_000); // repeated logout
+
+		List<RevocationStore.Revocation> live = store.findAfter(0, now, 10);
+		assertEquals(1, live.size());
+		assertEquals("jti:live", live.get(0).key());
+
+		assertEquals(1, store.deleteExpired(now));
+		assertEquals(1, store.findAfter(0, now, 10).size());
+	}
+
+	@Test
+	void userRevocationRevokesEarlierTokensOnEveryNode() {
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret("revocationTestSecretKeyForHS512Algorithm1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZabcdef");
+		JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(properties);
+		VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(jwtTokenUtil, properties);
+		TokenBlacklist nodeA = new TokenBlacklist(jwtTokenUtil, store, properties);
+		TokenBlacklist nodeB = new TokenBlacklist(jwtTokenUtil, store, properties);
+		String demoted = jwtTokenUtil.generateToken(User.withUsername("revoked.teacher@example.com")
+				.password("").roles("ADMIN").build());
+		String refresh = jwtTokenUtil.generateRefreshToken(User.withUsername("revoked.teacher@example.com")
+				.password("").roles("ADMIN").build());
+		String other = jwtTokenUtil.generateToken(User.withUsername("other.teacher").password("").roles("TEACHER").build());
+
+		nodeA.revokeUser("revoked.teacher@example.com");
+		assertTrue(nodeA.isRevoked(verifiedTokens.verify(demoted)));
+		assertFalse(nodeB.isRevoked(verifiedTokens.verify(demoted)));
+
+		nodeB.syncRevocations();
+		assertTrue(nodeB.isRevoked(verifiedTokens.verify(demoted)));
+		assertTrue(nodeB.isBlacklisted(refresh));
+		assertFalse(nodeB.isRevoked(verifiedTokens.verify(other)));
+	}
+}
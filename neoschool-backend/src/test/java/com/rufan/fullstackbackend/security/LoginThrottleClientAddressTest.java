@@ -0,0 +1,56 @@
+package com.rufan.fullstackbackend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Logins arriving through a proxy (here: loopback, with X-Forwarded-For)
+ * are throttled per client address, so one client running out of
+ * attempts does not lock out the others behind the same proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"auth.login.ip-burst=3",
+		"auth.login.ip-refill-period=1h",
+		"auth.login.username-burst=1000"
+})
+@ActiveProfiles("test")
+class LoginThrottleClientAddressTest {
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void clientsBehindTheProxyHaveTheirOwnBuckets() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			assertNotEquals(429, login("203.0.113.10", "wrong-password").statusCode());
+		}
+		assertEquals(429, login("203.0.113.10", "wrong-password").statusCode());
+
+		assertEquals(200, login("203.0.113.20", "teacher123").statusCode());
+	}
+
+	private HttpResponse<String> login(String clientAddress, String password) throws Exception {
+		String body = objectMapper.createObjectNode().put("username", "teacher").put("password", password).toString();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.header("X-Forwarded-For", clientAddress)
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+}
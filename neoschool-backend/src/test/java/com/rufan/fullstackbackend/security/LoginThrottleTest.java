@@ -0,0 +1,124 @@
+package com.rufan.fullstackbackend.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rufan.fullstackbackend.config.LoginThrottleProperties;
+import com.rufan.fullstackbackend.exception.LoginThrottledException;
+
+/**
+ * Per-username and per-IP buckets on a test clock, and the bounded password
+ * check pool: an empty bucket or a full queue is a LoginThrottledException
+ * (HTTP 429) without waiting. The latency of other endpoints during a login
+ * storm is measured by LoginStormBenchmark in neoschool-benchmarks.
+ */
+class LoginThrottleTest {
+
+	private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+	private LoginThrottleProperties properties;
+	private LoginThrottle throttle;
+
+	@BeforeEach
+	void setUp() {
+		properties = new LoginThrottleProperties();
+		properties.setUsernameBurst(2);
+		properties.setUsernameRefillPeriod(Duration.ofSeconds(10));
+		properties.setIpBurst(3);
+		properties.setIpRefillPeriod(Duration.ofMinutes(1));
+		properties.setHashThreads(1);
+		properties.setHashQueueCapacity(1);
+		properties.setHashTimeout(Duration.ofSeconds(30));
+		throttle = new LoginThrottle(properties, clock::get);
+	}
+
+	@AfterEach
+	void tearDown() {
+		throttle.shutdown();
+	}
+
+	@Test
+	void emptyUsernameBucketIsRefusedUntilItRefills() {
+		throttle.acquire("teacher", "203.0.113.1");
+		throttle.acquire(" Teacher ", "203.0.113.2"); // same bucket: trimmed, case-insensitive
+
+		LoginThrottledException refused = assertThrows(LoginThrottledException.class,
+				() -> throttle.acquire("teacher", "203.0.113.3"));
+		assertEquals(10, refused.getRetryAfterSeconds());
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertDoesNotThrow(() -> throttle.acquire("teacher", "203.0.113.3"));
+	}
+
+	@Test
+	void emptyIpBucketIsRefusedWhateverTheUsername() {
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("user" + i, "203.0.113.9");
+		}
+
+		LoginThrottledException refused = assertThrows(LoginThrottledException.class,
+				() -> throttle.acquire("someone-else", "203.0.113.9"));
+		assertEquals(60, refused.getRetryAfterSeconds());
+		assertDoesNotThrow(() -> throttle.acquire("someone-else", "198.51.100.1"));
+	}
+
+	@Test
+	void fullHashingQueueIsRefusedWithoutWaiting() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread hashing = new Thread(() -> check(() -> {
+			running.countDown();
+			return release.await(30, TimeUnit.SECONDS);
+		}));
+		Thread queued = new Thread(() -> check(() -> true));
+		hashing.start();
+		running.await(30, TimeUnit.SECONDS);
+		queued.start();
+		awaitWaiting(queued); // submitted, waiting for its result
+
+		assertThrows(LoginThrottledException.class, () -> throttle.check(() -> true));
+
+		release.countDown();
+		hashing.join(30_000);
+		queued.join(30_000);
+		assertEquals(true, throttle.check(() -> true));
+	}
+
+	@Test
+	void refilledBucketsAreEvicted() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 100, 4);
+		limiter.tryAcquire("a", 0);
+		limiter.tryAcquire("b", 0);
+		limiter.tryAcquire("b", 0);
+
+		assertEquals(1, limiter.evictFull(100)); // "a" is full again, "b" is not
+		assertEquals(1, limiter.size());
+		assertEquals(0, limiter.tryAcquire("b", 100));
+		assertEquals(100, limiter.tryAcquire("b", 100));
+	}
+
+	private void check(Callable<Boolean> passwordCheck) {
+		try {
+			throttle.check(passwordCheck);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void awaitWaiting(Thread thread) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rufan.fullstackbackend.model.Grade;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+
+class GradeScaleTest {
+
+	private GradeRepository gradeRepository;
+	private GradeScale gradeScale;
+
+	@BeforeEach
+	void setUp() {
+		gradeRepository = mock(GradeRepository.class);
+		gradeScale = new GradeScale(gradeRepository);
+	}
+
+	@Test
+	void bandBoundariesBelongToTheHigherBand() {
+		when(gradeRepository.findAllByOrderByRangeMinAsc()).thenReturn(List.of(
+				grade("F", 0.00, 0, 32.99), grade("D", 1.00, 33, 39.99), grade("A", 4.00, 70, 79.99),
+				grade("A+", 5.00, 80, 100)));
+
+		assertEquals("A", gradeScale.letterGrade(79.99));
+		assertEquals("A+", gradeScale.letterGrade(80));
+		assertEquals("A+", gradeScale.letterGrade(100));
+		assertEquals("F", gradeScale.letterGrade(0));
+		assertEquals("D", gradeScale.letterGrade(33));
+		assertEquals(4.0, gradeScale.gradePoint(79.99));
+		assertEquals(5.0, gradeScale.gradePoint(80));
+		assertEquals("A+ remarks", gradeScale.remarks(80));
+	}
+
+	@Test
+	void percentagesInAGapOrOutOfRangeHaveNoGrade() {
+		when(gradeRepository.findAllByOrderByRangeMinAsc()).thenReturn(List.of(
+				grade("F", 0.00, 0, 32.99), grade("A", 4.00, 70, 100)));
+
+		for (double percentage : new double[] { 50, 69.99, -0.01, 100.01 }) {
+			assertEquals("", gradeScale.letterGrade(percentage), () -> "letter of " + percentage);
+			assertEquals("", gradeScale.remarks(percentage));
+			assertEquals(0.0, gradeScale.gradePoint(percentage));
+			assertEquals(0.0, gradeScale.interpolatedGradePoint(percentage));
+		}
+		assertEquals("F", gradeScale.letterGrade(32.99));
+		assertEquals("A", gradeScale.letterGrade(70));
+	}
+
+	@Test
+	void interpolatedGradePointMovesTowardsTheNextBand() {
+		when(gradeRepository.findAllByOrderByRangeMinAsc()).thenReturn(List.of(
+				grade("A-", 3.50, 60, 70), grade("A", 4.00, 70, 80), grade("A+", 5.00, 80, 100)));
+
+		assertEquals(3.5, gradeScale.interpolatedGradePoint(60));
+		assertEquals(3.75, gradeScale.interpolatedGradePoint(65));
+		assertEquals(4.5, gradeScale.interpolatedGradePoint(75));
+		assertEquals(4.93, gradeScale.interpolatedGradePoint(79.3));
+		// The top band has no next band: its own grade point throughout
+		assertEquals(5.0, gradeScale.interpolatedGradePoint(80));
+		assertEquals(5.0, gradeScale.interpolatedGradePoint(100));
+	}
+
+	@Test
+	void emptyTableUsesTheDefaultScale() {
+		when(gradeRepository.findAllByOrderByRangeMinAsc()).thenReturn(List.of());
+
+		assertEquals("F", gradeScale.letterGrade(32.5));
+		assertEquals("D", gradeScale.letterGrade(33));
+		assertEquals("A-", gradeScale.letterGrade(65));
+		assertEquals("A", gradeScale.letterGrade(79.99));
+		assertEquals("A+", gradeScale.letterGrade(80));
+		assertEquals(5.0, gradeScale.gradePoint(100));
+		assertEquals("", gradeScale.letterGrade(100.5));
+		assertEquals(4.5, gradeScale.interpolatedGradePoint(75));
+	}
+
+	@Test
+	void scaleIsLoadedOnceAndReloadedOnEveryGradeWrite() {
+		Grade a = grade("A", 4.00, 70, 100);
+		Grade aPlus = grade("A+", 5.00, 70, 100);
+		when(gradeRepository.findAllByOrderByRangeMinAsc()).thenReturn(List.of(a), List.of(aPlus), List.of(a), List.of());
+		GradeService gradeService = new GradeService(gradeRepository, gradeScale, mock(ResultPdfCache.class));
+
+		assertEquals("A", gradeScale.letterGrade(75));
+		assertEquals("A", gradeScale.letterGrade(90));
+		verify(gradeRepository, times(1)).findAllByOrderByRangeMinAsc();
+
+		gradeService.saveGrade(aPlus);
+		assertEquals("A+", gradeScale.letterGrade(75));
+		gradeService.updateGrade(1L, a);
+		assertEquals("A", gradeScale.letterGrade(75));
+		gradeService.deleteGrade(1L);
+		assertEquals("A-", gradeScale.letterGrade(65)); // table empty: default scale
+		verify(gradeRepository, times(4)).findAllByOrderByRangeMinAsc();
+	}
+
+	private static Grade grade(String letter, double gradePoint, double rangeMin, double rangeMax) {
+		return Grade.builder()
+				.gradeId(letter)
+				.gradeLetter(letter)
+				.gradePoint(BigDecimal.valueOf(gradePoint))
+				.rangeMin(rangeMin)
+				.rangeMax(rangeMax)
+				.remarks(letter + " remarks")
+				.build();
+	}
+}
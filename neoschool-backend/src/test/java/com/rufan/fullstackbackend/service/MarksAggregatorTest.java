@@ -0,0 +1,70 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+
+/**
+ * Checks {@link MarksAggregator} on the default grade scale.
+ */
+class MarksAggregatorTest {
+
+	private MarksAggregator aggregator;
+
+	@BeforeEach
+	void setUp() {
+		aggregator = new MarksAggregator(new GradeScale(mock(GradeRepository.class)));
+	}
+
+	@Test
+	void countsBestMainAndOptionalSubjects() {
+		Marks marks = new Marks();
+		marks.putSubject("bn", 20.0, 60.0, null);
+		marks.putSubject("en", 15.0, 55.0, null);
+		marks.putSubject("ma", 20.0, 70.0, null);
+		marks.putSubject("sc", 10.0, 40.0, null);
+		marks.putSubject("mus", 10.0, 30.0, null);
+		marks.putSubject("art", 5.0, 20.0, null);
+		marks.putSubject("fa", 8.0, 35.0, null);
+		marks.putSubject("phy", 9.0, 36.0, null);
+
+		MarksAggregator.Summary summary = aggregator.aggregate(marks, 3);
+
+		// Best three main subjects: 90 + 80 + 70, best three optional: 45 + 43 + 40
+		assertEquals(3, summary.mainSubjectsCounted());
+		assertEquals(240.0, marks.getMainSubjectObtained());
+		assertEquals(300.0, marks.getMainSubjectTotal());
+		assertEquals(368.0, marks.getObtainedMarks());
+		assertEquals(450.0, marks.getTotalMarks());
+		assertEquals(new BigDecimal("81.78"), marks.getMarksPercentage());
+		assertEquals(new BigDecimal("80.00"), marks.getAverageMarks());
+		assertEquals("A+", marks.getGradeLetter());
+		assertEquals(50.0, marks.getSubjects().get("sc").getTotal());
+	}
+
+	@Test
+	void missingSubjectsCountAsZero() {
+		Marks marks = new Marks();
+		marks.putSubject("bn", 0.0, 0.0, null);
+		marks.putSubject("en", 20.0, 40.0, null);
+		marks.putSubject("mus", 10.0, 20.0, null);
+
+		aggregator.aggregate(marks, 6);
+
+		assertNull(marks.getSubjects().get("bn").getTotal());
+		assertEquals(60.0, marks.getMainSubjectObtained());
+		assertEquals(90.0, marks.getObtainedMarks());
+		assertEquals(750.0, marks.getTotalMarks());
+		assertEquals(new BigDecimal("12.00"), marks.getMarksPercentage());
+		assertEquals(new BigDecimal("10.00"), marks.getAverageMarks());
+		assertEquals("F", marks.getGradeLetter());
+	}
+}
@@ -0,0 +1,138 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rufan.fullstackbackend.config.MeritRankingProperties;
+import com.rufan.fullstackbackend.config.PdfCacheProperties;
+import com.rufan.fullstackbackend.dto.BulkMarksResult;
+import com.rufan.fullstackbackend.dto.ExamMarksRequest;
+import com.rufan.fullstackbackend.dto.SubjectMarksDto;
+import com.rufan.fullstackbackend.model.Student;
+import com.rufan.fullstackbackend.repository.StudentRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * A bulk upload of {@link MarksService#saveExamMarksBatch} writes its mark
+ * sheets and subject rows in JDBC batches (hibernate.jdbc.batch_size), on a
+ * first upload (inserts) and on a re-upload of the same class (updates):
+ * far fewer statements are prepared than rows are written.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+		"logging.level.com.rufan.fullstackbackend=WARN"
+})
+@Import({ MarksService.class, GradeScale.class, ResultPdfCache.class, NameAliasResolver.class,
+		PdfCacheProperties.class, MeritRanking.class, MeritRankingProperties.class, SubjectCodeResolver.class })
+@ActiveProfiles("test")
+class MarksBulkIngestBatchingTest {
+
+	private static final int STUDENTS = 1000;
+	private static final int SUBJECTS = 10;
+
+	@Autowired
+	private MarksService marksService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private List<Student> students;
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		students = new ArrayList<>();
+		for (int i = 1; i <= STUDENTS; i++) {
+			students.add(Student.builder()
+					.studentId(100000L + i)
+					.rollNo("BULK-" + i)
+					.name("Student " + i)
+					.studentClass("Fifth")
+					.mainSubject(6)
+					.build());
+		}
+		studentRepository.saveAll(students);
+		entityManager.flush();
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void uploadOfAThousandStudentsInsertsInBatches() {
+		statistics.clear();
+		assertAll(marksService.saveExamMarksBatch(requests(students, "Bulk Annual")), BulkMarksResult.CREATED);
+		entityManager.flush();
+
+		assertEquals(STUDENTS * (1 + SUBJECTS), statistics.getEntityInsertCount());
+		assertBatched(statistics.getEntityInsertCount());
+	}
+
+	@Test
+	void reUploadOfAThousandStudentsUpdatesInBatches() {
+		marksService.saveExamMarksBatch(requests(students, "Bulk Annual"));
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+
+		List<ExamMarksRequest> corrected = requests(students, "Bulk Annual");
+		corrected.forEach(request -> request.getSubjects().forEach(subject -> subject.setCaMarks(subject.getCaMarks() + 1)));
+		assertAll(marksService.saveExamMarksBatch(corrected), BulkMarksResult.UPDATED);
+		entityManager.flush();
+
+		assertEquals(STUDENTS * (1 + SUBJECTS), statistics.getEntityUpdateCount());
+		assertBatched(statistics.getEntityUpdateCount());
+	}
+
+	// One statement per row would prepare at least as many statements as rows were written
+	private void assertBatched(long rowsWritten) {
+		long statements = statistics.getPrepareStatementCount();
+		assertTrue(statements * 10 < rowsWritten,
+				() -> statements + " statements prepared for " + rowsWritten + " rows");
+	}
+
+	private static List<ExamMarksRequest> requests(List<Student> students, String examName) {
+		List<ExamMarksRequest> requests = new ArrayList<>(students.size());
+		String[] codes = { "bn", "en", "ma", "sc", "bwp", "ism", "sss", "mus", "art", "phy" };
+		for (Student student : students) {
+			List<SubjectMarksDto> subjects = new ArrayList<>();
+			for (int c = 0; c < codes.length; c++) {
+				SubjectMarksDto subject = new SubjectMarksDto();
+				subject.setSubjectCode(codes[c]);
+				subject.setCaMarks((double) (10 + (student.getStudentId() + c) % 20));
+				subject.setAaMarks((double) (20 + (student.getStudentId() * 7 + c) % 50));
+				subjects.add(subject);
+			}
+			ExamMarksRequest request = new ExamMarksRequest();
+			request.setStudentId(student.getStudentId());
+			request.setClassName(student.getStudentClass());
+			request.setClassRoll(Integer.parseInt(student.getRollNo().substring(5)));
+			request.setExamName(examName);
+			request.setSubjects(subjects);
+			requests.add(request);
+		}
+		return requests;
+	}
+
+	private static void assertAll(List<BulkMarksResult> results, String status) {
+		assertEquals(STUDENTS, results.size());
+		results.forEach(r -> assertEquals(status, r.getStatus()));
+	}
+}
@@ -0,0 +1,121 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import com.rufan.fullstackbackend.filter.RequestLoggingFilter;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.Student;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+import com.rufan.fullstackbackend.repository.StudentRepository;
+import com.rufan.fullstackbackend.repository.SubjectCodeAliasRepository;
+import com.rufan.fullstackbackend.repository.SubjectRepository;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.read.ListAppender;
+
+/**
+ * Saving marks logs nothing above DEBUG per sheet, and the prod logging
+ * configuration (application-prod.properties and logback-spring.xml) keeps
+ * the application's DEBUG lines off unless the request was sampled, writing
+ * through the asynchronous appender only.
+ */
+class MarksSaveLoggingTest {
+
+	// Just the logging system: no beans, no database
+	@Configuration(proxyBeanMethods = false)
+	static class LoggingOnly {
+	}
+
+	private final Logger marksServiceLogger = (Logger) LoggerFactory.getLogger(MarksService.class);
+
+	@AfterEach
+	void restoreTestLogging() {
+		MDC.clear();
+		start("test").close();
+	}
+
+	@Test
+	void prodProfileLogsApplicationDebugOnlyForSampledRequests() {
+		try (ConfigurableApplicationContext context = start("prod")) {
+			assertFalse(marksServiceLogger.isDebugEnabled());
+			MDC.put(RequestLoggingFilter.DEBUG_SAMPLED, "true");
+			assertTrue(marksServiceLogger.isDebugEnabled());
+			MDC.remove(RequestLoggingFilter.DEBUG_SAMPLED);
+
+			Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+			List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+			root.iteratorForAppenders().forEachRemaining(appenders::add);
+			assertEquals(1, appenders.size());
+			assertInstanceOf(AsyncAppender.class, appenders.get(0));
+			assertFalse(((Logger) LoggerFactory.getLogger("com.rufan.fullstackbackend")).iteratorForAppenders().hasNext());
+			assertFalse(((Logger) LoggerFactory.getLogger("org.hibernate.SQL")).isInfoEnabled());
+		}
+	}
+
+	@Test
+	void savingMarksLogsOnlyAtDebug() {
+		MarksRepository marksRepository = mock(MarksRepository.class);
+		when(marksRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		GradeRepository gradeRepository = mock(GradeRepository.class);
+		MarksService marksService = new MarksService(marksRepository, new GradeScale(gradeRepository),
+				mock(StudentRepository.class), mock(ResultPdfCache.class), mock(MeritRanking.class),
+				new SubjectCodeResolver(mock(SubjectCodeAliasRepository.class), mock(SubjectRepository.class)),
+				new NameAliasResolver(mock(NameAliasRepository.class)));
+		Student student = Student.builder().studentId(42L).name("Student 42").mainSubject(6).build();
+		Marks marks = new Marks();
+		marks.setStudentId(42L);
+		marks.setClassName("Fifth");
+		marks.setExamName("Annual");
+
+		ListAppender<ILoggingEvent> events = new ListAppender<>();
+		events.start();
+		Level level = marksServiceLogger.getLevel();
+		marksServiceLogger.setLevel(Level.DEBUG);
+		marksServiceLogger.addAppender(events);
+		try {
+			marksService.saveExamMarks(marks, student);
+		} finally {
+			marksServiceLogger.detachAppender(events);
+			marksServiceLogger.setLevel(level);
+		}
+
+		assertFalse(events.list.isEmpty());
+		events.list.forEach(event -> assertEquals(Level.DEBUG, event.getLevel(), event::getFormattedMessage));
+	}
+
+	private static ConfigurableApplicationContext start(String profile) {
+		// Contexts cached by other tests leave Logback marked as configured; reload it for this profile
+		LoggingSystem.get(MarksSaveLoggingTest.class.getClassLoader()).cleanUp();
+		return new SpringApplicationBuilder(LoggingOnly.class)
+				.web(WebApplicationType.NONE)
+				.profiles(profile)
+				.properties("spring.main.banner-mode=off")
+				.run();
+	}
+}
@@ -0,0 +1,192 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rufan.fullstackbackend.config.MeritRankingProperties;
+import com.rufan.fullstackbackend.model.ExamSubjectMarks;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.Student;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository.TabulationCell;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+
+class MeritRankingTest {
+
+	private static final String EXAM = "Annual";
+	private static final String YEAR = "2025";
+
+	private MarksRepository marksRepository;
+	private MeritRanking ranking;
+	private long now = 1_000_000L;
+	// Version of each class's marks as findCohortVersion reports it
+	private final Map<String, Object[]> versions = new HashMap<>();
+
+	@BeforeEach
+	void setUp() {
+		marksRepository = mock(MarksRepository.class);
+		when(marksRepository.findCohortVersion(any(), eq(EXAM), eq(YEAR)))
+				.thenAnswer(inv -> List.<Object[]>of(versions.getOrDefault(inv.getArgument(0, String.class),
+						new Object[] { null, 0L })));
+		List<TabulationCell> six = List.of(cell(1L, 11L, "1", 80.0), cell(2L, 12L, "2", 90.0));
+		List<TabulationCell> seven = List.of(cell(3L, 13L, "1", 70.0));
+		when(marksRepository.findTabulationCells(eq("Six"), eq(EXAM), eq(YEAR))).thenReturn(six);
+		when(marksRepository.findTabulationCells(eq("Seven"), eq(EXAM), eq(YEAR))).thenReturn(seven);
+		when(marksRepository.findTabulationCells(eq("Eight"), eq(EXAM), eq(YEAR)))
+				.thenReturn(List.of());
+		NameAliasRepository aliasRepository = mock(NameAliasRepository.class);
+		when(aliasRepository.findAll()).thenReturn(List.of());
+
+		MeritRankingProperties properties = new MeritRankingProperties();
+		properties.setMaxCohorts(2);
+		properties.setRevalidateAfter(Duration.ofMinutes(1));
+		ranking = new MeritRanking(marksRepository, new NameAliasResolver(aliasRepository), properties, () -> now);
+		stamp("Six", 2);
+		stamp("Seven", 1);
+	}
+
+	@Test
+	void readsBetweenChecksDoNotQueryTheDatabase() {
+		assertEquals(12L, ranking.top("Six", EXAM, YEAR, 1).get(0).standing().studentId());
+		now += 59_000;
+		assertEquals(2, ranking.position("Six", EXAM, YEAR, 11L).orElseThrow().position());
+		ranking.top("Six", EXAM, YEAR, 2);
+
+		verify(marksRepository, times(1)).findCohortVersion("Six", EXAM, YEAR);
+		verify(marksRepository, times(1)).findTabulationCells("Six", EXAM, YEAR);
+	}
+
+	@Test
+	void unchangedCohortIsKeptAfterACheck() {
+		ranking.top("Six", EXAM, YEAR, 1);
+		now += 61_000;
+
+		assertEquals(2, ranking.position("Six", EXAM, YEAR, 11L).orElseThrow().position());
+
+		verify(marksRepository, times(2)).findCohortVersion("Six", EXAM, YEAR);
+		verify(marksRepository, times(1)).findTabulationCells("Six", EXAM, YEAR);
+	}
+
+	@Test
+	void marksChangedElsewhereReloadTheCohortAtTheNextCheck() {
+		ranking.top("Six", EXAM, YEAR, 1);
+		stamp("Six", 3); // written without going through MarksService
+
+		ranking.top("Six", EXAM, YEAR, 1);
+		verify(marksRepository, times(1)).findTabulationCells("Six", EXAM, YEAR);
+
+		now += 61_000;
+		ranking.top("Six", EXAM, YEAR, 1);
+		verify(marksRepository, times(2)).findTabulationCells("Six", EXAM, YEAR);
+	}
+
+	@Test
+	void writtenThroughCohortIsNotReloadedAtTheNextCheck() {
+		ranking.top("Six", EXAM, YEAR, 10);
+
+		stamp("Six", 3);
+		ranking.update(marks(4L, "Six", 85.0), student(14L, "3"));
+		now += 61_000;
+
+		assertEquals(List.of(12L, 14L, 11L), ranking.top("Six", EXAM, YEAR, 10).stream()
+				.map(r -> r.standing().studentId()).toList());
+		verify(marksRepository, times(1)).findTabulationCells("Six", EXAM, YEAR);
+
+		// Checked again later with the version it adopted
+		now += 61_000;
+		ranking.top("Six", EXAM, YEAR, 10);
+		verify(marksRepository, times(1)).findTabulationCells("Six", EXAM, YEAR);
+	}
+
+	@Test
+	void removedSheetLeavesTheCohortWithoutAQuery() {
+		ranking.top("Six", EXAM, YEAR, 10);
+
+		ranking.remove(marks(2L, "Six", 90.0));
+
+		assertEquals(List.of(11L), ranking.top("Six", EXAM, YEAR, 10).stream()
+				.map(r -> r.standing().studentId()).toList());
+		verify(marksRepository, times(1)).findCohortVersion("Six", EXAM, YEAR);
+	}
+
+	@Test
+	void leastRecentlyUsedCohortIsDropped() {
+		ranking.top("Six", EXAM, YEAR, 1);
+		ranking.top("Seven", EXAM, YEAR, 1);
+		ranking.top("Eight", EXAM, YEAR, 1);
+
+		ranking.top("Seven", EXAM, YEAR, 1);
+		ranking.top("Six", EXAM, YEAR, 1);
+
+		verify(marksRepository, times(1)).findTabulationCells("Seven", EXAM, YEAR);
+		verify(marksRepository, times(2)).findTabulationCells("Six", EXAM, YEAR);
+	}
+
+	@Test
+	void savedSheetMovesBetweenCohortsInPlace() {
+		ranking.top("Six", EXAM, YEAR, 10);
+		ranking.top("Seven", EXAM, YEAR, 10);
+
+		// Sheet 1 is corrected from class Six to Seven with a better total
+		stamp("Six", 1);
+		stamp("Seven", 2);
+		ranking.update(marks(1L, "Seven", 95.0), student(11L, "1"));
+
+		List<MeritRanking.Ranked> six = ranking.top("Six", EXAM, YEAR, 10);
+		List<MeritRanking.Ranked> seven = ranking.top("Seven", EXAM, YEAR, 10);
+		assertEquals(List.of(12L), six.stream().map(r -> r.standing().studentId()).toList());
+		assertEquals(List.of(11L, 13L), seven.stream().map(r -> r.standing().studentId()).toList());
+		verify(marksRepository, times(1)).findTabulationCells("Six", EXAM, YEAR);
+		verify(marksRepository, times(1)).findTabulationCells("Seven", EXAM, YEAR);
+	}
+
+	@Test
+	void studentChangesDropEveryCohort() {
+		ranking.top("Six", EXAM, YEAR, 1);
+
+		ranking.clear();
+
+		assertTrue(ranking.position("Six", EXAM, YEAR, 12L).isPresent());
+		verify(marksRepository, times(2)).findTabulationCells("Six", EXAM, YEAR);
+	}
+
+	private void stamp(String className, long rows) {
+		versions.put(className, new Object[] { LocalDateTime.of(2025, 11, 1, 10, 0).plusMinutes(rows), rows });
+	}
+
+	private static Marks marks(Long id, String className, double total) {
+		Marks marks = Marks.builder().id(id).className(className).examName(EXAM).educationYear(YEAR).build();
+		marks.getSubjects().put("bn", ExamSubjectMarks.builder().subjectCode("bn").total(total).build());
+		return marks;
+	}
+
+	private static Student student(Long id, String rollNo) {
+		return Student.builder().id(id).name("Student " + id).rollNo(rollNo).section("A").build();
+	}
+
+	private static TabulationCell cell(Long marksId, Long studentId, String rollNo, Double total) {
+		TabulationCell cell = mock(TabulationCell.class);
+		when(cell.getMarksId()).thenReturn(marksId);
+		when(cell.getStudentId()).thenReturn(studentId);
+		when(cell.getStudentName()).thenReturn("Student " + studentId);
+		when(cell.getRollNo()).thenReturn(rollNo);
+		when(cell.getSection()).thenReturn("A");
+		when(cell.getTotal()).thenReturn(total);
+		return cell;
+	}
+}
@@ -0,0 +1,135 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rufan.fullstackbackend.config.MeritRankingProperties;
+import com.rufan.fullstackbackend.config.PdfCacheProperties;
+import com.rufan.fullstackbackend.dto.MarksPageDto;
+import com.rufan.fullstackbackend.exception.NameAliasConflictException;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.NameAlias;
+import com.rufan.fullstackbackend.model.NameAlias.AliasType;
+
+/**
+ * Alias writes go through {@link NameAliasService}: the resolver sees them
+ * as soon as they commit, and {@link MarksService} stores the canonical
+ * names. Runs without a test transaction so the writes really commit; the
+ * names are unique to this test.
+ */
+@DataJpaTest
+@Import({ NameAliasService.class, MarksService.class, GradeScale.class, ResultPdfCache.class,
+		NameAliasResolver.class, PdfCacheProperties.class, MeritRanking.class, MeritRankingProperties.class,
+		SubjectCodeResolver.class })
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NameAliasServiceTest {
+
+	@Autowired
+	private NameAliasService nameAliasService;
+	@Autowired
+	private NameAliasResolver nameAliasResolver;
+	@Autowired
+	private MarksService marksService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void savedMarksUseTheCanonicalNamesOfNewAliases() {
+		student(9201L);
+		nameAliasService.saveAlias(alias(AliasType.CLASS, "Alias Class Five", "Alias Five"));
+		nameAliasService.saveAlias(alias(AliasType.EXAM, "Alias Final", "Alias Annual"));
+
+		Marks saved = marksService.saveExamMarks(marks(9201L, "  alias class  five", "ALIAS FINAL"));
+
+		assertEquals("Alias Five", saved.getClassName());
+		assertEquals("Alias Annual", saved.getExamName());
+		assertEquals("Alias Five", nameAliasResolver.resolveClass("alias class five"));
+	}
+
+	@Test
+	void aliasingANameMovesItsSheets() {
+		student(9202L);
+		marksService.saveExamMarks(marks(9202L, "Merge Class 5", "Merge Annual"));
+		nameAliasService.saveAlias(alias(AliasType.CLASS, "merge class 6", "Merge Class 5"));
+
+		nameAliasService.saveAlias(alias(AliasType.CLASS, "Merge Class 5", "Merge Five"));
+
+		assertEquals(List.of("Merge Five"), jdbcTemplate.queryForList(
+				"SELECT class_name FROM t_exam_marks WHERE student_id = 9202", String.class));
+		assertEquals("Merge Five", nameAliasResolver.resolveClass("Merge Class 5"));
+		assertEquals("Merge Five", nameAliasResolver.resolveClass("Merge Class 6"));
+	}
+
+	@Test
+	void examMergeThatWouldDuplicateASheetIsRefused() {
+		student(9203L);
+		marksService.saveExamMarks(marks(9203L, "Conflict Five", "Conflict Final"));
+		marksService.saveExamMarks(marks(9203L, "Conflict Five", "Conflict Annual"));
+
+		assertThrows(NameAliasConflictException.class, () -> nameAliasService.saveAlias(
+				alias(AliasType.EXAM, "Conflict Final", "Conflict Annual")));
+
+		assertEquals(List.of("Conflict Annual", "Conflict Final"), jdbcTemplate.queryForList(
+				"SELECT exam_name FROM t_exam_marks WHERE student_id = 9203 ORDER BY exam_name", String.class));
+		assertEquals("Conflict Final", nameAliasResolver.resolveExam("Conflict Final"));
+	}
+
+	@Test
+	void aliasOfAnAliasUsesItsCanonicalName() {
+		student(9204L);
+		nameAliasService.saveAlias(alias(AliasType.CLASS, "Chain Class V", "Chain Five"));
+		marksService.saveExamMarks(marks(9204L, "Chain Class 5", "Chain Annual"));
+
+		nameAliasService.saveAlias(alias(AliasType.CLASS, "Chain Class 5", "Chain Class V"));
+
+		assertEquals(List.of("Chain Five"), jdbcTemplate.queryForList(
+				"SELECT class_name FROM t_exam_marks WHERE student_id = 9204", String.class));
+		assertEquals("Chain Five", nameAliasResolver.resolveClass("Chain Class 5"));
+	}
+
+	@Test
+	void listingFiltersByAliasSpellings() {
+		student(9205L);
+		nameAliasService.saveAlias(alias(AliasType.EXAM, "Listing Final", "Listing Annual"));
+		marksService.saveExamMarks(marks(9205L, "Listing Five", "Listing Annual"));
+
+		MarksPageDto page = marksService.getExamMarksPage(null, " listing FINAL", "2025", 9205L, false, null, null);
+
+		assertEquals(1, page.getItems().size());
+		assertEquals("Listing Annual", page.getItems().get(0).getExamName());
+	}
+
+	private void student(Long studentId) {
+		jdbcTemplate.update("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (?, ?, 'Student', 'Five', 6)", studentId, "R" + studentId);
+	}
+
+	private static NameAlias alias(AliasType type, String alias, String canonicalName) {
+		return NameAlias.builder().aliasType(type).alias(alias).canonicalName(canonicalName).build();
+	}
+
+	private static Marks marks(Long studentId, String className, String examName) {
+		Marks marks = new Marks();
+		marks.setStudentId(studentId);
+		marks.setStudentName("Student");
+		marks.setClassName(className);
+		marks.setClassRoll(1);
+		marks.setExamName(examName);
+		marks.setExamDate(LocalDateTime.of(2025, 11, 1, 10, 0));
+		marks.setEducationYear("2025");
+		return marks;
+	}
+}
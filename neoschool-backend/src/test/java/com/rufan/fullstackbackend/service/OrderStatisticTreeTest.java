@@ -0,0 +1,59 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link OrderStatisticTree} against a sorted list under random
+ * inserts and removals.
+ */
+class OrderStatisticTreeTest {
+
+	@Test
+	void positionsMatchSortedList() {
+		Comparator<Integer> descending = Comparator.reverseOrder();
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(descending);
+		List<Integer> expected = new ArrayList<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 5000; i++) {
+			int value = random.nextInt(1000);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(Integer.valueOf(value)), tree.remove(value));
+			} else if (!expected.contains(value)) {
+				assertTrue(tree.add(value));
+				expected.add(value);
+			} else {
+				assertFalse(tree.add(value));
+			}
+		}
+		expected.sort(descending);
+
+		assertEquals(expected.size(), tree.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), tree.get(i));
+			assertEquals(i, tree.indexOf(expected.get(i)));
+		}
+		assertEquals(expected.subList(0, 10), tree.head(10));
+		assertEquals(-1, tree.indexOf(1000));
+	}
+
+	@Test
+	void headOfSmallTreeReturnsEverything() {
+		OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+		tree.add(3);
+		tree.add(1);
+		tree.add(2);
+		assertEquals(List.of(1, 2, 3), tree.head(10));
+		assertEquals(Collections.emptyList(), tree.head(0));
+	}
+}
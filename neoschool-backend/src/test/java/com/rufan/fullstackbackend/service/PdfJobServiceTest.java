@@ -0,0 +1,101 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rufan.fullstackbackend.config.PdfJobProperties;
+import com.rufan.fullstackbackend.dto.PdfJobDto;
+
+/**
+ * The job storage directory may be shared: on startup {@link PdfJobService}
+ * removes the files of earlier jobs and nothing else. Jobs are shared per
+ * cohort, whatever spelling it was requested with. A job past its TTL is
+ * reported as EXPIRED and has no file any more.
+ */
+class PdfJobServiceTest {
+
+	@TempDir
+	Path storageDir;
+
+	@Test
+	void startupDeletesOnlyJobFiles() throws Exception {
+		Path finished = Files.createFile(storageDir.resolve("pdf-job-3f2b8c1e-0a4d-4e7b-9c55-1d2e3f4a5b6c.pdf"));
+		Path partial = Files.createFile(storageDir.resolve("pdf-job-3f2b8c1e-0a4d-4e7b-9c55-1d2e3f4a5b6d.pdf.part"));
+		Path report = Files.createFile(storageDir.resolve("annual-report.pdf"));
+		Path lookalike = Files.createFile(storageDir.resolve("pdf-job-notes.pdf"));
+		Path directory = Files.createDirectory(storageDir.resolve("pdf-job-3f2b8c1e-0a4d-4e7b-9c55-1d2e3f4a5b6e.pdf"));
+
+		PdfJobProperties properties = new PdfJobProperties();
+		properties.setStorageDir(storageDir.toString());
+		PdfJobService service = new PdfJobService(mock(ResultService.class), mock(GeneratePdfService.class),
+				mock(GenerateMeritListPdfService.class), mock(ResultPdfCache.class), properties);
+		service.shutdown();
+
+		assertFalse(Files.exists(finished));
+		assertFalse(Files.exists(partial));
+		assertTrue(Files.exists(report));
+		assertTrue(Files.exists(lookalike));
+		assertTrue(Files.exists(directory));
+	}
+
+	@Test
+	void spellingsOfOneCohortShareAJob() throws Exception {
+		ResultPdfCache resultPdfCache = mock(ResultPdfCache.class);
+		ResultPdfCache.Cohort cohort = new ResultPdfCache.Cohort("Five", "Annual", "2025");
+		when(resultPdfCache.cohort("Five", "Annual", "2025")).thenReturn(cohort);
+		when(resultPdfCache.cohort("Class 5", "annual exam", " 2025")).thenReturn(cohort);
+		when(resultPdfCache.currentVersion(cohort)).thenReturn(new ResultPdfCache.Version(1, 40, 0));
+
+		PdfJobProperties properties = new PdfJobProperties();
+		properties.setStorageDir(storageDir.toString());
+		PdfJobService service = new PdfJobService(mock(ResultService.class), mock(GeneratePdfService.class),
+				mock(GenerateMeritListPdfService.class), resultPdfCache, properties);
+		try {
+			PdfJobDto first = service.submit(ResultPdfType.TABULATION, "2025", "Annual", "Five");
+			PdfJobDto second = service.submit(ResultPdfType.TABULATION, " 2025", "annual exam", "Class 5");
+
+			assertEquals(first.getJobId(), second.getJobId());
+			assertEquals("Five", second.getClassName());
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	void finishedJobPastItsTtlIsReportedExpired() throws Exception {
+		ResultPdfCache resultPdfCache = mock(ResultPdfCache.class);
+		ResultPdfCache.Cohort cohort = new ResultPdfCache.Cohort("Five", "Annual", "2025");
+		when(resultPdfCache.cohort("Five", "Annual", "2025")).thenReturn(cohort);
+		when(resultPdfCache.currentVersion(cohort)).thenReturn(new ResultPdfCache.Version(1, 40, 0));
+
+		PdfJobProperties properties = new PdfJobProperties();
+		properties.setStorageDir(storageDir.toString());
+		properties.setTtl(Duration.ZERO);
+		PdfJobService service = new PdfJobService(mock(ResultService.class), mock(GeneratePdfService.class),
+				mock(GenerateMeritListPdfService.class), resultPdfCache, properties);
+		try {
+			String jobId = service.submit(ResultPdfType.TABULATION, "2025", "Annual", "Five").getJobId();
+			String status = service.getStatus(jobId).orElseThrow().getStatus();
+			for (int i = 0; i < 500 && (status.equals("QUEUED") || status.equals("RUNNING")); i++) {
+				Thread.sleep(10);
+				status = service.getStatus(jobId).orElseThrow().getStatus();
+			}
+			Thread.sleep(2); // past the zero TTL
+
+			assertEquals("EXPIRED", service.getStatus(jobId).orElseThrow().getStatus());
+			assertTrue(service.getResult(jobId).isEmpty());
+		} finally {
+			service.shutdown();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rufan.fullstackbackend.dto.MeritListDto;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto.StudentResultRow;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto.StudentResultRow.SubjectMarks;
+
+/**
+ * A PDF that fails half way through its student table is not finished into
+ * the output: no trailer follows what was written, so the client cannot
+ * mistake it for a complete document.
+ */
+class PdfRenderFailureTest {
+
+	private static final int STUDENTS = 120;
+	// After the first table flush
+	private static final int FAILING_ROW = 80;
+
+	private PdfAssets pdfAssets;
+
+	@BeforeEach
+	void setUp() {
+		pdfAssets = new PdfAssets();
+		pdfAssets.load();
+	}
+
+	@Test
+	void completeTabulationSheetEndsWithATrailer() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		new GeneratePdfService(pdfAssets).writeTabulationSheetPdf(List.of(tabulation(-1)), out);
+
+		assertTrue(pdf(out).contains("%%EOF"));
+	}
+
+	@Test
+	void tabulationSheetFailingMidTableGetsNoTrailer() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		assertThrows(RuntimeException.class,
+				() -> new GeneratePdfService(pdfAssets).writeTabulationSheetPdf(List.of(tabulation(FAILING_ROW)), out));
+
+		assertFalse(pdf(out).contains("%%EOF"));
+	}
+
+	@Test
+	void completeMeritListEndsWithATrailer() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		new GenerateMeritListPdfService(pdfAssets).writeMeritListPdf(meritList(-1), "Annual", "2025", out);
+
+		assertTrue(pdf(out).contains("%%EOF"));
+	}
+
+	@Test
+	void meritListFailingMidTableGetsNoTrailer() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		assertThrows(IllegalStateException.class, () -> new GenerateMeritListPdfService(pdfAssets)
+				.writeMeritListPdf(meritList(FAILING_ROW), "Annual", "2025", out));
+
+		assertFalse(pdf(out).contains("%%EOF"));
+	}
+
+	private static TabulationSheetDto tabulation(int failingRow) {
+		List<StudentResultRow> rows = new ArrayList<>();
+		for (int i = 1; i <= STUDENTS; i++) {
+			StudentResultRow row = StudentResultRow.builder()
+					.studentId((long) i).studentName("Student " + i).rollNo(String.valueOf(i))
+					.subjectsMap(Map.of("BAN", SubjectMarks.builder().caMarks(20).aaMarks(50).totalMarks(70).build()))
+					.totalObtainedMarks(70).totalFullMarks(100).letterGrade("A").gradePoint(4.0)
+					.build();
+			if (i == failingRow) {
+				row = spy(row);
+				doThrow(new IllegalStateException("Broken row")).when(row).getLetterGrade();
+			}
+			rows.add(row);
+		}
+		return TabulationSheetDto.builder()
+				.schoolName("School").schoolAddress("Address").emisCode("123")
+				.className("Five").examName("Annual").examYear("2025")
+				.studentResults(rows)
+				.build();
+	}
+
+	private static List<MeritListDto> meritList(int failingRow) {
+		List<MeritListDto> list = new ArrayList<>();
+		for (int i = 1; i <= STUDENTS; i++) {
+			MeritListDto dto = new MeritListDto();
+			dto.setStudentName("Student " + i);
+			dto.setRollNo(i);
+			dto.setClassName("Five");
+			dto.setTotalMarks(750.0);
+			dto.setObtainedMarks(600.0);
+			dto.setPercentage(80.0);
+			dto.setGradePoint(5.0);
+			dto.setLetterGrade("A+");
+			dto.setPosition(i);
+			if (i == failingRow) {
+				dto = spy(dto);
+				doThrow(new IllegalStateException("Broken row")).when(dto).getLetterGrade();
+			}
+			list.add(dto);
+		}
+		return list;
+	}
+
+	private static String pdf(ByteArrayOutputStream out) {
+		return out.toString(StandardCharsets.ISO_8859_1);
+	}
+}
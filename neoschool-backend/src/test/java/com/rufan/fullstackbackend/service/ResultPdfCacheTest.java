@@ -0,0 +1,140 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.rufan.fullstackbackend.config.PdfCacheProperties;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+import com.rufan.fullstackbackend.service.ResultPdfCache.CachedPdf;
+import com.rufan.fullstackbackend.service.ResultPdfCache.Cohort;
+import com.rufan.fullstackbackend.service.ResultPdfCache.Recorder;
+import com.rufan.fullstackbackend.service.ResultPdfCache.Version;
+
+class ResultPdfCacheTest {
+
+	private ResultPdfCache cache;
+	private Cohort cohort;
+
+	@BeforeEach
+	void setUp() {
+		MarksRepository marksRepository = mock(MarksRepository.class);
+		when(marksRepository.findCohortVersion(any(), any(), any()))
+				.thenReturn(List.<Object[]>of(new Object[] { LocalDateTime.of(2025, 11, 1, 10, 0), 40L }));
+		NameAliasRepository aliasRepository = mock(NameAliasRepository.class);
+		when(aliasRepository.findAll()).thenReturn(List.of());
+
+		PdfCacheProperties properties = new PdfCacheProperties();
+		properties.setMaxEntrySize(DataSize.ofKilobytes(256));
+		properties.setMaxRecordingSize(DataSize.ofKilobytes(320));
+		cache = new ResultPdfCache(marksRepository, new NameAliasResolver(aliasRepository), properties);
+		cohort = cache.cohort("Five", "Annual", "2025");
+	}
+
+	@Test
+	void committedPdfIsServedAsRecorded() throws Exception {
+		Version version = cache.currentVersion(cohort);
+		byte[] pdf = pdf(150_000);
+
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		render(cache.record(ResultPdfType.TABULATION, cohort, version, response), pdf, true);
+
+		CachedPdf cached = cache.get(ResultPdfType.TABULATION, cohort, version);
+		assertNotNull(cached);
+		assertEquals(pdf.length, cached.size());
+		ByteArrayOutputStream served = new ByteArrayOutputStream();
+		cached.writeTo(served);
+		assertArrayEquals(pdf, served.toByteArray());
+		assertArrayEquals(pdf, response.toByteArray());
+	}
+
+	@Test
+	void referenceDataChangeGivesNewVersionAndDropsPdfs() throws Exception {
+		Version before = cache.currentVersion(cohort);
+		render(cache.record(ResultPdfType.MERIT, cohort, before, new ByteArrayOutputStream()), pdf(1000), true);
+
+		cache.referenceDataChanged();
+
+		Version after = cache.currentVersion(cohort);
+		assertNotEquals(before.etag(ResultPdfType.MERIT), after.etag(ResultPdfType.MERIT));
+		assertNull(cache.get(ResultPdfType.MERIT, cohort, before));
+		assertNull(cache.get(ResultPdfType.MERIT, cohort, after));
+	}
+
+	@Test
+	void oversizedPdfIsStreamedButNotCached() throws Exception {
+		Version version = cache.currentVersion(cohort);
+		byte[] pdf = pdf(300_000);
+
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		render(cache.record(ResultPdfType.TABULATION, cohort, version, response), pdf, true);
+
+		assertArrayEquals(pdf, response.toByteArray());
+		assertNull(cache.get(ResultPdfType.TABULATION, cohort, version));
+	}
+
+	@Test
+	void concurrentRecordingsShareOneBudget() throws Exception {
+		Version version = cache.currentVersion(cohort);
+		Cohort other = cache.cohort("Four", "Annual", "2025");
+		Recorder first = cache.record(ResultPdfType.TABULATION, cohort, version, new ByteArrayOutputStream());
+		Recorder second = cache.record(ResultPdfType.TABULATION, other, version, new ByteArrayOutputStream());
+
+		// 200 KB each fits the entry limit, but not the 320 KB shared by both
+		first.write(pdf(200_000));
+		second.write(pdf(200_000));
+		first.commit();
+		second.commit();
+		assertNotNull(cache.get(ResultPdfType.TABULATION, cohort, version));
+		assertNull(cache.get(ResultPdfType.TABULATION, other, version));
+
+		// The committed and the abandoned recordings returned their budget
+		Recorder third = cache.record(ResultPdfType.MERIT, other, version, new ByteArrayOutputStream());
+		render(third, pdf(200_000), true);
+		assertNotNull(cache.get(ResultPdfType.MERIT, other, version));
+	}
+
+	@Test
+	void failedRenderIsNotCached() throws Exception {
+		Version version = cache.currentVersion(cohort);
+
+		render(cache.record(ResultPdfType.TABULATION, cohort, version, new ByteArrayOutputStream()), pdf(1000), false);
+
+		assertNull(cache.get(ResultPdfType.TABULATION, cohort, version));
+	}
+
+	// Writes the PDF the way the controller does: commit on success, discard either way
+	private static void render(Recorder recorder, byte[] pdf, boolean completes) throws Exception {
+		try {
+			recorder.write(pdf, 0, pdf.length / 2);
+			recorder.write(pdf[pdf.length / 2]);
+			recorder.write(pdf, pdf.length / 2 + 1, pdf.length - pdf.length / 2 - 1);
+			if (completes) {
+				recorder.commit();
+			}
+		} finally {
+			recorder.discard();
+		}
+	}
+
+	private static byte[] pdf(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,107 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rufan.fullstackbackend.config.ReportingProperties;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+import com.rufan.fullstackbackend.repository.MarksIdRange;
+import com.rufan.fullstackbackend.repository.MarksReportRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository.TabulationCell;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * On MySQL the tabulation rows are streamed, and no other statement may run
+ * on the connection until the stream is read to the end. H2 cannot stream,
+ * so instead of a fetch size of {@code Integer.MIN_VALUE} this test counts
+ * the statements prepared while each sheet is mapped, starting with empty
+ * grade scale and alias caches as on the first request after startup.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ResultServiceTabulationTest {
+
+	private static final String EXAM = "Streamed Annual";
+	private static final int SHEETS = 12;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private GradeRepository gradeRepository;
+	@Autowired
+	private NameAliasRepository nameAliasRepository;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		MarksIdRange.reserve(jdbcTemplate);
+		List<Object[]> students = new ArrayList<>();
+		List<Object[]> marks = new ArrayList<>();
+		for (int i = 1; i <= SHEETS; i++) {
+			long studentId = 8600 + i;
+			students.add(new Object[] { studentId, "R" + studentId, "Student " + studentId });
+			marks.add(new Object[] { studentId, "Student " + studentId, i, EXAM });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO students (student_id, roll_no, name, student_class, main_subject) "
+				+ "VALUES (?, ?, ?, 'Streamed Five', 6)", students);
+		jdbcTemplate.batchUpdate("INSERT INTO t_exam_marks (student_id, student_name, class_name, class_roll, "
+				+ "exam_name, exam_date, education_year, obtained_marks, total_marks) "
+				+ "VALUES (?, ?, 'Streamed Five', ?, ?, '2025-11-01 10:00:00', '2025', 150, 200)", marks);
+		for (String subject : new String[] { "bn", "ma" }) {
+			jdbcTemplate.update("INSERT INTO t_exam_subject_marks (marks_id, subject_code, ca, aa, total) "
+					+ "SELECT id, ?, 15, 60, 75 FROM t_exam_marks WHERE exam_name = ?", subject, EXAM);
+		}
+	}
+
+	@Test
+	void firstTabulationRunsNoStatementWhileTheRowsStream() {
+		AtomicLong statementsInCallback = new AtomicLong();
+		ReportingProperties properties = new ReportingProperties();
+		properties.setFetchSize(5);
+		MarksReportRepository reports = new MarksReportRepository(entityManagerFactory, dataSource, properties) {
+			@Override
+			public int forEachTabulationSheet(String className, String examName, String educationYear,
+					Consumer<List<TabulationCell>> action) {
+				return super.forEachTabulationSheet(className, examName, educationYear, cells -> {
+					long before = statistics.getPrepareStatementCount();
+					action.accept(cells);
+					statementsInCallback.addAndGet(statistics.getPrepareStatementCount() - before);
+				});
+			}
+		};
+		ResultService resultService = new ResultService(reports, new GradeScale(gradeRepository),
+				new NameAliasResolver(nameAliasRepository), null);
+
+		List<TabulationSheetDto> sheets = resultService.generateTabulationSheet("2025", EXAM, "Streamed Five");
+
+		assertEquals(SHEETS, sheets.size());
+		assertFalse(sheets.get(0).getStudentResults().get(0).getLetterGrade().isEmpty());
+		assertEquals(0, statementsInCallback.get());
+	}
+}
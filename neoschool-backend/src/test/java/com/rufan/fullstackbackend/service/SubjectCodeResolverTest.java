@@ -0,0 +1,101 @@
+package com.rufan.fullstackbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rufan.fullstackbackend.dto.SubjectMarksDto;
+import com.rufan.fullstackbackend.model.Subject;
+import com.rufan.fullstackbackend.model.SubjectCodeAlias;
+import com.rufan.fullstackbackend.model.SubjectCodeAlias.MatchType;
+import com.rufan.fullstackbackend.repository.SubjectCodeAliasRepository;
+import com.rufan.fullstackbackend.repository.SubjectRepository;
+import com.rufan.fullstackbackend.service.SubjectCodeResolver.ResolvedSubject;
+
+class SubjectCodeResolverTest {
+
+	private SubjectCodeAliasRepository aliasRepository;
+	private SubjectRepository subjectRepository;
+	private SubjectCodeResolver resolver;
+
+	@BeforeEach
+	void setUp() {
+		aliasRepository = mock(SubjectCodeAliasRepository.class);
+		subjectRepository = mock(SubjectRepository.class);
+		when(aliasRepository.findAll()).thenReturn(List.of(
+				alias("3", "ma", MatchType.EXACT, 0),
+				alias("subj_3", "ma", MatchType.EXACT, 0),
+				alias("বিশ্বপরিচয়", "bwp", MatchType.CONTAINS, 10),
+				alias("বাংলা", "bn", MatchType.CONTAINS, 20),
+				alias("গণিত", "ma", MatchType.CONTAINS, 40),
+				alias("সামাজিক", "sss", MatchType.CONTAINS, 45),
+				alias("বিজ্ঞান", "sc", MatchType.CONTAINS, 50),
+				alias("শিক্ষা", "phy", MatchType.CONTAINS, 110)));
+		Subject robotics = new Subject();
+		robotics.setCode("ROB");
+		robotics.setName("Robotics Club");
+		when(subjectRepository.findAll()).thenReturn(List.of(robotics));
+		resolver = new SubjectCodeResolver(aliasRepository, subjectRepository);
+	}
+
+	@Test
+	void resolvesCodesAndNames() {
+		assertEquals("ma", resolver.resolve("3"));
+		assertEquals("ma", resolver.resolve(" SUBJ_3 "));
+		assertEquals("bn", resolver.resolve("BN"));
+		assertEquals("ma", resolver.resolve("প্রাথমিক গণিত"));
+		assertEquals("ROB", resolver.resolve("robotics club"));
+		assertEquals("", resolver.resolve("Drawing"));
+	}
+
+	@Test
+	void lowestPriorityFragmentWins() {
+		assertEquals("bwp", resolver.resolve("বাংলাদেশ ও বিশ্ব পরিচয়"));
+		assertEquals("sss", resolver.resolve("সমন্বিত সামাজিক বিজ্ঞান"));
+		assertEquals("sc", resolver.resolve("প্রাথমিক বিজ্ঞান শিক্ষা"));
+	}
+
+	@Test
+	void unknownCodesAreKeptAndBlankCodesFallBackToTheName() {
+		List<ResolvedSubject> resolved = resolver.resolveAll(List.of(
+				subject("subj_3", null), subject("X-12", "গণিত"), subject("", "বাংলা"), subject(null, "Drawing")));
+
+		assertEquals(3, resolved.size());
+		assertEquals("ma", resolved.get(0).code());
+		assertEquals("X-12", resolved.get(1).code());
+		assertEquals("bn", resolved.get(2).code());
+	}
+
+	@Test
+	void tablesAreReadOnceUntilReload() {
+		for (int i = 0; i < 100; i++) {
+			resolver.resolve("প্রাথমিক গণিত");
+			resolver.resolve(subject("3", null));
+		}
+		verify(aliasRepository, times(1)).findAll();
+
+		resolver.reload();
+		assertEquals("ma", resolver.resolve("প্রাথমিক গণিত"));
+		verify(aliasRepository, times(2)).findAll();
+	}
+
+	private static SubjectCodeAlias alias(String alias, String code, MatchType type, int priority) {
+		return new SubjectCodeAlias(null, alias, code, type, priority);
+	}
+
+	private static SubjectMarksDto subject(String code, String name) {
+		SubjectMarksDto dto = new SubjectMarksDto();
+		dto.setSubjectCode(code);
+		dto.setSubjectName(name);
+		dto.setCaMarks(20.0);
+		dto.setAaMarks(50.0);
+		return dto;
+	}
+}
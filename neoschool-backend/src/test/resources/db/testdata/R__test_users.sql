@@ -0,0 +1,23 @@
+-- Test accounts (BCrypt, strength 10): admin@gmail.com / admin123, teacher / teacher123, user / user123.
+-- Only the test profile reads db/testdata; no database outside the tests gets them.
+INSERT INTO `user` (id, username, name, email, password, role)
+SELECT COALESCE(MAX(id), 0) + 1, 'admin@gmail.com', 'Administrator', 'admin@gmail.com',
+       '$2a$10$R4fKk/Et.Ps2/p6GetrbCeTFTBC8LO5qiuh2/FMkWwwfkxd5lim16', 'ADMIN'
+  FROM `user`
+HAVING NOT EXISTS (SELECT 1 FROM `user` WHERE username = 'admin@gmail.com');
+
+INSERT INTO `user` (id, username, name, email, password, role)
+SELECT COALESCE(MAX(id), 0) + 1, 'teacher', 'Teacher', NULL,
+       '$2a$10$esTAGqG5l7r1ppvYII18BussHRIjtEWtFcJp7cg35qgZzZr9oX.Nm', 'TEACHER'
+  FROM `user`
+HAVING NOT EXISTS (SELECT 1 FROM `user` WHERE username = 'teacher');
+
+INSERT INTO `user` (id, username, name, email, password, role)
+SELECT COALESCE(MAX(id), 0) + 1, 'user', 'User', NULL,
+       '$2a$10$7ZYKTLYVV9OhX7DO19mij.9tCH.yv1gmr/pXRSMcoA6MU3.UY58Ny', 'USER'
+  FROM `user`
+HAVING NOT EXISTS (SELECT 1 FROM `user` WHERE username = 'user');
+
+-- Keep the id generator (pooled, 50 ids per fetch) ahead of the rows above
+UPDATE user_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM `user`)
+ WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 51 FROM `user`);
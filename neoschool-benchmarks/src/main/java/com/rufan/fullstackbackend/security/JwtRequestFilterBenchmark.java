@@ -0,0 +1,113 @@
+package com.rufan.fullstackbackend.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import com.rufan.fullstackbackend.config.JwtProperties;
+
+/**
+ * Throughput of authenticating a request with a bearer token:
+ * <ul>
+ * <li>{@code parseAndLoadUser} - the former filter path: three HS512 parses
+ * and a user store lookup per request</li>
+ * <li>{@code verifyEveryRequest} - {@link JwtRequestFilter} with an empty
+ * {@link VerifiedTokenCache} each time (one parse)</li>
+ * <li>{@code cachedVerification} - {@link JwtRequestFilter} with the token
+ * already verified (hash and map lookup)</li>
+ * </ul>
+ *
+ * Run with: {@code java -jar target/benchmarks.jar JwtRequestFilterBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+	private JwtProperties properties;
+	private JwtTokenUtil jwtTokenUtil;
+	private InMemoryUserDetailsManager userStore;
+	private TokenBlacklist tokenBlacklist;
+	private JwtRequestFilter cachedFilter;
+	private String token;
+
+	@Setup
+	public void setUp() throws Exception {
+		properties = new JwtProperties();
+		properties.setSecret("benchmarkSecretKeyForHS512Algorithm1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefgh");
+		jwtTokenUtil = new JwtTokenUtil(properties);
+		UserDetails teacher = User.withUsername("teacher").password("{noop}teacher123").roles("TEACHER").build();
+		userStore = new InMemoryUserDetailsManager(teacher);
+		tokenBlacklist = new TokenBlacklist(jwtTokenUtil, new InMemoryRevocationStore(), properties);
+		token = jwtTokenUtil.generateToken(teacher);
+
+		cachedFilter = new JwtRequestFilter(new VerifiedTokenCache(jwtTokenUtil, properties), tokenBlacklist);
+		filter(cachedFilter);
+	}
+
+	@Benchmark
+	public boolean parseAndLoadUser() {
+		String username = jwtTokenUtil.extractUsername(token);
+		UserDetails userDetails = userStore.loadUserByUsername(username);
+		boolean valid = jwtTokenUtil.extractUsername(token).equals(userDetails.getUsername())
+				&& jwtTokenUtil.extractAllClaims(token).getExpiration().getTime() > System.currentTimeMillis();
+		return valid;
+	}
+
+	@Benchmark
+	public int verifyEveryRequest() throws Exception {
+		return filter(new JwtRequestFilter(new VerifiedTokenCache(jwtTokenUtil, properties), tokenBlacklist));
+	}
+
+	@Benchmark
+	public int cachedVerification() throws Exception {
+		return filter(cachedFilter);
+	}
+
+	private int filter(JwtRequestFilter filter) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/results/mark-sheet/1/Annual");
+		request.addHeader(JwtRequestFilter.AUTHORIZATION_HEADER, JwtRequestFilter.BEARER_PREFIX + token);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(request, response, new MockFilterChain());
+			if (SecurityContextHolder.getContext().getAuthentication() == null) {
+				throw new IllegalStateException("Request was not authenticated: " + response.getStatus());
+			}
+			return response.getStatus();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtRequestFilterBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
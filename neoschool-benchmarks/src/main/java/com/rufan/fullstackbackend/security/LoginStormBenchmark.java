@@ -0,0 +1,128 @@
+package com.rufan.fullstackbackend.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.rufan.fullstackbackend.config.JwtProperties;
+import com.rufan.fullstackbackend.config.LoginThrottleProperties;
+import com.rufan.fullstackbackend.exception.LoginThrottledException;
+
+/**
+ * Latency of an ordinary authenticated request (the {@link JwtRequestFilter}
+ * path) alone and during a storm of failing logins:
+ * <ul>
+ * <li>{@code alone} - requests only</li>
+ * <li>{@code storm} - the same requests next to 16 threads sending wrong
+ * passwords; the per-IP and per-username limits are lifted, so every login
+ * reaches the BCrypt pool (one thread, queue of 4) and the rest are refused
+ * as a 429 would be</li>
+ * </ul>
+ * Compare the percentiles of {@code alone:request} and {@code storm:requestDuringStorm}.
+ *
+ * Run with: {@code java -jar target/benchmarks.jar LoginStormBenchmark}
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginStormBenchmark {
+
+	private LoginThrottle loginThrottle;
+	private BCryptPasswordEncoder passwordEncoder;
+	private String passwordHash;
+	private JwtRequestFilter filter;
+	private String token;
+
+	@Setup
+	public void setUp() throws Exception {
+		LoginThrottleProperties throttleProperties = new LoginThrottleProperties();
+		throttleProperties.setIpBurst(1_000_000);
+		throttleProperties.setUsernameBurst(1_000_000);
+		throttleProperties.setHashThreads(1);
+		throttleProperties.setHashQueueCapacity(4);
+		throttleProperties.setHashTimeout(Duration.ofSeconds(5));
+		loginThrottle = new LoginThrottle(throttleProperties);
+		passwordEncoder = new BCryptPasswordEncoder(12);
+		passwordHash = passwordEncoder.encode("teacher123");
+
+		JwtProperties jwtProperties = new JwtProperties();
+		jwtProperties.setSecret("benchmarkSecretKeyForHS512Algorithm1234567890ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefgh");
+		JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(jwtProperties);
+		token = jwtTokenUtil.generateToken(User.withUsername("teacher").password("").roles("TEACHER").build());
+		filter = new JwtRequestFilter(new VerifiedTokenCache(jwtTokenUtil, jwtProperties),
+				new TokenBlacklist(jwtTokenUtil, new InMemoryRevocationStore(), jwtProperties));
+	}
+
+	@TearDown
+	public void tearDown() {
+		loginThrottle.shutdown();
+	}
+
+	@Benchmark
+	@Group("alone")
+	@GroupThreads(4)
+	public int request() throws Exception {
+		return authenticatedRequest();
+	}
+
+	@Benchmark
+	@Group("storm")
+	@GroupThreads(4)
+	public int requestDuringStorm() throws Exception {
+		return authenticatedRequest();
+	}
+
+	@Benchmark
+	@Group("storm")
+	@GroupThreads(16)
+	public boolean failedLogin() throws Exception {
+		try {
+			return loginThrottle.check(() -> passwordEncoder.matches("wrong-password", passwordHash));
+		} catch (LoginThrottledException e) {
+			return false; // 429
+		}
+	}
+
+	private int authenticatedRequest() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/subjects");
+		request.addHeader(JwtRequestFilter.AUTHORIZATION_HEADER, JwtRequestFilter.BEARER_PREFIX + token);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(request, response, new MockFilterChain());
+			return response.getStatus();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(LoginStormBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
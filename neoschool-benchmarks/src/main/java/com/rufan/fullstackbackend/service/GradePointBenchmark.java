@@ -0,0 +1,131 @@
+package com.rufan.fullstackbackend.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rufan.fullstackbackend.config.MeritRankingProperties;
+import com.rufan.fullstackbackend.config.PdfCacheProperties;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto.StudentResultRow.SubjectMarks;
+import com.rufan.fullstackbackend.model.Grade;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+import com.rufan.fullstackbackend.repository.StudentRepository;
+import com.rufan.fullstackbackend.repository.SubjectCodeAliasRepository;
+import com.rufan.fullstackbackend.repository.SubjectRepository;
+
+/**
+ * The interpolated grade point as reached by its three callers: the mark
+ * sheet ({@link MarksService#calculateInterpolatedGradePoint}), the merit
+ * list and tabulation totals ({@link GradeScale#interpolatedGradePoint})
+ * and the tabulation subject cells ({@link SubjectMarks#of}). All three
+ * now share the binary search of {@link GradeScale}; the plain band lookup
+ * ({@link GradeScale#gradePoint}) is the baseline. Each operation grades
+ * 1,024 random percentages against the scale of the grades table.
+ *
+ * Run with: {@code java -jar target/benchmarks.jar GradePointBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradePointBenchmark {
+
+	private static final int PERCENTAGES = 1024;
+
+	private GradeScale gradeScale;
+	private MarksService marksService;
+	private double[] percentages;
+
+	@Setup
+	public void setUp() {
+		List<Grade> grades = List.of(
+				grade("F", 0, 33, "0.00"), grade("D", 33, 40, "1.00"), grade("C", 40, 50, "2.00"),
+				grade("B", 50, 60, "3.00"), grade("A-", 60, 70, "3.50"), grade("A", 70, 80, "4.00"),
+				grade("A+", 80, 100, "5.00"));
+		gradeScale = new GradeScale(RepositoryStubs.stub(GradeRepository.class,
+				Map.of("findAllByOrderByRangeMinAsc", args -> grades)));
+		gradeScale.reload();
+
+		MarksRepository marksRepository = RepositoryStubs.stub(MarksRepository.class);
+		NameAliasResolver aliases = new NameAliasResolver(RepositoryStubs.stub(NameAliasRepository.class));
+		marksService = new MarksService(marksRepository, gradeScale, RepositoryStubs.stub(StudentRepository.class),
+				new ResultPdfCache(marksRepository, aliases, new PdfCacheProperties()),
+				new MeritRanking(marksRepository, aliases, new MeritRankingProperties()),
+				new SubjectCodeResolver(RepositoryStubs.stub(SubjectCodeAliasRepository.class),
+						RepositoryStubs.stub(SubjectRepository.class)),
+				aliases);
+
+		percentages = new double[PERCENTAGES];
+		for (int i = 0; i < PERCENTAGES; i++) {
+			percentages[i] = ThreadLocalRandom.current().nextDouble(0, 100);
+		}
+	}
+
+	@Benchmark
+	public void bandGradePoint(Blackhole bh) {
+		for (double p : percentages) {
+			bh.consume(gradeScale.gradePoint(p));
+		}
+	}
+
+	@Benchmark
+	public void gradeScaleInterpolated(Blackhole bh) {
+		for (double p : percentages) {
+			bh.consume(gradeScale.interpolatedGradePoint(p));
+		}
+	}
+
+	@Benchmark
+	public void marksServiceInterpolated(Blackhole bh) {
+		for (double p : percentages) {
+			bh.consume(marksService.calculateInterpolatedGradePoint(p));
+		}
+	}
+
+	// CA / AA split of the percentage, as a tabulation cell is built
+	@Benchmark
+	public void tabulationSubjectCell(Blackhole bh) {
+		for (double p : percentages) {
+			bh.consume(SubjectMarks.of("BAN", p * 0.2, p * 0.8, gradeScale.snapshot()));
+		}
+	}
+
+	private static Grade grade(String letter, double min, double max, String point) {
+		return Grade.builder()
+				.gradeId("G-" + letter)
+				.gradeLetter(letter)
+				.gradePoint(new BigDecimal(point))
+				.rangeMin(min)
+				.rangeMax(max)
+				.build();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(GradePointBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
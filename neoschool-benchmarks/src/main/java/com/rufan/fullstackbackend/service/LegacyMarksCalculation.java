@@ -0,0 +1,190 @@
+package com.rufan.fullstackbackend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rufan.fullstackbackend.dto.SubjectMarksDto;
+import com.rufan.fullstackbackend.model.ExamSubjectMarks;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.MarksSubject;
+import com.rufan.fullstackbackend.service.SubjectCodeResolver.ResolvedSubject;
+
+/**
+ * The marks calculation of a single-student save before
+ * {@link MarksAggregator}: the stream passes of
+ * {@code MarksController.saveExamMarksBulk} followed by the recalculation
+ * in {@code MarksService.saveExamMarks}. Kept only as the baseline of
+ * {@link MarksAggregationBenchmark}.
+ */
+final class LegacyMarksCalculation {
+
+	private static final Logger log = LoggerFactory.getLogger(LegacyMarksCalculation.class);
+
+	private final GradeScale gradeScale;
+
+	LegacyMarksCalculation(GradeScale gradeScale) {
+		this.gradeScale = gradeScale;
+	}
+
+	void calculate(Marks marks, List<ResolvedSubject> subjects, int mainSubjectCount) {
+		controllerPass(marks, subjects);
+		serviceTotals(marks, mainSubjectCount);
+	}
+
+	private void controllerPass(Marks marks, List<ResolvedSubject> subjects) {
+		Set<String> mainSubjectCodes = Set.of("bn", "en", "ma", "sc", "bwp", "ism", "hin");
+
+		SubjectMarksDto[] optionalSubjectsArray = subjects.stream()
+				.filter(s -> {
+					boolean isPhy = "phy".equalsIgnoreCase(s.code());
+					if (isPhy) {
+						log.info("Including physical education as optional subject: {} ({})", s.marks().getSubjectName(), s.code());
+					}
+					return !mainSubjectCodes.contains(s.code()) || isPhy;
+				})
+				.map(ResolvedSubject::marks)
+				.toArray(SubjectMarksDto[]::new);
+
+		int mainSubjectsCount = (int) subjects.stream()
+				.filter(s -> mainSubjectCodes.contains(s.code()))
+				.count();
+		double mainSubjectTotal = mainSubjectsCount * 100.0;
+		double mainSubjectsObtained = subjects.stream()
+				.filter(s -> mainSubjectCodes.contains(s.code()))
+				.mapToDouble(s -> s.marks().getTotalMarks() != null ? s.marks().getTotalMarks() : 0.0)
+				.sum();
+
+		double[] optionalMarks = Arrays.stream(optionalSubjectsArray)
+				.filter(Objects::nonNull)
+				.mapToDouble(s -> s.getTotalMarks() != null ? s.getTotalMarks() : 0.0)
+				.boxed()
+				.sorted(Collections.reverseOrder())
+				.limit(3)
+				.mapToDouble(Double::doubleValue)
+				.toArray();
+		double optionalSubjectsObtained = Arrays.stream(optionalMarks).sum();
+
+		double totalMarks = (6 * 100) + (3 * 50);
+		double obtainedMarks = mainSubjectsObtained + optionalSubjectsObtained;
+		log.info("Top 3 Optional Subjects: {}", Arrays.toString(optionalMarks));
+
+		BigDecimal percentage = BigDecimal.valueOf(obtainedMarks)
+				.divide(BigDecimal.valueOf(totalMarks), 4, RoundingMode.HALF_UP)
+				.multiply(BigDecimal.valueOf(100))
+				.setScale(2, RoundingMode.HALF_UP);
+		BigDecimal averageMarks = mainSubjectsCount > 0
+				? BigDecimal.valueOf(mainSubjectsObtained / mainSubjectsCount).setScale(2, RoundingMode.HALF_UP)
+				: BigDecimal.ZERO;
+
+		double percentageValue = percentage.doubleValue();
+		marks.setObtainedMarks(obtainedMarks);
+		marks.setMainSubjectTotal(mainSubjectTotal);
+		marks.setMainSubjectObtained(mainSubjectsObtained);
+		marks.setTotalMarks(totalMarks);
+		marks.setMarksPercentage(percentage);
+		marks.setAverageMarks(averageMarks);
+		marks.setGrandePoint(BigDecimal.valueOf(gradeScale.interpolatedGradePoint(percentageValue)));
+		marks.setGradeLetter(gradeScale.letterGrade(percentageValue));
+		marks.setRemarks(gradeScale.remarks(percentageValue));
+	}
+
+	private void serviceTotals(Marks marks, int mainSubjectCount) {
+		List<SubjectMark> mainSubjects = new ArrayList<>();
+		List<Double> optionalMarks = new ArrayList<>();
+		for (ExamSubjectMarks subject : marks.getSubjects().values()) {
+			subject.setTotal(sum(subject.getCa(), subject.getAa()));
+			if (MarksSubject.isMainSubject(subject.getSubjectCode())) {
+				Double ca = subject.getCa();
+				Double aa = subject.getAa();
+				boolean hasCa = ca != null && ca > 0;
+				boolean hasAa = aa != null && aa > 0;
+				if (hasCa || hasAa) {
+					double calculated = (ca != null ? ca : 0) + (aa != null ? aa : 0);
+					mainSubjects.add(new SubjectMark(subject.getSubjectCode(),
+							subject.getTotal() != null ? subject.getTotal() : calculated,
+							hasCa ? ca : 0.0, hasAa ? aa : 0.0));
+				}
+			} else {
+				Double value = subject.getTotal() != null ? subject.getTotal() : 0.0;
+				if (value >= 0) {
+					optionalMarks.add(value);
+				}
+			}
+		}
+
+		List<SubjectMark> validMainSubjects = mainSubjects.stream()
+				.filter(subj -> subj.totalMarks != null && subj.totalMarks > 0)
+				.sorted((a, b) -> Double.compare(b.totalMarks, a.totalMarks))
+				.collect(Collectors.toList());
+		log.info("All main subjects with marks: {}", validMainSubjects);
+		List<SubjectMark> topMainSubjects = validMainSubjects.stream()
+				.limit(mainSubjectCount)
+				.collect(Collectors.toList());
+		log.info("Selected top {} main subjects: {}", mainSubjectCount, topMainSubjects);
+		double mainSubjectsObtained = topMainSubjects.stream()
+				.mapToDouble(subj -> subj.totalMarks)
+				.sum();
+		double mainSubjectTotal = mainSubjectCount * 100.0;
+		double totalMarks = mainSubjectTotal + 3 * 50.0;
+
+		while (optionalMarks.size() < 3) {
+			optionalMarks.add(0.0);
+		}
+		optionalMarks.sort(Collections.reverseOrder());
+		List<Double> topOptionalSubjects = optionalMarks.stream()
+				.limit(3)
+				.collect(Collectors.toList());
+		double optionalSubjectsObtained = topOptionalSubjects.stream()
+				.mapToDouble(Double::doubleValue)
+				.sum();
+		double obtainedMarks = mainSubjectsObtained + optionalSubjectsObtained;
+		log.info("Top 3 optional subjects: {}", topOptionalSubjects);
+
+		BigDecimal percentage = totalMarks > 0
+				? BigDecimal.valueOf(obtainedMarks)
+						.divide(BigDecimal.valueOf(totalMarks), 4, RoundingMode.HALF_UP)
+						.multiply(BigDecimal.valueOf(100))
+						.setScale(2, RoundingMode.HALF_UP)
+				: BigDecimal.ZERO;
+
+		double gradePoint = gradeScale.interpolatedGradePoint(percentage.doubleValue());
+		marks.setObtainedMarks(obtainedMarks);
+		marks.setMainSubjectTotal(mainSubjectTotal);
+		marks.setMainSubjectObtained(mainSubjectsObtained);
+		marks.setTotalMarks(totalMarks);
+		marks.setMarksPercentage(percentage);
+		marks.setAverageMarks(mainSubjectCount > 0
+				? BigDecimal.valueOf(mainSubjectsObtained / mainSubjectCount).setScale(2, RoundingMode.HALF_UP)
+				: BigDecimal.ZERO);
+		marks.setGrandePoint(BigDecimal.valueOf(gradePoint));
+		marks.setGradeLetter(gradeScale.letterGrade(percentage.doubleValue()));
+		marks.setRemarks(gradeScale.remarks(percentage.doubleValue()));
+	}
+
+	private static Double sum(Double ca, Double aa) {
+		double total = 0.0;
+		if (ca != null) total += ca;
+		if (aa != null) total += aa;
+		return total > 0 ? total : null;
+	}
+
+	private record SubjectMark(String subjectName, Double totalMarks, Double caMarks, Double aaMarks) {
+		@Override
+		public String toString() {
+			return String.format("%s (CA: %s, AA: %s, Total: %s)", subjectName,
+					caMarks != null ? String.format("%.2f", caMarks) : "N/A",
+					aaMarks != null ? String.format("%.2f", aaMarks) : "N/A",
+					totalMarks != null ? String.format("%.2f", totalMarks) : "N/A");
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.rufan.fullstackbackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rufan.fullstackbackend.dto.SubjectMarksDto;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+import com.rufan.fullstackbackend.service.SubjectCodeResolver.ResolvedSubject;
+
+/**
+ * {@link MarksAggregator} against the calculation it replaced
+ * ({@link LegacyMarksCalculation}: the controller's stream passes plus the
+ * service's recalculation) for one mark sheet of twelve subjects.
+ *
+ * Run with: {@code java -jar target/benchmarks.jar MarksAggregationBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarksAggregationBenchmark {
+
+	// Subject, CA, AA of a sheet with every subject filled in
+	private static final Object[][] SUBJECTS = {
+			{ "bn", 18.0, 62.0 }, { "en", 15.0, 55.0 }, { "ma", 20.0, 71.0 },
+			{ "sc", 14.0, 48.0 }, { "bwp", 16.0, 52.0 }, { "ism", 19.0, 66.0 },
+			{ "hin", 0.0, 0.0 }, { "sss", 10.0, 31.0 }, { "mus", 8.0, 30.0 },
+			{ "art", 9.0, 33.0 }, { "fa", 6.0, 28.0 }, { "phy", 7.0, 35.0 } };
+
+	private MarksAggregator aggregator;
+	private LegacyMarksCalculation legacy;
+	private Marks marks;
+	private List<ResolvedSubject> subjects;
+
+	@Setup
+	public void setUp() {
+		GradeScale gradeScale = new GradeScale(RepositoryStubs.stub(GradeRepository.class));
+		aggregator = new MarksAggregator(gradeScale);
+		legacy = new LegacyMarksCalculation(gradeScale);
+
+		marks = new Marks();
+		subjects = new ArrayList<>();
+		for (Object[] subject : SUBJECTS) {
+			String code = (String) subject[0];
+			double ca = (Double) subject[1];
+			double aa = (Double) subject[2];
+			SubjectMarksDto dto = new SubjectMarksDto();
+			dto.setSubjectCode(code);
+			dto.setCaMarks(ca);
+			dto.setAaMarks(aa);
+			dto.setTotalMarks(ca + aa);
+			subjects.add(new ResolvedSubject(code, dto));
+			marks.putSubject(code, ca, aa, ca + aa);
+		}
+	}
+
+	@Benchmark
+	public Marks legacy() {
+		legacy.calculate(marks, subjects, 6);
+		return marks;
+	}
+
+	@Benchmark
+	public MarksAggregator.Summary aggregator() {
+		return aggregator.aggregate(marks, 6);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MarksAggregationBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,103 @@
+package com.rufan.fullstackbackend.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rufan.fullstackbackend.config.MeritRankingProperties;
+import com.rufan.fullstackbackend.config.PdfCacheProperties;
+import com.rufan.fullstackbackend.model.Marks;
+import com.rufan.fullstackbackend.model.Student;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+import com.rufan.fullstackbackend.repository.StudentRepository;
+import com.rufan.fullstackbackend.repository.SubjectCodeAliasRepository;
+import com.rufan.fullstackbackend.repository.SubjectRepository;
+
+/**
+ * Cost of {@link MarksService#saveExamMarks} without the database: subject
+ * totals, main / optional aggregates, percentage and grade of one mark
+ * sheet, plus the PDF cache and merit ranking bookkeeping. The
+ * repositories are in-memory stubs, so the score is the pure computation.
+ *
+ * Run with: {@code java -jar target/benchmarks.jar MarksComputationBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarksComputationBenchmark {
+
+	// Subject, CA, AA of a primary class mark sheet (six main, three optional subjects)
+	private static final Object[][] SUBJECTS = {
+			{ "bn", 18.0, 62.0 }, { "en", 15.0, 55.0 }, { "ma", 20.0, 71.0 },
+			{ "sc", 14.0, 48.0 }, { "bwp", 16.0, 52.0 }, { "ism", 19.0, 66.0 },
+			{ "mus", 8.0, 30.0 }, { "art", 9.0, 33.0 }, { "phy", 7.0, 35.0 } };
+
+	private MarksService marksService;
+	private Marks marks;
+
+	@Setup
+	public void setUp() {
+		Student student = Student.builder()
+				.id(1L)
+				.studentId(240101L)
+				.rollNo("1")
+				.name("শিক্ষার্থী ১")
+				.studentClass("Fifth")
+				.mainSubject(6)
+				.build();
+		StudentRepository students = RepositoryStubs.stub(StudentRepository.class,
+				Map.of("findByStudentId", args -> Optional.of(student)));
+		MarksRepository marksRepository = RepositoryStubs.stub(MarksRepository.class);
+		NameAliasResolver aliases = new NameAliasResolver(RepositoryStubs.stub(NameAliasRepository.class));
+		GradeScale gradeScale = new GradeScale(RepositoryStubs.stub(GradeRepository.class));
+
+		marksService = new MarksService(marksRepository, gradeScale, students,
+				new ResultPdfCache(marksRepository, aliases, new PdfCacheProperties()),
+				new MeritRanking(marksRepository, aliases, new MeritRankingProperties()),
+				new SubjectCodeResolver(RepositoryStubs.stub(SubjectCodeAliasRepository.class),
+						RepositoryStubs.stub(SubjectRepository.class)),
+				aliases);
+
+		marks = new Marks();
+		marks.setStudentId(student.getStudentId());
+		marks.setStudentName(student.getName());
+		marks.setClassName("Fifth");
+		marks.setExamName("Annual");
+		marks.setEducationYear("2025");
+		for (Object[] subject : SUBJECTS) {
+			marks.putSubject((String) subject[0], (Double) subject[1], (Double) subject[2], null);
+		}
+	}
+
+	@Benchmark
+	public Marks saveExamMarks() {
+		return marksService.saveExamMarks(marks);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MarksComputationBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,132 @@
+package com.rufan.fullstackbackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rufan.fullstackbackend.config.MeritRankingProperties;
+import com.rufan.fullstackbackend.dto.MeritListDto;
+import com.rufan.fullstackbackend.repository.GradeRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository;
+import com.rufan.fullstackbackend.repository.MarksRepository.TabulationCell;
+import com.rufan.fullstackbackend.repository.NameAliasRepository;
+
+/**
+ * {@link ResultService#generateMeritList} over a cohort of 10,000 synthetic
+ * mark sheets (nine subjects each):
+ * <ul>
+ * <li>{@code coldTop10} - first request, ranking built from the tabulation rows</li>
+ * <li>{@code warmTop10} / {@code warmTop100} - ranking already maintained</li>
+ * <li>{@code meritPosition} - position of one student in the maintained ranking</li>
+ * </ul>
+ *
+ * Run with: {@code java -jar target/benchmarks.jar MeritListBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeritListBenchmark {
+
+	private static final int STUDENTS = 10_000;
+	private static final String[] SUBJECTS = { "bn", "en", "ma", "sc", "bwp", "ism", "mus", "art", "phy" };
+	private static final String CLASS = "Fifth";
+	private static final String EXAM = "Annual";
+	private static final String YEAR = "2025";
+
+	private record Cell(Long marksId, Long studentId, String studentName, String rollNo, String studentClass,
+			String section, String examName, String educationYear, String subjectCode, Double ca, Double aa,
+			Double total) implements TabulationCell {
+		public Long getMarksId() { return marksId; }
+		public Long getStudentId() { return studentId; }
+		public String getStudentName() { return studentName; }
+		public String getRollNo() { return rollNo; }
+		public String getStudentClass() { return studentClass; }
+		public String getSection() { return section; }
+		public String getExamName() { return examName; }
+		public String getEducationYear() { return educationYear; }
+		public String getSubjectCode() { return subjectCode; }
+		public Double getCa() { return ca; }
+		public Double getAa() { return aa; }
+		public Double getTotal() { return total; }
+	}
+
+	private MarksRepository marksRepository;
+	private GradeScale gradeScale;
+	private NameAliasResolver aliases;
+	private ResultService warmService;
+
+	@Setup
+	public void setUp() {
+		List<TabulationCell> cells = new ArrayList<>(STUDENTS * SUBJECTS.length);
+		Random random = new Random(42);
+		for (long id = 1; id <= STUDENTS; id++) {
+			for (int s = 0; s < SUBJECTS.length; s++) {
+				double ca = 5 + random.nextInt(16);
+				double aa = (s < 6 ? 20 : 10) + random.nextInt(s < 6 ? 60 : 25);
+				cells.add(new Cell(id, id, "Student " + id, String.valueOf(id), CLASS, "A", EXAM, YEAR,
+						SUBJECTS[s], ca, aa, ca + aa));
+			}
+		}
+		marksRepository = RepositoryStubs.stub(MarksRepository.class,
+				Map.of("findTabulationCells", args -> cells));
+		gradeScale = new GradeScale(RepositoryStubs.stub(GradeRepository.class));
+		aliases = new NameAliasResolver(RepositoryStubs.stub(NameAliasRepository.class));
+
+		warmService = newService();
+		warmService.generateMeritList(CLASS, EXAM, YEAR, 10);
+	}
+
+	@Benchmark
+	public List<MeritListDto> coldTop10() {
+		return newService().generateMeritList(CLASS, EXAM, YEAR, 10);
+	}
+
+	@Benchmark
+	public List<MeritListDto> warmTop10() {
+		return warmService.generateMeritList(CLASS, EXAM, YEAR, 10);
+	}
+
+	@Benchmark
+	public List<MeritListDto> warmTop100() {
+		return warmService.generateMeritList(CLASS, EXAM, YEAR, 100);
+	}
+
+	@Benchmark
+	public Optional<MeritListDto> meritPosition() {
+		return warmService.findMeritPosition(CLASS, EXAM, YEAR, (long) STUDENTS / 2);
+	}
+
+	// The merit list only goes through MeritRanking; the report repository is not used
+	private ResultService newService() {
+		return new ResultService(null, gradeScale, aliases,
+				new MeritRanking(marksRepository, aliases, new MeritRankingProperties()));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MeritListBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,110 @@
+package com.rufan.fullstackbackend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rufan.fullstackbackend.dto.TabulationSheetDto;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto.StudentResultRow;
+import com.rufan.fullstackbackend.dto.TabulationSheetDto.StudentResultRow.SubjectMarks;
+
+/**
+ * Tabulation sheet PDF latency for 50, 500 and 5000 students, with cold
+ * assets (fonts and logos read and parsed for the request, as before
+ * {@link PdfAssets}) versus warm assets (preloaded once and shared).
+ *
+ * Run with: {@code java -jar target/benchmarks.jar PdfGenerationBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfGenerationBenchmark {
+
+	private static final String[] SUBJECTS = { "BAN", "ENG", "MATH", "SCI", "BWP", "ISL" };
+
+	@Param({ "50", "500", "5000" })
+	private int students;
+
+	private GeneratePdfService warmService;
+	private List<TabulationSheetDto> sheet;
+
+	@Setup
+	public void setUp() {
+		PdfAssets assets = new PdfAssets();
+		assets.load();
+		warmService = new GeneratePdfService(assets);
+		sheet = List.of(sampleSheet(students));
+	}
+
+	@Benchmark
+	public byte[] cold() {
+		PdfAssets assets = new PdfAssets();
+		assets.load();
+		return new GeneratePdfService(assets).generateTabulationSheetPdf(sheet);
+	}
+
+	@Benchmark
+	public byte[] warm() {
+		return warmService.generateTabulationSheetPdf(sheet);
+	}
+
+	private static TabulationSheetDto sampleSheet(int students) {
+		List<StudentResultRow> rows = new ArrayList<>();
+		for (int i = 1; i <= students; i++) {
+			Map<String, SubjectMarks> subjects = new LinkedHashMap<>();
+			for (String code : SUBJECTS) {
+				SubjectMarks marks = new SubjectMarks();
+				marks.setSubjectName(code);
+				marks.setCaMarks(20 + i % 10);
+				marks.setAaMarks(40 + i % 30);
+				marks.setTotalMarks(marks.getCaMarks() + marks.getAaMarks());
+				subjects.put(code, marks);
+			}
+			rows.add(StudentResultRow.builder()
+					.studentId((long) i)
+					.studentName("শিক্ষার্থী " + i)
+					.rollNo(String.valueOf(i))
+					.subjectsMap(subjects)
+					.totalObtainedMarks(400 + i)
+					.totalFullMarks(600)
+					.build());
+		}
+		return TabulationSheetDto.builder()
+				.schoolName("কাগাপাশা সরকারি প্রাথমিক বিদ্যালয়")
+				.schoolAddress("Kagapasha-3350, Baniyachong, Habiganj")
+				.emisCode("603040601")
+				.className("Five")
+				.examName("বার্ষিক পরীক্ষা")
+				.examYear("2025")
+				.studentResults(rows)
+				.build();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(PdfGenerationBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,58 @@
+package com.rufan.fullstackbackend.service;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, so services can be
+ * benchmarked without a database. Methods listed in the answers map return
+ * their answer; {@code save} returns its argument, {@code saveAll} its
+ * argument as a list and every other method an empty result.
+ */
+final class RepositoryStubs {
+
+	private RepositoryStubs() {
+	}
+
+	static <T> T stub(Class<T> repository, Map<String, Function<Object[], Object>> answers) {
+		Object proxy = Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] { repository },
+				(self, method, args) -> {
+					Function<Object[], Object> answer = answers.get(method.getName());
+					if (answer != null) {
+						return answer.apply(args);
+					}
+					switch (method.getName()) {
+					case "save":
+						return args[0];
+					case "saveAll":
+						return List.copyOf((Collection<?>) args[0]);
+					case "hashCode":
+						return System.identityHashCode(self);
+					case "equals":
+						return self == args[0];
+					case "toString":
+						return repository.getSimpleName() + " stub";
+					default:
+						return empty(method.getReturnType());
+					}
+				});
+		return repository.cast(proxy);
+	}
+
+	static <T> T stub(Class<T> repository) {
+		return stub(repository, Map.of());
+	}
+
+	private static Object empty(Class<?> type) {
+		if (type == Optional.class) return Optional.empty();
+		if (List.class.isAssignableFrom(type) || type == Collection.class || type == Iterable.class) return List.of();
+		if (type == long.class) return 0L;
+		if (type == int.class) return 0;
+		if (type == boolean.class) return false;
+		return null;
+	}
+}
@@ -0,0 +1,110 @@
+package com.rufan.fullstackbackend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rufan.fullstackbackend.model.SubjectCodeAlias;
+import com.rufan.fullstackbackend.model.SubjectCodeAlias.MatchType;
+import com.rufan.fullstackbackend.repository.SubjectCodeAliasRepository;
+import com.rufan.fullstackbackend.repository.SubjectRepository;
+
+/**
+ * {@link SubjectCodeResolver#resolve(String)} per kind of input (numeric
+ * code, short code, English name, Bengali name, unknown subject) and over
+ * the mix a marks upload of a primary class actually sends. {@code cold}
+ * rebuilds the lookup tables first, so it measures a resolution that
+ * misses the memo.
+ *
+ * Run with: {@code java -jar target/benchmarks.jar SubjectCodeMappingBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubjectCodeMappingBenchmark {
+
+	// What the upload forms and spreadsheets send for the subjects of one sheet
+	private static final String[] UPLOAD_MIX = {
+			"1", "subj_2", "ma", "SC", " bwp ",
+			"বাংলা", "ইংরেজি", "প্রাথমিক গণিত", "প্রাথমিক বিজ্ঞান", "বাংলাদেশ ও বিশ্বপরিচয়",
+			"ইসলাম ও নৈতিক শিক্ষা", "হিন্দুধর্ম ও নৈতিক শিক্ষা", "সংগীত", "চারু ও কারুকলা", "শারীরিক শিক্ষা ও স্বাস্থ্য",
+			"Bangla", "English for Today", "Mathematics", "Elementary Science", "Bangladesh and Global Studies",
+			"Islam and Moral Education", "Music", "Arts and Crafts", "Physical Education", "Drawing" };
+
+	// Part of the aliases V7__subject_code_aliases.sql seeds
+	private static final List<SubjectCodeAlias> ALIASES = List.of(
+			alias("1", "bn", MatchType.EXACT, 0), alias("3", "ma", MatchType.EXACT, 0), alias("subj_2", "en", MatchType.EXACT, 0),
+			alias("বিশ্বপরিচয়", "bwp", MatchType.CONTAINS, 10), alias("globalstudies", "bwp", MatchType.CONTAINS, 10),
+			alias("বাংলা", "bn", MatchType.CONTAINS, 20), alias("bangla", "bn", MatchType.CONTAINS, 20),
+			alias("ইংরেজি", "en", MatchType.CONTAINS, 30), alias("english", "en", MatchType.CONTAINS, 30),
+			alias("গণিত", "ma", MatchType.CONTAINS, 40), alias("math", "ma", MatchType.CONTAINS, 40),
+			alias("বিজ্ঞান", "sc", MatchType.CONTAINS, 50), alias("science", "sc", MatchType.CONTAINS, 50),
+			alias("ইসলাম", "ism", MatchType.CONTAINS, 60), alias("islam", "ism", MatchType.CONTAINS, 60),
+			alias("হিন্দু", "hin", MatchType.CONTAINS, 70), alias("সংগীত", "mus", MatchType.CONTAINS, 80),
+			alias("music", "mus", MatchType.CONTAINS, 80), alias("চারু", "art", MatchType.CONTAINS, 90),
+			alias("art", "art", MatchType.CONTAINS, 90), alias("শারীরিক", "phy", MatchType.CONTAINS, 110),
+			alias("physical", "phy", MatchType.CONTAINS, 110), alias("শিক্ষা", "phy", MatchType.CONTAINS, 110));
+
+	@Param({ "3", "ma", "English for Today", "বাংলাদেশ ও বিশ্বপরিচয়", "শারীরিক শিক্ষা ও স্বাস্থ্য", "Drawing" })
+	private String input;
+
+	private SubjectCodeResolver resolver;
+
+	@Setup
+	public void setUp() {
+		resolver = new SubjectCodeResolver(
+				RepositoryStubs.stub(SubjectCodeAliasRepository.class, Map.of("findAll", args -> ALIASES)),
+				RepositoryStubs.stub(SubjectRepository.class));
+		resolver.reload();
+	}
+
+	@Benchmark
+	public String single() {
+		return resolver.resolve(input);
+	}
+
+	@Benchmark
+	public String cold() {
+		resolver.reload();
+		return resolver.resolve(input);
+	}
+
+	// The whole upload mix; the score is per sheet, independent of the input parameter
+	@Benchmark
+	public void uploadMix(Blackhole bh) {
+		for (String code : UPLOAD_MIX) {
+			bh.consume(resolver.resolve(code));
+		}
+	}
+
+	private static SubjectCodeAlias alias(String alias, String code, MatchType type, int priority) {
+		return new SubjectCodeAlias(null, alias, code, type, priority);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(SubjectCodeMappingBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
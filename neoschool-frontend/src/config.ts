@@ -20,6 +20,7 @@ export const API_ENDPOINTS = {
   EXAM_MARKS: {
     BASE: `${API_BASE_URL}/exam-marks`,
     BULK: `${API_BASE_URL}/exam-marks/bulk`,
+    PAGE: `${API_BASE_URL}/exam-marks/page`,
   },
   TEACHERS: {
     BASE: `${API_BASE_URL}/teachers`,
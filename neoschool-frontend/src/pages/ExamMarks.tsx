@@ -59,19 +59,26 @@ const ExamMarksList: React.FC = () => {
     }
   }, []);
 
-  // Fetch data
+  // Fetch data, one page at a time (newest first); nextCursor is null on the last page
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState<boolean>(false);
+
+  const fetchPage = (cursor?: string | null) =>
+    api.get(API_ENDPOINTS.EXAM_MARKS?.PAGE || '/api/exam-marks/page', {
+      params: { size: 50, ...(cursor ? { cursor } : {}) },
+    });
+
   const fetchMarks = useCallback(async () => {
     setLoading(true);
     try {
       const [marksResponse] = await Promise.all([
-        api.get(API_ENDPOINTS.EXAM_MARKS?.BASE || '/api/exam-marks'),
+        fetchPage(),
         fetchGrades() // Fetch grades in parallel
       ]);
 
-      console.log('API Response:', marksResponse.data);
-      const processedMarks = Array.isArray(marksResponse.data) ? marksResponse.data : [];
-      console.log('Processed Marks:', processedMarks);
-      setMarks(processedMarks);
+      const page = marksResponse.data || {};
+      setMarks(Array.isArray(page.items) ? page.items : []);
+      setNextCursor(page.nextCursor || null);
     } catch (err) {
       console.error(err);
       toast.error('Failed to load exam marks.');
@@ -80,6 +87,21 @@ const ExamMarksList: React.FC = () => {
     }
   }, [fetchGrades]);
 
+  const loadMoreMarks = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = (await fetchPage(nextCursor)).data || {};
+      setMarks(prev => [...prev, ...(Array.isArray(page.items) ? page.items : [])]);
+      setNextCursor(page.nextCursor || null);
+    } catch (err) {
+      console.error(err);
+      toast.error('Failed to load more exam marks.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchSubjects = useCallback(async () => {
     try {
       const response = await api.get(API_ENDPOINTS.SUBJECTS.BASE);
@@ -419,6 +441,14 @@ const ExamMarksList: React.FC = () => {
                   ))}
                 </tbody>
               </table>
+              {nextCursor && (
+                <div className="flex justify-center p-4">
+                  <Button variant="outline" onClick={loadMoreMarks} disabled={loadingMore}>
+                    {loadingMore && <Loader2 className="mr-2 h-4 w-4 animate-spin" />}
+                    Load more
+                  </Button>
+                </div>
+              )}
             </div>
           )}
         </CardContent>